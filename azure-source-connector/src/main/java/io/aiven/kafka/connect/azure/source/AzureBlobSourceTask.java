@@ -31,6 +31,7 @@ import io.aiven.kafka.connect.azure.source.utils.VersionInfo;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.AbstractSourceTask;
 import io.aiven.kafka.connect.common.source.OffsetManager;
+import io.aiven.kafka.connect.common.source.input.Transformer;
 
 import org.apache.commons.collections4.IteratorUtils;
 import org.slf4j.Logger;
@@ -45,6 +46,8 @@ public class AzureBlobSourceTask extends AbstractSourceTask {
     private AzureBlobSourceConfig azureBlobSourceConfig; // NOPMD only called once, when used in the future this can be
     // removed
     private Iterator<AzureBlobSourceRecord> azureBlobSourceRecordIterator;
+    /** The transformer of the blobs, {@code null} until configured */
+    private Transformer transformer;
 
     /**
      * Constructor to set the Logger used. This constructor is required by Connect.
@@ -77,14 +80,20 @@ public class AzureBlobSourceTask extends AbstractSourceTask {
         this.azureBlobSourceConfig = new AzureBlobSourceConfig(props);
         offsetManager = new OffsetManager<>(context);
         final AzureBlobClient azureBlobClient = new AzureBlobClient(azureBlobSourceConfig);
+        transformer = azureBlobSourceConfig.getTransformer();
         azureBlobSourceRecordIterator = new AzureBlobSourceRecordIterator(azureBlobSourceConfig, offsetManager,
-                azureBlobSourceConfig.getTransformer(), azureBlobClient);
+                transformer, azureBlobClient);
         return azureBlobSourceConfig;
     }
 
     @Override
     protected void closeResources() {
-        // nothing to do.
+        if (azureBlobSourceRecordIterator instanceof AzureBlobSourceRecordIterator) {
+            ((AzureBlobSourceRecordIterator) azureBlobSourceRecordIterator).close();
+        }
+        if (transformer != null) {
+            transformer.shutdown();
+        }
     }
 
     @Override
@@ -39,6 +39,7 @@ public class AzureBlobConfigFragment extends ConfigFragment {
 
     public static final String AZURE_PREFIX_CONFIG = "azure.blob.prefix";
     public static final String AZURE_FETCH_PAGE_SIZE = "azure.blob.fetch.page.size";
+    public static final String AZURE_FETCH_PREFETCH_PAGES = "azure.blob.fetch.prefetch.pages";
     private static final String USER_AGENT_HEADER_FORMAT = "Azure Blob Source/%s (GPN: Aiven;)";
     public static final String USER_AGENT_HEADER_VALUE = String.format(USER_AGENT_HEADER_FORMAT,
             new VersionInfo().getVersion());
@@ -53,6 +54,11 @@ public class AzureBlobConfigFragment extends ConfigFragment {
     public static final String AZURE_RETRY_BACKOFF_MAX_DELAY_MS_CONFIG = "azure.retry.backoff.max.delay.ms";
     public static final String AZURE_RETRY_BACKOFF_MAX_ATTEMPTS_CONFIG = "azure.retry.backoff.max.attempts";
 
+    private static final String GROUP_AZURE_DOWNLOAD = "Azure download";
+    public static final String AZURE_DOWNLOAD_PREFETCH = "azure.blob.download.prefetch";
+    public static final String AZURE_DOWNLOAD_CONCURRENCY = "azure.blob.download.concurrency";
+    public static final String AZURE_DOWNLOAD_BLOCK_SIZE = "azure.blob.download.block.size";
+
     public static final long AZURE_RETRY_BACKOFF_INITIAL_DELAY_MS_DEFAULT = 1_000L;
     public static final long AZURE_RETRY_BACKOFF_MAX_DELAY_MS_DEFAULT = 32_000L;
     public static final int AZURE_RETRY_BACKOFF_MAX_ATTEMPTS_DEFAULT = 6;
@@ -78,6 +84,7 @@ public class AzureBlobConfigFragment extends ConfigFragment {
         addUserAgentConfig(configDef);
         addAzureConfigGroup(configDef);
         addAzureRetryPolicies(configDef);
+        addAzureDownloadConfig(configDef);
         return configDef;
     }
 
@@ -99,6 +106,11 @@ public class AzureBlobConfigFragment extends ConfigFragment {
         configDef.define(AZURE_FETCH_PAGE_SIZE, ConfigDef.Type.INT, 10, ConfigDef.Range.atLeast(1),
                 ConfigDef.Importance.MEDIUM, "Azure fetch page size", GROUP_AZURE, azureGroupCounter++,
                 ConfigDef.Width.NONE, AZURE_FETCH_PAGE_SIZE);
+        configDef.define(AZURE_FETCH_PREFETCH_PAGES, ConfigDef.Type.INT, 0, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "The number of pages of the blob listing to fetch ahead of the blobs being processed. 0 uses the "
+                        + "default prefetch of the Azure client.",
+                GROUP_AZURE, azureGroupCounter++, ConfigDef.Width.NONE, AZURE_FETCH_PREFETCH_PAGES);
         configDef.define(AZURE_PREFIX_CONFIG, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
                 ConfigDef.Importance.MEDIUM,
                 "Prefix for storage file names, generally specifies directory like"
@@ -138,6 +150,24 @@ public class AzureBlobConfigFragment extends ConfigFragment {
                 AZURE_RETRY_BACKOFF_MAX_ATTEMPTS_CONFIG);
     }
 
+    private static void addAzureDownloadConfig(final ConfigDef configDef) {
+        int downloadGroupCounter = 0;
+        configDef.define(AZURE_DOWNLOAD_PREFETCH, ConfigDef.Type.INT, 4, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The number of downloaded chunks of a blob that are buffered ahead of the reader.",
+                GROUP_AZURE_DOWNLOAD, downloadGroupCounter++, ConfigDef.Width.NONE, AZURE_DOWNLOAD_PREFETCH);
+        configDef.define(AZURE_DOWNLOAD_CONCURRENCY, ConfigDef.Type.INT, 1, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The number of ranges of a single blob that are downloaded in parallel. Blobs larger than "
+                        + AZURE_DOWNLOAD_BLOCK_SIZE + " are downloaded as ranges of that size when this is greater "
+                        + "than 1.",
+                GROUP_AZURE_DOWNLOAD, downloadGroupCounter++, ConfigDef.Width.NONE, AZURE_DOWNLOAD_CONCURRENCY);
+        configDef.define(AZURE_DOWNLOAD_BLOCK_SIZE, ConfigDef.Type.LONG, 8L * 1024 * 1024, ConfigDef.Range.atLeast(1L),
+                ConfigDef.Importance.LOW, "The size in bytes of the ranges used for parallel blob downloads.",
+                GROUP_AZURE_DOWNLOAD, downloadGroupCounter++, // NOPMD UnusedAssignment
+                ConfigDef.Width.NONE, AZURE_DOWNLOAD_BLOCK_SIZE);
+    }
+
     @Override
     public void validate() {
         final String connectionString = cfg.getString(AZURE_STORAGE_CONNECTION_STRING_CONFIG);
@@ -151,6 +181,10 @@ public class AzureBlobConfigFragment extends ConfigFragment {
         return cfg.getInt(AZURE_FETCH_PAGE_SIZE);
     }
 
+    public int getAzureFetchPrefetchPages() {
+        return cfg.getInt(AZURE_FETCH_PREFETCH_PAGES);
+    }
+
     public String getAzurePrefix() {
         return cfg.getString(AZURE_PREFIX_CONFIG);
     }
@@ -183,6 +217,18 @@ public class AzureBlobConfigFragment extends ConfigFragment {
         return cfg.getInt(AZURE_FETCH_BUFFER_SIZE);
     }
 
+    public int getAzureDownloadPrefetch() {
+        return cfg.getInt(AZURE_DOWNLOAD_PREFETCH);
+    }
+
+    public int getAzureDownloadConcurrency() {
+        return cfg.getInt(AZURE_DOWNLOAD_CONCURRENCY);
+    }
+
+    public long getAzureDownloadBlockSize() {
+        return cfg.getLong(AZURE_DOWNLOAD_BLOCK_SIZE);
+    }
+
     public RetryOptions getAzureRetryOptions() {
         return new RetryOptions(new ExponentialBackoffOptions().setMaxRetries(getAzureRetryBackoffMaxAttempts())
                 .setBaseDelay(Duration.ofMillis(getAzureRetryBackoffInitialDelay().toMillis()))
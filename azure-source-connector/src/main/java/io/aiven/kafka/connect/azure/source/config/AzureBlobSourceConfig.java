@@ -19,6 +19,7 @@ package io.aiven.kafka.connect.azure.source.config;
 import java.util.Map;
 
 import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
 
 import io.aiven.kafka.connect.common.config.FileNameFragment;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
@@ -48,12 +49,20 @@ public class AzureBlobSourceConfig extends SourceCommonConfig {
         return configDef;
     }
     private void validate() {
+        if (isWorkStealing()) {
+            throw new ConfigException(SourceConfigFragment.WORK_STEALING, true,
+                    "work stealing is not supported by the Azure Blob source connector");
+        }
     }
 
     public int getAzureFetchPageSize() {
         return azureBlobConfigFragment.getAzureFetchPageSize();
     }
 
+    public int getAzureFetchPrefetchPages() {
+        return azureBlobConfigFragment.getAzureFetchPrefetchPages();
+    }
+
     public String getAzurePrefix() {
         return azureBlobConfigFragment.getAzurePrefix();
     }
@@ -70,4 +79,16 @@ public class AzureBlobSourceConfig extends SourceCommonConfig {
         return azureBlobConfigFragment.getFetchBufferSize();
     }
 
+    public int getAzureDownloadPrefetch() {
+        return azureBlobConfigFragment.getAzureDownloadPrefetch();
+    }
+
+    public int getAzureDownloadConcurrency() {
+        return azureBlobConfigFragment.getAzureDownloadConcurrency();
+    }
+
+    public long getAzureDownloadBlockSize() {
+        return azureBlobConfigFragment.getAzureDownloadBlockSize();
+    }
+
 }
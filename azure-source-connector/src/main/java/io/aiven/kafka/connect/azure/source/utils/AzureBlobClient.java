@@ -22,9 +22,12 @@ import java.util.stream.Stream;
 
 import io.aiven.kafka.connect.azure.source.config.AzureBlobSourceConfig;
 
+import com.azure.core.http.rest.PagedFlux;
 import com.azure.storage.blob.BlobAsyncClient;
 import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobDownloadAsyncResponse;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.ListBlobsOptions;
 import reactor.core.publisher.Flux;
 
@@ -37,6 +40,12 @@ public class AzureBlobClient {
     private final AzureBlobSourceConfig config;
     private final BlobContainerAsyncClient containerAsyncClient;
     private final Predicate<BlobItem> filterPredicate = blobItem -> blobItem.getProperties().getContentLength() > 0;
+    /** The number of ranges of a single blob to download in parallel */
+    private final int downloadConcurrency;
+    /** The size of the ranges used for parallel downloads */
+    private final long downloadBlockSize;
+    /** The number of buffers of each range to request ahead of the consumer */
+    private final int downloadPrefetch;
 
     /**
      *
@@ -48,6 +57,9 @@ public class AzureBlobClient {
         this.config = config;
         this.containerAsyncClient = config.getAzureServiceAsyncClient()
                 .getBlobContainerAsyncClient(config.getAzureContainerName());
+        this.downloadConcurrency = config.getAzureDownloadConcurrency();
+        this.downloadBlockSize = config.getAzureDownloadBlockSize();
+        this.downloadPrefetch = Math.max(1, config.getAzureDownloadPrefetch());
     }
 
     /**
@@ -61,6 +73,17 @@ public class AzureBlobClient {
     public Stream<BlobItem> getAzureBlobStream(final String offset) {
         final ListBlobsOptions options = new ListBlobsOptions().setPrefix(config.getAzurePrefix())
                 .setMaxResultsPerPage(config.getAzureFetchPageSize());
+        final int prefetchPages = config.getAzureFetchPrefetchPages();
+        if (prefetchPages > 0) {
+            // request whole pages so that the client fetches the next pages while this one is processed.
+            final PagedFlux<BlobItem> blobs = offset == null
+                    ? containerAsyncClient.listBlobs(options)
+                    : containerAsyncClient.listBlobs(options, offset);
+            return blobs.byPage()
+                    .toStream(prefetchPages)
+                    .flatMap(page -> page.getValue().stream())
+                    .filter(filterPredicate);
+        }
         return offset == null
                 ? containerAsyncClient.listBlobs(options).toStream().filter(filterPredicate)
                 : containerAsyncClient.listBlobs(options, offset).toStream().filter(filterPredicate);
@@ -76,6 +99,57 @@ public class AzureBlobClient {
         return getBlobAsyncClient(blobName).downloadStream();
     }
 
+    /**
+     * Determines if a range of a blob will be downloaded as multiple ranged requests executed in parallel.
+     *
+     * @param length
+     *            the number of bytes to download.
+     * @return {@code true} if the download is split into parallel ranged requests.
+     */
+    public boolean isParallelDownload(final long length) {
+        return downloadConcurrency > 1 && downloadBlockSize > 0 && length > downloadBlockSize;
+    }
+
+    /**
+     * Downloads a range of a blob. If the range is larger than the download block size and the download concurrency is
+     * greater than 1 the range is divided into blocks that are downloaded in parallel. The blocks are emitted in order
+     * and at most download concurrency blocks are in flight at once.
+     *
+     * @param blobName
+     *            Name of the blob which is to be downloaded from Azure.
+     * @param offset
+     *            the byte offset of the first byte to download.
+     * @param length
+     *            the number of bytes to download.
+     * @return A Flux ByteArray, this Flux is an asynchronous implementation which returns 0..N parts
+     */
+    public Flux<ByteBuffer> getBlob(final String blobName, final long offset, final long length) {
+        final BlobAsyncClient blobClient = getBlobAsyncClient(blobName);
+        if (!isParallelDownload(length)) {
+            return download(blobClient, new BlobRange(offset, length));
+        }
+        final int blocks = Math.toIntExact((length + downloadBlockSize - 1) / downloadBlockSize);
+        final long end = offset + length;
+        return Flux.range(0, blocks).flatMapSequential(block -> {
+            final long start = offset + block * downloadBlockSize;
+            return download(blobClient, new BlobRange(start, Math.min(downloadBlockSize, end - start)));
+        }, downloadConcurrency, downloadPrefetch);
+    }
+
+    /**
+     * Downloads a single range of a blob.
+     *
+     * @param blobClient
+     *            the client for the blob.
+     * @param range
+     *            the range to download.
+     * @return A Flux ByteArray for the range.
+     */
+    private Flux<ByteBuffer> download(final BlobAsyncClient blobClient, final BlobRange range) {
+        return blobClient.downloadStreamWithResponse(range, null, null, false)
+                .flatMapMany(BlobDownloadAsyncResponse::getValue);
+    }
+
     /**
      * Creates an Async BlobClient for a specific Blob in a container.
      *
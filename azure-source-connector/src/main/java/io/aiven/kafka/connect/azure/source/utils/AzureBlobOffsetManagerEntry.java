@@ -16,6 +16,7 @@
 
 package io.aiven.kafka.connect.azure.source.utils;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,11 +31,14 @@ public final class AzureBlobOffsetManagerEntry
     public static final String CONTAINER = "container";
     public static final String BLOB_NAME = "blobName";
     public static final String RECORD_COUNT = "recordCount";
+    public static final String SPLIT = "split";
 
     /**
      * THe list of Keys that may not be set via {@link #setProperty(String, Object)}.
      */
     static final List<String> RESTRICTED_KEYS = List.of(RECORD_COUNT);
+    /** Orders the entry for the whole blob before the entries for its splits */
+    private static final Comparator<String> SPLIT_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
     /** The data map that stores all the values */
     private final Map<String, Object> data;
     /** THe record count for the data map. Extracted here because it is used/updated frequently during processing */
@@ -42,6 +46,8 @@ public final class AzureBlobOffsetManagerEntry
 
     private final String container;
     private final String blobName;
+    /** The identifier of the split of the blob, {@code null} if the whole blob is processed */
+    private final String split;
 
     /**
      * Construct the AzureOffsetManagerEntry.
@@ -52,8 +58,23 @@ public final class AzureBlobOffsetManagerEntry
      *            the blob name.
      */
     public AzureBlobOffsetManagerEntry(final String container, final String blobName) {
+        this(container, blobName, null);
+    }
+
+    /**
+     * Construct the AzureOffsetManagerEntry for a split of the blob.
+     *
+     * @param container
+     *            the container we are using.
+     * @param blobName
+     *            the blob name.
+     * @param split
+     *            the identifier of the split, {@code null} if the whole blob is processed.
+     */
+    public AzureBlobOffsetManagerEntry(final String container, final String blobName, final String split) {
         this.container = container;
         this.blobName = blobName;
+        this.split = split;
         data = new HashMap<>();
     }
 
@@ -64,9 +85,9 @@ public final class AzureBlobOffsetManagerEntry
      * @param properties
      *            the property map.
      */
-    private AzureBlobOffsetManagerEntry(final String container, final String blobName,
+    private AzureBlobOffsetManagerEntry(final String container, final String blobName, final String split,
             final Map<String, Object> properties) {
-        this(container, blobName);
+        this(container, blobName, split);
         data.putAll(properties);
         final Object recordCountProperty = data.computeIfAbsent(RECORD_COUNT, s -> 0L);
         if (recordCountProperty instanceof Number) {
@@ -86,6 +107,24 @@ public final class AzureBlobOffsetManagerEntry
         return () -> Map.of(CONTAINER, bucket, BLOB_NAME, blobName);
     }
 
+    /**
+     * Creates the OffsetManagerKey for a split.
+     *
+     * @param bucket
+     *            the bucket we are using.
+     * @param blobName
+     *            the blob name.
+     * @param split
+     *            the identifier of the split, {@code null} if the whole blob is processed.
+     * @return a new instance of OffsetManagerKey
+     */
+    public static OffsetManager.OffsetManagerKey asKey(final String bucket, final String blobName, final String split) {
+        if (split == null) {
+            return asKey(bucket, blobName);
+        }
+        return () -> Map.of(CONTAINER, bucket, BLOB_NAME, blobName, SPLIT, split);
+    }
+
     /**
      * Creates an AzureOffsetManagerEntry. Will return {@code null} if properties is {@code null}.
      *
@@ -100,7 +139,7 @@ public final class AzureBlobOffsetManagerEntry
         if (properties == null) {
             return null;
         }
-        return new AzureBlobOffsetManagerEntry(container, blobName, properties);
+        return new AzureBlobOffsetManagerEntry(container, blobName, split, properties);
     }
 
     @Override
@@ -144,6 +183,15 @@ public final class AzureBlobOffsetManagerEntry
         return blobName;
     }
 
+    /**
+     * Gets the identifier of the split of the current blob.
+     *
+     * @return the identifier of the split, {@code null} if the whole blob is processed.
+     */
+    public String getSplit() {
+        return split;
+    }
+
     /**
      * Gets the Azure container for the current object.
      *
@@ -170,7 +218,7 @@ public final class AzureBlobOffsetManagerEntry
      */
     @Override
     public OffsetManager.OffsetManagerKey getManagerKey() {
-        return () -> Map.of(CONTAINER, container, BLOB_NAME, blobName);
+        return asKey(container, blobName, split);
     }
 
     @Override
@@ -183,7 +231,7 @@ public final class AzureBlobOffsetManagerEntry
 
     @Override
     public int hashCode() {
-        return Objects.hash(container, blobName);
+        return Objects.hash(container, blobName, split);
     }
 
     @Override
@@ -194,6 +242,9 @@ public final class AzureBlobOffsetManagerEntry
         int result = getContainer().compareTo(other.getContainer());
         if (result == 0) {
             result = getKey().compareTo(other.getKey());
+            if (result == 0) {
+                result = SPLIT_ORDER.compare(getSplit(), other.getSplit());
+            }
             if (result == 0) {
                 result = Long.compare(getRecordCount(), other.getRecordCount());
             }
@@ -17,14 +17,14 @@
 package io.aiven.kafka.connect.azure.source.utils;
 
 import java.io.InputStream;
+import java.util.Optional;
 import java.util.stream.Stream;
 
-import org.apache.kafka.common.utils.ByteBufferInputStream;
-
 import io.aiven.kafka.connect.azure.source.config.AzureBlobSourceConfig;
 import io.aiven.kafka.connect.common.source.AbstractSourceRecordIterator;
 import io.aiven.kafka.connect.common.source.OffsetManager;
 import io.aiven.kafka.connect.common.source.input.Transformer;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 
 import com.azure.storage.blob.models.BlobItem;
 import org.apache.commons.io.function.IOSupplier;
@@ -46,6 +46,9 @@ public final class AzureBlobSourceRecordIterator
     /** The Azure container we are processing */
     private final String container;
 
+    /** The number of downloaded buffers to hold ahead of the transformer */
+    private final int downloadPrefetch;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AzureBlobSourceRecordIterator.class);
 
     public AzureBlobSourceRecordIterator(final AzureBlobSourceConfig azureBlobSourceConfig,
@@ -54,6 +57,7 @@ public final class AzureBlobSourceRecordIterator
         super(azureBlobSourceConfig, offsetManager, transformer, azureBlobSourceConfig.getFetchBufferSize());
         this.azureBlobClient = azureBlobClient;
         this.container = azureBlobSourceConfig.getAzureContainerName();
+        this.downloadPrefetch = azureBlobSourceConfig.getAzureDownloadPrefetch();
     }
 
     @Override
@@ -68,7 +72,17 @@ public final class AzureBlobSourceRecordIterator
 
     @Override
     protected IOSupplier<InputStream> getInputStream(final AzureBlobSourceRecord sourceRecord) {
-        return () -> new ByteBufferInputStream(azureBlobClient.getBlob(sourceRecord.getNativeKey()).blockFirst());
+        if (azureBlobClient.isParallelDownload(sourceRecord.getNativeItemSize())) {
+            return getInputStream(sourceRecord, 0);
+        }
+        return () -> new FluxInputStream(azureBlobClient.getBlob(sourceRecord.getNativeKey()), downloadPrefetch);
+    }
+
+    @Override
+    protected IOSupplier<InputStream> getInputStream(final AzureBlobSourceRecord sourceRecord, final long offset) {
+        final long length = sourceRecord.getNativeItemSize() - offset;
+        return () -> new FluxInputStream(azureBlobClient.getBlob(sourceRecord.getNativeKey(), offset, length),
+                downloadPrefetch);
     }
 
     @Override
@@ -91,6 +105,12 @@ public final class AzureBlobSourceRecordIterator
         return new AzureBlobOffsetManagerEntry(container, getNativeKey(nativeObject));
     }
 
+    @Override
+    protected Optional<AzureBlobOffsetManagerEntry> createOffsetManagerEntry(final BlobItem nativeObject,
+            final ObjectSplit split) {
+        return Optional.of(new AzureBlobOffsetManagerEntry(container, getNativeKey(nativeObject), split.getId()));
+    }
+
     @Override
     protected OffsetManager.OffsetManagerKey getOffsetManagerKey(final String nativeKey) {
         return AzureBlobOffsetManagerEntry.asKey(container, StringUtils.defaultIfBlank(nativeKey, ""));
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.azure.source.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+/**
+ * An InputStream that reads the ByteBuffers emitted by a Flux. The Flux is subscribed to on the first read and at most
+ * {@code prefetch} buffers are requested ahead of the reader, so memory use is bounded regardless of the size of the
+ * blob. Closing the stream cancels the subscription.
+ */
+public final class FluxInputStream extends InputStream {
+    /** An empty buffer used before the first read */
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    /** The flux to read */
+    private final Flux<ByteBuffer> flux;
+    /** The number of buffers to request ahead of the reader */
+    private final int prefetch;
+    /** The stream of buffers from the flux, {@code null} until the first read */
+    private Stream<ByteBuffer> stream;
+    /** The iterator over the buffers */
+    private Iterator<ByteBuffer> buffers;
+    /** The buffer currently being read */
+    private ByteBuffer current = EMPTY;
+    /** {@code true} once the stream has been closed */
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param flux
+     *            the flux to read.
+     * @param prefetch
+     *            the number of buffers to request ahead of the reader. Values less than 1 are treated as 1.
+     */
+    public FluxInputStream(final Flux<ByteBuffer> flux, final int prefetch) {
+        super();
+        this.flux = flux;
+        this.prefetch = Math.max(1, prefetch);
+    }
+
+    /**
+     * Ensures that the current buffer has data remaining.
+     *
+     * @return {@code false} if the end of the flux has been reached.
+     * @throws IOException
+     *             if the stream is closed or the flux signalled an error.
+     */
+    private boolean fill() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        try {
+            if (buffers == null) {
+                stream = flux.toStream(prefetch);
+                buffers = stream.iterator();
+            }
+            while (!current.hasRemaining()) {
+                if (!buffers.hasNext()) {
+                    return false;
+                }
+                current = buffers.next();
+            }
+            return true;
+        } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+            final Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return fill() ? current.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, buffer.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int count = Math.min(len, current.remaining());
+        current.get(buffer, off, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return closed ? 0 : current.remaining();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            current = EMPTY;
+            if (stream != null) {
+                // cancels the subscription to the flux.
+                stream.close();
+            }
+        }
+    }
+}
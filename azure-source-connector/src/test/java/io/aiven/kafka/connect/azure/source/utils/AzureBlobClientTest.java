@@ -19,11 +19,14 @@ package io.aiven.kafka.connect.azure.source.utils;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,8 +39,11 @@ import com.azure.core.http.rest.PagedFlux;
 import com.azure.storage.blob.BlobAsyncClient;
 import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobServiceAsyncClient;
+import com.azure.storage.blob.models.BlobDownloadAsyncResponse;
 import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.BlobRange;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
@@ -112,6 +118,46 @@ class AzureBlobClientTest {
         assertThat(blobContent).isEqualTo(downloadedContent);
     }
 
+    @Test
+    void testGetBlobRangeDownloadsBlocksInOrder() throws IOException {
+        when(config.getAzureDownloadConcurrency()).thenReturn(3);
+        when(config.getAzureDownloadBlockSize()).thenReturn(4L);
+        when(config.getAzureDownloadPrefetch()).thenReturn(2);
+        client = new AzureBlobClient(config);
+        final byte[] blobContent = "This data is amazing".getBytes(UTF_8);
+        final List<BlobRange> ranges = new ArrayList<>();
+        when(blobClient.downloadStreamWithResponse(any(BlobRange.class), any(), any(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    final BlobRange range = invocation.getArgument(0);
+                    ranges.add(range);
+                    final BlobDownloadAsyncResponse response = mock(BlobDownloadAsyncResponse.class);
+                    when(response.getValue()).thenReturn(Flux.just(ByteBuffer.wrap(blobContent,
+                            (int) range.getOffset(), range.getCount().intValue())));
+                    return Mono.just(response);
+                });
+
+        assertThat(client.isParallelDownload(blobContent.length - 2)).isTrue();
+        try (InputStream input = new FluxInputStream(client.getBlob("test-1", 2, blobContent.length - 2), 1)) {
+            assertThat(IOUtils.toString(input, UTF_8)).isEqualTo("is data is amazing");
+        }
+        assertThat(ranges).extracting(BlobRange::getOffset).containsExactlyInAnyOrder(2L, 6L, 10L, 14L, 18L);
+        assertThat(ranges).extracting(BlobRange::getCount).containsExactlyInAnyOrder(4L, 4L, 4L, 4L, 2L);
+    }
+
+    @Test
+    void testGetBlobRangeWithoutConcurrency() {
+        client = new AzureBlobClient(config);
+        final BlobDownloadAsyncResponse response = mock(BlobDownloadAsyncResponse.class);
+        when(response.getValue()).thenReturn(Flux.just(ByteBuffer.wrap("amazing".getBytes(UTF_8))));
+        when(blobClient.downloadStreamWithResponse(any(BlobRange.class), any(), any(), anyBoolean()))
+                .thenReturn(Mono.just(response));
+
+        assertThat(client.isParallelDownload(100)).isFalse();
+        final ByteBuffer content = client.getBlob("test-1", 13, 7).blockFirst();
+        assertThat(content).isNotNull();
+        assertThat(UTF_8.decode(content).toString()).isEqualTo("amazing");
+    }
+
     private static Stream<BlobItem> createListOfBlobs(final int numberOfItems) {
         final List<BlobItem> items = new ArrayList<>();
         final BlobItemProperties props = new BlobItemProperties().setContentLength(10_000L);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.azure.source.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class FluxInputStreamTest {
+
+    private static Flux<ByteBuffer> buffers(final String... values) {
+        return Flux.fromArray(values).map(value -> ByteBuffer.wrap(value.getBytes(UTF_8)));
+    }
+
+    @Test
+    void testReadsAllBuffers() throws IOException {
+        try (InputStream input = new FluxInputStream(buffers("This ", "", "data ", "is amazing"), 2)) {
+            assertThat(IOUtils.toString(input, UTF_8)).isEqualTo("This data is amazing");
+            assertThat(input.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void testEmptyFlux() throws IOException {
+        try (InputStream input = new FluxInputStream(Flux.empty(), 1)) {
+            assertThat(input.read()).isEqualTo(-1);
+            assertThat(input.read(new byte[10], 0, 10)).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void testPrefetchIsBounded() throws IOException {
+        final AtomicLong requested = new AtomicLong();
+        final Flux<ByteBuffer> flux = Flux.range(0, 1000)
+                .map(i -> ByteBuffer.wrap(new byte[] { (byte) i.intValue() }))
+                .doOnRequest(requested::addAndGet);
+        try (InputStream input = new FluxInputStream(flux, 4)) {
+            assertThat(input.read()).isEqualTo(0);
+            assertThat(requested.get()).isLessThanOrEqualTo(8L);
+        }
+    }
+
+    @Test
+    void testCloseCancelsSubscription() throws IOException {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final Flux<ByteBuffer> flux = buffers("one", "two", "three").doOnCancel(() -> cancelled.set(true));
+        final InputStream input = new FluxInputStream(flux, 1);
+        assertThat(input.read()).isEqualTo('o');
+        input.close();
+        assertThat(cancelled).isTrue();
+        assertThatThrownBy(input::read).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testErrorIsReportedAsIOException() throws IOException {
+        final Flux<ByteBuffer> flux = buffers("one").concatWith(Flux.error(new IllegalStateException("failed")));
+        try (InputStream input = new FluxInputStream(flux, 1)) {
+            assertThatThrownBy(() -> IOUtils.toByteArray(input)).isInstanceOf(IOException.class)
+                    .hasMessage("failed");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.commons.collections;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A Bloom filter of strings. A Bloom filter records items in a fixed size bit array. It never reports that an added
+ * item is absent but may report that an item that was not added is present, with a probability that depends on the
+ * size of the filter and the number of items added.
+ * <p>
+ * The filter is sized for an expected number of items and false positive probability. It continues to accept items
+ * beyond the expected number but the false positive probability increases. All methods are synchronized.
+ * </p>
+ */
+public final class BloomFilter {
+    /** The number of bits in a long. */
+    private static final int LONG_BITS = 64;
+
+    /** The size of the serialized header. */
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /** The maximum number of longs in the filter. */
+    private static final int MAX_WORDS = (Integer.MAX_VALUE - HEADER_BYTES) / Long.BYTES;
+
+    /** The number of hash functions. */
+    private final int numberOfHashes;
+
+    /** The number of bits in the filter. */
+    private final long numberOfBits;
+
+    /** The bits of the filter. */
+    private final long[] bits;
+
+    /** The number of items added. */
+    private long count;
+
+    /**
+     * Creates a filter sized for the expected number of items.
+     *
+     * @param expectedItems
+     *            the expected number of items. Must be greater than 0.
+     * @param falsePositiveProbability
+     *            the false positive probability when the expected number of items have been added. Must be greater
+     *            than 0 and less than 1.
+     */
+    public BloomFilter(final long expectedItems, final double falsePositiveProbability) {
+        if (expectedItems < 1) {
+            throw new IllegalArgumentException("expectedItems must be greater than 0");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+        }
+        final double ln2 = Math.log(2);
+        final long wanted = (long) Math.ceil(-expectedItems * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        // limited so that the serialized form fits in an array.
+        final int words = (int) Math.min(MAX_WORDS, (wanted + LONG_BITS - 1) / LONG_BITS);
+        this.bits = new long[words];
+        this.numberOfBits = (long) words * LONG_BITS;
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) numberOfBits / expectedItems * ln2));
+    }
+
+    private BloomFilter(final int numberOfHashes, final long[] bits, final long count) {
+        this.numberOfHashes = numberOfHashes;
+        this.bits = bits;
+        this.numberOfBits = (long) bits.length * LONG_BITS;
+        this.count = count;
+    }
+
+    /**
+     * Adds an item to the filter.
+     *
+     * @param item
+     *            the item to add.
+     */
+    public synchronized void add(final String item) {
+        final long hash1 = hash(item);
+        final long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < numberOfHashes; i++) {
+            final long index = Math.floorMod(hash1 + i * hash2, numberOfBits);
+            bits[(int) (index / LONG_BITS)] |= 1L << (index % LONG_BITS);
+        }
+        count++;
+    }
+
+    /**
+     * Determines if the item may have been added to the filter.
+     *
+     * @param item
+     *            the item to look for.
+     * @return {@code false} if the item was definitely not added, {@code true} if it probably was.
+     */
+    public synchronized boolean mightContain(final String item) {
+        final long hash1 = hash(item);
+        final long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < numberOfHashes; i++) {
+            final long index = Math.floorMod(hash1 + i * hash2, numberOfBits);
+            if ((bits[(int) (index / LONG_BITS)] & 1L << (index % LONG_BITS)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of items added to the filter.
+     *
+     * @return the number of items added.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Serializes the filter.
+     *
+     * @return the serialized filter.
+     * @see #fromBytes(byte[])
+     */
+    public synchronized byte[] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + bits.length * Long.BYTES);
+        buffer.putInt(numberOfHashes).putLong(count).putInt(bits.length);
+        for (final long word : bits) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Deserializes a filter.
+     *
+     * @param data
+     *            the data produced by {@link #toBytes()}.
+     * @return the filter.
+     * @throws IllegalArgumentException
+     *             if the data is not a serialized filter.
+     */
+    public static BloomFilter fromBytes(final byte[] data) {
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Data is too short for a Bloom filter");
+        }
+        final int numberOfHashes = buffer.getInt();
+        final long count = buffer.getLong();
+        final int words = buffer.getInt();
+        if (numberOfHashes < 1 || words < 1 || buffer.remaining() != (long) words * Long.BYTES) {
+            throw new IllegalArgumentException("Data is not a Bloom filter");
+        }
+        final long[] bits = new long[words];
+        for (int i = 0; i < words; i++) {
+            bits[i] = buffer.getLong();
+        }
+        return new BloomFilter(numberOfHashes, bits, count);
+    }
+
+    /**
+     * Determines if the other filter was created with the same size and number of hash functions.
+     *
+     * @param other
+     *            the filter to compare with.
+     * @return {@code true} if the filters have the same shape.
+     */
+    public boolean isSameShape(final BloomFilter other) {
+        return numberOfHashes == other.numberOfHashes && numberOfBits == other.numberOfBits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BloomFilter[%s bits, %s hashes, %s items]", numberOfBits, numberOfHashes, getCount());
+    }
+
+    /**
+     * Calculates the 64-bit FNV-1a hash of the UTF-8 encoding of the item.
+     *
+     * @param item
+     *            the item to hash.
+     * @return the hash.
+     */
+    private static long hash(final String item) {
+        long hash = 0xcbf29ce484222325L;
+        for (final byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The SplitMix64 finalizer. Spreads the bits of the value.
+     *
+     * @param value
+     *            the value to mix.
+     * @return the mixed value.
+     */
+    private static long mix(final long value) {
+        long result = (value ^ value >>> 30) * 0xbf58476d1ce4e5b9L;
+        result = (result ^ result >>> 27) * 0x94d049bb133111ebL;
+        return result ^ result >>> 31;
+    }
+}
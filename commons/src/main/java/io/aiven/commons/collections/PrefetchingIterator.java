@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.commons.collections;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An iterator that reads ahead of its consumer. The elements of the source iterator are read on a background thread
+ * into a bounded queue so that the latency of producing an element, for example fetching a page of a listing, is
+ * hidden behind the processing of the previous elements.
+ * <p>
+ * At most {@code capacity} elements are held in the queue. The source iterator must not return {@code null}. A
+ * RuntimeException thrown by the source iterator is rethrown to the consumer once the elements read before it have
+ * been consumed.
+ * </p>
+ *
+ * @param <T>
+ *            the type of element.
+ */
+public final class PrefetchingIterator<T> implements Iterator<T>, Closeable {
+    /** The time in milliseconds to wait on the queue before checking for state changes */
+    private static final long POLL_MS = 100;
+    /** The elements read ahead of the consumer */
+    private final BlockingQueue<T> queue;
+    /** Set by the producer when it has finished reading the source */
+    private volatile boolean done;
+    /** Set when the consumer closes the iterator */
+    private volatile boolean closed;
+    /** The exception that stopped the producer, if any */
+    private volatile Exception failure;
+    /** The next element to return, {@code null} if not yet retrieved */
+    private T next;
+
+    /**
+     * Constructor. Starts reading the source on the executor.
+     *
+     * @param source
+     *            the source iterator.
+     * @param capacity
+     *            the maximum number of elements to read ahead of the consumer. Values less than 1 are treated as 1.
+     * @param executor
+     *            the executor to read the source on.
+     */
+    public PrefetchingIterator(final Iterator<T> source, final int capacity, final Executor executor) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        executor.execute(() -> produce(source));
+    }
+
+    /**
+     * Creates a stream over the prefetching iterator. Closing the stream closes the iterator.
+     *
+     * @param <T>
+     *            the type of element.
+     * @param source
+     *            the source iterator.
+     * @param capacity
+     *            the maximum number of elements to read ahead of the consumer.
+     * @param executor
+     *            the executor to read the source on.
+     * @return a sequential stream of the elements of the source.
+     */
+    public static <T> Stream<T> stream(final Iterator<T> source, final int capacity, final Executor executor) {
+        final PrefetchingIterator<T> iterator = new PrefetchingIterator<>(source, capacity, executor);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Reads the source into the queue.
+     *
+     * @param source
+     *            the source iterator.
+     */
+    private void produce(final Iterator<T> source) {
+        try {
+            while (!closed && source.hasNext()) {
+                final T element = source.next();
+                while (!queue.offer(element, POLL_MS, TimeUnit.MILLISECONDS)) {
+                    if (closed) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+            failure = e;
+        } finally {
+            done = true;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                if (closed) {
+                    return false;
+                }
+                // read the flag before polling so that an empty poll after completion means the queue is drained.
+                final boolean finished = done;
+                next = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (next == null && finished) {
+                    final Exception exception = failure;
+                    if (exception instanceof RuntimeException) {
+                        throw (RuntimeException) exception;
+                    }
+                    if (exception != null) {
+                        throw new IllegalStateException("Reading ahead was interrupted", exception);
+                    }
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next element", e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T result = next;
+        next = null; // NOPMD NullAssignment
+        return result;
+    }
+
+    /**
+     * Stops reading the source and discards any elements read ahead.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear();
+    }
+}
@@ -16,17 +16,23 @@
 
 package io.aiven.commons.collections;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
-import org.apache.commons.collections4.queue.CircularFifoQueue;
-import org.apache.commons.collections4.queue.SynchronizedQueue;
-
 /**
  * Implements a ring buffer of items. Items are inserted until maximum size is reached and then the earliest items are
  * removed when newer items are added.
+ * <p>
+ * The items are kept in a doubly linked list in insertion order and indexed by a hash map, so adding, ejecting,
+ * removing and checking for an item take constant time whatever the size of the buffer. This makes buffers of 100k or
+ * more items practical. All methods are synchronized.
+ * </p>
  *
  * @param <K>
- *            the type of item in the queue. Must support equality check.
+ *            the type of item in the queue. Must support equality check and hashing.
  */
 public final class RingBuffer<K> {
     /** How to handle the duplicates in the buffer. */
@@ -39,10 +45,14 @@ public final class RingBuffer<K> {
         DELETE
     }
 
-    /** The wrapped queue. */
-    private final SynchronizedQueue<K> queue;
+    /**
+     * The oldest node for each item in the buffer. When duplicates are allowed the later nodes for the item are
+     * reached through {@link Node#nextSame}.
+     */
+    private final Map<K, Node<K>> index;
 
-    private final CircularFifoQueue<K> wrappedQueue;
+    /** The maximum number of items in the buffer. */
+    private final int maxSize;
 
     /** Flag to indicate ring buffer should always be empty. */
     private final boolean alwaysEmpty;
@@ -50,6 +60,15 @@ public final class RingBuffer<K> {
     /** Flag to allow duplicates in the buffer. */
     private final DuplicateHandling duplicateHandling;
 
+    /** The oldest node in the buffer. */
+    private Node<K> head;
+
+    /** The newest node in the buffer. */
+    private Node<K> tail;
+
+    /** The number of items in the buffer. */
+    private int size;
+
     /**
      * Create a Ring Buffer of a maximum size that rejects duplicates. If the size is less than or equal to 0 then the
      * buffer is always empty.
@@ -72,15 +91,15 @@ public final class RingBuffer<K> {
      *            defines how to handle duplicate values in the buffer.
      */
     public RingBuffer(final int size, final DuplicateHandling duplicateHandling) {
-        wrappedQueue = new CircularFifoQueue<>(size > 0 ? size : 1);
-        queue = SynchronizedQueue.synchronizedQueue(wrappedQueue);
+        maxSize = size > 0 ? size : 1;
+        index = new HashMap<>();
         alwaysEmpty = size <= 0;
         this.duplicateHandling = duplicateHandling;
     }
 
     @Override
-    public String toString() {
-        return String.format("RingBuffer[%s, load %s/%s]", duplicateHandling, queue.size(), wrappedQueue.maxSize());
+    public synchronized String toString() {
+        return String.format("RingBuffer[%s, load %s/%s]", duplicateHandling, size, maxSize);
     }
 
     /**
@@ -96,11 +115,11 @@ public final class RingBuffer<K> {
      *            Item T which is to be added to the Queue
      * @return The item that was ejected. May be {@code null}.
      */
-    public K add(final K item) {
+    public synchronized K add(final K item) {
         Objects.requireNonNull(item, "item");
         if (!alwaysEmpty && checkDuplicates(item)) {
-            final K result = isFull() ? queue.poll() : null;
-            queue.add(item);
+            final K result = isFull() ? unlink(head) : null;
+            link(item);
             return result;
         }
         return null;
@@ -112,8 +131,11 @@ public final class RingBuffer<K> {
      * @param item
      *            the item to remove.
      */
-    public void remove(final K item) {
-        queue.remove(item);
+    public synchronized void remove(final K item) {
+        final Node<K> node = index.get(item);
+        if (node != null) {
+            unlink(node);
+        }
     }
 
     /**
@@ -123,8 +145,8 @@ public final class RingBuffer<K> {
      *            the item to look for.
      * @return {@code true} if the item is in the buffer, {@code false} othersie.
      */
-    public boolean contains(final K item) {
-        return queue.contains(item);
+    public synchronized boolean contains(final K item) {
+        return index.containsKey(item);
     }
 
     /**
@@ -132,8 +154,8 @@ public final class RingBuffer<K> {
      *
      * @return the item at the head of the buffer. May be {@code null}.
      */
-    public K head() {
-        return queue.peek();
+    public synchronized K head() {
+        return head == null ? null : head.item;
     }
 
     /**
@@ -141,9 +163,21 @@ public final class RingBuffer<K> {
      *
      * @return the item at the tail of the buffer. May be {@code null}.
      */
-    public K tail() {
-        final int size = wrappedQueue.size();
-        return size == 0 ? null : wrappedQueue.get(size - 1);
+    public synchronized K tail() {
+        return tail == null ? null : tail.item;
+    }
+
+    /**
+     * Gets a copy of the items in the buffer.
+     *
+     * @return the items in the buffer from the head to the tail.
+     */
+    public synchronized List<K> toList() {
+        final List<K> result = new ArrayList<>(size);
+        for (Node<K> node = head; node != null; node = node.next) {
+            result.add(node.item);
+        }
+        return result;
     }
 
     private boolean checkDuplicates(final K item) {
@@ -151,22 +185,76 @@ public final class RingBuffer<K> {
             case ALLOW :
                 return true;
             case REJECT :
-                return !queue.contains(item);
+                return !index.containsKey(item);
             case DELETE :
-                queue.remove(item);
+                remove(item);
                 return true;
             default :
                 throw new IllegalStateException("Unsupported duplicate handling: " + duplicateHandling);
         }
     }
 
+    /**
+     * Adds a node for the item at the tail of the buffer.
+     *
+     * @param item
+     *            the item to add.
+     */
+    private void link(final K item) {
+        final Node<K> node = new Node<>(item);
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+            node.prev = tail;
+        }
+        tail = node;
+        final Node<K> oldest = index.putIfAbsent(item, node);
+        if (oldest != null) {
+            // a duplicate, only possible when duplicates are allowed.
+            Node<K> last = oldest;
+            while (last.nextSame != null) {
+                last = last.nextSame;
+            }
+            last.nextSame = node;
+        }
+        size++;
+    }
+
+    /**
+     * Removes the node from the buffer. The node must be the oldest node for its item.
+     *
+     * @param node
+     *            the node to remove.
+     * @return the item of the node.
+     */
+    private K unlink(final Node<K> node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        if (node.nextSame == null) {
+            index.remove(node.item);
+        } else {
+            index.put(node.item, node.nextSame);
+        }
+        size--;
+        return node.item;
+    }
+
     /**
      * Returns {@code true} if the buffer is full.
      *
      * @return {@code true} if the buffer is full.
      */
-    public boolean isFull() {
-        return wrappedQueue.isAtFullCapacity();
+    public synchronized boolean isFull() {
+        return size >= maxSize;
     }
 
     /**
@@ -175,8 +263,8 @@ public final class RingBuffer<K> {
      *
      * @return A value T from the last place in the buffer, returns null if buffer is not full.
      */
-    public K getNextEjected() {
-        return isFull() ? queue.peek() : null;
+    public synchronized K getNextEjected() {
+        return isFull() ? head() : null;
     }
 
     @Override
@@ -192,4 +280,25 @@ public final class RingBuffer<K> {
     public int hashCode() {
         return super.hashCode();
     }
+
+    /**
+     * A node in the buffer.
+     *
+     * @param <K>
+     *            the type of the item.
+     */
+    private static final class Node<K> {
+        /** The item. */
+        private final K item;
+        /** The next older node. */
+        private Node<K> prev;
+        /** The next newer node. */
+        private Node<K> next;
+        /** The next newer node for the same item, only set when duplicates are allowed. */
+        private Node<K> nextSame;
+
+        Node(final K item) {
+            this.item = item;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import java.util.Map;
 import org.apache.kafka.common.config.ConfigDef;
 
 import io.aiven.kafka.connect.common.config.enums.ErrorsTolerance;
+import io.aiven.kafka.connect.common.config.enums.OffsetFormat;
 import io.aiven.kafka.connect.common.source.input.InputFormat;
 import io.aiven.kafka.connect.common.source.input.Transformer;
 import io.aiven.kafka.connect.common.source.input.TransformerFactory;
@@ -79,6 +80,14 @@ public class SourceCommonConfig extends CommonConfig {
         return transformerFragment.getTransformerMaxBufferSize();
     }
 
+    public int getTransformerDecodeParallelism() {
+        return transformerFragment.getTransformerDecodeParallelism();
+    }
+
+    public int getTransformerDecodeThreads() {
+        return transformerFragment.getTransformerDecodeThreads();
+    }
+
     public String getSourceName() {
         return fileNameFragment.getSourceName();
     }
@@ -87,6 +96,54 @@ public class SourceCommonConfig extends CommonConfig {
         return sourceConfigFragment.getNativeStartKey();
     }
 
+    public long getObjectSplitSize() {
+        return sourceConfigFragment.getObjectSplitSize();
+    }
+
+    public boolean isListingAssigned() {
+        return sourceConfigFragment.isListingAssigned();
+    }
+
+    public boolean isWorkStealing() {
+        return sourceConfigFragment.isWorkStealing();
+    }
+
+    public long getWorkStealingLeaseMs() {
+        return sourceConfigFragment.getWorkStealingLeaseMs();
+    }
+
+    public long getListingIntervalMaxMs() {
+        return sourceConfigFragment.getListingIntervalMaxMs();
+    }
+
+    public long getSeenFilterSize() {
+        return sourceConfigFragment.getSeenFilterSize();
+    }
+
+    public double getSeenFilterFalsePositiveProbability() {
+        return sourceConfigFragment.getSeenFilterFalsePositiveProbability();
+    }
+
+    public OffsetFormat getOffsetFormat() {
+        return sourceConfigFragment.getOffsetFormat();
+    }
+
+    public boolean isOffsetFormatFallback() {
+        return sourceConfigFragment.isOffsetFormatFallback();
+    }
+
+    public int getObjectProcessingThreads() {
+        return sourceConfigFragment.getObjectProcessingThreads();
+    }
+
+    public long getBufferMaxBytes() {
+        return sourceConfigFragment.getBufferMaxBytes();
+    }
+
+    public int getDecompressionReadAheadBuffers() {
+        return sourceConfigFragment.getDecompressionReadAheadBuffers();
+    }
+
     public CompressionType getCompressionType() {
         return fileNameFragment.getCompressionType();
     }
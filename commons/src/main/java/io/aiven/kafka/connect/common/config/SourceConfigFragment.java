@@ -26,6 +26,7 @@ import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 
 import io.aiven.kafka.connect.common.config.enums.ErrorsTolerance;
+import io.aiven.kafka.connect.common.config.enums.OffsetFormat;
 import io.aiven.kafka.connect.common.source.task.DistributionType;
 
 import org.apache.commons.lang3.StringUtils;
@@ -45,6 +46,30 @@ public final class SourceConfigFragment extends ConfigFragment {
 
     public static final String NATIVE_START_KEY = "native.start.key";
 
+    public static final String OBJECT_SPLIT_SIZE = "object.split.size";
+
+    public static final String LISTING_ASSIGNED = "listing.assigned";
+
+    public static final String WORK_STEALING = "distribution.work.stealing";
+
+    public static final String WORK_STEALING_LEASE_MS = "distribution.work.stealing.lease.ms";
+
+    public static final String LISTING_INTERVAL_MAX_MS = "listing.interval.max.ms";
+
+    public static final String SEEN_FILTER_SIZE = "seen.filter.size";
+
+    public static final String SEEN_FILTER_FALSE_POSITIVE_PROBABILITY = "seen.filter.false.positive.probability";
+
+    public static final String OFFSET_FORMAT = "offset.format";
+
+    public static final String OFFSET_FORMAT_FALLBACK = "offset.format.fallback";
+
+    public static final String OBJECT_PROCESSING_THREADS = "object.processing.threads";
+
+    public static final String BUFFER_MAX_BYTES = "buffer.max.bytes";
+
+    public static final String DECOMPRESSION_READ_AHEAD_BUFFERS = "decompression.read.ahead.buffers";
+
     /**
      * Gets a setter for this fragment.
      *
@@ -89,6 +114,85 @@ public final class SourceConfigFragment extends ConfigFragment {
         configDef.define(NATIVE_START_KEY, ConfigDef.Type.STRING, null, null, ConfigDef.Importance.MEDIUM,
                 "An identifier for the source connector to know which key to start processing from, on a restart it will also begin reading messages from this point as well. Available since 3.4.2");
 
+        configDef.define(OBJECT_SPLIT_SIZE, ConfigDef.Type.LONG, 0L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "Objects larger than this number of bytes are divided into splits of about this size that are "
+                        + "distributed across tasks and tracked independently. Applies to uncompressed jsonl and bytes "
+                        + "data and to parquet data. Records from different splits of an object may be delivered out "
+                        + "of order. 0 disables splitting.");
+
+        configDef.define(LISTING_ASSIGNED, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW,
+                "Set by the connector in the task configuration when it assigns the part of the storage that each "
+                        + "task lists. The task then processes every item it lists instead of selecting items with "
+                        + DISTRIBUTION_TYPE + ". Not intended to be set by users.");
+
+        configDef.define(WORK_STEALING, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW,
+                "When true, once a task has processed the items assigned to it by " + DISTRIBUTION_TYPE
+                        + " it claims the unprocessed items of the other tasks from the same listing and processes "
+                        + "them. Each task claims every item, its own included, just before processing it, so an item "
+                        + "is processed by the task that claimed it. A claim is released once the records of the item "
+                        + "have been committed and expires after " + WORK_STEALING_LEASE_MS + ". Speeds up backfills "
+                        + "where some tasks have much more data than others, at the cost of a claim request and a "
+                        + "stored offset lookup for each item. Records of different items may be delivered out of "
+                        + "order. Requires support from the connector.");
+
+        configDef.define(WORK_STEALING_LEASE_MS, ConfigDef.Type.LONG, 900000L, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The time after which a claim of an item that has not been released can be taken over by another "
+                        + "task, for example when the task that claimed it was stopped. Must be longer than the time "
+                        + "it takes to process an item and commit its records.");
+
+        configDef.define(LISTING_INTERVAL_MAX_MS, ConfigDef.Type.LONG, 4000L, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The maximum number of milliseconds to wait between listings of the storage. The wait doubles each "
+                        + "time a listing finds nothing new, up to this value, and drops back to the minimum as soon "
+                        + "as new items are found. Raise it to reduce the number of listing requests made for idle "
+                        + "storage.");
+
+        configDef.define(SEEN_FILTER_SIZE, ConfigDef.Type.LONG, 0L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "The number of processed items that the seen object filter remembers in each of its two "
+                        + "generations. The filter lets the source skip items that were processed before a restart "
+                        + "without looking up their offsets. Each item uses about "
+                        + "-1.44 * log2(" + SEEN_FILTER_FALSE_POSITIVE_PROBABILITY + ") bits. 0 disables the filter.");
+        configDef.define(SEEN_FILTER_FALSE_POSITIVE_PROBABILITY, ConfigDef.Type.DOUBLE, 1e-6,
+                ConfigDef.Range.between(1e-15, 0.01), ConfigDef.Importance.LOW,
+                "The probability that the seen object filter reports an unprocessed item as processed, which causes "
+                        + "the item to be skipped.");
+
+        configDef.define(OFFSET_FORMAT, ConfigDef.Type.STRING, OffsetFormat.LEGACY.name(), new OffsetFormatValidator(),
+                ConfigDef.Importance.LOW,
+                "The encoding of the source partitions and offsets stored in Kafka. legacy uses descriptive "
+                        + "property names, compact uses short property names and hashed also replaces the item key "
+                        + "with a fixed length hash of it. Offsets stored in any of the formats are read while "
+                        + OFFSET_FORMAT_FALLBACK + " is enabled, so the format can be changed without reprocessing "
+                        + "items. Currently used by the S3 source.");
+        configDef.define(OFFSET_FORMAT_FALLBACK, ConfigDef.Type.BOOLEAN, true, ConfigDef.Importance.LOW,
+                "Whether to look for the offset of an item in the other offset formats when none is stored in "
+                        + OFFSET_FORMAT + ". The extra lookup is only made for items without an offset in "
+                        + OFFSET_FORMAT + ". Disable it once every item has been processed since the format was "
+                        + "changed.");
+
+        configDef.define(OBJECT_PROCESSING_THREADS, ConfigDef.Type.INT, 1, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The number of threads in each task that read and decode items. Each thread processes whole items "
+                        + "and the records are returned in the order that the items were listed, so the order of the "
+                        + "records is the same as with a single thread. Each thread holds decoded records of up to "
+                        + BUFFER_MAX_BYTES + " divided by the number of threads.");
+
+        configDef.define(BUFFER_MAX_BYTES, ConfigDef.Type.LONG, 64L * 1024 * 1024, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The estimated number of bytes of records that each task buffers for Kafka to poll. The task stops "
+                        + "reading while the buffer is full, so the memory used is independent of the size of the "
+                        + "records. The processing threads buffer up to this number of bytes between them in "
+                        + "addition.");
+
+        configDef.define(DECOMPRESSION_READ_AHEAD_BUFFERS, ConfigDef.Type.INT, 4, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "The number of 64 KiB buffers that compressed items are decompressed into ahead of the decoding. "
+                        + "Each compressed item is decompressed on its own thread so that decompression and decoding "
+                        + "overlap. 0 decompresses on the thread decoding the item.");
+
         return configDef;
     }
 
@@ -146,6 +250,114 @@ public final class SourceConfigFragment extends ConfigFragment {
         return cfg.getString(NATIVE_START_KEY);
     }
 
+    /**
+     * Gets the size of the splits that large objects are divided into.
+     *
+     * @return the split size in bytes, 0 if objects are not split.
+     */
+    public long getObjectSplitSize() {
+        return cfg.getLong(OBJECT_SPLIT_SIZE);
+    }
+
+    /**
+     * Determines if the connector assigned the part of the storage that this task lists.
+     *
+     * @return {@code true} if every listed item belongs to this task.
+     */
+    public boolean isListingAssigned() {
+        return cfg.getBoolean(LISTING_ASSIGNED);
+    }
+
+    /**
+     * Determines if idle tasks claim the items assigned to other tasks.
+     *
+     * @return {@code true} if work stealing is enabled.
+     */
+    public boolean isWorkStealing() {
+        return cfg.getBoolean(WORK_STEALING);
+    }
+
+    /**
+     * Gets the time after which an unreleased claim can be taken over by another task.
+     *
+     * @return the claim lease in milliseconds.
+     */
+    public long getWorkStealingLeaseMs() {
+        return cfg.getLong(WORK_STEALING_LEASE_MS);
+    }
+
+    /**
+     * Gets the maximum time to wait between listings that find nothing new.
+     *
+     * @return the maximum listing interval in milliseconds.
+     */
+    public long getListingIntervalMaxMs() {
+        return cfg.getLong(LISTING_INTERVAL_MAX_MS);
+    }
+
+    /**
+     * Gets the number of items in each generation of the seen object filter.
+     *
+     * @return the number of items in a generation, 0 if the filter is disabled.
+     */
+    public long getSeenFilterSize() {
+        return cfg.getLong(SEEN_FILTER_SIZE);
+    }
+
+    /**
+     * Gets the false positive probability of the seen object filter.
+     *
+     * @return the false positive probability.
+     */
+    public double getSeenFilterFalsePositiveProbability() {
+        return cfg.getDouble(SEEN_FILTER_FALSE_POSITIVE_PROBABILITY);
+    }
+
+    /**
+     * Gets the encoding of the source partitions and offsets stored in Kafka.
+     *
+     * @return the offset format.
+     */
+    public OffsetFormat getOffsetFormat() {
+        return OffsetFormat.forName(cfg.getString(OFFSET_FORMAT));
+    }
+
+    /**
+     * Gets whether the offsets stored in the other offset formats are read.
+     *
+     * @return {@code true} if an offset not found in the offset format is looked for in the other formats.
+     */
+    public boolean isOffsetFormatFallback() {
+        return cfg.getBoolean(OFFSET_FORMAT_FALLBACK);
+    }
+
+    /**
+     * Gets the number of threads in each task that read and decode items.
+     *
+     * @return the number of object processing threads.
+     */
+    public int getObjectProcessingThreads() {
+        return cfg.getInt(OBJECT_PROCESSING_THREADS);
+    }
+
+    /**
+     * Gets the estimated number of bytes of records that each task buffers for Kafka to poll.
+     *
+     * @return the maximum number of buffered bytes.
+     */
+    public long getBufferMaxBytes() {
+        return cfg.getLong(BUFFER_MAX_BYTES);
+    }
+
+    /**
+     * Gets the number of buffers that compressed items are decompressed into ahead of the decoding.
+     *
+     * @return the number of read ahead buffers, 0 if items are decompressed on the decoding thread.
+     */
+    public int getDecompressionReadAheadBuffers() {
+        return cfg.getInt(DECOMPRESSION_READ_AHEAD_BUFFERS);
+    }
+
     /**
      * The errors tolerance validator.
      */
@@ -168,6 +380,25 @@ public final class SourceConfigFragment extends ConfigFragment {
 
     }
 
+    /**
+     * The offset format validator.
+     */
+    private static class OffsetFormatValidator implements ConfigDef.Validator {
+        @Override
+        public void ensureValid(final String name, final Object value) {
+            final String offsetFormat = (String) value;
+            if (StringUtils.isNotBlank(offsetFormat)) {
+                // This will throw an Exception if not a valid value.
+                OffsetFormat.forName(offsetFormat);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.stream(OffsetFormat.values()).map(OffsetFormat::name).collect(Collectors.joining(", "));
+        }
+    }
+
     /**
      * The distribution strategy validator.
      */
@@ -268,5 +499,137 @@ public final class SourceConfigFragment extends ConfigFragment {
         public Setter nativeStartKey(final String nativeStartKey) {
             return setValue(NATIVE_START_KEY, nativeStartKey);
         }
+
+        /**
+         * Sets the size of the splits that large objects are divided into.
+         *
+         * @param objectSplitSize
+         *            the split size in bytes, 0 to disable splitting.
+         * @return this.
+         */
+        public Setter objectSplitSize(final long objectSplitSize) {
+            return setValue(OBJECT_SPLIT_SIZE, objectSplitSize);
+        }
+
+        /**
+         * Sets whether the connector assigned the part of the storage that the task lists.
+         *
+         * @param listingAssigned
+         *            {@code true} if every listed item belongs to the task.
+         * @return this.
+         */
+        public Setter listingAssigned(final boolean listingAssigned) {
+            return setValue(LISTING_ASSIGNED, listingAssigned);
+        }
+
+        /**
+         * Sets whether idle tasks claim the items assigned to other tasks.
+         *
+         * @param workStealing
+         *            {@code true} to enable work stealing.
+         * @return this.
+         */
+        public Setter workStealing(final boolean workStealing) {
+            return setValue(WORK_STEALING, workStealing);
+        }
+
+        /**
+         * Sets the time after which an unreleased claim can be taken over by another task.
+         *
+         * @param workStealingLeaseMs
+         *            the claim lease in milliseconds.
+         * @return this.
+         */
+        public Setter workStealingLeaseMs(final long workStealingLeaseMs) {
+            return setValue(WORK_STEALING_LEASE_MS, workStealingLeaseMs);
+        }
+
+        /**
+         * Sets the maximum time to wait between listings that find nothing new.
+         *
+         * @param listingIntervalMaxMs
+         *            the maximum listing interval in milliseconds.
+         * @return this.
+         */
+        public Setter listingIntervalMaxMs(final long listingIntervalMaxMs) {
+            return setValue(LISTING_INTERVAL_MAX_MS, listingIntervalMaxMs);
+        }
+
+        /**
+         * Sets the number of items in each generation of the seen object filter.
+         *
+         * @param seenFilterSize
+         *            the number of items in a generation, 0 to disable the filter.
+         * @return this.
+         */
+        public Setter seenFilterSize(final long seenFilterSize) {
+            return setValue(SEEN_FILTER_SIZE, seenFilterSize);
+        }
+
+        /**
+         * Sets the false positive probability of the seen object filter.
+         *
+         * @param probability
+         *            the false positive probability.
+         * @return this.
+         */
+        public Setter seenFilterFalsePositiveProbability(final double probability) {
+            return setValue(SEEN_FILTER_FALSE_POSITIVE_PROBABILITY, Double.toString(probability));
+        }
+
+        /**
+         * Sets the encoding of the source partitions and offsets stored in Kafka.
+         *
+         * @param offsetFormat
+         *            the offset format.
+         * @return this.
+         */
+        public Setter offsetFormat(final OffsetFormat offsetFormat) {
+            return setValue(OFFSET_FORMAT, offsetFormat.name());
+        }
+
+        /**
+         * Sets whether the offsets stored in the other offset formats are read.
+         *
+         * @param fallback
+         *            {@code true} to look for an offset in the other formats when none is found.
+         * @return this.
+         */
+        public Setter offsetFormatFallback(final boolean fallback) {
+            return setValue(OFFSET_FORMAT_FALLBACK, fallback);
+        }
+
+        /**
+         * Sets the number of threads in each task that read and decode items.
+         *
+         * @param threads
+         *            the number of object processing threads.
+         * @return this.
+         */
+        public Setter objectProcessingThreads(final int threads) {
+            return setValue(OBJECT_PROCESSING_THREADS, threads);
+        }
+
+        /**
+         * Sets the estimated number of bytes of records that each task buffers for Kafka to poll.
+         *
+         * @param bytes
+         *            the maximum number of buffered bytes.
+         * @return this.
+         */
+        public Setter bufferMaxBytes(final long bytes) {
+            return setValue(BUFFER_MAX_BYTES, bytes);
+        }
+
+        /**
+         * Sets the number of buffers that compressed items are decompressed into ahead of the decoding.
+         *
+         * @param buffers
+         *            the number of read ahead buffers, 0 to decompress on the decoding thread.
+         * @return this.
+         */
+        public Setter decompressionReadAheadBuffers(final int buffers) {
+            return setValue(DECOMPRESSION_READ_AHEAD_BUFFERS, buffers);
+        }
     }
 }
@@ -39,6 +39,9 @@ public final class TransformerFragment extends ConfigFragment {
     public static final String TRANSFORMER_MAX_BUFFER_SIZE = "transformer.max.buffer.size";
     private static final int DEFAULT_MAX_BUFFER_SIZE = 4096;
 
+    public static final String TRANSFORMER_DECODE_PARALLELISM = "transformer.decode.parallelism";
+    public static final String TRANSFORMER_DECODE_THREADS = "transformer.decode.threads";
+
     /**
      * Creates a Setter for this fragment.
      *
@@ -82,6 +85,18 @@ public final class TransformerFragment extends ConfigFragment {
                 ConfigDef.Range.between(1, Integer.MAX_VALUE), ConfigDef.Importance.MEDIUM,
                 "Max Size of the byte buffer when using the BYTE Transformer", TRANSFORMER_GROUP, ++transformerCounter,
                 ConfigDef.Width.NONE, TRANSFORMER_MAX_BUFFER_SIZE);
+        configDef.define(TRANSFORMER_DECODE_PARALLELISM, ConfigDef.Type.INT, 1, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW,
+                "The number of chunks of an item that the JSONL and Avro transformers decode at the same time. "
+                        + "JSONL items are divided into chunks of whole lines and Avro items into their data blocks. "
+                        + "The records are returned in their original order.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, TRANSFORMER_DECODE_PARALLELISM);
+        configDef.define(TRANSFORMER_DECODE_THREADS, ConfigDef.Type.INT, 0, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "The number of threads in each task that decode the chunks of items when "
+                        + TRANSFORMER_DECODE_PARALLELISM + " is greater than 1. 0 uses "
+                        + TRANSFORMER_DECODE_PARALLELISM + " threads.",
+                TRANSFORMER_GROUP, ++transformerCounter, ConfigDef.Width.NONE, TRANSFORMER_DECODE_THREADS);
 
         return configDef;
     }
@@ -113,6 +128,24 @@ public final class TransformerFragment extends ConfigFragment {
         return cfg.getInt(TRANSFORMER_MAX_BUFFER_SIZE);
     }
 
+    /**
+     * Gets the number of chunks of an item that are decoded at the same time.
+     *
+     * @return the decode parallelism.
+     */
+    public int getTransformerDecodeParallelism() {
+        return cfg.getInt(TRANSFORMER_DECODE_PARALLELISM);
+    }
+
+    /**
+     * Gets the number of threads in each task that decode the chunks of items.
+     *
+     * @return the number of decode threads, 0 to use the decode parallelism.
+     */
+    public int getTransformerDecodeThreads() {
+        return cfg.getInt(TRANSFORMER_DECODE_THREADS);
+    }
+
     public static class InputFormatValidator extends ConfigDef.NonEmptyString {
 
         @Override
@@ -190,5 +223,27 @@ public final class TransformerFragment extends ConfigFragment {
         public Setter maxBufferSize(final int maxBufferSize) {
             return setValue(TRANSFORMER_MAX_BUFFER_SIZE, maxBufferSize);
         }
+
+        /**
+         * Sets the number of chunks of an item that are decoded at the same time.
+         *
+         * @param parallelism
+         *            the decode parallelism.
+         * @return this
+         */
+        public Setter decodeParallelism(final int parallelism) {
+            return setValue(TRANSFORMER_DECODE_PARALLELISM, parallelism);
+        }
+
+        /**
+         * Sets the number of threads in each task that decode the chunks of items.
+         *
+         * @param threads
+         *            the number of decode threads, 0 to use the decode parallelism.
+         * @return this
+         */
+        public Setter decodeThreads(final int threads) {
+            return setValue(TRANSFORMER_DECODE_THREADS, threads);
+        }
     }
 }
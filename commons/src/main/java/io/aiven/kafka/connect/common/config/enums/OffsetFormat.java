@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.config.enums;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.kafka.common.config.ConfigException;
+
+/**
+ * The encoding of the source partitions and offsets that a source connector stores in Kafka.
+ */
+public enum OffsetFormat {
+
+    /** The original encoding with descriptive property names. */
+    LEGACY("legacy"),
+    /** Short property names. */
+    COMPACT("compact"),
+    /** Short property names with the native key replaced by a fixed length hash of it. */
+    HASHED("hashed");
+
+    private final String name;
+
+    OffsetFormat(final String name) {
+        this.name = name;
+    }
+
+    public static OffsetFormat forName(final String name) {
+        Objects.requireNonNull(name, "name cannot be null");
+        for (final OffsetFormat offsetFormat : OffsetFormat.values()) {
+            if (offsetFormat.name.equalsIgnoreCase(name)) {
+                return offsetFormat;
+            }
+        }
+        throw new ConfigException(String.format("Unknown offset.format type: %s, allowed values %s ", name,
+                Arrays.toString(OffsetFormat.values())));
+    }
+}
@@ -16,6 +16,8 @@
 
 package io.aiven.kafka.connect.common.source;
 
+import java.util.Map;
+
 import org.apache.kafka.connect.data.SchemaAndValue;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.errors.DataException;
@@ -23,6 +25,7 @@ import org.apache.kafka.connect.source.SourceRecord;
 
 import io.aiven.kafka.connect.common.NativeInfo;
 import io.aiven.kafka.connect.common.config.enums.ErrorsTolerance;
+import io.aiven.kafka.connect.common.source.input.ResumePosition;
 import io.aiven.kafka.connect.common.source.task.Context;
 
 import org.slf4j.Logger;
@@ -46,8 +49,23 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
     private SchemaAndValue keyData;
     /** The value for the source record. */
     private SchemaAndValue valueData;
-    /** The offset manager entry for this record */
+    /**
+     * The offset manager entry for this record. Shared with the record that this record was copied from until either
+     * of them changes it, see {@link #offsetSnapshot}.
+     */
     private O offsetManagerEntry;
+    /**
+     * The properties of the shared offset manager entry when this record was copied, {@code null} if this record does
+     * not share its offset manager entry. Copies of a record are made for every record read from the native item, so
+     * they share the offset manager entry rather than copying it, and only copy it if they are changed.
+     */
+    private Map<String, Object> offsetSnapshot;
+    /** The record count of the shared offset manager entry when this record was copied */
+    private long snapshotRecordCount;
+    /** The partition map of the offset manager entry, created on first use and shared with copies */
+    private Map<String, Object> partitionMap;
+    /** The estimated size of the key and value in bytes, -1 if it has not been estimated */
+    private long estimatedSize = -1;
     /** The context associated with this record */
     private Context<K> context;
     /** The native info for this record. */
@@ -67,15 +85,18 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
     }
 
     /**
-     * Copy constructor for an abstract source record. This constructor makes a copy of the OffsetManagerEntry.
+     * Copy constructor for an abstract source record. The copy shares the OffsetManagerEntry with the source record and
+     * keeps a snapshot of its properties, so later changes to the entry of either record are not seen by the other.
      *
      * @param sourceRecord
      *            the source record to copy.
      */
     protected AbstractSourceRecord(final AbstractSourceRecord<K, N, O, T> sourceRecord) {
         this(sourceRecord.logger, sourceRecord.nativeInfo);
-        this.offsetManagerEntry = sourceRecord.offsetManagerEntry
-                .fromProperties(sourceRecord.getOffsetManagerEntry().getProperties());
+        this.offsetManagerEntry = sourceRecord.offsetManagerEntry;
+        this.offsetSnapshot = sourceRecord.getOffsetProperties();
+        this.snapshotRecordCount = sourceRecord.getRecordCount();
+        this.partitionMap = sourceRecord.getPartitionMap();
         this.keyData = sourceRecord.keyData;
         this.valueData = sourceRecord.valueData;
         this.context = sourceRecord.context;
@@ -124,7 +145,10 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      *         with.
      */
     final public long getRecordCount() {
-        return offsetManagerEntry == null ? 0 : offsetManagerEntry.getRecordCount();
+        if (offsetManagerEntry == null) {
+            return 0;
+        }
+        return offsetSnapshot == null ? offsetManagerEntry.getRecordCount() : snapshotRecordCount;
     }
 
     /**
@@ -132,9 +156,52 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      * working with.
      */
     final public void incrementRecordCount() {
+        detachOffsetManagerEntry();
         this.offsetManagerEntry.incrementRecordCount();
     }
 
+    /**
+     * Records the position from which reading of the native item can resume in the offset manager entry.
+     *
+     * @param resumePosition
+     *            the position following the last record read.
+     */
+    final public void setResumePosition(final ResumePosition resumePosition) {
+        detachOffsetManagerEntry();
+        resumePosition.writeTo(this.offsetManagerEntry);
+    }
+
+    /**
+     * Replaces a shared offset manager entry with a copy of the snapshot so that it can be changed.
+     */
+    private void detachOffsetManagerEntry() {
+        if (offsetSnapshot != null) {
+            offsetManagerEntry = offsetManagerEntry.fromProperties(offsetSnapshot);
+            offsetSnapshot = null;
+        }
+    }
+
+    /**
+     * Gets the offset properties of this record.
+     *
+     * @return the snapshot if the offset manager entry is shared, otherwise the properties of the entry.
+     */
+    private Map<String, Object> getOffsetProperties() {
+        return offsetSnapshot == null ? offsetManagerEntry.getProperties() : offsetSnapshot;
+    }
+
+    /**
+     * Gets the partition map of the offset manager entry.
+     *
+     * @return the partition map.
+     */
+    private Map<String, Object> getPartitionMap() {
+        if (partitionMap == null) {
+            partitionMap = offsetManagerEntry.getManagerKey().getPartitionMap();
+        }
+        return partitionMap;
+    }
+
     /**
      * Sets the key data for this source record.
      *
@@ -143,6 +210,7 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      */
     final public void setKeyData(final SchemaAndValue keyData) {
         this.keyData = keyData;
+        this.estimatedSize = -1;
     }
 
     /**
@@ -162,6 +230,20 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      */
     final public void setValueData(final SchemaAndValue valueData) {
         this.valueData = valueData;
+        this.estimatedSize = -1;
+    }
+
+    /**
+     * Gets the estimated size of this record in bytes. The estimate is calculated on first use and kept until the key
+     * or value is changed.
+     *
+     * @return the estimated size of this record in bytes.
+     */
+    final long estimateSize() {
+        if (estimatedSize < 0) {
+            estimatedSize = RecordSizeEstimator.estimate(keyData, valueData);
+        }
+        return estimatedSize;
     }
 
     /**
@@ -199,6 +281,8 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      */
     final public void setOffsetManagerEntry(final O offsetManagerEntry) {
         this.offsetManagerEntry = offsetManagerEntry.fromProperties(offsetManagerEntry.getProperties());
+        this.offsetSnapshot = null;
+        this.partitionMap = null;
     }
 
     /**
@@ -207,7 +291,7 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
      * @return A copy of the offset manager entry for this source record.
      */
     final public O getOffsetManagerEntry() {
-        return offsetManagerEntry.fromProperties(offsetManagerEntry.getProperties()); // return a defensive copy
+        return offsetManagerEntry.fromProperties(getOffsetProperties()); // return a defensive copy
     }
 
     /**
@@ -232,7 +316,8 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
     }
 
     /**
-     * Creates a SourceRecord that can be returned to a Kafka topic
+     * Creates a SourceRecord that can be returned to a Kafka topic. The offset map of the SourceRecord is also stored
+     * in the offset manager, so it is created once per record.
      *
      * @param tolerance
      *            The error tolerance for the record processing.
@@ -246,10 +331,10 @@ public abstract class AbstractSourceRecord<K extends Comparable<K>, N, O extends
                 logger.debug("Source Record: {} for Topic: {} , Partition: {}, recordCount: {}", getNativeKey(),
                         getTopic(), getPartition(), getRecordCount());
             }
-            offsetManager.addEntry(offsetManagerEntry);
-            return new SourceRecord(offsetManagerEntry.getManagerKey().getPartitionMap(),
-                    offsetManagerEntry.getProperties(), getTopic(), getPartition(), keyData.schema(), keyData.value(),
-                    valueData.schema(), valueData.value());
+            final Map<String, Object> offset = getOffsetProperties();
+            offsetManager.addEntry(getPartitionMap(), offset);
+            return new SourceRecord(getPartitionMap(), offset, getTopic(), getPartition(), keyData.schema(),
+                    keyData.value(), valueData.schema(), valueData.value());
         } catch (DataException e) {
             if (ErrorsTolerance.NONE.equals(tolerance)) {
                 throw new ConnectException("Data Exception caught during record to source record transformation", e);
@@ -16,31 +16,54 @@
 
 package io.aiven.kafka.connect.common.source;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.errors.ConnectException;
 
 import io.aiven.commons.collections.RingBuffer;
 import io.aiven.kafka.connect.common.config.CompressionType;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.config.SourceConfigFragment;
 import io.aiven.kafka.connect.common.source.input.ParquetTransformer;
+import io.aiven.kafka.connect.common.source.input.RangedInputSupplier;
+import io.aiven.kafka.connect.common.source.input.ResumePosition;
 import io.aiven.kafka.connect.common.source.input.Transformer;
 import io.aiven.kafka.connect.common.source.input.utils.FilePatternUtils;
+import io.aiven.kafka.connect.common.source.task.ClaimLedger;
 import io.aiven.kafka.connect.common.source.task.Context;
 import io.aiven.kafka.connect.common.source.task.DistributionStrategy;
 import io.aiven.kafka.connect.common.source.task.DistributionType;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 
 import com.google.common.annotations.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.function.IOSupplier;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 
 /**
@@ -59,6 +82,24 @@ import org.slf4j.Logger;
 public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O extends OffsetManager.OffsetManagerEntry<O>, T extends AbstractSourceRecord<K, N, O, T>>
         implements
             Iterator<T> {
+    /**
+     * The number of matched native items whose offsets are read from the offset storage in one request. The same as
+     * the default listing page size.
+     */
+    static final int OFFSET_LOOKUP_BATCH_SIZE = 1000;
+
+    /** Marks the end of the records of a {@link PrefetchedItem}. */
+    private static final Object END_OF_ITEM = new Object();
+
+    /** The size of the buffers that compressed items are decompressed into ahead of the decoding. */
+    static final int READ_AHEAD_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The maximum number of items assigned to other tasks that are kept from a listing to be claimed once the items
+     * assigned to this task have been processed.
+     */
+    static final int STEAL_CANDIDATES = 10_000;
+
     /** The OffsetManager that we are using */
     private final OffsetManager<O> offsetManager;
 
@@ -68,12 +109,21 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
     private final Transformer transformer;
     /** the taskId of this running task */
     private final int taskId;
+    /** the maximum number of tasks */
+    private final int maxTasks;
+    /** {@code true} if items are claimed before they are processed and idle tasks claim the items of other tasks */
+    private final boolean workStealing;
 
     /**
      * The inner iterator to provides a base AbstractSourceRecord for a storage item that has passed the filters and
      * potentially had data extracted.
      */
     private Iterator<T> inner;
+    /**
+     * The listing stream that the inner iterator reads from. It is closed when it is replaced or the iterator is closed
+     * so that any threads reading the listing ahead are stopped.
+     */
+    private volatile Stream<T> listing;
     /**
      * The outer iterator that provides an AbstractSourceRecord for each record contained by the storage item identified
      * by the inner record.
@@ -89,6 +139,10 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
      * other native items that come before this key.
      */
     private K lastSeenNativeKey;
+    /**
+     * The offset manager key of the native item or split which is currently being processed.
+     */
+    private OffsetManager.OffsetManagerKey lastSeenManagerKey;
     /**
      * The ring buffer which contains recently processed native item keys, this is used during a restart to skip keys
      * that are known to have been processed while still accounting for the possibility that slower writing to storage
@@ -96,8 +150,57 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
      */
     private final RingBuffer<K> ringBuffer;
 
+    /**
+     * The native keys of the most recently completed items whose records have been committed, which the ring buffer is
+     * checkpointed from. When the items are not tracked by the {@link #getCommitTracker() commit tracker} the keys are
+     * added once the items have been read.
+     */
+    private final RingBuffer<K> committedKeys;
+
+    /**
+     * The filter of native items that have been completely processed, {@code null} if disabled. When the items are
+     * tracked by the {@link #getCommitTracker() commit tracker} an item is only added once its records have been
+     * committed. Unlike the ring buffer it can be restored after a restart.
+     */
+    private final SeenObjectFilter seenFilter;
+
+    /**
+     * The seen filter key of the native item which is currently being processed. {@code null} if the item is a split,
+     * is added to the seen filter once its records are committed or has already been added to the seen filter.
+     */
+    private String lastSeenFilterKey;
+    /** The native key of the item being read that the commit tracker is notified about, {@code null} if none */
+    private K trackedNativeKey;
+
+    /** The ring buffer keys staged by the last {@link #checkpointRingBuffer()} call. */
+    private byte[] stagedRingBuffer;
+
     private final K nativeStartKey;
 
+    /** The size of the splits that large native items are divided into, 0 if items are not split */
+    private final long splitSize;
+
+    /** The number of threads that read and decode native items */
+    private final int processingThreads;
+
+    /**
+     * The executor that reads and decodes native items, {@code null} if they are read and decoded by the thread calling
+     * {@link #hasNext()}.
+     */
+    private final ExecutorService processingExecutor;
+
+    /** The estimated bytes of decoded records that each native item being read by the processing threads may hold */
+    private final long prefetchBytes;
+
+    /** The native items being read by the processing threads in the order that they were listed */
+    private final Deque<PrefetchedItem> prefetched;
+
+    /** The number of buffers that compressed items are decompressed into, 0 to decompress while decoding */
+    private final int readAheadBuffers;
+
+    /** The executor that decompresses items ahead of the decoding, created when first used */
+    private ExecutorService readAheadExecutor;
+
     /**
      * Constructor.
      *
@@ -122,7 +225,12 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
         this.offsetManager = offsetManager;
         this.transformer = transformer;
         this.taskId = sourceConfig.getTaskId() % maxTasks;
-        this.taskAssignment = new TaskAssignment(distributionType.getDistributionStrategy(maxTasks));
+        this.maxTasks = maxTasks;
+        this.workStealing = sourceConfig.isWorkStealing();
+        // when the connector assigned the listing every listed item belongs to this task.
+        this.taskAssignment = sourceConfig.isListingAssigned()
+                ? Optional::isPresent
+                : new TaskAssignment(distributionType.getDistributionStrategy(maxTasks));
         this.nativeStartKey = sourceConfig.getNativeStartKey() != null
                 ? parseNativeKey(sourceConfig.getNativeStartKey())
                 : null;
@@ -130,6 +238,25 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
         this.inner = Collections.emptyIterator();
         this.outer = Collections.emptyIterator();
         this.ringBuffer = new RingBuffer<>(Math.max(1, ringBufferSize));
+        this.committedKeys = new RingBuffer<>(Math.max(1, ringBufferSize));
+        this.seenFilter = sourceConfig.getSeenFilterSize() > 0
+                ? new SeenObjectFilter(sourceConfig.getSeenFilterSize(),
+                        sourceConfig.getSeenFilterFalsePositiveProbability())
+                : null;
+        // split boundaries are positions within the stored data so compressed items can not be split.
+        final boolean splittable = transformer instanceof ParquetTransformer
+                || sourceConfig.getCompressionType() == CompressionType.NONE;
+        this.splitSize = splittable ? transformer.getSplitSize(sourceConfig) : 0;
+        this.processingThreads = Math.max(1, sourceConfig.getObjectProcessingThreads());
+        this.processingExecutor = processingThreads > 1
+                ? Executors.newFixedThreadPool(processingThreads,
+                        new BasicThreadFactory.Builder().namingPattern(getClass().getSimpleName() + "-processing-%d")
+                                .daemon(true)
+                                .build())
+                : null;
+        this.prefetchBytes = Math.max(1, sourceConfig.getBufferMaxBytes() / processingThreads);
+        this.prefetched = new ArrayDeque<>();
+        this.readAheadBuffers = sourceConfig.getDecompressionReadAheadBuffers();
     }
 
     /**
@@ -165,6 +292,21 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
      */
     abstract protected IOSupplier<InputStream> getInputStream(T sourceRecord);
 
+    /**
+     * Gets an IOSupplier for the specific source record that starts reading at the specified byte offset. This is
+     * used to resume reading part way through a native item. The default implementation reads and discards the bytes
+     * preceding the offset, implementations should override this to perform a ranged read against the storage layer.
+     *
+     * @param sourceRecord
+     *            the source record to get the input stream from.
+     * @param offset
+     *            the byte offset of the first byte to read.
+     * @return the IOSupplier that retrieves an InputStream from the source record.
+     */
+    protected IOSupplier<InputStream> getInputStream(final T sourceRecord, final long offset) {
+        return skipTo(getInputStream(sourceRecord), offset);
+    }
+
     /**
      * Gets the native key for the native object.
      *
@@ -192,6 +334,117 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
      */
     abstract protected O createOffsetManagerEntry(N nativeObject);
 
+    /**
+     * Creates an OffsetManagerEntry for a split of a native object. Implementations that support splitting large native
+     * objects must include the split in the offset manager key so that each split is tracked independently. The
+     * default implementation returns an empty Optional indicating that the native object is processed as a whole.
+     *
+     * @param nativeObject
+     *            the native object to create the OffsetManagerEntry for.
+     * @param split
+     *            the split of the native object.
+     * @return An OffsetManagerEntry for the split or an empty Optional if splits are not supported.
+     */
+    protected Optional<O> createOffsetManagerEntry(final N nativeObject, final ObjectSplit split) {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the key that identifies a version of the native object in the seen object filter. Implementations should
+     * include a version identifier, such as an ETag, so that a replaced object is processed again. The default
+     * implementation returns the native key.
+     *
+     * @param nativeObject
+     *            the native object to get the seen filter key for.
+     * @return the seen filter key.
+     */
+    protected String getSeenFilterKey(final N nativeObject) {
+        return getNativeKey(nativeObject).toString();
+    }
+
+    /**
+     * Gets the ledger that the items are claimed in when work stealing is enabled. The default implementation returns
+     * an empty Optional indicating that work stealing is not supported, connectors that do not support it must reject
+     * {@link SourceConfigFragment#WORK_STEALING} in their configuration. The claims are released through the
+     * {@link #getCommitTracker() commit tracker}, so connectors that support work stealing must also track the items.
+     *
+     * @return the claim ledger or an empty Optional if work stealing is not supported.
+     */
+    protected Optional<ClaimLedger> getClaimLedger() {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the tracker that is notified as the native items are read, so that actions can run once the records of an
+     * item have been committed. The default implementation returns an empty Optional indicating that nothing is
+     * tracked. Connectors that checkpoint the {@link #getSeenFilter() seen filter} or the
+     * {@link #checkpointRingBuffer() ring buffer} must track the items, otherwise the items are checkpointed once they
+     * have been read and a restart could skip records that were not delivered.
+     *
+     * @return the commit tracker or an empty Optional if the items are not tracked.
+     */
+    protected Optional<CommitTracker<K>> getCommitTracker() {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the filter of native items that have been completely processed.
+     *
+     * @return the seen object filter or an empty Optional if it is disabled.
+     */
+    public final Optional<SeenObjectFilter> getSeenFilter() {
+        return Optional.ofNullable(seenFilter);
+    }
+
+    /**
+     * Gets the ring buffer checkpoint to store. The ring buffer holds the most recently completed native keys, and when
+     * it is full listing resumes after the oldest of them, so restoring it lets a restarted task resume listing close
+     * to where it stopped rather than at the start of the storage. The checkpoint only holds the keys of the items
+     * whose records have been committed. Returns the keys when this method was last called and stages the current
+     * keys for the next call, so that Kafka has committed the offsets of the records from the items before they are
+     * recorded as completed.
+     *
+     * @return the serialized keys or an empty Optional on the first call.
+     */
+    public final synchronized Optional<byte[]> checkpointRingBuffer() {
+        final byte[] result = stagedRingBuffer;
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            final List<K> keys = committedKeys.toList();
+            output.writeInt(keys.size());
+            for (final K key : keys) {
+                output.writeUTF(key.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        stagedRingBuffer = bytes.toByteArray();
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Restores the ring buffer from a checkpoint. A checkpoint that can not be read is logged and ignored.
+     *
+     * @param data
+     *            the checkpoint produced by {@link #checkpointRingBuffer()}.
+     */
+    public final synchronized void restoreRingBuffer(final byte[] data) {
+        final List<K> keys = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            final int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                keys.add(parseNativeKey(input.readUTF()));
+            }
+        } catch (IOException e) {
+            getLogger().warn("Ignoring ring buffer checkpoint that could not be read", e);
+            return;
+        }
+        keys.forEach(ringBuffer::add);
+        keys.forEach(committedKeys::add);
+        getLogger().info("Restored {} from checkpoint, listing resumes after {}", ringBuffer,
+                ringBuffer.getNextEjected());
+    }
+
     /**
      * Creates an offset manager key for the native key.
      *
@@ -206,22 +459,164 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
         if (!outer.hasNext() && lastSeenNativeKey != null) {
             // update the buffer to contain this new objectKey
             ringBuffer.add(lastSeenNativeKey);
+            if (getCommitTracker().isEmpty()) {
+                // without a commit tracker the item is checkpointed once it has been read.
+                committedKeys.add(lastSeenNativeKey);
+            }
             // Remove the last seen from the offsetmanager as the file has been completely processed.
-            offsetManager.removeEntry(getOffsetManagerKey(lastSeenNativeKey));
+            offsetManager.removeEntry(lastSeenManagerKey);
+            if (seenFilter != null && lastSeenFilterKey != null) {
+                seenFilter.add(lastSeenFilterKey);
+                lastSeenFilterKey = null;
+            }
+            if (trackedNativeKey != null) {
+                final K completed = trackedNativeKey;
+                trackedNativeKey = null;
+                getCommitTracker().ifPresent(tracker -> tracker.completed(completed));
+            }
         }
-        if (!inner.hasNext() && !outer.hasNext()) {
-            inner = getNativeItemStream(ObjectUtils.getIfNull(ringBuffer.getNextEjected(), () -> {
-                getLogger().info("{} set, no alternative present in buffer will begin consuming from {}",
-                        SourceConfigFragment.NATIVE_START_KEY, nativeStartKey);
-                return nativeStartKey;
-            })).map(fileMatching).filter(taskAssignment).filter(Optional::isPresent).map(Optional::get).iterator();
+        if (!inner.hasNext() && !outer.hasNext() && prefetched.isEmpty()) {
+            if (listing != null) {
+                // every item of the listing has been read or skipped.
+                getCommitTracker().ifPresent(CommitTracker::listed);
+            }
+            closeListing();
+            final Stream<T> matched = getNativeItemStream(
+                    ObjectUtils.getIfNull(ringBuffer.getNextEjected(), () -> {
+                        getLogger().info("{} set, no alternative present in buffer will begin consuming from {}",
+                                SourceConfigFragment.NATIVE_START_KEY, nativeStartKey);
+                        return nativeStartKey;
+                    }))
+                    .map(fileMatching)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get);
+            listing = matched;
+            if (workStealing) {
+                // the items of other tasks are kept so that they can be claimed once the items of this task are done.
+                // the stored offsets are read once an item is claimed, as another task may have processed it since
+                // it was listed.
+                inner = new ClaimingIterator(splitAll(matched).iterator());
+            } else {
+                // items that are not split are assigned as a whole so skip splitting them for other tasks.
+                final Predicate<T> assignedToTask = sourceRecord -> taskAssignment.test(Optional.of(sourceRecord));
+                final Stream<T> assigned = splitAll(
+                        matched.filter(sourceRecord -> isSplit(sourceRecord) || assignedToTask.test(sourceRecord)))
+                        .filter(assignedToTask);
+                // only the offsets of the items and splits assigned to this task are read.
+                inner = new OffsetLookup(assigned.iterator());
+            }
         }
-        while (!outer.hasNext() && inner.hasNext()) {
-            outer = convert(inner.next()).iterator();
+        while (!outer.hasNext() && (!prefetched.isEmpty() || inner.hasNext())) {
+            outer = nextItem();
         }
         return outer.hasNext();
     }
 
+    /**
+     * Divides the matched source records for large native items into splits. The stored offsets of the splits are read
+     * in batches by the {@link OffsetLookup} together with those of the native items that are not split.
+     *
+     * @param matched
+     *            the source records for the native items that match the file name pattern.
+     * @return the source records for the native items and splits.
+     */
+    private Stream<T> splitAll(final Stream<T> matched) {
+        return matched.map(Optional::of).flatMap(this::split).filter(Optional::isPresent).map(Optional::get);
+    }
+
+    /**
+     * Gets the key that the native item or split of the source record is claimed with.
+     *
+     * @param sourceRecord
+     *            the source record to get the claim key for.
+     * @return the claim key.
+     */
+    private String getClaimKey(final T sourceRecord) {
+        final String nativeKey = sourceRecord.getNativeKey().toString();
+        return sourceRecord.getContext().getSplit().map(split -> nativeKey + "#" + split.getId()).orElse(nativeKey);
+    }
+
+    /**
+     * Gets the records of the next native item. When there are processing threads the following native items are
+     * submitted to them, up to one per thread, before waiting for the records of the next one.
+     *
+     * @return the records of the next native item.
+     */
+    private Iterator<T> nextItem() {
+        if (processingExecutor == null) {
+            return convert(inner.next()).iterator();
+        }
+        while (prefetched.size() < processingThreads && inner.hasNext()) {
+            final PrefetchedItem item = new PrefetchedItem(inner.next());
+            processingExecutor.execute(item);
+            prefetched.add(item);
+        }
+        final PrefetchedItem item = prefetched.remove();
+        startItem(item.sourceRecord);
+        return item;
+    }
+
+    /**
+     * Closes the current listing stream, if any.
+     */
+    private void closeListing() {
+        final Stream<T> current = listing;
+        if (current != null) {
+            listing = null; // NOPMD NullAssignment
+            current.close();
+        }
+    }
+
+    /**
+     * Stops the listing, processing and read ahead threads. The iterator must not be used after it is closed.
+     */
+    public void close() {
+        closeListing();
+        if (processingExecutor != null) {
+            processingExecutor.shutdownNow();
+        }
+        synchronized (this) {
+            if (readAheadExecutor != null) {
+                readAheadExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Gets the executor that decompresses items ahead of the decoding.
+     *
+     * @return the read ahead executor.
+     */
+    private synchronized ExecutorService getReadAheadExecutor() {
+        if (readAheadExecutor == null) {
+            readAheadExecutor = Executors.newCachedThreadPool(
+                    new BasicThreadFactory.Builder().namingPattern(getClass().getSimpleName() + "-read-ahead-%d")
+                            .daemon(true)
+                            .build());
+        }
+        return readAheadExecutor;
+    }
+
+    /**
+     * Decompresses a native item. Compressed items are decompressed on a read ahead thread so that the decompression
+     * overlaps the decoding of the records.
+     *
+     * @param compressionType
+     *            the compression of the native item.
+     * @param input
+     *            the supplier of the compressed data.
+     * @return the supplier of the decompressed data.
+     */
+    private IOSupplier<InputStream> decompress(final CompressionType compressionType,
+            final IOSupplier<InputStream> input) {
+        final IOSupplier<InputStream> decompressed = compressionType.decompress(input);
+        if (compressionType == CompressionType.NONE || readAheadBuffers <= 0) {
+            return decompressed;
+        }
+        return () -> new ReadAheadInputStream(decompressed.get(), getReadAheadExecutor(), READ_AHEAD_BUFFER_SIZE,
+                readAheadBuffers);
+    }
+
     @Override
     final public T next() {
         return outer.next();
@@ -241,23 +636,152 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
      */
     @VisibleForTesting
     Stream<T> convert(final T sourceRecord) {
-        sourceRecord
-                .setKeyData(transformer.getKeyData(sourceRecord.getNativeKey(), sourceRecord.getTopic(), sourceConfig));
+        startItem(sourceRecord);
+        return decode(sourceRecord);
+    }
 
+    /**
+     * Records the native item as the one whose records are being returned, so that it is marked as completed when they
+     * have all been returned.
+     *
+     * @param sourceRecord
+     *            the SourceRecord for the native item.
+     */
+    private void startItem(final T sourceRecord) {
         lastSeenNativeKey = sourceRecord.getNativeKey();
+        final Optional<ObjectSplit> split = sourceRecord.getContext().getSplit();
+        lastSeenManagerKey = split.isPresent()
+                ? sourceRecord.getOffsetManagerEntry().getManagerKey()
+                : getOffsetManagerKey(lastSeenNativeKey);
+        // a split does not complete the native item.
+        lastSeenFilterKey = seenFilter == null || split.isPresent()
+                ? null
+                : getSeenFilterKey(sourceRecord.getNativeItem());
+        getCommitTracker().ifPresent(tracker -> {
+            final K nativeKey = lastSeenNativeKey;
+            trackedNativeKey = nativeKey;
+            // the checkpoints only record the item once its records have been committed.
+            tracker.track(nativeKey, () -> committedKeys.add(nativeKey));
+            if (lastSeenFilterKey != null) {
+                final String seenFilterKey = lastSeenFilterKey;
+                tracker.track(nativeKey, () -> seenFilter.add(seenFilterKey));
+                lastSeenFilterKey = null;
+            }
+            tracker.started(nativeKey);
+        });
+    }
+
+    /**
+     * Reads and decodes the native item. Does not change the state of the iterator so that it can be called by the
+     * processing threads.
+     *
+     * @param sourceRecord
+     *            the SourceRecord for the native item.
+     * @return a stream of T created from the input stream of the native item.
+     */
+    private Stream<T> decode(final T sourceRecord) {
+        sourceRecord
+                .setKeyData(transformer.getKeyData(sourceRecord.getNativeKey(), sourceRecord.getTopic(), sourceConfig));
+        final Optional<ObjectSplit> split = sourceRecord.getContext().getSplit();
 
+        final ResumePosition resumePosition = ResumePosition.from(sourceRecord.getOffsetManagerEntry());
         // parquet handles compression internally.
         final CompressionType compressionType = transformer instanceof ParquetTransformer
                 ? CompressionType.NONE
                 : sourceConfig.getCompressionType();
         // create an IOSupplier with the specified compression
-        final IOSupplier<InputStream> inputStream = transformer instanceof ParquetTransformer
-                ? getInputStream(sourceRecord)
-                : compressionType.decompress(getInputStream(sourceRecord));
+        final IOSupplier<InputStream> inputStream;
+        if (transformer instanceof ParquetTransformer) {
+            // a split only reads the footer and its own row groups.
+            inputStream = split.isPresent()
+                    ? new RangedInputSupplier(offset -> getInputStream(sourceRecord, offset).get(),
+                            sourceRecord.getNativeItemSize())
+                    : getInputStream(sourceRecord);
+        } else if ((resumePosition.isRestored() || split.isPresent()) && transformer.resumesFromByteOffset()) {
+            getLogger().debug("Resuming {} {} from {}", sourceRecord.getNativeKey(), split, resumePosition);
+            // splits are only created for uncompressed items.
+            final long position = resumePosition.isRestored()
+                    ? resumePosition.getPosition()
+                    : split.map(ObjectSplit::getStart).orElse(0L);
+            if (compressionType != CompressionType.NONE) {
+                // the offset is within the decompressed data.
+                inputStream = skipTo(decompress(compressionType, getInputStream(sourceRecord)), position);
+            } else if (position >= sourceRecord.getNativeItemSize()) {
+                inputStream = InputStream::nullInputStream;
+            } else {
+                inputStream = getInputStream(sourceRecord, position);
+            }
+        } else {
+            inputStream = decompress(compressionType, getInputStream(sourceRecord));
+        }
         return transformer
                 .getRecords(inputStream, sourceRecord.getNativeItemSize(), sourceRecord.getContext(), sourceConfig,
-                        sourceRecord.getRecordCount())
-                .map(new Mapper<N, K, O, T>(sourceRecord));
+                        sourceRecord.getRecordCount(), resumePosition)
+                .map(new Mapper<N, K, O, T>(sourceRecord, resumePosition));
+    }
+
+    /**
+     * Determines if the source record will be divided into splits.
+     *
+     * @param sourceRecord
+     *            the source record produced by the file matching.
+     * @return {@code true} if the native item is larger than the split size.
+     */
+    private boolean isSplit(final T sourceRecord) {
+        return splitSize > 0 && sourceRecord.getNativeItemSize() > splitSize;
+    }
+
+    /**
+     * Divides the source record for a large native item into a source record for each split. Source records for items
+     * that are not larger than the split size, or for which the implementation does not support splits, are returned
+     * unchanged.
+     *
+     * @param optionalRecord
+     *            the source record produced by the file matching.
+     * @return a stream of source records, one for each split.
+     */
+    private Stream<Optional<T>> split(final Optional<T> optionalRecord) {
+        if (splitSize <= 0 || optionalRecord.isEmpty() || optionalRecord.get().getNativeItemSize() <= splitSize) {
+            return Stream.of(optionalRecord);
+        }
+        final T sourceRecord = optionalRecord.get();
+        final List<Optional<T>> result = new ArrayList<>();
+        for (final ObjectSplit split : ObjectSplit.split(sourceRecord.getNativeItemSize(), splitSize)) {
+            final Optional<O> optionalEntry = createOffsetManagerEntry(sourceRecord.getNativeItem(), split);
+            if (optionalEntry.isEmpty()) {
+                return Stream.of(optionalRecord);
+            }
+            final O offsetManagerEntry = optionalEntry.get();
+            final T splitRecord = createSourceRecord(sourceRecord.getNativeItem());
+            final Context<K> context = sourceRecord.getContext();
+            context.setSplit(split);
+            splitRecord.setContext(context);
+            // the stored offset is read by the OffsetLookup.
+            splitRecord.setOffsetManagerEntry(offsetManagerEntry);
+            result.add(Optional.of(splitRecord));
+        }
+        getLogger().debug("Divided {} into {} splits", sourceRecord.getNativeKey(), result.size());
+        return result.stream();
+    }
+
+    /**
+     * Creates an IOSupplier that discards the bytes preceding the offset.
+     *
+     * @param inputStream
+     *            the IOSupplier for the complete input stream.
+     * @param offset
+     *            the byte offset of the first byte to read.
+     * @return the IOSupplier that retrieves an InputStream positioned at the offset.
+     */
+    private static IOSupplier<InputStream> skipTo(final IOSupplier<InputStream> inputStream, final long offset) {
+        if (offset <= 0) {
+            return inputStream;
+        }
+        return () -> {
+            final InputStream result = inputStream.get();
+            IOUtils.skip(result, offset);
+            return result;
+        };
     }
 
     /**
@@ -280,28 +804,229 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
          * The AbstractSourceRecord that produces the values.
          */
         private final T sourceRecord;
+        /**
+         * The resume position updated by the transformer.
+         */
+        private final ResumePosition resumePosition;
 
         /**
          * Constructor.
          *
          * @param sourceRecord
          *            The source record to provide default values..
+         * @param resumePosition
+         *            The resume position updated by the transformer as records are produced.
          */
-        public Mapper(final T sourceRecord) {
+        public Mapper(final T sourceRecord, final ResumePosition resumePosition) {
             // operation within the Transformer
             // to see if there are more records.
             this.sourceRecord = sourceRecord;
+            this.resumePosition = resumePosition;
         }
 
         @Override
         public T apply(final SchemaAndValue valueData) {
             sourceRecord.incrementRecordCount();
+            sourceRecord.setResumePosition(resumePosition);
             final T result = sourceRecord.duplicate();
             result.setValueData(valueData);
             return result;
         }
     }
 
+    /**
+     * A native item that is read and decoded by a processing thread. The records are handed to the thread calling
+     * {@link #hasNext()} through a queue limited by the estimated size of the records, so a processing thread waits
+     * when its item is too far ahead.
+     */
+    class PrefetchedItem implements Iterator<T>, Runnable {
+        /** The source record for the native item. */
+        private final T sourceRecord;
+        /** The decoded records followed by {@link #END_OF_ITEM} or the exception that stopped the decoding. */
+        private final BlockingQueue<Object> records;
+        /** The estimated bytes of the records in the queue. */
+        private final ByteBudget budget;
+        /** The element taken from the queue and not yet returned, {@code null} if there is none. */
+        private Object pending;
+
+        /**
+         * Constructor.
+         *
+         * @param sourceRecord
+         *            the source record for the native item.
+         */
+        PrefetchedItem(final T sourceRecord) {
+            this.sourceRecord = sourceRecord;
+            this.records = new LinkedBlockingQueue<>();
+            this.budget = new ByteBudget(prefetchBytes);
+        }
+
+        @Override
+        public void run() {
+            try {
+                // closing the stream releases the native item input when the decoding stops early.
+                try (Stream<T> decoded = decode(sourceRecord)) {
+                    final Iterator<T> iterator = decoded.iterator();
+                    while (iterator.hasNext()) {
+                        final T record = iterator.next();
+                        budget.acquire(record.estimateSize());
+                        records.put(record);
+                    }
+                    records.put(END_OF_ITEM);
+                } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+                    records.put(e);
+                }
+            } catch (InterruptedException e) {
+                // the iterator was closed.
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null) {
+                try {
+                    pending = records.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ConnectException("Interrupted while reading " + sourceRecord.getNativeKey(), e);
+                }
+            }
+            if (pending instanceof RuntimeException) {
+                final RuntimeException exception = (RuntimeException) pending;
+                pending = END_OF_ITEM;
+                // the item is not complete, it is processed again from its offset when it is next listed.
+                lastSeenNativeKey = null;
+                lastSeenFilterKey = null;
+                if (trackedNativeKey != null) {
+                    final K failed = trackedNativeKey;
+                    trackedNativeKey = null;
+                    getCommitTracker().ifPresent(tracker -> tracker.failed(failed));
+                }
+                throw exception;
+            }
+            return pending != END_OF_ITEM; // NOPMD comparing instance
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T result = (T) pending;
+            pending = null;
+            budget.release(result.estimateSize());
+            return result;
+        }
+    }
+
+    /**
+     * Replaces the offset manager entry of a source record with the stored entry, if there is one.
+     *
+     * @param sourceRecord
+     *            the source record to read the stored offset of.
+     */
+    private void readStoredOffset(final T sourceRecord) {
+        final O offsetManagerEntry = sourceRecord.getOffsetManagerEntry();
+        sourceRecord.setOffsetManagerEntry(offsetManager
+                .getEntry(offsetManagerEntry.getManagerKey(), offsetManagerEntry::fromProperties)
+                .orElse(offsetManagerEntry));
+    }
+
+    /**
+     * Returns the listed source records assigned to this task that it claims, followed by the listed source records
+     * assigned to other tasks that it claims. Every item is claimed, lazily just before it is processed, so that a
+     * task only takes the items that it is ready to process and an item that another task has stolen is skipped by the
+     * task it is assigned to. The stored offset of an item is read once it has been claimed. Each task starts at a
+     * different position in the records of other tasks so that idle tasks do not compete for the same items. The
+     * claims are released once the records of the item have been committed.
+     */
+    class ClaimingIterator implements Iterator<T> {
+        /** The ledger that the items are claimed in. */
+        private final ClaimLedger claimLedger;
+        /** The listed source records. */
+        private final Iterator<T> listed;
+        /** The listed source records assigned to other tasks. */
+        private final List<T> candidates;
+        /** The source records of other tasks being claimed, {@code null} until the listed records are exhausted. */
+        private Iterator<T> stealing;
+        /** The next source record to process, {@code null} if it has not been found. */
+        private T claimed;
+
+        /**
+         * Constructor.
+         *
+         * @param listed
+         *            the listed source records.
+         */
+        ClaimingIterator(final Iterator<T> listed) {
+            // the configuration is rejected if the connector does not support work stealing.
+            this.claimLedger = getClaimLedger().orElseThrow(() -> new IllegalStateException(
+                    String.format("%s is not supported by %s", SourceConfigFragment.WORK_STEALING,
+                            AbstractSourceRecordIterator.this.getClass().getSimpleName())));
+            this.listed = listed;
+            this.candidates = new ArrayList<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (claimed == null) {
+                if (stealing == null) {
+                    if (!listed.hasNext()) {
+                        Collections.rotate(candidates, -(int) ((long) candidates.size() * taskId / maxTasks));
+                        stealing = candidates.iterator();
+                    } else {
+                        final T sourceRecord = listed.next();
+                        if (taskAssignment.test(Optional.of(sourceRecord))) {
+                            claimed = claim(sourceRecord);
+                        } else if (candidates.size() < STEAL_CANDIDATES) {
+                            candidates.add(sourceRecord);
+                        }
+                    }
+                } else if (stealing.hasNext()) {
+                    claimed = claim(stealing.next());
+                    if (claimed != null) {
+                        getLogger().debug("Claimed {} assigned to another task", getClaimKey(claimed));
+                    }
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Claims the item of a source record, reads its stored offset and releases the claim once the records of the
+         * item have been committed.
+         *
+         * @param sourceRecord
+         *            the source record to claim.
+         * @return the source record or {@code null} if another task holds the claim.
+         */
+        private T claim(final T sourceRecord) {
+            final String claimKey = getClaimKey(sourceRecord);
+            if (!claimLedger.claim(claimKey)) {
+                getLogger().debug("Skipping {} claimed by another task", claimKey);
+                return null;
+            }
+            readStoredOffset(sourceRecord);
+            getCommitTracker().ifPresent(
+                    tracker -> tracker.track(sourceRecord.getNativeKey(), () -> claimLedger.release(claimKey)));
+            return sourceRecord;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T result = claimed;
+            claimed = null;
+            return result;
+        }
+    }
+
     /**
      * Determines if an AbstractSourceRecord belongs to this task.
      */
@@ -323,6 +1048,51 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
         }
     }
 
+    /**
+     * Replaces the offset manager entries of the matched source records with the stored entries. The stored offsets of
+     * each batch of records are read from the offset storage in one request rather than one request per record.
+     */
+    class OffsetLookup implements Iterator<T> {
+        /** The matched source records. */
+        private final Iterator<T> matched;
+        /** The current batch of source records with offsets. */
+        private Iterator<T> batch = Collections.emptyIterator();
+
+        /**
+         * Constructor.
+         *
+         * @param matched
+         *            the matched source records.
+         */
+        OffsetLookup(final Iterator<T> matched) {
+            this.matched = matched;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!batch.hasNext() && matched.hasNext()) {
+                final List<T> sourceRecords = new ArrayList<>();
+                while (sourceRecords.size() < OFFSET_LOOKUP_BATCH_SIZE && matched.hasNext()) {
+                    sourceRecords.add(matched.next());
+                }
+                offsetManager.populateOffsetManager(sourceRecords.stream()
+                        .map(sourceRecord -> sourceRecord.getOffsetManagerEntry().getManagerKey())
+                        .collect(Collectors.toList()));
+                sourceRecords.forEach(AbstractSourceRecordIterator.this::readStoredOffset);
+                batch = sourceRecords.iterator();
+            }
+            return batch.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+    }
+
     /**
      * Attempts to match the name of the native item and extract the Context from it.
      */
@@ -346,21 +1116,33 @@ public abstract class AbstractSourceRecordIterator<K extends Comparable<K>, N, O
         public Optional<T> apply(final N nativeItem) {
             final K itemName = getNativeKey(nativeItem);
             final Optional<Context<K>> optionalContext = utils.process(itemName);
-            if (optionalContext.isPresent() && !ringBuffer.contains(itemName)) {
+            if (optionalContext.isPresent() && !ringBuffer.contains(itemName) && !isSeen(nativeItem)) {
                 final T sourceRecord = createSourceRecord(nativeItem);
                 final Context<K> context = optionalContext.get();
                 overrideContextTopic(context);
                 sourceRecord.setContext(context);
-                O offsetManagerEntry = createOffsetManagerEntry(nativeItem);
-                offsetManagerEntry = offsetManager
-                        .getEntry(offsetManagerEntry.getManagerKey(), offsetManagerEntry::fromProperties)
-                        .orElse(offsetManagerEntry);
-                sourceRecord.setOffsetManagerEntry(offsetManagerEntry);
+                // the stored offset is read by the OffsetLookup.
+                sourceRecord.setOffsetManagerEntry(createOffsetManagerEntry(nativeItem));
                 return Optional.of(sourceRecord);
             }
             return Optional.empty();
         }
 
+        /**
+         * Determines if the native item was completely processed according to the seen object filter.
+         *
+         * @param nativeItem
+         *            the native item to check.
+         * @return {@code true} if the item was probably processed.
+         */
+        private boolean isSeen(final N nativeItem) {
+            if (seenFilter != null && seenFilter.mightContain(getSeenFilterKey(nativeItem))) {
+                getLogger().debug("Skipping {} found in the seen object filter", getNativeKey(nativeItem));
+                return true;
+            }
+            return false;
+        }
+
         /**
          * Sets the target topic in the context.
          *
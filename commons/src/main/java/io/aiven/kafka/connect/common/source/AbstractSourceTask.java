@@ -16,15 +16,20 @@
 
 package io.aiven.kafka.connect.common.source;
 
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
@@ -42,11 +47,17 @@ import org.slf4j.LoggerFactory;
  * <li>When polled this implementation moves available records from the SourceRecord iterator to the return array.</li>
  * <li>if there are no records
  * <ul>
+ * <li>the polling thread waits before asking the iterator again. The wait doubles each time nothing new is found, up
+ * to the configured maximum listing interval, and drops back to the minimum as soon as records are found. See
+ * {@link ListingScheduler}.</li>
  * <li>{@link #poll()} will return null.</li>
  * <li>The poll will delay no more than approx 5 seconds.</li>
  * </ul>
  * </li>
- * <li>Upto {@link #maxPollRecords} will be sent in a single poll request</li>
+ * <li>Upto {@link #maxPollRecords} will be sent in a single poll request. The polling thread collects the records into
+ * batches of up to that size and hands each batch over as a whole, see {@link #MAX_BATCH_LINGER}.</li>
+ * <li>The records waiting for a poll are limited by their estimated size in bytes rather than their number, see
+ * {@link ByteBudget}. The polling thread stops reading while the budget is exhausted.</li>
  * <li>When the connector is stopped any collected records are returned to kafka before stopping.</li>
  * </ul>
  *
@@ -61,6 +72,26 @@ public abstract class AbstractSourceTask extends SourceTask {
      * system for shutdown, and this allows the polling and iterator to smoothly shutdown accounting for latentcy.
      */
     public static final Duration MAX_POLL_TIME = Duration.ofSeconds(4);
+
+    /**
+     * The longest time that the polling thread keeps adding records to a batch before handing it over. A batch is
+     * handed over sooner if it is full or the iterator has no more records.
+     */
+    public static final Duration MAX_BATCH_LINGER = Duration.ofMillis(100);
+
+    /**
+     * The largest number of batches that may wait for {@link #poll()}. The queue lets the polling thread keep reading
+     * while Kafka sends the previous batches, and the buffered records are bounded by the byte budget, see
+     * {@link ByteBudget}, rather than by this count. It is set high enough that the byte budget is normally the limit,
+     * even when small records or {@link #MAX_BATCH_LINGER} hand over batches that are far from full, while still
+     * bounding the batches that are held when the records are tiny.
+     */
+    private static final int QUEUED_BATCHES = 16;
+
+    /**
+     * The JMX domain that the task metrics are registered in.
+     */
+    public static final String METRICS_DOMAIN = "io.aiven.kafka.connect";
     /**
      * The boolean that indicates the connector is stopped.
      */
@@ -77,9 +108,19 @@ public abstract class AbstractSourceTask extends SourceTask {
     private int maxPollRecords;
 
     /**
-     * The transfer queue from concrete implementation to Kafka
+     * The transfer queue of record batches from concrete implementation to Kafka
      */
-    private LinkedBlockingQueue<SourceRecord> queue;
+    private BlockingQueue<Batch> queue;
+
+    /**
+     * The estimated bytes of the records in the queue.
+     */
+    private ByteBudget bufferBudget;
+
+    /**
+     * The record read by the polling thread that did not fit in the byte budget of the previous batch.
+     */
+    private SourceRecord overflowRecord;
 
     /**
      * The thread that is running the polling of the implementation.
@@ -95,6 +136,21 @@ public abstract class AbstractSourceTask extends SourceTask {
 
     private final BackoffConfig backoffConfig;
 
+    /**
+     * The scheduler that spaces out the listings when the iterator is empty.
+     */
+    private ListingScheduler listingScheduler;
+
+    /**
+     * The name the listing scheduler metrics are registered under, {@code null} if they are not registered.
+     */
+    private ObjectName metricsName;
+
+    /**
+     * The name the buffer metrics are registered under, {@code null} if they are not registered.
+     */
+    private ObjectName bufferMetricsName;
+
     private Iterator<SourceRecord> sourceRecordIterator;
 
     /**
@@ -131,9 +187,13 @@ public abstract class AbstractSourceTask extends SourceTask {
             public void run() {
                 try {
                     while (stillPolling()) {
-                        if (!tryAdd()) {
+                        if (queue.remainingCapacity() == 0 || bufferBudget.isExhausted()) {
+                            logger.debug("No space in queue: {}", bufferBudget);
                             logger.debug("Attempting {}", iteratorBackoff);
                             iteratorBackoff.cleanDelay();
+                        } else if (!tryAdd()) {
+                            logger.debug("Waiting {}", listingScheduler);
+                            listingScheduler.await();
                         }
                     }
                 } catch (InterruptedException e) {
@@ -176,34 +236,134 @@ public abstract class AbstractSourceTask extends SourceTask {
         logger.debug("Starting");
         final SourceCommonConfig config = configure(props);
         maxPollRecords = config.getMaxPollRecords();
-        queue = new LinkedBlockingQueue<>(maxPollRecords * 2);
+        queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+        bufferBudget = new ByteBudget(config.getBufferMaxBytes());
+        listingScheduler = new ListingScheduler(config.getListingIntervalMaxMs());
+        registerMetrics(config);
         sourceRecordIterator = getIterator(backoffConfig);
         implemtationPollingThread.start();
     }
 
     /**
-     * Try to add a SourceRecord to the results.
+     * Registers the listing scheduler and the buffer budget with JMX so that the current listing interval and the
+     * buffered bytes can be monitored. Failure to register is logged and otherwise ignored.
+     *
+     * @param config
+     *            the task configuration.
+     */
+    private void registerMetrics(final SourceCommonConfig config) {
+        metricsName = registerMBean(config, "source-task-metrics", listingScheduler);
+        bufferMetricsName = registerMBean(config, "source-task-buffer-metrics", bufferBudget);
+    }
+
+    /**
+     * Registers a metrics bean with JMX.
+     *
+     * @param config
+     *            the task configuration.
+     * @param type
+     *            the type of the metrics.
+     * @param bean
+     *            the metrics bean.
+     * @return the name the bean is registered under, {@code null} if it could not be registered.
+     */
+    private ObjectName registerMBean(final SourceCommonConfig config, final String type, final Object bean) {
+        final Map<String, String> originals = config.originalsStrings();
+        try {
+            final ObjectName name = new ObjectName(METRICS_DOMAIN + ":type=" + type + ",connector="
+                    + ObjectName.quote(originals.getOrDefault("name", getClass().getSimpleName())) + ",task="
+                    + ObjectName.quote(originals.getOrDefault("task.id", "0")));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean, name);
+            return name;
+        } catch (JMException e) {
+            logger.warn("Unable to register the {} metrics", type, e);
+            return null;
+        }
+    }
+
+    /**
+     * Removes the metrics from JMX.
+     */
+    private void unregisterMetrics() {
+        unregisterMBean(metricsName);
+        metricsName = null;
+        unregisterMBean(bufferMetricsName);
+        bufferMetricsName = null;
+    }
+
+    /**
+     * Removes a metrics bean from JMX.
+     *
+     * @param name
+     *            the name the bean is registered under, may be {@code null}.
+     */
+    private void unregisterMBean(final ObjectName name) {
+        if (name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException e) {
+                logger.debug("Unable to unregister the {} metrics", name, e);
+            }
+        }
+    }
+
+    /**
+     * Try to add a batch of SourceRecords to the results. The queue must have space. The bytes of each record are
+     * taken from the byte budget before it is added to the batch. Records are added to the batch until it holds
+     * {@link #maxPollRecords} records, the next record does not fit in the byte budget, the iterator has no more
+     * records or {@link #MAX_BATCH_LINGER} has passed since the first record was added. A record that does not fit is
+     * kept for the next batch, which waits until it fits.
      *
      * @return true if successful, false if the iterator is empty.
      */
     private boolean tryAdd() throws InterruptedException {
-        if (queue.remainingCapacity() > 0) {
-            if (sourceRecordIterator.hasNext()) {
-                iteratorBackoff.reset();
-                final SourceRecord sourceRecord = sourceRecordIterator.next();
+        if (overflowRecord != null || sourceRecordIterator.hasNext()) {
+            iteratorBackoff.reset();
+            listingScheduler.reset();
+            final List<SourceRecord> batch = new ArrayList<>(maxPollRecords);
+            final long handOff = System.currentTimeMillis() + MAX_BATCH_LINGER.toMillis();
+            long batchBytes = 0;
+            do {
+                final SourceRecord sourceRecord = nextRecord();
+                final long recordBytes = RecordSizeEstimator.estimate(sourceRecord);
+                final boolean reserved = batch.isEmpty()
+                        ? bufferBudget.acquire(recordBytes)
+                        : bufferBudget.tryAcquire(recordBytes);
+                if (!reserved) {
+                    // the record is added to the next batch, or dropped if the budget was closed by stop().
+                    overflowRecord = sourceRecord;
+                    break;
+                }
                 if (logger.isDebugEnabled()) {
                     logger.debug("tryAdd() : read record {}", sourceRecord.sourceOffset());
                 }
-                queue.put(sourceRecord);
-                return true;
+                batch.add(sourceRecord);
+                batchBytes += recordBytes;
+            } while (batch.size() < maxPollRecords && System.currentTimeMillis() < handOff
+                    && sourceRecordIterator.hasNext());
+            if (!batch.isEmpty()) {
+                queue.put(new Batch(batch, batchBytes));
             }
-            logger.info("No records found in tryAdd call");
-        } else {
-            logger.info("No space in queue");
+            return true;
         }
+        logger.debug("No records found in tryAdd call");
         return false;
     }
 
+    /**
+     * Gets the record kept from the previous batch, if there is one, otherwise the next record of the iterator.
+     *
+     * @return the next record to add to a batch.
+     */
+    private SourceRecord nextRecord() {
+        if (overflowRecord == null) {
+            return sourceRecordIterator.next();
+        }
+        final SourceRecord sourceRecord = overflowRecord;
+        overflowRecord = null;
+        return sourceRecord;
+    }
+
     /**
      * Returns {@code true} if the connector is not stopped and the timer has not expired.
      *
@@ -219,8 +379,14 @@ public abstract class AbstractSourceTask extends SourceTask {
     public final List<SourceRecord> poll() {
         logger.debug("Polling");
         if (stillPolling()) {
-            List<SourceRecord> results = new ArrayList<>(maxPollRecords);
-            results = 0 == queue.drainTo(results, maxPollRecords) ? NULL_RESULT : results;
+            final Batch batch = queue.poll();
+            final List<SourceRecord> results;
+            if (batch == null) {
+                results = NULL_RESULT;
+            } else {
+                bufferBudget.release(batch.bytes);
+                results = batch.records;
+            }
 
             if (results == null && !implemtationPollingThread.isAlive()) {
                 throw new ConnectException(implemtationPollingThread.getName() + " has died");
@@ -252,6 +418,14 @@ public abstract class AbstractSourceTask extends SourceTask {
     public final void stop() {
         logger.debug("Stopping");
         connectorStopped.set(true);
+        if (listingScheduler != null) {
+            listingScheduler.stop();
+        }
+        if (bufferBudget != null) {
+            // wakes the polling thread if it is waiting for records to be polled.
+            bufferBudget.close();
+        }
+        unregisterMetrics();
     }
 
     /**
@@ -268,6 +442,29 @@ public abstract class AbstractSourceTask extends SourceTask {
      */
     abstract protected void closeResources();
 
+    /**
+     * A batch of records waiting for {@link #poll()} with their estimated size.
+     */
+    private static final class Batch {
+        /** The records. */
+        private final List<SourceRecord> records;
+        /** The estimated size of the records in bytes. */
+        private final long bytes;
+
+        /**
+         * Constructor.
+         *
+         * @param records
+         *            the records.
+         * @param bytes
+         *            the estimated size of the records in bytes.
+         */
+        Batch(final List<SourceRecord> records, final long bytes) {
+            this.records = records;
+            this.bytes = bytes;
+        }
+    }
+
     /**
      * Calculates elapsed time and flags when expired.
      */
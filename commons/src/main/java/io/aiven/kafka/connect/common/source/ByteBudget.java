@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+/**
+ * Limits the estimated number of bytes of records that are buffered. Records are added to the budget when they are
+ * buffered and released when they are taken out of the buffer. A record that does not fit waits until enough bytes
+ * are released, except that a record is always accepted when nothing is buffered so that a record larger than the
+ * budget can not stop the processing. Closing the budget wakes any thread that is waiting for bytes.
+ */
+public final class ByteBudget implements ByteBudgetMBean {
+    /** The number of bytes that may be buffered. */
+    private final long maxBytes;
+    /** The number of bytes that are buffered. */
+    private long usedBytes;
+    /** {@code true} once the budget is closed. */
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param maxBytes
+     *            the number of bytes that may be buffered.
+     */
+    public ByteBudget(final long maxBytes) {
+        this.maxBytes = Math.max(1, maxBytes);
+    }
+
+    /**
+     * Adds bytes to the budget, waiting until they fit or the budget is closed.
+     *
+     * @param bytes
+     *            the number of bytes to add.
+     * @return {@code true} if the bytes were added, {@code false} if the budget was closed.
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting.
+     */
+    public synchronized boolean acquire(final long bytes) throws InterruptedException {
+        while (!closed && !fits(bytes)) {
+            wait();
+        }
+        return tryAcquire(bytes);
+    }
+
+    /**
+     * Adds bytes to the budget if they fit without waiting.
+     *
+     * @param bytes
+     *            the number of bytes to add.
+     * @return {@code true} if the bytes were added, {@code false} if they do not fit or the budget was closed.
+     */
+    public synchronized boolean tryAcquire(final long bytes) {
+        if (closed || !fits(bytes)) {
+            return false;
+        }
+        usedBytes += bytes;
+        return true;
+    }
+
+    /**
+     * Determines if bytes fit in the budget. Any number of bytes fits when nothing is buffered.
+     *
+     * @param bytes
+     *            the number of bytes to add.
+     * @return {@code true} if the bytes can be added without waiting.
+     */
+    private boolean fits(final long bytes) {
+        return usedBytes == 0 || usedBytes + bytes <= maxBytes;
+    }
+
+    /**
+     * Releases bytes from the budget.
+     *
+     * @param bytes
+     *            the number of bytes to release.
+     */
+    public synchronized void release(final long bytes) {
+        usedBytes -= bytes;
+        notifyAll();
+    }
+
+    /**
+     * Gets the number of bytes that can be added without waiting.
+     *
+     * @return the number of bytes that can be added, 0 if the budget is exhausted.
+     */
+    public synchronized long getAvailableBytes() {
+        return Math.max(0, maxBytes - usedBytes);
+    }
+
+    /**
+     * Determines if the budget is exhausted.
+     *
+     * @return {@code true} if no more bytes can be added without waiting.
+     */
+    public synchronized boolean isExhausted() {
+        return usedBytes >= maxBytes;
+    }
+
+    /**
+     * Closes the budget. Bytes are no longer added and the threads waiting for bytes return.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized long getBufferedBytes() {
+        return usedBytes;
+    }
+
+    @Override
+    public long getMaxBufferedBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBudget{" + getBufferedBytes() + "/" + maxBytes + " bytes}";
+    }
+}
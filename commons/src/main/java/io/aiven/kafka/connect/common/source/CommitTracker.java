@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * Runs actions once the records of native items have been committed to Kafka. An action is registered for a native
+ * item when it is listed, for example to acknowledge the notification that announced the item. It runs once the
+ * listing has been consumed, every split of the item that was started has been completely read and every record
+ * produced from it has been committed. Items that were listed but not read, for example because they did not match the
+ * file pattern, complete as soon as the listing has been consumed.
+ * <p>
+ * If reading an item fails its actions are discarded, so whatever they would have released is retried later. Only
+ * items with registered actions are tracked. All methods are thread safe as records are committed on the producer
+ * threads.
+ * </p>
+ *
+ * @param <K>
+ *            the native key type.
+ */
+public final class CommitTracker<K> {
+    /** The tracked items */
+    private final Map<K, Item> items = new HashMap<>();
+    /** The native keys of the records produced from tracked items that are not yet committed */
+    private final Map<SourceRecord, K> records = new IdentityHashMap<>();
+
+    /**
+     * The state of a tracked native item.
+     */
+    private static final class Item {
+        /** The actions to run when the item has been committed */
+        private final List<Runnable> actions = new ArrayList<>();
+        /** The number of splits of the item that are being read */
+        private int reading;
+        /** The number of records produced from the item that are not yet committed */
+        private int uncommitted;
+        /** {@code true} once the listing that the item was registered from has been consumed */
+        private boolean listed;
+
+        /**
+         * Determines if the actions of the item can run.
+         *
+         * @return {@code true} if the item has been committed.
+         */
+        private boolean isCommitted() {
+            return listed && reading == 0 && uncommitted == 0;
+        }
+    }
+
+    /**
+     * Registers an action to run once the native item has been committed.
+     *
+     * @param nativeKey
+     *            the native key of the item.
+     * @param action
+     *            the action to run.
+     */
+    public synchronized void track(final K nativeKey, final Runnable action) {
+        final Item item = items.computeIfAbsent(nativeKey, key -> new Item());
+        item.actions.add(action);
+        // the item is listed again so it completes with the new listing.
+        item.listed = false;
+    }
+
+    /**
+     * Records that the listing the tracked items were registered from has been consumed. Items that are not being read
+     * and have no uncommitted records are completed.
+     */
+    public void listed() {
+        final List<Runnable> ready = new ArrayList<>();
+        synchronized (this) {
+            final Iterator<Item> iterator = items.values().iterator();
+            while (iterator.hasNext()) {
+                final Item item = iterator.next();
+                item.listed = true;
+                if (item.isCommitted()) {
+                    ready.addAll(item.actions);
+                    iterator.remove();
+                }
+            }
+        }
+        ready.forEach(Runnable::run);
+    }
+
+    /**
+     * Records that reading a native item, or one of its splits, has started.
+     *
+     * @param nativeKey
+     *            the native key of the item.
+     */
+    public synchronized void started(final K nativeKey) {
+        final Item item = items.get(nativeKey);
+        if (item != null) {
+            item.reading++;
+        }
+    }
+
+    /**
+     * Records that a record was produced from a native item.
+     *
+     * @param nativeKey
+     *            the native key of the item.
+     * @param sourceRecord
+     *            the record that was produced.
+     */
+    public synchronized void produced(final K nativeKey, final SourceRecord sourceRecord) {
+        final Item item = items.get(nativeKey);
+        if (item != null) {
+            item.uncommitted++;
+            records.put(sourceRecord, nativeKey);
+        }
+    }
+
+    /**
+     * Records that a native item, or one of its splits, has been completely read.
+     *
+     * @param nativeKey
+     *            the native key of the item.
+     */
+    public void completed(final K nativeKey) {
+        update(nativeKey, item -> item.reading--);
+    }
+
+    /**
+     * Records that reading a native item failed. Its actions are discarded.
+     *
+     * @param nativeKey
+     *            the native key of the item.
+     */
+    public synchronized void failed(final K nativeKey) {
+        items.remove(nativeKey);
+        records.values().removeIf(nativeKey::equals);
+    }
+
+    /**
+     * Records that a record has been committed to Kafka.
+     *
+     * @param sourceRecord
+     *            the record that was committed.
+     */
+    public void committed(final SourceRecord sourceRecord) {
+        final K nativeKey;
+        synchronized (this) {
+            nativeKey = records.remove(sourceRecord);
+        }
+        if (nativeKey != null) {
+            update(nativeKey, item -> item.uncommitted--);
+        }
+    }
+
+    /**
+     * Updates a tracked item and runs its actions if it has been committed.
+     *
+     * @param nativeKey
+     *            the native key of the item.
+     * @param change
+     *            the change to make to the item.
+     */
+    private void update(final K nativeKey, final Consumer<Item> change) {
+        final List<Runnable> ready;
+        synchronized (this) {
+            final Item item = items.get(nativeKey);
+            if (item == null) {
+                return;
+            }
+            change.accept(item);
+            if (!item.isCommitted()) {
+                return;
+            }
+            items.remove(nativeKey);
+            ready = item.actions;
+        }
+        ready.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.util.Random;
+
+/**
+ * Schedules the listings of the storage. While listings find nothing new the interval between them doubles, up to the
+ * maximum interval, so that idle storage is listed rarely. As soon as new items are found the interval drops back to
+ * the minimum. A random jitter of up to a quarter of the interval is applied so that many tasks started together do
+ * not list in step.
+ */
+public class ListingScheduler implements ListingSchedulerMBean {
+    /**
+     * The shortest interval between listings.
+     */
+    public static final long MIN_INTERVAL_MS = 100;
+
+    /**
+     * The lock that the scheduler waits on.
+     */
+    private final Object monitor = new Object();
+
+    /**
+     * The maximum interval between listings.
+     */
+    private final long maxIntervalMs;
+
+    /**
+     * A random number generator to construct jitter.
+     */
+    private final Random random = new Random();
+
+    /**
+     * The interval before the next listing.
+     */
+    private volatile long currentIntervalMs;
+
+    /**
+     * Set when the scheduler is stopped.
+     */
+    private boolean stopped;
+
+    /**
+     * Constructor.
+     *
+     * @param maxIntervalMs
+     *            the maximum interval between listings in milliseconds.
+     */
+    public ListingScheduler(final long maxIntervalMs) {
+        this.maxIntervalMs = maxIntervalMs;
+        reset();
+    }
+
+    @Override
+    public long getCurrentIntervalMs() {
+        return currentIntervalMs;
+    }
+
+    @Override
+    public long getMaxIntervalMs() {
+        return maxIntervalMs;
+    }
+
+    /**
+     * Drops the interval back to the minimum. Called when new items are found.
+     */
+    public final void reset() {
+        currentIntervalMs = Math.min(MIN_INTERVAL_MS, maxIntervalMs);
+    }
+
+    /**
+     * Waits for the current interval and then doubles the interval, up to the maximum. Called when a listing finds
+     * nothing new. Returns immediately once the scheduler is stopped.
+     *
+     * @throws InterruptedException
+     *             If any thread interrupts this thread.
+     */
+    public void await() throws InterruptedException {
+        final long interval = currentIntervalMs;
+        final long jitter = interval / 4;
+        final long deadline = System.currentTimeMillis() + interval - jitter
+                + (jitter > 0 ? (long) (random.nextDouble() * 2 * jitter) : 0);
+        synchronized (monitor) {
+            long remaining = deadline - System.currentTimeMillis();
+            while (!stopped && remaining > 0) {
+                monitor.wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+        currentIntervalMs = Math.min(maxIntervalMs, interval * 2);
+    }
+
+    /**
+     * Stops the scheduler. Any current and future {@link #await()} calls return immediately.
+     */
+    public void stop() {
+        synchronized (monitor) {
+            stopped = true;
+            monitor.notifyAll();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ListingScheduler %s/%s milliseconds.", currentIntervalMs, maxIntervalMs);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+/**
+ * The JMX view of a {@link ListingScheduler}.
+ */
+public interface ListingSchedulerMBean {
+    /**
+     * Gets the time that the scheduler will wait before the next listing if no new items are found.
+     *
+     * @return the current listing interval in milliseconds.
+     */
+    long getCurrentIntervalMs();
+
+    /**
+     * Gets the maximum time that the scheduler will wait between listings.
+     *
+     * @return the maximum listing interval in milliseconds.
+     */
+    long getMaxIntervalMs();
+}
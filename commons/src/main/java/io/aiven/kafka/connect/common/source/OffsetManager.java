@@ -16,12 +16,16 @@
 
 package io.aiven.kafka.connect.common.source;
 
-import static java.util.stream.Collectors.toList;
-
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
@@ -41,11 +45,22 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
      */
     private final ConcurrentMap<Map<String, Object>, Map<String, Object>> offsets;
 
+    /**
+     * The partition maps that {@link #populateOffsetManager(Collection)} found to have no stored offset. Each is
+     * consumed by the next {@link #getEntry} for the key so that the lookup is not repeated.
+     */
+    private final Set<Map<String, Object>> absent;
+
     /**
      * The context in which this is running.
      */
     private final SourceTaskContext context;
 
+    /**
+     * {@code true} if the fallback partition maps are read when nothing is stored under the partition map of a key.
+     */
+    private final boolean readFallbacks;
+
     /**
      * Constructor
      *
@@ -53,14 +68,30 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
      *            the context for this instance to use.
      */
     public OffsetManager(final SourceTaskContext context) {
+        this(context, true);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param context
+     *            the context for this instance to use.
+     * @param readFallbacks
+     *            {@code true} to read the {@link OffsetManagerKey#getFallbackPartitionMaps() fallback partition maps}
+     *            when nothing is stored under the partition map of a key.
+     */
+    public OffsetManager(final SourceTaskContext context, final boolean readFallbacks) {
         this.context = context;
         this.offsets = new ConcurrentHashMap<>();
+        this.absent = ConcurrentHashMap.newKeySet();
+        this.readFallbacks = readFallbacks;
     }
 
     /**
      * Get an entry from the offset manager. This method will return the local copy if it has been created otherwise
-     * will get the data from Kafka. If there is not a local copy and not one from Kafka then an empty Optional is
-     * returned
+     * will get the data from Kafka, trying the {@link OffsetManagerKey#getFallbackPartitionMaps() fallback partition
+     * maps} if nothing is stored under the partition map of the key. If there is not a local copy and not one from
+     * Kafka then an empty Optional is returned
      *
      * @param key
      *            the key for the entry.
@@ -72,9 +103,19 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
         LOGGER.debug("getEntry: {}", key.getPartitionMap());
         final Map<String, Object> data = offsets.compute(key.getPartitionMap(), (k, v) -> {
             if (v == null) {
-                final Map<String, Object> kafkaData = context.offsetStorageReader().offset(key.getPartitionMap());
+                if (absent.remove(k)) {
+                    LOGGER.debug("No stored offset found by populateOffsetManager");
+                    return null;
+                }
+                Map<String, Object> kafkaData = readOffset(k);
+                if (kafkaData == null && readFallbacks) {
+                    final Iterator<Map<String, Object>> fallbacks = key.getFallbackPartitionMaps().iterator();
+                    while (kafkaData == null && fallbacks.hasNext()) {
+                        kafkaData = readOffset(fallbacks.next());
+                    }
+                }
                 LOGGER.debug("Context stored offset map {}", kafkaData);
-                return kafkaData == null || kafkaData.isEmpty() ? null : kafkaData;
+                return kafkaData;
             } else {
                 LOGGER.debug("Previously stored offset map {}", v);
                 return v;
@@ -83,6 +124,32 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
         return data == null ? Optional.empty() : Optional.of(creator.apply(data));
     }
 
+    /**
+     * Adds the offset of a source record to the offset manager. The offset is stored without copying it, so it must not
+     * be changed afterwards.
+     *
+     * @param partitionMap
+     *            the partition map of the source record.
+     * @param offset
+     *            the offset of the source record.
+     */
+    void addEntry(final Map<String, Object> partitionMap, final Map<String, Object> offset) {
+        absent.remove(partitionMap);
+        offsets.put(partitionMap, offset);
+    }
+
+    /**
+     * Reads the offset stored under a partition map from Kafka.
+     *
+     * @param partitionMap
+     *            the partition map to read.
+     * @return the stored offset or {@code null} if there is none.
+     */
+    private Map<String, Object> readOffset(final Map<String, Object> partitionMap) {
+        final Map<String, Object> kafkaData = context.offsetStorageReader().offset(partitionMap);
+        return kafkaData == null || kafkaData.isEmpty() ? null : kafkaData;
+    }
+
     /**
      * Get add an entry to the offset manager. For retrieval later
      *
@@ -91,27 +158,89 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
      *
      */
     public void addEntry(final OffsetManagerEntry<E> entry) {
-        offsets.put(entry.getManagerKey().getPartitionMap(), entry.getProperties());
+        final Map<String, Object> partitionMap = entry.getManagerKey().getPartitionMap();
+        absent.remove(partitionMap);
+        offsets.put(partitionMap, entry.getProperties());
     }
 
     /**
      * Gets any offset information stored in the offsetStorageReader and adds to the local offsets Map. This provides a
-     * performance improvement over when checking if offsets exists individually.
+     * performance improvement over when checking if offsets exists individually. Keys that are already in the local
+     * offsets Map are not read. The fallback partition maps are only read, in a second request, for the keys that have
+     * nothing stored under their partition map. Keys without stored offsets are remembered so that the next
+     * {@link #getEntry} for each of them returns an empty Optional without reading the offsetStorageReader again.
      *
      * @param offsetManagerKeys
      *            A Collection of OffsetManagerKey which identify individual offset entries
      */
     public void populateOffsetManager(final Collection<OffsetManager.OffsetManagerKey> offsetManagerKeys) {
-        final Map<Map<String, Object>, Map<String, Object>> matchingOffsets = new HashMap<>();
-        context.offsetStorageReader()
-                .offsets(offsetManagerKeys.stream().map(OffsetManagerKey::getPartitionMap).collect(toList()))
-                .entrySet()
-                .stream()
-                .filter(entry -> entry.getValue() != null)
-                .forEach(entry -> matchingOffsets.put(entry.getKey(), entry.getValue()));
-        // offsets is multithreaded batching in matchingOffsets is faster
-        offsets.putAll(matchingOffsets);
+        final Map<Map<String, Object>, OffsetManagerKey> lookups = new LinkedHashMap<>();
+        for (final OffsetManagerKey key : offsetManagerKeys) {
+            final Map<String, Object> partitionMap = key.getPartitionMap();
+            if (!offsets.containsKey(partitionMap)) {
+                lookups.putIfAbsent(partitionMap, key);
+            }
+        }
+        if (lookups.isEmpty()) {
+            return;
+        }
+        final Map<Map<String, Object>, List<Map<String, Object>>> missing = new LinkedHashMap<>();
+        final Map<Map<String, Object>, Map<String, Object>> stored = readOffsets(new ArrayList<>(lookups.keySet()));
+        for (final Map.Entry<Map<String, Object>, OffsetManagerKey> lookup : lookups.entrySet()) {
+            final Map<String, Object> data = stored.get(lookup.getKey());
+            if (data != null) {
+                // do not replace an entry added while reading.
+                offsets.putIfAbsent(lookup.getKey(), data);
+            } else if (readFallbacks) {
+                missing.put(lookup.getKey(), lookup.getValue().getFallbackPartitionMaps());
+            } else {
+                absent.add(lookup.getKey());
+            }
+        }
+        if (!missing.isEmpty()) {
+            final List<Map<String, Object>> fallbackMaps = new ArrayList<>();
+            missing.values().forEach(fallbackMaps::addAll);
+            final Map<Map<String, Object>, Map<String, Object>> fallbacks = fallbackMaps.isEmpty()
+                    ? Map.of()
+                    : readOffsets(fallbackMaps);
+            for (final Map.Entry<Map<String, Object>, List<Map<String, Object>>> lookup : missing.entrySet()) {
+                final Map<String, Object> data = lookup.getValue()
+                        .stream()
+                        .map(fallbacks::get)
+                        .filter(Objects::nonNull)
+                        .findFirst()
+                        .orElse(null);
+                if (data == null) {
+                    absent.add(lookup.getKey());
+                } else {
+                    offsets.putIfAbsent(lookup.getKey(), data);
+                }
+            }
+        }
+        LOGGER.debug("Populated offsets for {} keys, {} read from fallback partition maps", lookups.size(),
+                missing.size());
+    }
 
+    /**
+     * Reads the offsets stored under partition maps from Kafka in one request.
+     *
+     * @param partitionMaps
+     *            the partition maps to read.
+     * @return the non-empty stored offsets by partition map.
+     */
+    private Map<Map<String, Object>, Map<String, Object>> readOffsets(
+            final Collection<Map<String, Object>> partitionMaps) {
+        final Map<Map<String, Object>, Map<String, Object>> stored = context.offsetStorageReader()
+                .offsets(partitionMaps);
+        final Map<Map<String, Object>, Map<String, Object>> result = new HashMap<>();
+        if (stored != null) {
+            stored.forEach((partitionMap, offset) -> {
+                if (offset != null && !offset.isEmpty()) {
+                    result.put(partitionMap, offset);
+                }
+            });
+        }
+        return result;
     }
 
     /**
@@ -123,6 +252,7 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
      */
     public void removeEntry(final OffsetManagerKey key) {
         LOGGER.debug("Removing: {}", key.getPartitionMap());
+        absent.remove(key.getPartitionMap());
         offsets.remove(key.getPartitionMap());
     }
 
@@ -135,6 +265,7 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
      */
     public void removeEntry(final SourceRecord sourceRecord) {
         LOGGER.debug("Removing: {}", sourceRecord.sourcePartition());
+        absent.remove(sourceRecord.sourcePartition());
         offsets.remove(sourceRecord.sourcePartition());
     }
 
@@ -271,5 +402,16 @@ public final class OffsetManager<E extends OffsetManager.OffsetManagerEntry<E>>
          * @return The partition map used by Kafka to identify this Offset entry.
          */
         Map<String, Object> getPartitionMap();
+
+        /**
+         * Gets the partition maps that the offset for this entry may have been stored under by earlier versions of the
+         * connector, for example before the encoding of the partition map was changed. They are read, in order, when
+         * nothing is stored under the {@link #getPartitionMap() partition map}.
+         *
+         * @return The fallback partition maps, empty by default.
+         */
+        default List<Map<String, Object>> getFallbackPartitionMaps() {
+            return List.of();
+        }
     }
 }
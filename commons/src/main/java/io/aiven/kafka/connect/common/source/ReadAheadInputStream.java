@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * An input stream that reads its source ahead of the reader on another thread. The source is read into a fixed ring
+ * of buffers that are handed to the reader as they are filled and returned to the reading thread once they have been
+ * read. It is used to decompress items while the records in the already decompressed data are decoded.
+ */
+final class ReadAheadInputStream extends InputStream {
+    /** The source stream. */
+    private final InputStream source;
+    /** The filled buffers waiting to be read. */
+    private final BlockingQueue<Buffer> filled;
+    /** The buffers that may be filled. */
+    private final BlockingQueue<byte[]> free;
+    /** The task reading the source. */
+    private final Future<?> task;
+    /** Set by the task when it starts, or by {@link #close()} if it has not, the one that sets it closes the source. */
+    private final AtomicBoolean started = new AtomicBoolean();
+    /** The buffer being read, {@code null} if a buffer must be taken. */
+    private Buffer current;
+    /** The position of the next byte to read in the current buffer. */
+    private int position;
+    /** Set once the end of the source, or an error reading it, has been reached. */
+    private boolean ended;
+
+    /**
+     * Constructor. Starts reading the source.
+     *
+     * @param source
+     *            the source stream.
+     * @param executor
+     *            the executor to read the source on.
+     * @param bufferSize
+     *            the size of each buffer.
+     * @param bufferCount
+     *            the number of buffers in the ring.
+     */
+    ReadAheadInputStream(final InputStream source, final ExecutorService executor, final int bufferSize,
+            final int bufferCount) {
+        super();
+        this.source = source;
+        this.filled = new ArrayBlockingQueue<>(bufferCount + 1);
+        this.free = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            free.add(new byte[bufferSize]);
+        }
+        this.task = executor.submit(this::readAhead);
+    }
+
+    /**
+     * Fills the free buffers from the source until the source ends or the stream is closed, then closes the source.
+     */
+    private void readAhead() {
+        if (started.getAndSet(true)) {
+            // the stream was closed before the task started.
+            return;
+        }
+        try {
+            while (true) {
+                final byte[] data = free.take();
+                final int length;
+                try {
+                    length = IOUtils.read(source, data);
+                } catch (IOException | RuntimeException e) { // NOPMD AvoidCatchingGenericException
+                    // the reader would otherwise wait for data forever.
+                    filled.put(new Buffer(e));
+                    return;
+                }
+                if (length > 0) {
+                    filled.put(new Buffer(data, length));
+                }
+                if (length < data.length) {
+                    filled.put(new Buffer(null, -1));
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // the stream was closed.
+            Thread.currentThread().interrupt();
+        } finally {
+            // closed here rather than by close() so that the source is not closed while it is being read.
+            IOUtils.closeQuietly(source);
+        }
+    }
+
+    /**
+     * Makes sure that there is a buffer with unread data.
+     *
+     * @return {@code false} at the end of the source.
+     * @throws IOException
+     *             if the source could not be read.
+     */
+    private boolean fill() throws IOException {
+        if (current != null && position < current.length) {
+            return true;
+        }
+        if (ended) {
+            return false;
+        }
+        if (current != null) {
+            free.add(current.data);
+            current = null;
+        }
+        final Buffer next;
+        try {
+            next = filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for data");
+        }
+        if (next.failure != null) {
+            ended = true;
+            throw new IOException("Error reading ahead", next.failure);
+        }
+        if (next.length < 0) {
+            ended = true;
+            return false;
+        }
+        current = next;
+        position = 0;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return fill() ? current.data[position++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int count = Math.min(length, current.length - position);
+        System.arraycopy(current.data, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        task.cancel(true);
+        if (!started.getAndSet(true)) {
+            source.close();
+        }
+    }
+
+    /**
+     * A buffer of data read from the source, the end of the source or an error reading it.
+     */
+    private static final class Buffer {
+        /** The data. */
+        private final byte[] data;
+        /** The number of bytes of data, -1 at the end of the source. */
+        private final int length;
+        /** The error reading the source. */
+        private final Exception failure;
+
+        /**
+         * Constructor.
+         *
+         * @param data
+         *            the data.
+         * @param length
+         *            the number of bytes of data, -1 at the end of the source.
+         */
+        Buffer(final byte[] data, final int length) {
+            this.data = data;
+            this.length = length;
+            this.failure = null;
+        }
+
+        /**
+         * Constructor for an error reading the source.
+         *
+         * @param failure
+         *            the error.
+         */
+        Buffer(final Exception failure) {
+            this.data = null;
+            this.length = -1;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+
+/**
+ * Estimates the number of bytes that records use in memory. The estimate counts the bytes of the data in the keys and
+ * values plus a fixed overhead per record for the topic, partition and offset. It is not exact, it is used to keep the
+ * memory used by buffered records roughly constant whatever the size of the records.
+ */
+final class RecordSizeEstimator {
+    /** The bytes counted for each record in addition to the key and value. */
+    static final long RECORD_OVERHEAD = 128;
+    /** The bytes counted for a number, boolean or any other value whose size is not known. */
+    static final long VALUE_SIZE = 8;
+
+    private RecordSizeEstimator() {
+        // do not instantiate
+    }
+
+    /**
+     * Estimates the size of a source record.
+     *
+     * @param sourceRecord
+     *            the source record.
+     * @return the estimated size in bytes.
+     */
+    static long estimate(final SourceRecord sourceRecord) {
+        return RECORD_OVERHEAD + estimateValue(sourceRecord.key()) + estimateValue(sourceRecord.value());
+    }
+
+    /**
+     * Estimates the size of a record with the key and value.
+     *
+     * @param key
+     *            the key, may be {@code null}.
+     * @param value
+     *            the value, may be {@code null}.
+     * @return the estimated size in bytes.
+     */
+    static long estimate(final SchemaAndValue key, final SchemaAndValue value) {
+        return RECORD_OVERHEAD + (key == null ? 0 : estimateValue(key.value()))
+                + (value == null ? 0 : estimateValue(value.value()));
+    }
+
+    /**
+     * Estimates the size of a Connect data value.
+     *
+     * @param value
+     *            the value, may be {@code null}.
+     * @return the estimated size in bytes.
+     */
+    static long estimateValue(final Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).remaining();
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        if (value instanceof Struct) {
+            final Struct struct = (Struct) value;
+            long size = 0;
+            for (final Field field : struct.schema().fields()) {
+                size += estimateValue(struct.get(field));
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = 0;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += estimateValue(entry.getKey()) + estimateValue(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 0;
+            for (final Object element : (Collection<?>) value) {
+                size += estimateValue(element);
+            }
+            return size;
+        }
+        return VALUE_SIZE;
+    }
+}
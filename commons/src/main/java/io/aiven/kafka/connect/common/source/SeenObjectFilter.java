@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import io.aiven.commons.collections.BloomFilter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact record of the native items that have been completely processed. It lets the source reject items that were
+ * processed before a restart without looking up their offsets one at a time.
+ * <p>
+ * The items are recorded in two generations of {@link BloomFilter}. When the current generation holds the configured
+ * number of items it becomes the previous generation and the oldest generation is discarded, so the false positive
+ * probability never exceeds about twice the configured value. Items that are forgotten fall back to the offset
+ * lookup. A false positive causes an unprocessed item to be skipped, so the probability should be kept very low.
+ * </p>
+ * <p>
+ * The filter is checkpointed with a delay of one checkpoint: {@link #checkpoint()} returns the state of the filter when
+ * it was previously called. This gives Kafka time to commit the offsets of the records produced from the items
+ * before the items are recorded as processed in the checkpoint.
+ * </p>
+ */
+public final class SeenObjectFilter {
+    /** The logger to write to */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeenObjectFilter.class);
+
+    /** The number of items in a generation. */
+    private final long generationSize;
+
+    /** The false positive probability of a generation. */
+    private final double falsePositiveProbability;
+
+    /** The generation that items are added to. */
+    private BloomFilter current;
+
+    /** The previous generation. */
+    private BloomFilter previous;
+
+    /** The state of the filter when {@link #checkpoint()} was last called. */
+    private byte[] staged;
+
+    /**
+     * Constructor.
+     *
+     * @param generationSize
+     *            the number of items in a generation.
+     * @param falsePositiveProbability
+     *            the false positive probability of a full generation.
+     */
+    public SeenObjectFilter(final long generationSize, final double falsePositiveProbability) {
+        this.generationSize = generationSize;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.current = new BloomFilter(generationSize, falsePositiveProbability);
+        this.previous = new BloomFilter(generationSize, falsePositiveProbability);
+    }
+
+    /**
+     * Records an item as processed.
+     *
+     * @param itemKey
+     *            the key of the item.
+     */
+    public synchronized void add(final String itemKey) {
+        if (current.getCount() >= generationSize) {
+            previous = current;
+            current = new BloomFilter(generationSize, falsePositiveProbability);
+        }
+        current.add(itemKey);
+    }
+
+    /**
+     * Determines if the item has probably been processed.
+     *
+     * @param itemKey
+     *            the key of the item.
+     * @return {@code false} if the item has not been processed, {@code true} if it probably has.
+     */
+    public synchronized boolean mightContain(final String itemKey) {
+        return current.mightContain(itemKey) || previous.mightContain(itemKey);
+    }
+
+    /**
+     * Gets the checkpoint to store. Returns the state of the filter when this method was last called and stages the
+     * current state for the next call.
+     *
+     * @return the serialized filter or an empty Optional on the first call.
+     */
+    public synchronized Optional<byte[]> checkpoint() {
+        final byte[] result = staged;
+        final byte[] currentBytes = current.toBytes();
+        final byte[] previousBytes = previous.toBytes();
+        staged = ByteBuffer.allocate(Integer.BYTES + currentBytes.length + previousBytes.length)
+                .putInt(currentBytes.length)
+                .put(currentBytes)
+                .put(previousBytes)
+                .array();
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Restores the filter from a checkpoint. A checkpoint that can not be read, or that was written with a different
+     * size or false positive probability, is logged and ignored.
+     *
+     * @param data
+     *            the checkpoint produced by {@link #checkpoint()}.
+     */
+    public synchronized void restore(final byte[] data) {
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(data);
+            final int currentLength = buffer.getInt();
+            if (currentLength < 0 || currentLength > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid checkpoint length " + currentLength);
+            }
+            final byte[] currentBytes = new byte[currentLength];
+            buffer.get(currentBytes);
+            final byte[] previousBytes = new byte[buffer.remaining()];
+            buffer.get(previousBytes);
+            final BloomFilter restoredCurrent = BloomFilter.fromBytes(currentBytes);
+            final BloomFilter restoredPrevious = BloomFilter.fromBytes(previousBytes);
+            if (restoredCurrent.isSameShape(current) && restoredPrevious.isSameShape(previous)) {
+                current = restoredCurrent;
+                previous = restoredPrevious;
+                LOGGER.info("Restored seen object filter {}", this);
+            } else {
+                LOGGER.warn("Ignoring seen object filter checkpoint created with a different configuration");
+            }
+        } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+            LOGGER.warn("Ignoring seen object filter checkpoint that could not be read", e);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("SeenObjectFilter[current %s, previous %s]", current, previous);
+    }
+}
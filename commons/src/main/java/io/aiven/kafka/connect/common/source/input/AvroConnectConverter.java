@@ -0,0 +1,286 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.Struct;
+
+import io.confluent.connect.avro.AvroData;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+
+/**
+ * Converts Avro records to Connect data. The Connect schema and a converter for the values are created once for each
+ * Avro schema and cached by the fingerprint of the schema, so records with the same schema read from different items
+ * share them. The converter reads the fields by position and builds the Connect values directly rather than walking
+ * the Avro schema for every record.
+ * <p>
+ * Only the types whose Connect values are the Avro values themselves, or simple copies of them, are compiled: records,
+ * optional unions, arrays, maps, strings and the primitive numeric and boolean types. Schemas that contain anything
+ * else, such as logical types, enums or general unions, are converted by the {@link AvroData}.
+ * </p>
+ */
+final class AvroConnectConverter {
+    /** The AvroData that creates the Connect schemas and converts the schemas that are not compiled */
+    private final AvroData avroData;
+    /** The compiled schemas by the fingerprint of the Avro schema */
+    private final Map<Long, CompiledSchema> compiledSchemas = new ConcurrentHashMap<>();
+    /**
+     * The last schema used by each thread, records of the same item share the Avro schema instance. Kept per thread so
+     * that threads decoding items with different schemas do not evict each other.
+     */
+    private final ThreadLocal<CompiledSchema> last = new ThreadLocal<>();
+
+    /**
+     * Constructor.
+     *
+     * @param avroData
+     *            the AvroData that creates the Connect schemas.
+     */
+    AvroConnectConverter(final AvroData avroData) {
+        this.avroData = avroData;
+    }
+
+    /**
+     * Converts an Avro record to Connect data. May be called from several threads at the same time.
+     *
+     * @param record
+     *            the Avro record.
+     * @return the Connect schema and value.
+     */
+    SchemaAndValue toConnectData(final GenericRecord record) {
+        final org.apache.avro.Schema avroSchema = record.getSchema();
+        CompiledSchema compiled = last.get();
+        if (compiled == null || compiled.avroSchema != avroSchema) { // NOPMD comparing instance
+            // the fingerprint includes the properties, such as logical types, that the parsing form leaves out.
+            final long fingerprint = SchemaNormalization
+                    .fingerprint64(avroSchema.toString().getBytes(StandardCharsets.UTF_8));
+            final CompiledSchema shared = compiledSchemas.computeIfAbsent(fingerprint,
+                    key -> new CompiledSchema(avroSchema, avroData.toConnectSchema(avroSchema)));
+            compiled = new CompiledSchema(avroSchema, shared.connectSchema, shared.converter);
+            last.set(compiled);
+        }
+        return compiled.converter == null
+                ? avroData.toConnectData(avroSchema, record)
+                : new SchemaAndValue(compiled.connectSchema, compiled.converter.apply(record));
+    }
+
+    /**
+     * Creates a converter for values of an Avro schema.
+     *
+     * @param avroSchema
+     *            the Avro schema.
+     * @param connectSchema
+     *            the Connect schema that AvroData creates for the Avro schema.
+     * @param inProgress
+     *            the record schemas being compiled, used to detect recursive schemas.
+     * @return the converter or {@code null} if the schema can not be compiled.
+     */
+    static UnaryOperator<Object> compile(final org.apache.avro.Schema avroSchema, final Schema connectSchema,
+            final Set<org.apache.avro.Schema> inProgress) {
+        if (avroSchema.getLogicalType() != null) {
+            return null;
+        }
+        switch (avroSchema.getType()) {
+            case RECORD :
+                return compileRecord(avroSchema, connectSchema, inProgress);
+            case UNION :
+                return compileOptional(avroSchema, connectSchema, inProgress);
+            case ARRAY :
+                return compileArray(avroSchema, connectSchema, inProgress);
+            case MAP :
+                return compileMap(avroSchema, connectSchema, inProgress);
+            case STRING :
+                return isPlain(connectSchema, Schema.Type.STRING) ? Object::toString : null;
+            case INT :
+                return isPlain(connectSchema, Schema.Type.INT32) ? UnaryOperator.identity() : null;
+            case LONG :
+                return isPlain(connectSchema, Schema.Type.INT64) ? UnaryOperator.identity() : null;
+            case FLOAT :
+                return isPlain(connectSchema, Schema.Type.FLOAT32) ? UnaryOperator.identity() : null;
+            case DOUBLE :
+                return isPlain(connectSchema, Schema.Type.FLOAT64) ? UnaryOperator.identity() : null;
+            case BOOLEAN :
+                return isPlain(connectSchema, Schema.Type.BOOLEAN) ? UnaryOperator.identity() : null;
+            default :
+                return null;
+        }
+    }
+
+    /**
+     * Determines if a Connect schema is of the type and is not a logical type.
+     *
+     * @param connectSchema
+     *            the Connect schema.
+     * @param type
+     *            the expected type.
+     * @return {@code true} if the Connect values are the Avro values.
+     */
+    private static boolean isPlain(final Schema connectSchema, final Schema.Type type) {
+        return connectSchema.type() == type && connectSchema.name() == null;
+    }
+
+    private static UnaryOperator<Object> compileRecord(final org.apache.avro.Schema avroSchema,
+            final Schema connectSchema, final Set<org.apache.avro.Schema> inProgress) {
+        final List<org.apache.avro.Schema.Field> avroFields = avroSchema.getFields();
+        if (connectSchema.type() != Schema.Type.STRUCT || connectSchema.fields().size() != avroFields.size()
+                || !inProgress.add(avroSchema)) {
+            // recursive schemas are left to AvroData.
+            return null;
+        }
+        final int size = avroFields.size();
+        final int[] positions = new int[size];
+        final Field[] connectFields = new Field[size];
+        final List<UnaryOperator<Object>> converters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final org.apache.avro.Schema.Field avroField = avroFields.get(i);
+            positions[i] = avroField.pos();
+            connectFields[i] = connectSchema.field(avroField.name());
+            final UnaryOperator<Object> converter = connectFields[i] == null
+                    ? null
+                    : compile(avroField.schema(), connectFields[i].schema(), inProgress);
+            if (converter == null) {
+                return null;
+            }
+            converters.add(converter);
+        }
+        inProgress.remove(avroSchema);
+        return value -> {
+            final IndexedRecord record = (IndexedRecord) value;
+            final Struct struct = new Struct(connectSchema);
+            for (int i = 0; i < size; i++) {
+                struct.put(connectFields[i], converters.get(i).apply(record.get(positions[i])));
+            }
+            return struct;
+        };
+    }
+
+    private static UnaryOperator<Object> compileOptional(final org.apache.avro.Schema avroSchema,
+            final Schema connectSchema, final Set<org.apache.avro.Schema> inProgress) {
+        final List<org.apache.avro.Schema> types = avroSchema.getTypes();
+        if (types.size() != 2 || !connectSchema.isOptional()) {
+            return null;
+        }
+        final org.apache.avro.Schema valueType;
+        if (types.get(0).getType() == org.apache.avro.Schema.Type.NULL) {
+            valueType = types.get(1);
+        } else if (types.get(1).getType() == org.apache.avro.Schema.Type.NULL) {
+            valueType = types.get(0);
+        } else {
+            return null;
+        }
+        final UnaryOperator<Object> converter = compile(valueType, connectSchema, inProgress);
+        return converter == null ? null : value -> value == null ? null : converter.apply(value);
+    }
+
+    private static UnaryOperator<Object> compileArray(final org.apache.avro.Schema avroSchema,
+            final Schema connectSchema, final Set<org.apache.avro.Schema> inProgress) {
+        if (connectSchema.type() != Schema.Type.ARRAY) {
+            return null;
+        }
+        final UnaryOperator<Object> converter = compile(avroSchema.getElementType(), connectSchema.valueSchema(),
+                inProgress);
+        if (converter == null) {
+            return null;
+        }
+        return value -> {
+            final Collection<?> elements = (Collection<?>) value;
+            final List<Object> result = new ArrayList<>(elements.size());
+            for (final Object element : elements) {
+                result.add(converter.apply(element));
+            }
+            return result;
+        };
+    }
+
+    private static UnaryOperator<Object> compileMap(final org.apache.avro.Schema avroSchema,
+            final Schema connectSchema, final Set<org.apache.avro.Schema> inProgress) {
+        if (connectSchema.type() != Schema.Type.MAP || !isPlain(connectSchema.keySchema(), Schema.Type.STRING)) {
+            return null;
+        }
+        final UnaryOperator<Object> converter = compile(avroSchema.getValueType(), connectSchema.valueSchema(),
+                inProgress);
+        if (converter == null) {
+            return null;
+        }
+        return value -> {
+            final Map<?, ?> entries = (Map<?, ?>) value;
+            final Map<Object, Object> result = new HashMap<>();
+            for (final Map.Entry<?, ?> entry : entries.entrySet()) {
+                result.put(entry.getKey().toString(), converter.apply(entry.getValue()));
+            }
+            return result;
+        };
+    }
+
+    /**
+     * The Connect schema and converter for an Avro schema.
+     */
+    private static final class CompiledSchema {
+        /** The Avro schema */
+        private final org.apache.avro.Schema avroSchema;
+        /** The Connect schema */
+        private final Schema connectSchema;
+        /** The converter of the values, {@code null} if the values are converted by AvroData */
+        private final UnaryOperator<Object> converter;
+
+        /**
+         * Compiles an Avro schema.
+         *
+         * @param avroSchema
+         *            the Avro schema.
+         * @param connectSchema
+         *            the Connect schema that AvroData creates for the Avro schema.
+         */
+        CompiledSchema(final org.apache.avro.Schema avroSchema, final Schema connectSchema) {
+            this(avroSchema, connectSchema,
+                    compile(avroSchema, connectSchema, Collections.newSetFromMap(new IdentityHashMap<>())));
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param avroSchema
+         *            the Avro schema.
+         * @param connectSchema
+         *            the Connect schema.
+         * @param converter
+         *            the converter of the values, {@code null} if the values are converted by AvroData.
+         */
+        CompiledSchema(final org.apache.avro.Schema avroSchema, final Schema connectSchema,
+                final UnaryOperator<Object> converter) {
+            this.avroSchema = avroSchema;
+            this.connectSchema = connectSchema;
+            this.converter = converter;
+        }
+    }
+}
@@ -18,7 +18,9 @@ package io.aiven.kafka.connect.common.source.input;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.apache.kafka.connect.data.Schema;
@@ -31,36 +33,74 @@ import io.confluent.connect.avro.AvroData;
 import org.apache.avro.file.DataFileStream;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
 import org.apache.commons.io.function.IOSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class AvroTransformer extends Transformer {
 
-    private final AvroData avroData;
+    /** Converts the Avro records to Connect data */
+    private final AvroConnectConverter avroConverter;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AvroTransformer.class);
 
     AvroTransformer(final AvroData avroData) {
         super();
-        this.avroData = avroData;
+        this.avroConverter = new AvroConnectConverter(avroData);
     }
 
     @Override
     public StreamSpliterator createSpliterator(final IOSupplier<InputStream> inputStreamIOSupplier,
             final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig) {
+        final int parallelism = sourceConfig.getTransformerDecodeParallelism();
         return new StreamSpliterator(LOGGER, inputStreamIOSupplier) {
             private DataFileStream<GenericRecord> dataFileStream;
             private final DatumReader<GenericRecord> datumReader = new GenericDatumReader<>();
+            /** The ordinal of the data block currently being read */
+            private long block = -1;
+            /** The number of records in the current data block */
+            private long blockCount;
+            /** The number of records read from the current data block */
+            private long blockIndex;
+            /** The decoder of data blocks, {@code null} if records are decoded one at a time */
+            private final OrderedChunkDecoder<long[]> decoder = parallelism > 1
+                    ? new OrderedChunkDecoder<>(parallelism, getDecodeExecutor(sourceConfig))
+                    : null;
+            /**
+             * The data block that records are being returned from, the chunk information is the ordinal of the block
+             * and the number of records in it.
+             */
+            private OrderedChunkDecoder.Chunk<long[]> chunk;
+            /** The number of records returned from the chunk */
+            private int chunkIndex;
 
             @Override
             protected void inputOpened(final InputStream input) throws IOException {
                 dataFileStream = new DataFileStream<>(input, datumReader);
             }
 
+            @Override
+            protected boolean seek(final ResumePosition position) throws IOException {
+                // skip whole blocks without decoding the records within them.
+                while (block + 1 < position.getPosition() && dataFileStream.hasNext()) {
+                    dataFileStream.nextBlock();
+                    block++;
+                }
+                long skipped = 0;
+                while (skipped < position.getIndex() && readRecord() != null) {
+                    skipped++;
+                }
+                return true;
+            }
+
             @Override
             public void doClose() {
+                if (decoder != null) {
+                    decoder.cancel();
+                }
                 if (dataFileStream != null) {
                     try {
                         dataFileStream.close();
@@ -70,11 +110,86 @@ public class AvroTransformer extends Transformer {
                 }
             }
 
+            /**
+             * Reads the next record while tracking the data block it came from.
+             *
+             * @return the next record or {@code null} if there are no more records.
+             */
+            private GenericRecord readRecord() {
+                if (!dataFileStream.hasNext()) {
+                    return null;
+                }
+                if (blockIndex >= blockCount) {
+                    // hasNext() has loaded a new block
+                    block++;
+                    blockIndex = 0;
+                    blockCount = dataFileStream.getBlockCount();
+                }
+                final GenericRecord record = dataFileStream.next();
+                blockIndex++;
+                return record;
+            }
+
+            /**
+             * Returns the next record from the decoded data blocks, submitting data blocks to the decoder as they are
+             * taken.
+             *
+             * @param action
+             *            the consumer of the record.
+             * @return {@code false} if there are no more records.
+             * @throws IOException
+             *             on IO error.
+             */
+            private boolean advanceChunk(final Consumer<? super SchemaAndValue> action) throws IOException {
+                while (chunk == null || chunkIndex == chunk.values.size()) {
+                    if (chunk != null) {
+                        chunk.rethrow();
+                    }
+                    while (decoder.hasCapacity() && dataFileStream.hasNext()) {
+                        final org.apache.avro.Schema schema = dataFileStream.getSchema();
+                        final long count = dataFileStream.getBlockCount();
+                        // the block buffer is reused by the data file stream.
+                        final ByteBuffer blockBuffer = dataFileStream.nextBlock();
+                        final byte[] data = new byte[blockBuffer.remaining()];
+                        blockBuffer.duplicate().get(data);
+                        block++;
+                        decoder.submit(new long[] { block, count }, values -> decodeBlock(schema, data, count, values));
+                    }
+                    if (decoder.isEmpty()) {
+                        return false;
+                    }
+                    chunk = decoder.take();
+                    chunkIndex = 0;
+                }
+                chunkIndex++;
+                if (chunkIndex == chunk.info[1]) {
+                    getResumePosition().set(chunk.info[0] + 1, 0);
+                } else {
+                    getResumePosition().set(chunk.info[0], chunkIndex);
+                }
+                action.accept(chunk.values.get(chunkIndex - 1));
+                return true;
+            }
+
             @Override
             protected boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
-                if (dataFileStream.hasNext()) {
-                    final GenericRecord record = dataFileStream.next();
-                    action.accept(avroData.toConnectData(record.getSchema(), record));
+                // a data block that was partly skipped when seeking is finished one record at a time.
+                if (decoder != null && blockIndex >= blockCount) {
+                    try {
+                        return advanceChunk(action);
+                    } catch (IOException e) {
+                        LOGGER.error("Error reading data block: {}", e.getMessage(), e);
+                        return false;
+                    }
+                }
+                final GenericRecord record = readRecord();
+                if (record != null) {
+                    if (blockIndex == blockCount) {
+                        getResumePosition().set(block + 1, 0);
+                    } else {
+                        getResumePosition().set(block, blockIndex);
+                    }
+                    action.accept(avroConverter.toConnectData(record));
                     return true;
                 }
                 return false;
@@ -82,6 +197,30 @@ public class AvroTransformer extends Transformer {
         };
     }
 
+    /**
+     * Decodes the records of a data block.
+     *
+     * @param schema
+     *            the schema of the data file.
+     * @param data
+     *            the uncompressed data block.
+     * @param count
+     *            the number of records in the data block.
+     * @param values
+     *            the list to add the decoded records to.
+     * @throws IOException
+     *             on error decoding the data block.
+     */
+    private void decodeBlock(final org.apache.avro.Schema schema, final byte[] data, final long count,
+            final List<SchemaAndValue> values) throws IOException {
+        final DatumReader<GenericRecord> reader = new GenericDatumReader<>(schema);
+        final BinaryDecoder binaryDecoder = DecoderFactory.get().binaryDecoder(data, null);
+        for (long i = 0; i < count; i++) {
+            final GenericRecord record = reader.read(null, binaryDecoder);
+            values.add(avroConverter.toConnectData(record));
+        }
+    }
+
     @Override
     public SchemaAndValue getKeyData(final Object cloudStorageKey, final String topic,
             final SourceCommonConfig sourceConfig) {
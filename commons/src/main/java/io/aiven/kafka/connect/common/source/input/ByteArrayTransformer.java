@@ -16,6 +16,7 @@
 
 package io.aiven.kafka.connect.common.source.input;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -26,9 +27,11 @@ import org.apache.kafka.connect.data.SchemaAndValue;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.task.Context;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.function.IOSupplier;
+import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,11 +59,22 @@ public class ByteArrayTransformer extends Transformer {
         }
         // The max buffer size for the byte array the default is 4096 if not set by the user.
         final int maxBufferSize = sourceConfig.getTransformerMaxBufferSize();
+        final ObjectSplit split = context.getSplit().orElse(null);
         return new StreamSpliterator(LOGGER, inputStreamIOSupplier) {
+            /** The byte offset of the next chunk */
+            private long offset;
 
             @Override
             protected void inputOpened(final InputStream input) {
+                // the input stream starts at the beginning of the split.
+                offset = split == null ? 0 : split.getStart();
+            }
 
+            @Override
+            protected boolean seek(final ResumePosition position) {
+                // the input stream starts at the resume position.
+                offset = position.getPosition();
+                return true;
             }
 
             @Override
@@ -72,9 +86,16 @@ public class ByteArrayTransformer extends Transformer {
             protected boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
 
                 try {
-                    final byte[] buffer = new byte[maxBufferSize];
-                    final byte[] chunk = Arrays.copyOf(buffer, IOUtils.read(inputStream, buffer));
+                    final int length = split == null
+                            ? maxBufferSize
+                            : (int) Math.min(maxBufferSize, split.getEnd() - offset);
+                    if (length <= 0) {
+                        return false;
+                    }
+                    final byte[] chunk = readChunk(inputStream, length);
                     if (chunk.length > 0) {
+                        offset += chunk.length;
+                        getResumePosition().set(offset, 0);
                         action.accept(new SchemaAndValue(null, chunk));
                         return true;
                     }
@@ -88,6 +109,30 @@ public class ByteArrayTransformer extends Transformer {
         };
     }
 
+    /**
+     * Reads the next chunk from the input stream. The chunk is read straight into the array that is returned. When the
+     * input stream is a byte array the chunk is allocated at exactly the number of bytes that remain, otherwise it is
+     * only copied if the stream ends part way through it.
+     *
+     * @param input
+     *            the input stream to read.
+     * @param length
+     *            the maximum length of the chunk.
+     * @return the chunk, empty if the input stream has ended.
+     * @throws IOException
+     *             on error reading the input stream.
+     */
+    static byte[] readChunk(final InputStream input, final int length) throws IOException {
+        // a byte array stream knows exactly how many bytes remain.
+        final int size = input instanceof ByteArrayInputStream ? Math.min(length, input.available()) : length;
+        if (size <= 0) {
+            return ArrayUtils.EMPTY_BYTE_ARRAY;
+        }
+        final byte[] chunk = new byte[size];
+        final int read = IOUtils.read(input, chunk);
+        return read == size ? chunk : Arrays.copyOf(chunk, read);
+    }
+
     /**
      * This method returns an empty spliterator when an empty input stream is supplied to be split
      *
@@ -114,6 +159,29 @@ public class ByteArrayTransformer extends Transformer {
         };
     }
 
+    @Override
+    public boolean resumesFromByteOffset() {
+        return true;
+    }
+
+    /**
+     * Gets the split size rounded up to a multiple of the maximum buffer size so that the chunks produced from the
+     * splits are the same as those produced from the whole object.
+     *
+     * @param sourceConfig
+     *            the source configuration.
+     * @return the split size in bytes, or 0 if objects should not be split.
+     */
+    @Override
+    public long getSplitSize(final SourceCommonConfig sourceConfig) {
+        final long splitSize = sourceConfig.getObjectSplitSize();
+        final int maxBufferSize = sourceConfig.getTransformerMaxBufferSize();
+        if (splitSize <= 0 || maxBufferSize <= 0) {
+            return 0;
+        }
+        return (splitSize + maxBufferSize - 1) / maxBufferSize * maxBufferSize;
+    }
+
     @Override
     public SchemaAndValue getKeyData(final Object cloudStorageKey, final String topic,
             final SourceCommonConfig sourceConfig) {
@@ -16,52 +16,93 @@
 
 package io.aiven.kafka.connect.common.source.input;
 
-import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.apache.kafka.connect.data.SchemaAndValue;
-import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.connect.errors.DataException;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.task.Context;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import org.apache.commons.io.function.IOSupplier;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Transforms JSON Lines data into schemaless Connect data. The lines are found and parsed as bytes, without being
+ * decoded to strings, and the values are built directly from the JSON tokens. The values are the same as those
+ * produced by a {@link org.apache.kafka.connect.json.JsonConverter} with schemas disabled: objects become maps,
+ * arrays become lists, integers become longs and other numbers become doubles.
+ */
 public class JsonTransformer extends Transformer {
 
-    private final JsonConverter jsonConverter;
-
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonTransformer.class);
 
-    final ObjectMapper objectMapper = new ObjectMapper();
+    /** The number of bytes of lines in each chunk that is decoded in parallel */
+    static final int PARALLEL_CHUNK_BYTES = 256 * 1024;
+
+    /** The factory for the parsers, shared so that the parsers reuse its symbol tables and buffers */
+    private final JsonFactory jsonFactory = new JsonFactory();
 
-    JsonTransformer(final JsonConverter jsonConverter) {
+    JsonTransformer() {
         super();
-        this.jsonConverter = jsonConverter;
     }
 
     @Override
     public StreamSpliterator createSpliterator(final IOSupplier<InputStream> inputStreamIOSupplier,
             final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig) {
+        final ObjectSplit split = context.getSplit().orElse(null);
+        final int parallelism = sourceConfig.getTransformerDecodeParallelism();
         return new StreamSpliterator(LOGGER, inputStreamIOSupplier) {
-            BufferedReader reader;
+            LineReader reader;
+            /** {@code true} once the reader is at the start of a line owned by this spliterator */
+            boolean aligned;
+            /** The decoder of chunks of lines, {@code null} if lines are decoded one at a time */
+            final OrderedChunkDecoder<long[]> decoder = parallelism > 1
+                    ? new OrderedChunkDecoder<>(parallelism, getDecodeExecutor(sourceConfig))
+                    : null;
+            /** The chunk that records are being returned from, the chunk information is the offset of each line */
+            OrderedChunkDecoder.Chunk<long[]> chunk;
+            /** The index of the next record to return from the chunk */
+            int chunkIndex;
+            /** {@code true} once all the lines owned by this spliterator have been read */
+            boolean inputEnded;
 
             @Override
             protected void inputOpened(final InputStream input) {
-                reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+                reader = new LineReader(input);
+                // the input stream starts at the beginning of the split.
+                reader.offset = split == null ? 0 : split.getStart();
+                aligned = reader.offset == 0;
+            }
 
+            @Override
+            protected boolean seek(final ResumePosition position) {
+                // the input stream starts at the resume position.
+                reader.offset = position.getPosition();
+                aligned = true;
+                return true;
             }
 
             @Override
             public void doClose() {
+                if (decoder != null) {
+                    decoder.cancel();
+                }
                 if (reader != null) {
                     try {
                         reader.close();
@@ -71,31 +112,369 @@ public class JsonTransformer extends Transformer {
                 }
             }
 
+            /**
+             * Reads the next line that is not blank and is owned by this spliterator.
+             *
+             * @return {@code false} if there are no more lines.
+             * @throws IOException
+             *             on IO error.
+             */
+            private boolean nextLine() throws IOException {
+                if (!aligned) {
+                    // the line containing the start of the split belongs to the previous split.
+                    aligned = true;
+                    if (!reader.nextLine()) {
+                        return false;
+                    }
+                }
+                // remove blank and empty lines.
+                do {
+                    if (split != null && reader.offset > split.getEnd()) {
+                        // the line starts in the next split.
+                        return false;
+                    }
+                    if (!reader.nextLine()) {
+                        // end of file
+                        return false;
+                    }
+                } while (reader.isBlank());
+                return true;
+            }
+
             @Override
             public boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
-                String line = null;
                 try {
-                    // remove blank and empty lines.
-                    while (StringUtils.isBlank(line)) {
-                        line = reader.readLine();
-                        if (line == null) {
-                            // end of file
-                            return false;
-                        }
+                    if (decoder != null) {
+                        return advanceChunk(action);
                     }
-                    line = line.trim();
-                    // toConnectData does not actually use topic in the conversion so its fine if it is null.
-                    action.accept(jsonConverter.toConnectData(context.getTopic().orElse(null),
-                            line.getBytes(StandardCharsets.UTF_8)));
+                    if (!nextLine()) {
+                        return false;
+                    }
+                    getResumePosition().set(reader.offset, 0);
+                    action.accept(
+                            new SchemaAndValue(null, parse(reader.lineBuffer, reader.lineStart, reader.lineLength)));
                     return true;
                 } catch (IOException e) {
                     LOGGER.error("Error reading input stream: {}", e.getMessage(), e);
                     return false;
                 }
             }
+
+            /**
+             * Returns the next record from the decoded chunks, submitting chunks of lines to the decoder as they are
+             * taken.
+             *
+             * @param action
+             *            the consumer of the record.
+             * @return {@code false} if there are no more records.
+             * @throws IOException
+             *             on IO error.
+             */
+            private boolean advanceChunk(final Consumer<? super SchemaAndValue> action) throws IOException {
+                while (chunk == null || chunkIndex == chunk.values.size()) {
+                    if (chunk != null) {
+                        chunk.rethrow();
+                    }
+                    while (!inputEnded && decoder.hasCapacity()) {
+                        submitChunk();
+                    }
+                    if (decoder.isEmpty()) {
+                        return false;
+                    }
+                    chunk = decoder.take();
+                    chunkIndex = 0;
+                }
+                getResumePosition().set(chunk.info[chunkIndex], 0);
+                action.accept(chunk.values.get(chunkIndex++));
+                return true;
+            }
+
+            /**
+             * Reads the lines of the next chunk and submits them to the decoder.
+             *
+             * @throws IOException
+             *             on IO error.
+             */
+            private void submitChunk() throws IOException {
+                final LineChunk lines = new LineChunk();
+                while (lines.size < PARALLEL_CHUNK_BYTES) {
+                    if (!nextLine()) {
+                        inputEnded = true;
+                        break;
+                    }
+                    lines.add(reader);
+                }
+                if (lines.count > 0) {
+                    decoder.submit(Arrays.copyOf(lines.offsets, lines.count), values -> {
+                        for (int i = 0; i < lines.count; i++) {
+                            values.add(new SchemaAndValue(null, parse(lines.data, lines.starts[i], lines.lengths[i])));
+                        }
+                    });
+                }
+            }
         };
     }
 
+    @Override
+    public boolean resumesFromByteOffset() {
+        return true;
+    }
+
+    @Override
+    public long getSplitSize(final SourceCommonConfig sourceConfig) {
+        return sourceConfig.getObjectSplitSize();
+    }
+
+    /**
+     * Parses a line.
+     *
+     * @param buffer
+     *            the buffer holding the line.
+     * @param start
+     *            the position of the line in the buffer.
+     * @param length
+     *            the length of the line.
+     * @return the Connect value of the line.
+     * @throws IOException
+     *             on IO error.
+     * @throws DataException
+     *             if the line is not valid JSON.
+     */
+    private Object parse(final byte[] buffer, final int start, final int length) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(buffer, start, length)) {
+            parser.nextToken();
+            return readValue(parser);
+        } catch (JsonProcessingException e) {
+            throw new DataException("Converting byte[] to Kafka Connect data failed due to serialization error: ", e);
+        }
+    }
+
+    /**
+     * Reads the value starting at the current token of a parser. On return the parser is positioned on the last token
+     * of the value.
+     *
+     * @param parser
+     *            the parser.
+     * @return the Connect value.
+     * @throws IOException
+     *             on IO or parse error.
+     */
+    static Object readValue(final JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == null) {
+            return null;
+        }
+        switch (token) {
+            case START_OBJECT :
+                final Map<String, Object> map = new HashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    parser.nextToken();
+                    map.put(name, readValue(parser));
+                }
+                return map;
+            case START_ARRAY :
+                final List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser));
+                }
+                return list;
+            case VALUE_STRING :
+                return parser.getText();
+            case VALUE_NUMBER_INT :
+                // integers that do not fit are truncated as they are by the JsonConverter.
+                return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                        ? parser.getBigIntegerValue().longValue()
+                        : parser.getLongValue();
+            case VALUE_NUMBER_FLOAT :
+                return parser.getDoubleValue();
+            case VALUE_TRUE :
+                return Boolean.TRUE;
+            case VALUE_FALSE :
+                return Boolean.FALSE;
+            case VALUE_NULL :
+                return null;
+            default :
+                throw new DataException("Unexpected JSON token " + token);
+        }
+    }
+
+    /**
+     * A chunk of lines copied out of a {@link LineReader} to be decoded in parallel.
+     */
+    static final class LineChunk {
+        /** The bytes of the lines */
+        private byte[] data = new byte[8192];
+        /** The number of bytes of the lines */
+        private int size;
+        /** The number of lines */
+        private int count;
+        /** The position of each line in the data */
+        private int[] starts = new int[64];
+        /** The length of each line */
+        private int[] lengths = new int[64];
+        /** The byte offset in the item following each line */
+        private long[] offsets = new long[64];
+
+        /**
+         * Adds the current line of a reader.
+         *
+         * @param reader
+         *            the reader.
+         */
+        void add(final LineReader reader) {
+            if (size + reader.lineLength > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + reader.lineLength));
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            System.arraycopy(reader.lineBuffer, reader.lineStart, data, size, reader.lineLength);
+            starts[count] = size;
+            lengths[count] = reader.lineLength;
+            offsets[count] = reader.offset;
+            size += reader.lineLength;
+            count++;
+        }
+    }
+
+    /**
+     * Reads lines ended by a newline, a carriage return or a carriage return followed by a newline from an input stream
+     * while tracking the byte offset of the end of the last line read. Unlike a {@link java.io.BufferedReader} the
+     * bytes are not decoded so the offset is exact and can be used to resume reading. A line that is wholly within the
+     * read buffer is returned as a slice of the read buffer, other lines are copied into a line buffer.
+     */
+    static final class LineReader implements Closeable {
+        /** The input stream to read */
+        private final InputStream input;
+        /** The read buffer */
+        private final byte[] buffer = new byte[8192];
+        /** The position of the next unread byte in the buffer */
+        private int pos;
+        /** The number of valid bytes in the buffer */
+        private int limit;
+        /** The bytes of lines that span more than one read */
+        private byte[] line = new byte[256];
+        /** The array that holds the current line, either the read buffer or the line buffer */
+        byte[] lineBuffer;
+        /** The position of the current line in the line buffer */
+        int lineStart;
+        /** The number of bytes in the current line */
+        int lineLength;
+        /** The byte offset following the last line read */
+        long offset;
+
+        LineReader(final InputStream input) {
+            this.input = input;
+        }
+
+        /**
+         * Reads the next line into {@link #lineBuffer}, {@link #lineStart} and {@link #lineLength}. The line terminator
+         * is not included. The line is only valid until the next call.
+         *
+         * @return {@code false} at the end of the stream.
+         * @throws IOException
+         *             on IO error.
+         */
+        boolean nextLine() throws IOException {
+            lineLength = 0;
+            boolean found = false;
+            while (true) {
+                if (pos == limit) {
+                    final int count = input.read(buffer);
+                    if (count < 0) {
+                        lineBuffer = line;
+                        lineStart = 0;
+                        return found;
+                    }
+                    pos = 0;
+                    limit = count;
+                }
+                found = true;
+                final int start = pos;
+                while (pos < limit && buffer[pos] != '\n' && buffer[pos] != '\r') {
+                    pos++;
+                }
+                offset += pos - start;
+                if (pos < limit) {
+                    final boolean carriageReturn = buffer[pos] == '\r';
+                    // the read buffer may be refilled to look for a newline following a carriage return.
+                    if (lineLength == 0 && !(carriageReturn && pos + 1 == limit)) {
+                        // the whole line is in the read buffer.
+                        lineBuffer = buffer;
+                        lineStart = start;
+                        lineLength = pos - start;
+                    } else {
+                        append(start, pos - start);
+                        lineBuffer = line;
+                        lineStart = 0;
+                    }
+                    // consume the line end
+                    pos++;
+                    offset++;
+                    if (carriageReturn) {
+                        skipNewline();
+                    }
+                    return true;
+                }
+                // the read buffer is refilled so the start of the line must be copied.
+                append(start, pos - start);
+            }
+        }
+
+        /**
+         * Consumes a newline that follows a carriage return so that both are one line end.
+         *
+         * @throws IOException
+         *             on IO error.
+         */
+        private void skipNewline() throws IOException {
+            if (pos == limit) {
+                final int count = input.read(buffer);
+                if (count < 0) {
+                    return;
+                }
+                pos = 0;
+                limit = count;
+            }
+            if (buffer[pos] == '\n') {
+                pos++;
+                offset++;
+            }
+        }
+
+        /**
+         * Determines if the current line only contains whitespace.
+         *
+         * @return {@code true} if the current line is empty or only contains whitespace.
+         */
+        boolean isBlank() {
+            final int end = lineStart + lineLength;
+            for (int i = lineStart; i < end; i++) {
+                // the bytes of multibyte characters are all negative.
+                if (lineBuffer[i] < 0 || lineBuffer[i] > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void append(final int start, final int length) {
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            System.arraycopy(buffer, start, line, lineLength, length);
+            lineLength += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
     @Override
     public SchemaAndValue getKeyData(final Object cloudStorageKey, final String topic,
             final SourceCommonConfig sourceConfig) {
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.kafka.connect.data.SchemaAndValue;
+
+/**
+ * Decodes the chunks of an item on the decode executor of the transformer and returns them in the order that they were
+ * submitted. Up to the parallelism chunks are decoded at the same time, the caller submits more chunks as it takes the
+ * decoded ones.
+ *
+ * @param <M>
+ *            the type of the information that the caller keeps with each chunk.
+ */
+final class OrderedChunkDecoder<M> {
+    /** The number of chunks that may be decoded at the same time */
+    private final int parallelism;
+    /** The executor that decodes the chunks */
+    private final ExecutorService executor;
+    /** The submitted chunks in the order they were submitted */
+    private final Deque<Chunk<M>> pending = new ArrayDeque<>();
+
+    /**
+     * Decodes a chunk.
+     */
+    @FunctionalInterface
+    interface Decoder {
+        /**
+         * Decodes the records of the chunk.
+         *
+         * @param values
+         *            the list to add the decoded records to.
+         * @throws IOException
+         *             on error reading the chunk.
+         */
+        void decode(List<SchemaAndValue> values) throws IOException;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param parallelism
+     *            the number of chunks that may be decoded at the same time.
+     * @param executor
+     *            the executor that decodes the chunks.
+     */
+    OrderedChunkDecoder(final int parallelism, final ExecutorService executor) {
+        this.parallelism = parallelism;
+        this.executor = executor;
+    }
+
+    /**
+     * Determines if another chunk can be submitted.
+     *
+     * @return {@code true} if fewer than the parallelism chunks are waiting to be taken.
+     */
+    boolean hasCapacity() {
+        return pending.size() < parallelism;
+    }
+
+    /**
+     * Determines if there are no chunks waiting to be taken.
+     *
+     * @return {@code true} if no chunks are waiting to be taken.
+     */
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Submits a chunk to be decoded.
+     *
+     * @param info
+     *            the information that the caller keeps with the chunk.
+     * @param decoder
+     *            the decoder for the chunk.
+     */
+    void submit(final M info, final Decoder decoder) {
+        final Chunk<M> chunk = new Chunk<>(info);
+        chunk.task = executor.submit(() -> {
+            try {
+                decoder.decode(chunk.values);
+            } catch (IOException | RuntimeException e) { // NOPMD AvoidCatchingGenericException
+                chunk.failure = e;
+            }
+        });
+        pending.add(chunk);
+    }
+
+    /**
+     * Takes the oldest chunk, waiting until it is decoded.
+     *
+     * @return the oldest chunk.
+     * @throws IOException
+     *             if interrupted while waiting or the decoding was cancelled.
+     */
+    Chunk<M> take() throws IOException {
+        final Chunk<M> chunk = pending.remove();
+        try {
+            chunk.task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (IOException) new InterruptedIOException("Interrupted while decoding").initCause(e);
+        } catch (ExecutionException | CancellationException e) {
+            throw new IOException("Unable to decode chunk", e);
+        }
+        return chunk;
+    }
+
+    /**
+     * Cancels the chunks that have not been taken.
+     */
+    void cancel() {
+        for (final Chunk<M> chunk : pending) {
+            chunk.task.cancel(false);
+        }
+        pending.clear();
+    }
+
+    /**
+     * A chunk of an item.
+     *
+     * @param <M>
+     *            the type of the information that the caller keeps with the chunk.
+     */
+    static final class Chunk<M> {
+        /** The information that the caller keeps with the chunk */
+        final M info;
+        /** The decoded records, up to the record that could not be decoded if decoding failed */
+        final List<SchemaAndValue> values = new ArrayList<>();
+        /** The exception that stopped the decoding, {@code null} if all the records were decoded */
+        private Exception failure;
+        /** The task decoding the chunk */
+        private Future<?> task;
+
+        /**
+         * Constructor.
+         *
+         * @param info
+         *            the information that the caller keeps with the chunk.
+         */
+        private Chunk(final M info) {
+            this.info = info;
+        }
+
+        /**
+         * Throws the exception that stopped the decoding, if any. Called once the decoded records have been used. An
+         * IOException is thrown as is so that it is handled in the same way as when the records are decoded one at a
+         * time.
+         *
+         * @throws IOException
+         *             if the decoding stopped on an IO error.
+         */
+        void rethrow() throws IOException {
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+        }
+    }
+}
@@ -24,32 +24,40 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.apache.kafka.connect.data.SchemaAndValue;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.input.parquet.LocalInputFile;
+import io.aiven.kafka.connect.common.source.input.parquet.RangedInputFile;
 import io.aiven.kafka.connect.common.source.task.Context;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 
 import io.confluent.connect.avro.AvroData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.function.IOSupplier;
 import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.io.InputFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ParquetTransformer extends Transformer {
 
-    private final AvroData avroData;
+    /** Converts the Avro records to Connect data */
+    private final AvroConnectConverter avroConverter;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetTransformer.class);
 
     ParquetTransformer(final AvroData avroData) {
         super();
-        this.avroData = avroData;
+        this.avroConverter = new AvroConnectConverter(avroData);
     }
 
     @Override
@@ -62,13 +70,56 @@ public class ParquetTransformer extends Transformer {
     public StreamSpliterator createSpliterator(final IOSupplier<InputStream> inputStreamIOSupplier,
             final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig) {
 
+        final ObjectSplit split = context.getSplit().orElse(null);
         return new StreamSpliterator(LOGGER, inputStreamIOSupplier) {
 
             private ParquetReader<GenericRecord> reader;
             private File parquetFile;
+            /** The Parquet data, either a local copy or ranged reads of the native item */
+            private InputFile inputFile;
+            /** The row groups in the file */
+            private List<BlockMetaData> blocks;
+            /** The number of rows in each row group */
+            private List<Long> rowGroupRows;
+            /** The ordinal of the row group currently being read */
+            private int rowGroup;
+            /** The number of rows read from the current row group */
+            private long rowIndex;
 
             @Override
             protected void inputOpened(final InputStream input) throws IOException {
+                if (split != null && inputStreamIOSupplier instanceof RangedInputSupplier) {
+                    // only the footer and the row groups of the split are read from the native item.
+                    inputFile = new RangedInputFile((RangedInputSupplier) inputStreamIOSupplier);
+                } else {
+                    copyInput(input);
+                }
+                try (ParquetFileReader fileReader = ParquetFileReader.open(inputFile)) {
+                    blocks = fileReader.getFooter().getBlocks();
+                }
+                rowGroupRows = blocks.stream().map(BlockMetaData::getRowCount).collect(Collectors.toList());
+                if (split == null) {
+                    reader = AvroParquetReader.<GenericRecord>builder(inputFile).build();
+                } else {
+                    // the reader only returns the row groups whose midpoint is within the split.
+                    while (rowGroup < blocks.size() && midpoint(blocks.get(rowGroup)) < split.getStart()) {
+                        rowGroup++;
+                    }
+                    reader = AvroParquetReader.<GenericRecord>builder(inputFile)
+                            .withFileRange(split.getStart(), split.getEnd())
+                            .build();
+                }
+            }
+
+            /**
+             * Copies the input to a temporary file that Parquet reads from.
+             *
+             * @param input
+             *            the input stream of the native item.
+             * @throws IOException
+             *             on IO error.
+             */
+            private void copyInput(final InputStream input) throws IOException {
                 final String timestamp = String.valueOf(Instant.now().toEpochMilli());
 
                 try {
@@ -83,8 +134,53 @@ public class ParquetTransformer extends Transformer {
                 try (OutputStream outputStream = Files.newOutputStream(parquetFile.toPath())) {
                     IOUtils.copy(input, outputStream); // Copy input stream to temporary file
                 }
-                reader = AvroParquetReader.<GenericRecord>builder(new LocalInputFile(parquetFile.toPath())).build();
+                inputFile = new LocalInputFile(parquetFile.toPath());
+            }
+
+            @Override
+            protected boolean seek(final ResumePosition position) throws IOException {
+                if (position.getPosition() >= rowGroupRows.size()) {
+                    // every row group has been read.
+                    rowGroup = rowGroupRows.size();
+                    reader.close();
+                    reader = null; // NOPMD no more data
+                    return true;
+                }
+                final int first = rowGroup;
+                rowGroup = (int) position.getPosition();
+                if (rowGroup > first) {
+                    // only read the row groups from the resume position onward.
+                    reader.close();
+                    reader = AvroParquetReader.<GenericRecord>builder(inputFile)
+                            .withFileRange(blocks.get(rowGroup).getStartingPos(),
+                                    split == null ? inputFile.getLength() : split.getEnd())
+                            .build();
+                }
+                // skip the rows within the row group that were already read.
+                long skipped = 0;
+                while (skipped < position.getIndex() && readRecord() != null) {
+                    skipped++;
+                }
+                return true;
+            }
 
+            /**
+             * Reads the next record while tracking the row group it came from.
+             *
+             * @return the next record or {@code null} if there are no more records.
+             * @throws IOException
+             *             on IO error.
+             */
+            private GenericRecord readRecord() throws IOException {
+                final GenericRecord record = reader == null ? null : reader.read();
+                if (record != null) {
+                    rowIndex++;
+                    while (rowGroup < rowGroupRows.size() && rowIndex >= rowGroupRows.get(rowGroup)) {
+                        rowIndex -= rowGroupRows.get(rowGroup);
+                        rowGroup++;
+                    }
+                }
+                return record;
             }
 
             @Override
@@ -104,9 +200,10 @@ public class ParquetTransformer extends Transformer {
             @Override
             protected boolean doAdvance(final Consumer<? super SchemaAndValue> action) {
                 try {
-                    final GenericRecord record = reader.read();
+                    final GenericRecord record = readRecord();
                     if (record != null) {
-                        action.accept(avroData.toConnectData(record.getSchema(), record)); // Pass record to the stream
+                        getResumePosition().set(rowGroup, rowIndex);
+                        action.accept(avroConverter.toConnectData(record)); // Pass record to the stream
                         return true;
                     }
                 } catch (IOException e) {
@@ -117,6 +214,30 @@ public class ParquetTransformer extends Transformer {
         };
     }
 
+    /**
+     * Gets the split size. Each split only decodes the row groups whose midpoint falls within it. When the input is a
+     * {@link RangedInputSupplier} only the footer and those row groups are read, otherwise the entire file is read.
+     *
+     * @param sourceConfig
+     *            the source configuration.
+     * @return the split size in bytes, or 0 if objects should not be split.
+     */
+    @Override
+    public long getSplitSize(final SourceCommonConfig sourceConfig) {
+        return sourceConfig.getObjectSplitSize();
+    }
+
+    /**
+     * Gets the midpoint of a row group. Parquet assigns a row group to the file range that contains its midpoint.
+     *
+     * @param block
+     *            the row group metadata.
+     * @return the byte offset of the midpoint of the row group.
+     */
+    private static long midpoint(final BlockMetaData block) {
+        return block.getStartingPos() + block.getCompressedSize() / 2;
+    }
+
     static void deleteTmpFile(final Path parquetFile) {
         if (Files.exists(parquetFile)) {
             try {
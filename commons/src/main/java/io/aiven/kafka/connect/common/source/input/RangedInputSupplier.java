@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.function.IOFunction;
+import org.apache.commons.io.function.IOSupplier;
+
+/**
+ * An IOSupplier for a native item that can also read the data from any byte offset. Transformers that need random
+ * access, such as the {@link ParquetTransformer}, use it to read only the byte ranges they need instead of the entire
+ * native item. The stream returned by {@link #get()} does not retrieve the data until it is first read.
+ */
+public final class RangedInputSupplier implements IOSupplier<InputStream> {
+    /** Opens the native item at a byte offset */
+    private final IOFunction<Long, InputStream> opener;
+    /** The length of the native item in bytes */
+    private final long length;
+
+    /**
+     * Constructor.
+     *
+     * @param opener
+     *            the function that opens an input stream on the native item starting at a byte offset.
+     * @param length
+     *            the length of the native item in bytes.
+     */
+    public RangedInputSupplier(final IOFunction<Long, InputStream> opener, final long length) {
+        this.opener = opener;
+        this.length = length;
+    }
+
+    /**
+     * Gets the length of the native item.
+     *
+     * @return the length of the native item in bytes.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Opens an input stream on the native item.
+     *
+     * @param offset
+     *            the byte offset of the first byte to read.
+     * @return an input stream positioned at the offset.
+     * @throws IOException
+     *             on IO error.
+     */
+    public InputStream get(final long offset) throws IOException {
+        return opener.apply(offset);
+    }
+
+    @Override
+    public InputStream get() {
+        return new InputStream() {
+            private InputStream delegate;
+
+            private InputStream delegate() throws IOException {
+                if (delegate == null) {
+                    delegate = get(0);
+                }
+                return delegate;
+            }
+
+            @Override
+            public int read() throws IOException {
+                return delegate().read();
+            }
+
+            @Override
+            public int read(final byte[] buffer, final int off, final int len) throws IOException {
+                return delegate().read(buffer, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (delegate != null) {
+                    delegate.close();
+                }
+            }
+        };
+    }
+}
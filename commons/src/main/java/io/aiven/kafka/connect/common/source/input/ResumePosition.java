@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import io.aiven.kafka.connect.common.source.OffsetManager;
+
+/**
+ * The format specific position within a native object from which reading can resume without decoding the records that
+ * were already emitted.
+ * <p>
+ * The position is made up of two numbers whose meaning is defined by the {@link Transformer} that produced them:
+ * </p>
+ * <ul>
+ * <li>JSONL and bytes: the byte offset of the next record, the index is always zero.</li>
+ * <li>Avro: the ordinal of the current data block and the number of records already read from that block.</li>
+ * <li>Parquet: the ordinal of the current row group and the number of rows already read from that group.</li>
+ * </ul>
+ * <p>
+ * The values are stored in the {@link OffsetManager.OffsetManagerEntry} alongside the record count. Entries written
+ * before positions were tracked do not contain them, in which case the transformer falls back to skipping the
+ * already emitted records.
+ * </p>
+ */
+public final class ResumePosition {
+    /** The offset entry property holding the position. */
+    public static final String POSITION = "resumePosition";
+    /** The offset entry property holding the index within the position. */
+    public static final String INDEX = "resumeIndex";
+
+    /** The position, meaning is transformer specific. */
+    private long position;
+    /** The index within the position, meaning is transformer specific. */
+    private long index;
+    /** {@code true} if the position was read from a previously stored offset. */
+    private final boolean restored;
+
+    /**
+     * Creates a position at the start of the native object.
+     */
+    public ResumePosition() {
+        this(0, 0, false);
+    }
+
+    private ResumePosition(final long position, final long index, final boolean restored) {
+        this.position = position;
+        this.index = index;
+        this.restored = restored;
+    }
+
+    /**
+     * Reads the resume position from an offset manager entry. If the entry has not emitted any records or does not
+     * contain a position a position at the start of the object is returned.
+     *
+     * @param entry
+     *            the entry to read the position from. May be {@code null}.
+     * @return the resume position.
+     */
+    public static ResumePosition from(final OffsetManager.OffsetManagerEntry<?> entry) {
+        if (entry == null || entry.getRecordCount() == 0 || entry.getProperty(POSITION) == null) {
+            return new ResumePosition();
+        }
+        final Object index = entry.getProperty(INDEX);
+        return new ResumePosition(entry.getLong(POSITION), index == null ? 0 : entry.getLong(INDEX), true);
+    }
+
+    /**
+     * Determines if this position was read from a previously stored offset and may therefore be used to position the
+     * transformer.
+     *
+     * @return {@code true} if the position was restored from a stored offset.
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    /**
+     * Gets the position.
+     *
+     * @return the position.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the index within the position.
+     *
+     * @return the index within the position.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the position and index.
+     *
+     * @param position
+     *            the position.
+     * @param index
+     *            the index within the position.
+     */
+    public void set(final long position, final long index) {
+        this.position = position;
+        this.index = index;
+    }
+
+    /**
+     * Writes this position into the offset manager entry.
+     *
+     * @param entry
+     *            the entry to write to.
+     */
+    public void writeTo(final OffsetManager.OffsetManagerEntry<?> entry) {
+        entry.setProperty(POSITION, position);
+        entry.setProperty(INDEX, index);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResumePosition[%s, %s%s]", position, index, restored ? ", restored" : "");
+    }
+}
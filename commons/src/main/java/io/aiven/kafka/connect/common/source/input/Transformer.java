@@ -19,6 +19,8 @@ package io.aiven.kafka.connect.common.source.input;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -29,19 +31,80 @@ import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.task.Context;
 
 import org.apache.commons.io.function.IOSupplier;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 
 public abstract class Transformer {
 
     public final static long UNKNOWN_STREAM_LENGTH = -1;
 
+    /** The executor that decodes the chunks of items in parallel, created on first use */
+    private ExecutorService decodeExecutor;
+
     public final Stream<SchemaAndValue> getRecords(final IOSupplier<InputStream> inputStreamIOSupplier,
             final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig,
             final long skipRecords) {
+        return getRecords(inputStreamIOSupplier, streamLength, context, sourceConfig, skipRecords,
+                new ResumePosition());
+    }
+
+    /**
+     * Gets the records from the input stream starting at the resume position.
+     * <p>
+     * If the resume position was restored from a stored offset the transformer positions itself on it without
+     * decoding the records that precede it, otherwise {@code skipRecords} records are decoded and discarded. As
+     * records are produced the resume position is updated to point just past the last record returned. When
+     * {@link #resumesFromByteOffset()} is {@code true} the input stream must already start at the restored position.
+     * </p>
+     *
+     * @param inputStreamIOSupplier
+     *            the input stream supplier.
+     * @param streamLength
+     *            the length of the input stream.
+     * @param context
+     *            the context
+     * @param sourceConfig
+     *            the source configuration.
+     * @param skipRecords
+     *            the number of records to skip if the resume position can not be used.
+     * @param resumePosition
+     *            the position to resume from, updated as records are produced.
+     * @return a stream of records.
+     */
+    public final Stream<SchemaAndValue> getRecords(final IOSupplier<InputStream> inputStreamIOSupplier,
+            final long streamLength, final Context<?> context, final SourceCommonConfig sourceConfig,
+            final long skipRecords, final ResumePosition resumePosition) {
 
         final StreamSpliterator spliterator = createSpliterator(inputStreamIOSupplier, streamLength, context,
                 sourceConfig);
-        return StreamSupport.stream(spliterator, false).onClose(spliterator::close).skip(skipRecords);
+        spliterator.resumePosition = resumePosition;
+        spliterator.skipRecords = skipRecords;
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Determines if the {@link ResumePosition} of this transformer is a byte offset into the input stream. If so, the
+     * caller is responsible for providing an input stream that starts at that offset, for example by using a ranged
+     * read against the storage layer.
+     *
+     * @return {@code true} if the resume position is a byte offset.
+     */
+    public boolean resumesFromByteOffset() {
+        return false;
+    }
+
+    /**
+     * Gets the size of the splits that large objects should be divided into. Transformers that can align a
+     * {@link io.aiven.kafka.connect.common.source.task.ObjectSplit} to record boundaries return the configured split
+     * size, possibly adjusted to suit the format. The default implementation returns 0 indicating that objects are
+     * never split.
+     *
+     * @param sourceConfig
+     *            the source configuration.
+     * @return the split size in bytes, or 0 if objects should not be split.
+     */
+    public long getSplitSize(final SourceCommonConfig sourceConfig) {
+        return 0;
     }
 
     /**
@@ -63,6 +126,34 @@ public abstract class Transformer {
 
     public abstract SchemaAndValue getKeyData(Object cloudStorageKey, String topic, SourceCommonConfig sourceConfig);
 
+    /**
+     * Gets the executor that decodes the chunks of items in parallel. It is shared by all the items that the
+     * transformer decodes and is shut down by {@link #shutdown()}.
+     *
+     * @param sourceConfig
+     *            the source configuration.
+     * @return the decode executor.
+     */
+    protected final synchronized ExecutorService getDecodeExecutor(final SourceCommonConfig sourceConfig) {
+        if (decodeExecutor == null) {
+            final int threads = sourceConfig.getTransformerDecodeThreads();
+            decodeExecutor = Executors.newFixedThreadPool(
+                    threads > 0 ? threads : sourceConfig.getTransformerDecodeParallelism(),
+                    new BasicThreadFactory.Builder().namingPattern("transformer-decode-%d").daemon(true).build());
+        }
+        return decodeExecutor;
+    }
+
+    /**
+     * Stops the threads that decode the chunks of items. Called when the task stops.
+     */
+    public synchronized void shutdown() {
+        if (decodeExecutor != null) {
+            decodeExecutor.shutdownNow();
+            decodeExecutor = null;
+        }
+    }
+
     /**
      * A Spliterator that performs various checks on the opening/closing of the input stream.
      */
@@ -86,6 +177,16 @@ public abstract class Transformer {
          */
         private boolean closed;
 
+        /**
+         * The position to resume from. Implementations update it as records are produced.
+         */
+        private ResumePosition resumePosition = new ResumePosition();
+
+        /**
+         * The number of records to skip if the resume position could not be used.
+         */
+        private long skipRecords;
+
         /**
          * Constructor.
          *
@@ -142,6 +243,32 @@ public abstract class Transformer {
          */
         abstract protected void inputOpened(InputStream input) throws IOException;
 
+        /**
+         * Positions the spliterator at a restored resume position. Called once, immediately after
+         * {@link #inputOpened}, and only if the position was restored from a stored offset. The default implementation
+         * does not support positioning and returns {@code false} so that the already emitted records are decoded and
+         * skipped.
+         *
+         * @param position
+         *            the restored position.
+         * @return {@code true} if the spliterator is positioned, {@code false} if records should be skipped instead.
+         * @throws IOException
+         *             on IO error.
+         */
+        protected boolean seek(final ResumePosition position) throws IOException {
+            return false;
+        }
+
+        /**
+         * Gets the resume position that implementations update as records are produced. The position must be updated
+         * before the record is passed to the consumer.
+         *
+         * @return the resume position.
+         */
+        protected final ResumePosition getResumePosition() {
+            return resumePosition;
+        }
+
         @Override
         public final boolean tryAdvance(final Consumer<? super SchemaAndValue> action) {
             if (closed) {
@@ -153,6 +280,10 @@ public abstract class Transformer {
                     try {
                         inputStream = inputStreamIOSupplier.get();
                         inputOpened(inputStream);
+                        if (!(resumePosition.isRestored() && seek(resumePosition)) && !skip()) {
+                            close();
+                            return false;
+                        }
                     } catch (IOException e) {
                         logger.error("Error trying to open inputStream: {}", e.getMessage(), e);
                         close();
@@ -169,6 +300,21 @@ public abstract class Transformer {
             return result;
         }
 
+        /**
+         * Decodes and discards the records that have already been emitted.
+         *
+         * @return {@code false} if the end of the data was reached while skipping.
+         */
+        private boolean skip() {
+            for (long i = 0; i < skipRecords; i++) {
+                if (!doAdvance(record -> {
+                })) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         @Override
         public final Spliterator<SchemaAndValue> trySplit() { // NOPMD returning null is reqruied by API
             return null;
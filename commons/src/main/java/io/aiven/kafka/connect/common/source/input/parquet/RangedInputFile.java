@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input.parquet;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import io.aiven.kafka.connect.common.source.input.RangedInputSupplier;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+/**
+ * {@code RangedInputFile} is an implementation needed by Parquet to read a native item with ranged reads so that only
+ * the footer and the requested row groups are retrieved. A seek that lands a short distance ahead of the current
+ * position skips the bytes in between, any other seek opens a new ranged read.
+ */
+public class RangedInputFile implements InputFile {
+    /** The largest forward seek that is served by skipping instead of a new ranged read */
+    private static final long MAX_SKIP = 1024 * 1024;
+
+    private final RangedInputSupplier supplier;
+
+    /**
+     * Constructor.
+     *
+     * @param supplier
+     *            the supplier of the native item data.
+     */
+    public RangedInputFile(final RangedInputSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public long getLength() {
+        return supplier.getLength();
+    }
+
+    @Override
+    public SeekableInputStream newStream() {
+
+        return new SeekableInputStream() {
+            /** The ranged read, opened on demand */
+            private InputStream input;
+            /** The position of the next byte to read */
+            private long pos;
+
+            private InputStream input() throws IOException {
+                if (input == null) {
+                    input = supplier.get(pos);
+                }
+                return input;
+            }
+
+            @Override
+            public int read() throws IOException {
+                final int result = input().read();
+                if (result >= 0) {
+                    pos++;
+                }
+                return result;
+            }
+
+            @Override
+            public int read(final byte[] bytes, final int start, final int len) throws IOException {
+                final int count = input().read(bytes, start, len);
+                if (count > 0) {
+                    pos += count;
+                }
+                return count;
+            }
+
+            @Override
+            public long getPos() {
+                return pos;
+            }
+
+            @Override
+            public void seek(final long newPos) throws IOException {
+                if (input != null && newPos >= pos && newPos - pos <= MAX_SKIP) {
+                    IOUtils.skipFully(input, newPos - pos);
+                } else {
+                    close();
+                }
+                pos = newPos;
+            }
+
+            @Override
+            public void readFully(final byte[] bytes) throws IOException {
+                readFully(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void readFully(final byte[] bytes, final int start, final int len) throws IOException {
+                final int count = IOUtils.read(input(), bytes, start, len);
+                pos += count;
+                if (count < len) {
+                    throw new EOFException("Reached the end of the data with " + (len - count) + " bytes remaining");
+                }
+            }
+
+            @Override
+            public int read(final ByteBuffer buf) throws IOException {
+                final byte[] buffer = new byte[buf.remaining()];
+                final int count = read(buffer);
+                if (count > 0) {
+                    buf.put(buffer, 0, count);
+                }
+                return count;
+            }
+
+            @Override
+            public void readFully(final ByteBuffer buf) throws IOException {
+                final byte[] buffer = new byte[buf.remaining()];
+                readFully(buffer);
+                buf.put(buffer);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (input != null) {
+                    input.close();
+                    input = null; // NOPMD reopened on the next read
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.task;
+
+/**
+ * A record, shared by all the tasks of a connector, of which task processes each item when work stealing is enabled.
+ * A task claims every item, its own and those it takes from other tasks, just before processing it, so an item is
+ * processed by one task even when tasks that have finished the items assigned to them take items assigned to other
+ * tasks. A claim is a lease: it is released once the records of the item have been committed and can be taken over by
+ * any task once it expires, so the claims of a stopped task do not block its items.
+ */
+public interface ClaimLedger {
+    /**
+     * Claims an item for this task. The claim is granted if the item is not claimed, if this task holds the claim, for
+     * example from before a restart, or if the claim has expired.
+     *
+     * @param claimKey
+     *            the key that identifies the item, or the split of the item.
+     * @return {@code true} if this task holds the claim, {@code false} if another task holds it.
+     */
+    boolean claim(String claimKey);
+
+    /**
+     * Releases a claim of this task once the records of the item have been committed.
+     *
+     * @param claimKey
+     *            the key that identifies the item, or the split of the item.
+     */
+    void release(String claimKey);
+}
@@ -31,6 +31,7 @@ public class Context<K extends Comparable<K>> {
     private Integer partition;
     private Long offset;
     private K storageKey;
+    private ObjectSplit split;
 
     public Context(final K storageKey) {
         this.storageKey = storageKey;
@@ -47,6 +48,7 @@ public class Context<K extends Comparable<K>> {
         this.partition = anotherContext.partition;
         this.topic = anotherContext.topic;
         this.offset = anotherContext.offset;
+        this.split = anotherContext.split;
     }
 
     public final Optional<String> getTopic() {
@@ -80,4 +82,17 @@ public class Context<K extends Comparable<K>> {
     public final void setOffset(final Long offset) {
         this.offset = offset;
     }
+
+    /**
+     * Gets the split of the storage object this context describes.
+     *
+     * @return the split or an empty Optional if the whole object is processed.
+     */
+    public final Optional<ObjectSplit> getSplit() {
+        return Optional.ofNullable(split);
+    }
+
+    public final void setSplit(final ObjectSplit split) {
+        this.split = split;
+    }
 }
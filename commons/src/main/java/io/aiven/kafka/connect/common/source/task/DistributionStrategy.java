@@ -30,14 +30,101 @@ import java.util.function.Function;
 public final class DistributionStrategy {
     private int maxTasks;
     private final Function<Context<?>, Optional<Long>> mutation;
+    private final TaskSelector selector;
     public final static int UNDEFINED = -1;
 
+    /** Multiplier used to spread the task ids over the hash space, the 64 bit golden ratio */
+    private static final long TASK_SPREAD = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Selects the task for the value produced by the mutation.
+     */
+    @FunctionalInterface
+    public interface TaskSelector {
+        /**
+         * Selects the task for a value.
+         *
+         * @param value
+         *            the value produced by the mutation.
+         * @param maxTasks
+         *            the maximum number of tasks.
+         * @return the task id in the range {@code [0, maxTasks)}.
+         */
+        int select(long value, int maxTasks);
+    }
+
     public DistributionStrategy(final Function<Context<?>, Optional<Long>> creator, final int maxTasks) {
+        this(creator, DistributionStrategy::modulo, maxTasks);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param creator
+     *            the mutation that produces the value to distribute from the context.
+     * @param selector
+     *            the selector that maps the value to a task.
+     * @param maxTasks
+     *            the maximum number of tasks.
+     */
+    public DistributionStrategy(final Function<Context<?>, Optional<Long>> creator, final TaskSelector selector,
+            final int maxTasks) {
         assertPositiveInteger(maxTasks);
         this.mutation = creator;
+        this.selector = selector;
         this.maxTasks = maxTasks;
     }
 
+    /**
+     * Selects the task as the modulus of the value. Changing the number of tasks reassigns almost every value.
+     *
+     * @param value
+     *            the value to distribute.
+     * @param maxTasks
+     *            the maximum number of tasks.
+     * @return the task id.
+     */
+    public static int modulo(final long value, final int maxTasks) {
+        return Math.floorMod(value, maxTasks);
+    }
+
+    /**
+     * Selects the task using rendezvous (highest random weight) hashing. Every task is scored by mixing the value with
+     * the task id and the task with the highest score is selected. When the number of tasks changes only the values
+     * whose highest scoring task was added or removed are reassigned, about {@code 1/maxTasks} of them.
+     *
+     * @param value
+     *            the value to distribute.
+     * @param maxTasks
+     *            the maximum number of tasks.
+     * @return the task id.
+     */
+    public static int rendezvous(final long value, final int maxTasks) {
+        int result = 0;
+        long highest = Long.MIN_VALUE;
+        for (int task = 0; task < maxTasks; task++) {
+            final long score = mix(value ^ mix((task + 1) * TASK_SPREAD));
+            if (score > highest) {
+                highest = score;
+                result = task;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The SplitMix64 finalizer, spreads every bit of the input over the output.
+     *
+     * @param value
+     *            the value to mix.
+     * @return the mixed value.
+     */
+    private static long mix(final long value) {
+        long result = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        result = (result ^ (result >>> 27)) * 0x94D049BB133111EBL;
+        return result ^ (result >>> 31);
+    }
+
     private static void assertPositiveInteger(final int sourceInt) {
         if (sourceInt <= 0) {
             throw new IllegalArgumentException("tasks.max must be set to a positive number and at least 1.");
@@ -53,7 +140,7 @@ public final class DistributionStrategy {
      * @return the taskId which this particular task should be assigned to.
      */
     public int getTaskFor(final Context<?> ctx) {
-        return mutation.apply(ctx).map(aLong -> Math.floorMod(aLong, maxTasks)).orElse(UNDEFINED);
+        return mutation.apply(ctx).map(aLong -> selector.select(aLong, maxTasks)).orElse(UNDEFINED);
     }
 
     /**
@@ -27,12 +27,10 @@ public enum DistributionType {
 
     /**
      * Object_Hash takes the context and uses the storage key implementation to get a hash value of the storage key and
-     * return a modulus of that relative to the number of maxTasks to decide which task should process a given object
+     * return a modulus of that relative to the number of maxTasks to decide which task should process a given object.
+     * If the object has been split the split index is included in the hash so that the splits are spread across tasks.
      */
-    OBJECT_HASH("object_hash",
-            context -> context.getStorageKey().isPresent()
-                    ? Optional.of((long) context.getStorageKey().get().hashCode())
-                    : Optional.empty()),
+    OBJECT_HASH("object_hash", DistributionType::storageKeyHash, DistributionStrategy::modulo),
     /**
      * Partition takes the context and requires the context contain the partition id for it to be able to decide the
      * distribution across the max tasks, using a modulus to ensure even distribution against the configured max tasks
@@ -40,10 +38,19 @@ public enum DistributionType {
     PARTITION("partition",
             context -> context.getPartition().isPresent()
                     ? Optional.of((long) context.getPartition().get())
-                    : Optional.empty());
+                    : Optional.empty(),
+            DistributionStrategy::modulo),
+    /**
+     * Rendezvous takes the same storage key hash as {@link #OBJECT_HASH} but selects the task using rendezvous (highest
+     * random weight) hashing. Changing {@code tasks.max} only moves the objects whose selected task was added or
+     * removed instead of reassigning almost every object. Splits of large objects are hashed independently, so setting
+     * {@code object.split.size} spreads the bytes of large objects across the tasks.
+     */
+    RENDEZVOUS("rendezvous", DistributionType::storageKeyHash, DistributionStrategy::rendezvous);
 
     private final String name;
     private final Function<Context<?>, Optional<Long>> mutation;
+    private final DistributionStrategy.TaskSelector selector;
 
     public String value() {
         return name;
@@ -56,10 +63,29 @@ public enum DistributionType {
      *            the name of the ObjectDistributionStrategy
      * @param mutation
      *            the mutation required to get the correct details from the context for distribution
+     * @param selector
+     *            the selector that maps the mutation result to a task
      */
-    DistributionType(final String name, final Function<Context<?>, Optional<Long>> mutation) {
+    DistributionType(final String name, final Function<Context<?>, Optional<Long>> mutation,
+            final DistributionStrategy.TaskSelector selector) {
         this.name = name;
         this.mutation = mutation;
+        this.selector = selector;
+    }
+
+    /**
+     * Gets the hash of the storage key, including the split index if the object has been split.
+     *
+     * @param context
+     *            the context to hash.
+     * @return the hash or an empty Optional if the context has no storage key.
+     */
+    private static Optional<Long> storageKeyHash(final Context<?> context) {
+        return context.getStorageKey().isPresent()
+                ? Optional.of(context.getSplit()
+                        .map(split -> 31L * context.getStorageKey().get().hashCode() + split.getIndex())
+                        .orElse((long) context.getStorageKey().get().hashCode()))
+                : Optional.empty();
     }
 
     public static DistributionType forName(final String name) {
@@ -83,6 +109,6 @@ public enum DistributionType {
      *         tasks of objects being processed.
      */
     public DistributionStrategy getDistributionStrategy(final int maxTasks) {
-        return new DistributionStrategy(mutation, maxTasks);
+        return new DistributionStrategy(mutation, selector, maxTasks);
     }
 }
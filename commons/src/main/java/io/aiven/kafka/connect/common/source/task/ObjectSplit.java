@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A byte range of a native object that is processed independently of the rest of the object. Splits are distributed
+ * across tasks and tracked in the offset storage as independent partitions.
+ * <p>
+ * The split boundaries are byte offsets, the transformer aligns them to record boundaries. For line oriented data a
+ * split owns the lines that start after {@link #getStart()} up to and including {@link #getEnd()}, the first split
+ * also owns the line starting at byte 0.
+ * </p>
+ */
+public final class ObjectSplit {
+    /** The ordinal of the split within the object */
+    private final int index;
+    /** The first byte of the split */
+    private final long start;
+    /** The byte following the split */
+    private final long end;
+
+    /**
+     * Constructor.
+     *
+     * @param index
+     *            the ordinal of the split within the object.
+     * @param start
+     *            the first byte of the split.
+     * @param end
+     *            the byte following the split.
+     */
+    public ObjectSplit(final int index, final long start, final long end) {
+        this.index = index;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Divides an object into splits of the specified size. The last split may be smaller.
+     *
+     * @param objectSize
+     *            the size of the object in bytes.
+     * @param splitSize
+     *            the size of each split in bytes.
+     * @return the list of splits covering the object.
+     */
+    public static List<ObjectSplit> split(final long objectSize, final long splitSize) {
+        final List<ObjectSplit> result = new ArrayList<>();
+        long start = 0;
+        int index = 0;
+        while (start < objectSize) {
+            final long end = Math.min(objectSize, start + splitSize);
+            result.add(new ObjectSplit(index++, start, end)); // NOPMD AvoidInstantiatingObjectsInLoops
+            start = end;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the ordinal of the split within the object.
+     *
+     * @return the ordinal of the split within the object.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the first byte of the split.
+     *
+     * @return the first byte of the split.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the byte following the split.
+     *
+     * @return the byte following the split.
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the identifier of the split for use in offset partition maps.
+     *
+     * @return the identifier of the split.
+     */
+    public String getId() {
+        return start + "-" + end;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof ObjectSplit) {
+            final ObjectSplit split = (ObjectSplit) other;
+            return index == split.index && start == split.start && end == split.end;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ObjectSplit[%s, %s]", index, getId());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.commons.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void testAddedItemsAreFound() {
+        final BloomFilter underTest = new BloomFilter(1000, 1e-6);
+        for (int i = 0; i < 1000; i++) {
+            underTest.add("key" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(underTest.mightContain("key" + i)).isTrue();
+        }
+        assertThat(underTest.getCount()).isEqualTo(1000);
+    }
+
+    @Test
+    void testFalsePositiveRate() {
+        final BloomFilter underTest = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            underTest.add("key" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (underTest.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        // expect about 100, allow for variance.
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    @Test
+    void testSerialization() {
+        final BloomFilter underTest = new BloomFilter(100, 1e-6);
+        underTest.add("key1");
+        underTest.add("key2");
+        final BloomFilter restored = BloomFilter.fromBytes(underTest.toBytes());
+        assertThat(restored.isSameShape(underTest)).isTrue();
+        assertThat(restored.getCount()).isEqualTo(2);
+        assertThat(restored.mightContain("key1")).isTrue();
+        assertThat(restored.mightContain("key2")).isTrue();
+        assertThat(restored.mightContain("key3")).isFalse();
+    }
+
+    @Test
+    void testInvalidData() {
+        assertThatThrownBy(() -> BloomFilter.fromBytes(new byte[] { 1, 2, 3 }))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(0, 0.1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
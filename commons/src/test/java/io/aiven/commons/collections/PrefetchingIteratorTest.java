@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.commons.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PrefetchingIteratorTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testReturnsAllElementsInOrder() {
+        final List<Integer> expected = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        try (Stream<Integer> stream = PrefetchingIterator.stream(expected.iterator(), 3, executor)) {
+            assertThat(stream.collect(Collectors.toList())).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void testEmptySource() {
+        final PrefetchingIterator<String> iterator = new PrefetchingIterator<>(List.<String>of().iterator(), 1,
+                executor);
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void testReadsAheadUpToCapacity() {
+        final AtomicInteger produced = new AtomicInteger();
+        final Iterator<Integer> source = Stream.generate(produced::incrementAndGet).limit(100).iterator();
+        final PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(source, 2, executor);
+
+        // two elements in the queue and one waiting to be added.
+        await().atMost(Duration.ofSeconds(5)).until(() -> produced.get() == 3);
+        assertThat(iterator.next()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> produced.get() == 4);
+        iterator.close();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    void testSourceExceptionIsRethrownAfterPrecedingElements() {
+        final Iterator<Integer> source = Stream.of(1, 2, 0).map(i -> 2 / i).iterator();
+        final PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(source, 5, executor);
+        assertThat(iterator.next()).isEqualTo(2);
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThatThrownBy(iterator::hasNext).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+
+import org.junit.jupiter.api.Test;
+
+class ByteBudgetTest {
+
+    @Test
+    void testAcquireAndRelease() throws InterruptedException {
+        final ByteBudget underTest = new ByteBudget(100);
+        underTest.acquire(60);
+        assertThat(underTest.getBufferedBytes()).isEqualTo(60);
+        assertThat(underTest.getAvailableBytes()).isEqualTo(40);
+        assertThat(underTest.isExhausted()).isFalse();
+        underTest.acquire(40);
+        assertThat(underTest.isExhausted()).isTrue();
+        underTest.release(100);
+        assertThat(underTest.getBufferedBytes()).isZero();
+        assertThat(underTest.getMaxBufferedBytes()).isEqualTo(100);
+    }
+
+    @Test
+    void testOversizedRecordIsAcceptedWhenEmpty() throws InterruptedException {
+        final ByteBudget underTest = new ByteBudget(100);
+        underTest.acquire(1000);
+        assertThat(underTest.getBufferedBytes()).isEqualTo(1000);
+        assertThat(underTest.getAvailableBytes()).isZero();
+    }
+
+    @Test
+    void testAcquireWaitsForRelease() throws InterruptedException {
+        final ByteBudget underTest = new ByteBudget(100);
+        underTest.acquire(80);
+        final CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            try {
+                underTest.acquire(50);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100); // NOPMD give the acquire time to block
+        assertThat(waiting).isNotDone();
+        underTest.release(80);
+        await().atMost(Duration.ofSeconds(5)).until(waiting::isDone);
+        assertThat(underTest.getBufferedBytes()).isEqualTo(50);
+    }
+
+    @Test
+    void testTryAcquireDoesNotExceedBudget() {
+        final ByteBudget underTest = new ByteBudget(100);
+        assertThat(underTest.tryAcquire(1000)).isTrue();
+        assertThat(underTest.tryAcquire(1)).isFalse();
+        underTest.release(1000);
+        assertThat(underTest.tryAcquire(60)).isTrue();
+        assertThat(underTest.tryAcquire(50)).isFalse();
+        assertThat(underTest.tryAcquire(40)).isTrue();
+        assertThat(underTest.getBufferedBytes()).isEqualTo(100);
+    }
+
+    @Test
+    void testCloseWakesWaitingAcquire() throws InterruptedException {
+        final ByteBudget underTest = new ByteBudget(100);
+        underTest.acquire(80);
+        final CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return underTest.acquire(50);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100); // NOPMD give the acquire time to block
+        assertThat(waiting).isNotDone();
+        underTest.close();
+        await().atMost(Duration.ofSeconds(5)).until(waiting::isDone);
+        assertThat(waiting.join()).isFalse();
+        assertThat(underTest.tryAcquire(10)).isFalse();
+        assertThat(underTest.getBufferedBytes()).isEqualTo(80);
+    }
+
+    @Test
+    void testEstimateRecordSize() {
+        final Schema schema = SchemaBuilder.struct().field("name", Schema.STRING_SCHEMA)
+                .field("count", Schema.INT64_SCHEMA)
+                .build();
+        final Struct struct = new Struct(schema).put("name", "abcdef").put("count", 5L);
+        assertThat(RecordSizeEstimator.estimateValue(struct)).isEqualTo(6 + RecordSizeEstimator.VALUE_SIZE);
+        assertThat(RecordSizeEstimator.estimateValue(new byte[100])).isEqualTo(100);
+        assertThat(RecordSizeEstimator.estimateValue(Map.of("key", List.of("a", "bc")))).isEqualTo(6);
+        assertThat(RecordSizeEstimator.estimate(null, new SchemaAndValue(null, new byte[10])))
+                .isEqualTo(RecordSizeEstimator.RECORD_OVERHEAD + 10);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+import org.junit.jupiter.api.Test;
+
+class CommitTrackerTest {
+
+    private static SourceRecord record(final String value) {
+        return new SourceRecord(null, null, "topic", null, value);
+    }
+
+    @Test
+    void testActionRunsOnceItemIsCommitted() {
+        final CommitTracker<String> underTest = new CommitTracker<>();
+        final List<String> committed = new ArrayList<>();
+        underTest.track("key", () -> committed.add("key"));
+        underTest.started("key");
+        final SourceRecord first = record("first");
+        final SourceRecord second = record("second");
+        underTest.produced("key", first);
+        underTest.produced("key", second);
+        underTest.completed("key");
+        underTest.listed();
+        underTest.committed(first);
+        assertThat(committed).isEmpty();
+        underTest.committed(second);
+        assertThat(committed).containsExactly("key");
+        // the action only runs once.
+        underTest.committed(second);
+        assertThat(committed).containsExactly("key");
+    }
+
+    @Test
+    void testActionWaitsForListing() {
+        final CommitTracker<String> underTest = new CommitTracker<>();
+        final List<String> committed = new ArrayList<>();
+        underTest.track("key", () -> committed.add("key"));
+        underTest.started("key");
+        final SourceRecord sourceRecord = record("value");
+        underTest.produced("key", sourceRecord);
+        underTest.completed("key");
+        underTest.committed(sourceRecord);
+        // another split of the item may still be listed.
+        assertThat(committed).isEmpty();
+        underTest.listed();
+        assertThat(committed).containsExactly("key");
+    }
+
+    @Test
+    void testItemThatIsNotReadCompletesWhenListed() {
+        final CommitTracker<String> underTest = new CommitTracker<>();
+        final List<String> committed = new ArrayList<>();
+        underTest.track("skipped", () -> committed.add("skipped"));
+        underTest.track("reading", () -> committed.add("reading"));
+        underTest.started("reading");
+        underTest.listed();
+        assertThat(committed).containsExactly("skipped");
+    }
+
+    @Test
+    void testFailedItemDiscardsActions() {
+        final CommitTracker<String> underTest = new CommitTracker<>();
+        final List<String> committed = new ArrayList<>();
+        underTest.track("key", () -> committed.add("key"));
+        underTest.started("key");
+        final SourceRecord sourceRecord = record("value");
+        underTest.produced("key", sourceRecord);
+        underTest.failed("key");
+        underTest.listed();
+        underTest.committed(sourceRecord);
+        assertThat(committed).isEmpty();
+    }
+
+    @Test
+    void testUntrackedItemsAreIgnored() {
+        final CommitTracker<String> underTest = new CommitTracker<>();
+        underTest.started("key");
+        underTest.produced("key", record("value"));
+        underTest.completed("key");
+        underTest.listed();
+        final List<String> committed = new ArrayList<>();
+        underTest.track("key", () -> committed.add("key"));
+        underTest.listed();
+        assertThat(committed).containsExactly("key");
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.jupiter.api.Test;
+
+class ListingSchedulerTest {
+
+    @Test
+    void testIntervalGrowsToMaximumAndResets() throws InterruptedException {
+        final ListingScheduler underTest = new ListingScheduler(500);
+        assertThat(underTest.getCurrentIntervalMs()).isEqualTo(ListingScheduler.MIN_INTERVAL_MS);
+        underTest.await();
+        assertThat(underTest.getCurrentIntervalMs()).isEqualTo(200);
+        underTest.await();
+        assertThat(underTest.getCurrentIntervalMs()).isEqualTo(400);
+        underTest.await();
+        assertThat(underTest.getCurrentIntervalMs()).isEqualTo(500);
+        underTest.await();
+        assertThat(underTest.getCurrentIntervalMs()).isEqualTo(500);
+
+        underTest.reset();
+        assertThat(underTest.getCurrentIntervalMs()).isEqualTo(ListingScheduler.MIN_INTERVAL_MS);
+    }
+
+    @Test
+    void testMaximumBelowMinimum() {
+        final ListingScheduler underTest = new ListingScheduler(10);
+        assertThat(underTest.getCurrentIntervalMs()).isEqualTo(10);
+        assertThat(underTest.getMaxIntervalMs()).isEqualTo(10);
+    }
+
+    @Test
+    void testStopWakesWaiter() throws Exception {
+        final ListingScheduler underTest = new ListingScheduler(Duration.ofMinutes(10).toMillis());
+        // grow the interval to 800 ms, at least 600 ms with jitter.
+        for (int i = 0; i < 3; i++) {
+            underTest.await();
+        }
+        final StopWatch stopWatch = StopWatch.createStarted();
+        final CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            try {
+                underTest.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        underTest.stop();
+        waiter.get(5, TimeUnit.SECONDS);
+        assertThat(stopWatch.getTime()).isLessThan(500);
+    }
+}
@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -98,10 +99,15 @@ final class OffsetManagerTest {
         offsetManager.populateOffsetManager(partitionMaps);
         verify(offsetStorageReader, times(1)).offsets(anyList());
 
-        // No Existing entries so we expect nothing to exist and for it to try check the offsets again.
-        final Optional<ExampleOffsetManagerEntry> result = offsetManager
+        // No Existing entries so we expect nothing to exist without checking the offsets again.
+        Optional<ExampleOffsetManagerEntry> result = offsetManager
                 .getEntry(() -> partitionMaps.get(0).getPartitionMap(), ExampleOffsetManagerEntry::new);
         assertThat(result).isEmpty();
+        verify(offsetStorageReader, times(0)).offset(eq(partitionMaps.get(0).getPartitionMap()));
+
+        // the absence is only remembered for one lookup.
+        result = offsetManager.getEntry(() -> partitionMaps.get(0).getPartitionMap(), ExampleOffsetManagerEntry::new);
+        assertThat(result).isEmpty();
         verify(offsetStorageReader, times(1)).offset(eq(partitionMaps.get(0).getPartitionMap()));
 
     }
@@ -133,4 +139,13 @@ final class OffsetManagerTest {
         verify(offsetStorageReader, times(0)).offset(eq(partitionMaps.get(0).getPartitionMap()));
 
     }
+
+    @Test
+    void testPopulateOffsetManagerSkipsLocalEntries() {
+        final ExampleOffsetManagerEntry entry = new ExampleOffsetManagerEntry("key", "something else");
+        offsetManager.addEntry(entry);
+
+        offsetManager.populateOffsetManager(List.of(entry.getManagerKey()));
+        verify(offsetStorageReader, never()).offsets(anyCollection());
+    }
 }
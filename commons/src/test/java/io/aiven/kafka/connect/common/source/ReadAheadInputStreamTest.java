@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReadAheadInputStreamTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testReadsDecompressedData() throws IOException {
+        final byte[] data = new byte[100_000];
+        new Random(1).nextBytes(data);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(data);
+        }
+
+        try (InputStream underTest = new ReadAheadInputStream(
+                new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())), executor, 1000, 3)) {
+            assertThat(underTest.read()).isEqualTo(data[0] & 0xff);
+            final byte[] rest = IOUtils.toByteArray(underTest);
+            assertThat(rest).hasSize(data.length - 1);
+            assertThat(rest[rest.length - 1]).isEqualTo(data[data.length - 1]);
+            assertThat(underTest.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void testReadsExactMultipleOfBufferSize() throws IOException {
+        final byte[] data = new byte[3000];
+        try (InputStream underTest = new ReadAheadInputStream(new ByteArrayInputStream(data), executor, 1000, 2)) {
+            assertThat(IOUtils.toByteArray(underTest)).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void testReportsSourceErrors() {
+        final InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Test failure");
+            }
+        };
+        assertThatThrownBy(() -> {
+            try (InputStream underTest = new ReadAheadInputStream(failing, executor, 1000, 2)) {
+                IOUtils.toByteArray(underTest);
+            }
+        }).isInstanceOf(IOException.class).hasRootCauseMessage("Test failure");
+    }
+
+    @Test
+    void testClosesSourceOnceTheReadInProgressEnds() throws Exception {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final InputStream blocking = new InputStream() {
+            @Override
+            public int read() {
+                reading.countDown();
+                // a read that does not respond to the interrupt.
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) { // NOPMD EmptyCatchBlock
+                        // keep reading.
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+
+        final InputStream underTest = new ReadAheadInputStream(blocking, executor, 1000, 2);
+        assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+        underTest.close();
+        assertThat(closed.getCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(closed.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testClosesSourceOfStreamClosedBeforeReading() throws IOException {
+        final ExecutorService busy = Executors.newSingleThreadExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        final boolean[] closed = new boolean[1];
+        try {
+            busy.submit(() -> {
+                release.await();
+                return null;
+            });
+            final InputStream source = new ByteArrayInputStream(new byte[10]) {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            };
+            new ReadAheadInputStream(source, busy, 1000, 2).close();
+            assertThat(closed[0]).isTrue();
+        } finally {
+            release.countDown();
+            busy.shutdownNow();
+        }
+    }
+}
@@ -66,4 +66,70 @@ class RingBufferTest {
         buffer.add(OBJECT_KEY + 1);
         assertThat(buffer.getNextEjected()).isEqualTo(OBJECT_KEY + 1);
     }
+
+    @Test
+    void testRingBufferAllowsDuplicates() {
+        final RingBuffer<String> buffer = new RingBuffer<>(3, RingBuffer.DuplicateHandling.ALLOW);
+        buffer.add(OBJECT_KEY);
+        buffer.add(OBJECT_KEY + 1);
+        buffer.add(OBJECT_KEY);
+        assertThat(buffer.isFull()).isTrue();
+        assertThat(buffer.add(OBJECT_KEY + 2)).isEqualTo(OBJECT_KEY);
+        // the second instance is still present.
+        assertThat(buffer.contains(OBJECT_KEY)).isTrue();
+        assertThat(buffer.add(OBJECT_KEY + 3)).isEqualTo(OBJECT_KEY + 1);
+        assertThat(buffer.add(OBJECT_KEY + 4)).isEqualTo(OBJECT_KEY);
+        assertThat(buffer.contains(OBJECT_KEY)).isFalse();
+        assertThat(buffer.head()).isEqualTo(OBJECT_KEY + 2);
+        assertThat(buffer.tail()).isEqualTo(OBJECT_KEY + 4);
+    }
+
+    @Test
+    void testRingBufferMovesDuplicatesToTail() {
+        final RingBuffer<String> buffer = new RingBuffer<>(3, RingBuffer.DuplicateHandling.DELETE);
+        buffer.add(OBJECT_KEY + 0);
+        buffer.add(OBJECT_KEY + 1);
+        buffer.add(OBJECT_KEY + 0);
+        assertThat(buffer.isFull()).isFalse();
+        assertThat(buffer.head()).isEqualTo(OBJECT_KEY + 1);
+        assertThat(buffer.tail()).isEqualTo(OBJECT_KEY + 0);
+    }
+
+    @Test
+    void testRingBufferRemove() {
+        final RingBuffer<String> buffer = new RingBuffer<>(3);
+        buffer.add(OBJECT_KEY + 0);
+        buffer.add(OBJECT_KEY + 1);
+        buffer.add(OBJECT_KEY + 2);
+        buffer.remove(OBJECT_KEY + 1);
+        assertThat(buffer.contains(OBJECT_KEY + 1)).isFalse();
+        assertThat(buffer.isFull()).isFalse();
+        buffer.remove(OBJECT_KEY + 0);
+        buffer.remove(OBJECT_KEY + 2);
+        assertThat(buffer.head()).isNull();
+        assertThat(buffer.tail()).isNull();
+    }
+
+    @Test
+    void testRingBufferToList() {
+        final RingBuffer<String> buffer = new RingBuffer<>(2);
+        assertThat(buffer.toList()).isEmpty();
+        buffer.add(OBJECT_KEY + 0);
+        buffer.add(OBJECT_KEY + 1);
+        buffer.add(OBJECT_KEY + 2);
+        assertThat(buffer.toList()).containsExactly(OBJECT_KEY + 1, OBJECT_KEY + 2);
+    }
+
+    @Test
+    void testLargeRingBuffer() {
+        final int size = 200_000;
+        final RingBuffer<String> buffer = new RingBuffer<>(size);
+        for (int i = 0; i < size * 2; i++) {
+            buffer.add(OBJECT_KEY + i);
+        }
+        assertThat(buffer.getNextEjected()).isEqualTo(OBJECT_KEY + size);
+        assertThat(buffer.contains(OBJECT_KEY + (size - 1))).isFalse();
+        assertThat(buffer.contains(OBJECT_KEY + size)).isTrue();
+        assertThat(buffer.tail()).isEqualTo(OBJECT_KEY + (size * 2 - 1));
+    }
 }
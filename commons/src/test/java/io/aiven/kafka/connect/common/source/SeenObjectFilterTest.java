@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SeenObjectFilterTest {
+
+    @Test
+    void testGenerations() {
+        final SeenObjectFilter underTest = new SeenObjectFilter(2, 1e-9);
+        underTest.add("a");
+        underTest.add("b");
+        // starts a new generation.
+        underTest.add("c");
+        assertThat(underTest.mightContain("a")).isTrue();
+        underTest.add("d");
+        // discards the generation containing a and b.
+        underTest.add("e");
+        assertThat(underTest.mightContain("a")).isFalse();
+        assertThat(underTest.mightContain("c")).isTrue();
+        assertThat(underTest.mightContain("e")).isTrue();
+    }
+
+    @Test
+    void testCheckpointIsDelayed() {
+        final SeenObjectFilter underTest = new SeenObjectFilter(100, 1e-9);
+        underTest.add("a");
+        assertThat(underTest.checkpoint()).isEmpty();
+        underTest.add("b");
+        final byte[] checkpoint = underTest.checkpoint().orElseThrow();
+
+        final SeenObjectFilter restored = new SeenObjectFilter(100, 1e-9);
+        restored.restore(checkpoint);
+        assertThat(restored.mightContain("a")).isTrue();
+        assertThat(restored.mightContain("b")).isFalse();
+    }
+
+    @Test
+    void testRestoreIgnoresOtherConfiguration() {
+        final SeenObjectFilter other = new SeenObjectFilter(10, 1e-9);
+        other.add("a");
+        other.checkpoint();
+        final byte[] checkpoint = other.checkpoint().orElseThrow();
+
+        final SeenObjectFilter underTest = new SeenObjectFilter(100, 1e-9);
+        underTest.restore(checkpoint);
+        assertThat(underTest.mightContain("a")).isFalse();
+        underTest.restore(new byte[] { 0, 0, 0, 1, 2 });
+        assertThat(underTest.mightContain("a")).isFalse();
+    }
+}
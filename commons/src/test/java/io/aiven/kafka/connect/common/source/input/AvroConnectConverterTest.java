@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import io.confluent.connect.avro.AvroData;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.junit.jupiter.api.Test;
+
+class AvroConnectConverterTest {
+
+    private static final String NESTED = "{\"type\":\"record\",\"name\":\"Nested\",\"fields\":["
+            + "{\"name\":\"flag\",\"type\":\"boolean\"}]}";
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"Test\",\"fields\":["
+            + "{\"name\":\"name\",\"type\":\"string\"},{\"name\":\"comment\",\"type\":[\"null\",\"string\"]},"
+            + "{\"name\":\"count\",\"type\":\"int\"},{\"name\":\"total\",\"type\":\"long\"},"
+            + "{\"name\":\"ratio\",\"type\":\"float\"},{\"name\":\"score\",\"type\":\"double\"},"
+            + "{\"name\":\"tags\",\"type\":{\"type\":\"array\",\"items\":\"int\"}},"
+            + "{\"name\":\"sizes\",\"type\":{\"type\":\"map\",\"values\":\"long\"}},"
+            + "{\"name\":\"nested\",\"type\":[\"null\"," + NESTED + "]}]}");
+
+    private static final Schema LOGICAL_SCHEMA = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"Event\","
+            + "\"fields\":[{\"name\":\"time\",\"type\":{\"type\":\"long\",\"logicalType\":\"timestamp-millis\"}}]}");
+
+    private static GenericRecord createRecord(final Schema schema, final String comment) {
+        final GenericRecord nested = new GenericData.Record(schema.getField("nested").schema().getTypes().get(1));
+        nested.put("flag", true);
+        final GenericRecord record = new GenericData.Record(schema);
+        record.put("name", new Utf8("test"));
+        record.put("comment", comment == null ? null : new Utf8(comment));
+        record.put("count", 1);
+        record.put("total", 2L);
+        record.put("ratio", 0.5f);
+        record.put("score", 1.5d);
+        record.put("tags", new GenericData.Array<>(schema.getField("tags").schema(), List.of(1, 2, 3)));
+        record.put("sizes", Map.of(new Utf8("a"), 5L));
+        record.put("nested", nested);
+        return record;
+    }
+
+    @Test
+    void testMatchesAvroData() {
+        final AvroData avroData = new AvroData(100);
+        final AvroConnectConverter underTest = new AvroConnectConverter(avroData);
+        for (final String comment : new String[] { null, "comment" }) {
+            final GenericRecord record = createRecord(SCHEMA, comment);
+            assertThat(underTest.toConnectData(record)).isEqualTo(avroData.toConnectData(SCHEMA, record));
+        }
+    }
+
+    @Test
+    void testSchemasWithTheSameFingerprintShareTheConverter() {
+        final AvroData avroData = new AvroData(100);
+        final AvroConnectConverter underTest = new AvroConnectConverter(avroData);
+        final Schema copy = new Schema.Parser().parse(SCHEMA.toString());
+        final GenericRecord record = createRecord(SCHEMA, "first");
+        final GenericRecord copyRecord = createRecord(copy, "second");
+        assertThat(underTest.toConnectData(copyRecord).schema())
+                .isSameAs(underTest.toConnectData(record).schema());
+        assertThat(underTest.toConnectData(copyRecord)).isEqualTo(avroData.toConnectData(copy, copyRecord));
+    }
+
+    @Test
+    void testLogicalTypesUseAvroData() {
+        assertThat(AvroConnectConverter.compile(LOGICAL_SCHEMA, new AvroData(100).toConnectSchema(LOGICAL_SCHEMA),
+                new HashSet<>())).isNull();
+
+        final AvroData avroData = new AvroData(100);
+        final GenericRecord record = new GenericData.Record(LOGICAL_SCHEMA);
+        record.put("time", 1_700_000_000_000L);
+        assertThat(new AvroConnectConverter(avroData).toConnectData(record))
+                .isEqualTo(avroData.toConnectData(LOGICAL_SCHEMA, record));
+    }
+}
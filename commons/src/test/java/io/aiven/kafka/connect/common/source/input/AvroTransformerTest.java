@@ -18,6 +18,7 @@ package io.aiven.kafka.connect.common.source.input;
 
 import static io.aiven.kafka.connect.common.source.input.Transformer.UNKNOWN_STREAM_LENGTH;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -25,6 +26,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -42,9 +44,12 @@ import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.DatumWriter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -61,6 +66,11 @@ final class AvroTransformerTest {
         avroTransformer = new AvroTransformer(new AvroData(100));
     }
 
+    @AfterEach
+    void tearDown() {
+        avroTransformer.shutdown();
+    }
+
     @Test
     void testReadAvroRecordsInvalidData() {
         final InputStream inputStream = new ByteArrayInputStream("mock-avro-data".getBytes(StandardCharsets.UTF_8));
@@ -118,6 +128,89 @@ final class AvroTransformerTest {
         assertThat(records).isEmpty();
     }
 
+    @Test
+    void testReadAvroRecordsInParallel() throws Exception {
+        when(sourceCommonConfig.getTransformerDecodeParallelism()).thenReturn(3);
+        final byte[] avroData = generateBlockedAvroData(23, 5);
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 7; i < 23; i++) {
+            expected.add("Hello, Kafka Connect S3 Source! object " + i);
+        }
+        final ResumePosition resumePosition = new ResumePosition();
+        final Stream<SchemaAndValue> records = avroTransformer.getRecords(() -> new ByteArrayInputStream(avroData),
+                avroData.length, new Context<>("storage-key"), sourceCommonConfig, 7, resumePosition);
+
+        assertThat(records).extracting(SchemaAndValue::value)
+                .extracting(sv -> ((Struct) sv).getString("message"))
+                .containsExactlyElementsOf(expected);
+        // the last record is at the end of the fifth block.
+        assertThat(resumePosition.getPosition()).isEqualTo(5);
+        assertThat(resumePosition.getIndex()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 3 })
+    void testCorruptDataBlockEndsTheRecords(final int parallelism) throws Exception {
+        when(sourceCommonConfig.getTransformerDecodeParallelism()).thenReturn(parallelism);
+        final byte[] avroData = generateBlockedAvroData(15, 5);
+        // a negative length for the string of the first record of the second block.
+        final byte[] message = "Hello, Kafka Connect S3 Source! object 5".getBytes(StandardCharsets.UTF_8);
+        avroData[indexOf(avroData, message) - 1] = 1;
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add("Hello, Kafka Connect S3 Source! object " + i);
+        }
+        final Stream<SchemaAndValue> records = avroTransformer.getRecords(() -> new ByteArrayInputStream(avroData),
+                avroData.length, new Context<>("storage-key"), sourceCommonConfig, 0);
+
+        // the records decoded in parallel end at the corrupt record, as they do when decoded one at a time.
+        assertThat(records).extracting(SchemaAndValue::value)
+                .extracting(sv -> ((Struct) sv).getString("message"))
+                .containsExactlyElementsOf(expected);
+    }
+
+    private static int indexOf(final byte[] data, final byte[] target) {
+        for (int i = 0; i <= data.length - target.length; i++) {
+            if (Arrays.equals(data, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("not found");
+    }
+
+    /**
+     * Generates an Avro data file with several data blocks.
+     *
+     * @param numRecs
+     *            the number of records.
+     * @param blockSize
+     *            the number of records in each data block.
+     * @return the data file.
+     * @throws IOException
+     *             on error.
+     */
+    static byte[] generateBlockedAvroData(final int numRecs, final int blockSize) throws IOException {
+        final Schema schema = new Schema.Parser().parse("{\"type\": \"record\", \"name\": \"TestRecord\", \"fields\": ["
+                + "{\"name\": \"message\", \"type\": \"string\"}, {\"name\": \"id\", \"type\": \"int\"}]}");
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(new GenericDatumWriter<>(schema))) {
+            dataFileWriter.create(schema, outputStream);
+            for (int i = 0; i < numRecs; i++) {
+                final GenericRecord rec = new GenericData.Record(schema); // NOPMD AvoidInstantiatingObjectsInLoops
+                rec.put("message", "Hello, Kafka Connect S3 Source! object " + i);
+                rec.put("id", i);
+                dataFileWriter.append(rec);
+                if ((i + 1) % blockSize == 0) {
+                    // end the data block.
+                    dataFileWriter.sync();
+                }
+            }
+        }
+        return outputStream.toByteArray();
+    }
+
     static ByteArrayOutputStream generateMockAvroData(final int numRecs) throws IOException {
         final String schemaJson = "{\n" + "  \"type\": \"record\",\n" + "  \"name\": \"TestRecord\",\n"
                 + "  \"fields\": [\n" + "    {\"name\": \"message\", \"type\": \"string\"},\n"
@@ -21,7 +21,9 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -31,6 +33,7 @@ import org.apache.kafka.connect.data.SchemaAndValue;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.task.Context;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 
 import org.apache.commons.io.function.IOSupplier;
 import org.apache.http.util.ByteArrayBuffer;
@@ -115,4 +118,47 @@ final class ByteArrayTransformerTest {
         // Should only get called once per splitIterator
         verify(sourceCommonConfig, times(1)).getTransformerMaxBufferSize();
     }
+
+    @Test
+    void testSplitsProduceEachByteOnce() {
+        final byte[] data = new byte[30];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        when(sourceCommonConfig.getTransformerMaxBufferSize()).thenReturn(4);
+        when(sourceCommonConfig.getObjectSplitSize()).thenReturn(10L);
+        // the split size is rounded up to a multiple of the buffer size.
+        final long splitSize = byteArrayTransformer.getSplitSize(sourceCommonConfig);
+        assertThat(splitSize).isEqualTo(12L);
+
+        final ByteArrayBuffer processedData = new ByteArrayBuffer(data.length);
+        for (final ObjectSplit split : ObjectSplit.split(data.length, splitSize)) {
+            context.setSplit(split);
+            final IOSupplier<InputStream> supplier = () -> new ByteArrayInputStream(data, (int) split.getStart(),
+                    data.length - (int) split.getStart());
+            try (Stream<SchemaAndValue> records = byteArrayTransformer.getRecords(supplier, data.length, context,
+                    sourceCommonConfig, 0)) {
+                records.map(rec -> (byte[]) rec.value()).forEach(val -> {
+                    assertThat(val.length).isLessThanOrEqualTo(4);
+                    processedData.append(val, 0, val.length);
+                });
+            }
+        }
+        assertThat(processedData.toByteArray()).isEqualTo(data);
+    }
+
+    @Test
+    void testReadChunkSizesChunksToTheData() throws IOException {
+        final byte[] data = new byte[10];
+        final InputStream arrayStream = new ByteArrayInputStream(data);
+        assertThat(ByteArrayTransformer.readChunk(arrayStream, 4)).hasSize(4);
+        assertThat(ByteArrayTransformer.readChunk(arrayStream, 8)).hasSize(6);
+        assertThat(ByteArrayTransformer.readChunk(arrayStream, 8)).isEmpty();
+
+        // the remaining length of other streams is not known.
+        final InputStream bufferedStream = new BufferedInputStream(new ByteArrayInputStream(data));
+        assertThat(ByteArrayTransformer.readChunk(bufferedStream, 8)).hasSize(8);
+        assertThat(ByteArrayTransformer.readChunk(bufferedStream, 8)).hasSize(2);
+        assertThat(ByteArrayTransformer.readChunk(bufferedStream, 8)).isEmpty();
+    }
 }
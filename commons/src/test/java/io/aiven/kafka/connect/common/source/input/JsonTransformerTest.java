@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.kafka.connect.data.SchemaAndValue;
@@ -37,12 +38,15 @@ import org.apache.kafka.connect.json.JsonConverter;
 
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.task.Context;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 
 import org.apache.commons.io.function.IOSupplier;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -70,13 +74,14 @@ final class JsonTransformerTest {
         context.setTopic(TESTTOPIC);
         context.setPartition(1);
 
-        jsonTransformer = new JsonTransformer(jsonConverter);
+        jsonTransformer = new JsonTransformer();
         sourceCommonConfig = mock(SourceCommonConfig.class);
     }
 
     @AfterEach
     void destroy() {
         jsonConverter.close();
+        jsonTransformer.shutdown();
     }
 
     @Test
@@ -147,6 +152,99 @@ final class JsonTransformerTest {
         assertThat(resultStream).isEmpty();
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 7, 19, 20, 21, 100, 2000 })
+    void testSplitsProduceEachRecordOnce(final int splitSize) {
+        final byte[] data = getJsonRecs(100).getBytes(StandardCharsets.UTF_8);
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("value" + i);
+        }
+
+        final List<Object> actual = new ArrayList<>();
+        for (final ObjectSplit split : ObjectSplit.split(data.length, splitSize)) {
+            context.setSplit(split);
+            final IOSupplier<InputStream> supplier = () -> new ByteArrayInputStream(data, (int) split.getStart(),
+                    data.length - (int) split.getStart());
+            try (Stream<SchemaAndValue> records = jsonTransformer.getRecords(supplier, data.length, context,
+                    sourceCommonConfig, 0)) {
+                records.map(sv -> ((Map) sv.value()).get("key")).forEach(actual::add);
+            }
+        }
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 17, 18, 19, 20, 2000 })
+    void testCarriageReturnsEndLines(final int splitSize) {
+        // old Mac, Windows and Unix line ends.
+        final byte[] data = ("{\"key\":\"value0\"}\r{\"key\":\"value1\"}\r\n{\"key\":\"value2\"}\n\r"
+                + "{\"key\":\"value3\"}\r").getBytes(StandardCharsets.UTF_8);
+
+        final List<Object> actual = new ArrayList<>();
+        for (final ObjectSplit split : ObjectSplit.split(data.length, splitSize)) {
+            context.setSplit(split);
+            final IOSupplier<InputStream> supplier = () -> new ByteArrayInputStream(data, (int) split.getStart(),
+                    data.length - (int) split.getStart());
+            try (Stream<SchemaAndValue> records = jsonTransformer.getRecords(supplier, data.length, context,
+                    sourceCommonConfig, 0)) {
+                records.map(sv -> ((Map) sv.value()).get("key")).forEach(actual::add);
+            }
+        }
+        assertThat(actual).containsExactly("value0", "value1", "value2", "value3");
+    }
+
+    @Test
+    void testValuesMatchJsonConverter() {
+        final String longValue = "x".repeat(20_000);
+        final List<String> lines = List.of("{\"s\":\"caf\u00e9\",\"i\":42,\"big\":12345678901234567890,\"d\":1.5,"
+                + "\"b\":true,\"n\":null,\"a\":[1,\"two\",{\"three\":3.0}],\"o\":{\"p\":false}}", "  [1, 2]\r",
+                "\"text\"", "{\"long\":\"" + longValue + "\"}", "7");
+        final byte[] data = String.join("\n \t\n", lines).getBytes(StandardCharsets.UTF_8);
+
+        final Stream<SchemaAndValue> records = jsonTransformer.getRecords(() -> new ByteArrayInputStream(data),
+                UNKNOWN_STREAM_LENGTH, context, sourceCommonConfig, 0);
+
+        assertThat(records).containsExactlyElementsOf(lines.stream()
+                .map(line -> jsonConverter.toConnectData(TESTTOPIC, line.trim().getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testDecodesChunksInParallel() {
+        when(sourceCommonConfig.getTransformerDecodeParallelism()).thenReturn(3);
+        // enough records for several chunks.
+        final int recordCount = 3 * JsonTransformer.PARALLEL_CHUNK_BYTES / 16;
+        final byte[] data = getJsonRecs(recordCount).replace("\n", "\n\n").getBytes(StandardCharsets.UTF_8);
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 10; i < recordCount; i++) {
+            expected.add("value" + i);
+        }
+        final ResumePosition resumePosition = new ResumePosition();
+        final Stream<SchemaAndValue> records = jsonTransformer.getRecords(() -> new ByteArrayInputStream(data),
+                UNKNOWN_STREAM_LENGTH, context, sourceCommonConfig, 10, resumePosition);
+
+        assertThat(records).extracting(sv -> ((Map) sv.value()).get("key")).containsExactlyElementsOf(expected);
+        // the last record ends before the last newline.
+        assertThat(resumePosition.getPosition()).isEqualTo(data.length - 1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 3 })
+    void testCorruptLineEndsTheRecords(final int parallelism) {
+        when(sourceCommonConfig.getTransformerDecodeParallelism()).thenReturn(parallelism);
+        final byte[] data = (getJsonRecs(5) + "{\"key\":\n" + getJsonRecs(5)).getBytes(StandardCharsets.UTF_8);
+
+        final Stream<SchemaAndValue> records = jsonTransformer.getRecords(() -> new ByteArrayInputStream(data),
+                UNKNOWN_STREAM_LENGTH, context, sourceCommonConfig, 0);
+
+        // the records decoded in parallel end at the corrupt line, as they do when decoded one at a time.
+        assertThat(records).extracting(sv -> ((Map) sv.value()).get("key"))
+                .containsExactly("value0", "value1", "value2", "value3", "value4");
+    }
+
     static String getJsonRecs(final int recordCount) {
         final StringBuilder jsonRecords = new StringBuilder();
         for (int i = 0; i < recordCount; i++) {
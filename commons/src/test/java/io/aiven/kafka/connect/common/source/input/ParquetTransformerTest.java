@@ -40,6 +40,7 @@ import org.apache.kafka.connect.data.Struct;
 import io.aiven.kafka.connect.common.config.ParquetTestingFixture;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.task.Context;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 
 import io.confluent.connect.avro.AvroData;
 import org.apache.commons.io.IOUtils;
@@ -129,6 +130,30 @@ final class ParquetTransformerTest {
         assertThat(records).isEmpty();
     }
 
+    @Test
+    void testSplitReadsRangesWithoutTemporaryFile() throws Exception {
+        final byte[] mockParquetData = generateMockParquetData();
+        final List<Long> offsets = new ArrayList<>();
+        final RangedInputSupplier inputStreamIOSupplier = new RangedInputSupplier(offset -> {
+            offsets.add(offset);
+            return new ByteArrayInputStream(mockParquetData, offset.intValue(), mockParquetData.length);
+        }, mockParquetData.length);
+        final SourceCommonConfig s3SourceConfig = mock(SourceCommonConfig.class);
+        context.setSplit(new ObjectSplit(0, 0, mockParquetData.length));
+
+        try (var mockStatic = Mockito.mockStatic(File.class)) {
+            mockStatic.when(() -> File.createTempFile(anyString(), anyString()))
+                    .thenThrow(new IOException("A split must not be copied"));
+            final List<SchemaAndValue> records = parquetTransformer
+                    .getRecords(inputStreamIOSupplier, mockParquetData.length, context, s3SourceConfig, 0L)
+                    .collect(Collectors.toList());
+
+            assertThat(records).hasSize(100);
+        }
+        // only the footer and the row group are read, never the object from the start.
+        assertThat(offsets).isNotEmpty().doesNotContain(0L);
+    }
+
     @Test
     void testTemporaryFileDeletion() throws Exception {
         final Path tempFile = Files.createTempFile("test-file", ".parquet");
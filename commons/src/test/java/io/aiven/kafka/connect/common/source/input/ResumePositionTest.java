@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.common.source.input;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.kafka.connect.data.SchemaAndValue;
+
+import io.aiven.kafka.connect.common.config.SourceCommonConfig;
+import io.aiven.kafka.connect.common.source.impl.ExampleOffsetManagerEntry;
+import io.aiven.kafka.connect.common.source.task.Context;
+
+import org.apache.commons.io.function.IOSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Tests that transformers resume from a stored position without reprocessing earlier records.
+ */
+class ResumePositionTest {
+
+    @Test
+    void verifyPositionNotRestoredWithoutOffsetData() {
+        final ExampleOffsetManagerEntry entry = new ExampleOffsetManagerEntry("key", "group");
+        assertThat(ResumePosition.from(entry).isRestored()).isFalse();
+        assertThat(ResumePosition.from(null).isRestored()).isFalse();
+
+        // an entry written before positions were tracked.
+        entry.incrementRecordCount();
+        assertThat(ResumePosition.from(entry).isRestored()).isFalse();
+
+        new ResumePosition().writeTo(entry);
+        final ResumePosition position = ResumePosition.from(entry);
+        assertThat(position.isRestored()).isTrue();
+        assertThat(position.getPosition()).isZero();
+        assertThat(position.getIndex()).isZero();
+    }
+
+    @ParameterizedTest
+    @MethodSource("io.aiven.kafka.connect.common.source.input.TransformerStreamingTest#testData")
+    void verifyResumeFromPosition(final Transformer transformer, final byte[] testData, final SourceCommonConfig config,
+            final int expectedCount) {
+        final Context<String> context = new Context<>("storage-key");
+        context.setTopic("topic");
+        context.setPartition(1);
+
+        // read all the records and keep the offset entry that would have been stored with each one.
+        final List<Object> values = new ArrayList<>();
+        final List<ExampleOffsetManagerEntry> entries = new ArrayList<>();
+        final ResumePosition position = new ResumePosition();
+        try (Stream<SchemaAndValue> stream = transformer.getRecords(() -> new ByteArrayInputStream(testData),
+                testData.length, context, config, 0, position)) {
+            stream.forEach(schemaAndValue -> {
+                values.add(schemaAndValue.value());
+                final ExampleOffsetManagerEntry entry = new ExampleOffsetManagerEntry("key", "group");
+                for (int i = 0; i < values.size(); i++) {
+                    entry.incrementRecordCount();
+                }
+                position.writeTo(entry);
+                entries.add(entry);
+            });
+        }
+        assertThat(values).hasSize(expectedCount);
+
+        for (final ExampleOffsetManagerEntry entry : List.of(entries.get(0), entries.get(expectedCount / 2),
+                entries.get(expectedCount - 1))) {
+            final int processed = (int) entry.getRecordCount();
+            final ResumePosition restored = ResumePosition.from(entry);
+            assertThat(restored.isRestored()).isTrue();
+            final int offset = transformer.resumesFromByteOffset() ? (int) restored.getPosition() : 0;
+            final IOSupplier<InputStream> supplier = () -> new ByteArrayInputStream(testData, offset,
+                    testData.length - offset);
+            final List<Object> resumed;
+            try (Stream<SchemaAndValue> stream = transformer.getRecords(supplier, testData.length, context, config,
+                    processed, restored)) {
+                resumed = stream.map(SchemaAndValue::value).collect(Collectors.toList());
+            }
+            assertThat(resumed).hasSize(expectedCount - processed);
+            for (int i = 0; i < resumed.size(); i++) {
+                assertThat(resumed.get(i)).isEqualTo(values.get(processed + i));
+            }
+        }
+    }
+}
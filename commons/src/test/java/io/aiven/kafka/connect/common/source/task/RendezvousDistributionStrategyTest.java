@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.aiven.kafka.connect.common.source.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+final class RendezvousDistributionStrategyTest {
+
+    private static List<Context<String>> contexts(final int count) {
+        final List<Context<String>> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(new Context<>("topic/object-" + i + ".txt")); // NOPMD AvoidInstantiatingObjectsInLoops
+        }
+        return result;
+    }
+
+    @Test
+    void testAssignsEveryObjectToOneTaskInRange() {
+        final DistributionStrategy underTest = DistributionType.RENDEZVOUS.getDistributionStrategy(7);
+        for (final Context<String> context : contexts(1000)) {
+            final int task = underTest.getTaskFor(context);
+            assertThat(task).isBetween(0, 6).isEqualTo(underTest.getTaskFor(context));
+        }
+        assertThat(underTest.getTaskFor(new Context<>((String) null))).isEqualTo(DistributionStrategy.UNDEFINED);
+    }
+
+    @Test
+    void testBalancesObjectsAcrossTasks() {
+        final int maxTasks = 8;
+        final DistributionStrategy underTest = DistributionType.RENDEZVOUS.getDistributionStrategy(maxTasks);
+        final int[] counts = new int[maxTasks];
+        for (final Context<String> context : contexts(8000)) {
+            counts[underTest.getTaskFor(context)]++;
+        }
+        for (final int count : counts) {
+            assertThat(count).isBetween(800, 1200);
+        }
+    }
+
+    @Test
+    void testAddingATaskOnlyMovesObjectsToTheNewTask() {
+        final DistributionStrategy underTest = DistributionType.RENDEZVOUS.getDistributionStrategy(10);
+        final List<Context<String>> contexts = contexts(5000);
+        final List<Integer> before = new ArrayList<>();
+        contexts.forEach(context -> before.add(underTest.getTaskFor(context)));
+
+        underTest.configureDistributionStrategy(11);
+        int moved = 0;
+        for (int i = 0; i < contexts.size(); i++) {
+            final int task = underTest.getTaskFor(contexts.get(i));
+            if (task != before.get(i)) {
+                assertThat(task).isEqualTo(10);
+                moved++;
+            }
+        }
+        // about 1/11 of the objects move, the modulo distribution would move about 10/11 of them.
+        assertThat(moved).isBetween(300, 650);
+    }
+
+    @Test
+    void testSplitsAreDistributedIndependently() {
+        final DistributionStrategy underTest = DistributionType.RENDEZVOUS.getDistributionStrategy(4);
+        final List<Integer> tasks = new ArrayList<>();
+        for (final ObjectSplit split : ObjectSplit.split(1000, 10)) {
+            final Context<String> ctx = new Context<>("topic/large.txt"); // NOPMD AvoidInstantiatingObjectsInLoops
+            ctx.setSplit(split);
+            tasks.add(underTest.getTaskFor(ctx));
+        }
+        assertThat(tasks).contains(0, 1, 2, 3);
+    }
+}
@@ -357,6 +357,67 @@ public abstract class AbstractSourceRecordIteratorTest<K extends Comparable<K>,
         assertThat(iterator).isExhausted();
     }
 
+    @Test
+    void testProcessingThreadsKeepTheRecordOrder() {
+        final Transformer transformer = TransformerFactory.getTransformer(InputFormat.JSONL);
+        final SourceCommonConfig config = mockSourceConfig(FILE_PATTERN, 0, 1, null);
+        when(config.getInputFormat()).thenReturn(InputFormat.JSONL);
+        when(config.getCompressionType()).thenReturn(CompressionType.NONE);
+        when(config.getObjectProcessingThreads()).thenReturn(3);
+
+        final ClientMutator<N, K, ?> mutator = createClientMutator().reset();
+        final List<K> keys = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final K objectKey = createKFrom("topic-0000" + i + "-1741965423180.txt");
+            keys.add(objectKey);
+            mutator.addObject(objectKey, JsonTestDataFixture.generateJsonRecs(3));
+        }
+        mutator.endOfBlock().build();
+
+        final AbstractSourceRecordIterator<K, N, O, T> iterator = createSourceRecordIterator(config, offsetManager,
+                transformer);
+        try {
+            for (final K objectKey : keys) {
+                for (int count = 1; count <= 3; count++) {
+                    assertThat(iterator.hasNext()).isTrue();
+                    final T sourceRecord = iterator.next();
+                    assertThat(sourceRecord.getNativeKey()).isEqualTo(objectKey);
+                    assertThat(sourceRecord.getRecordCount()).isEqualTo(count);
+                }
+            }
+            assertThat(iterator).isExhausted();
+        } finally {
+            iterator.close();
+        }
+    }
+
+    @Test
+    void testRingBufferCheckpoint() {
+        final Transformer transformer = TransformerFactory.getTransformer(InputFormat.BYTES);
+        final SourceCommonConfig config = mockSourceConfig(FILE_PATTERN, 0, 1, null);
+        when(config.getInputFormat()).thenReturn(InputFormat.BYTES);
+        when(config.getCompressionType()).thenReturn(CompressionType.NONE);
+        final byte[] testData = "Hello World".getBytes(StandardCharsets.UTF_8);
+
+        createClientMutator().reset().addObject(key, ByteBuffer.wrap(testData)).endOfBlock().build();
+        AbstractSourceRecordIterator<K, N, O, T> iterator = createSourceRecordIterator(config, offsetManager,
+                transformer);
+        // the first checkpoint is only staged.
+        assertThat(iterator.checkpointRingBuffer()).isEmpty();
+        assertThat(iterator.hasNext()).isTrue();
+        iterator.next();
+        assertThat(iterator).isExhausted();
+        // returns the keys staged before the object was processed.
+        iterator.checkpointRingBuffer();
+        final byte[] checkpoint = iterator.checkpointRingBuffer().orElseThrow();
+
+        // a restored iterator skips the processed object.
+        createClientMutator().reset().addObject(key, ByteBuffer.wrap(testData)).endOfBlock().build();
+        iterator = createSourceRecordIterator(config, offsetManager, transformer);
+        iterator.restoreRingBuffer(checkpoint);
+        assertThat(iterator).isExhausted();
+    }
+
     /**
      * Check to make sure that the native start key is used in the setup of the AbstractSourceRecordIterator if set
      *
@@ -211,6 +211,38 @@ public abstract class AbstractSourceRecordTest<N, K extends Comparable<K>, O ext
         assertThat(duplicate.getNativeKey()).isSameAs(sourceRecord.getNativeKey());
     }
 
+    @Test
+    void testDuplicatesDoNotShareChanges() {
+        final Context<K> context = new Context<>(createKFrom(TEST_OBJECT_KEY_TXT));
+        context.setPartition(3);
+        context.setTopic(TEST_TOPIC);
+
+        final T sourceRecord = createSourceRecord();
+        sourceRecord.setOffsetManagerEntry(createOffsetManagerEntry(TEST_OBJECT_KEY_TXT));
+        sourceRecord.setContext(context);
+        sourceRecord.setValueData(new SchemaAndValue(null, "value"));
+        sourceRecord.setKeyData(new SchemaAndValue(null, "key"));
+        sourceRecord.incrementRecordCount();
+
+        final T first = sourceRecord.duplicate();
+        sourceRecord.incrementRecordCount();
+        final T second = sourceRecord.duplicate();
+        assertThat(first.getRecordCount()).isEqualTo(1);
+        assertThat(first.getOffsetManagerEntry().getRecordCount()).isEqualTo(1);
+        assertThat(second.getRecordCount()).isEqualTo(2);
+
+        second.incrementRecordCount();
+        assertThat(second.getRecordCount()).isEqualTo(3);
+        assertThat(sourceRecord.getRecordCount()).isEqualTo(2);
+        assertThat(first.getRecordCount()).isEqualTo(1);
+
+        final OffsetManager<O> offsetManager = (OffsetManager<O>) mock(OffsetManager.class);
+        final SourceRecord result = first.getSourceRecord(ErrorsTolerance.NONE, offsetManager);
+        assertThat(result.sourceOffset()).isEqualTo(first.getOffsetManagerEntry().getProperties());
+        assertThat(result.sourcePartition())
+                .isEqualTo(sourceRecord.getOffsetManagerEntry().getManagerKey().getPartitionMap());
+    }
+
     @Test
     void offsetManagerEntryTest() {
         final O offsetManagerEntry = createOffsetManagerEntry(TEST_OBJECT_KEY_TXT);
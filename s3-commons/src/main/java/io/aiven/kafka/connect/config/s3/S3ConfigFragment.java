@@ -20,6 +20,7 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Pattern;
@@ -133,12 +134,32 @@ public final class S3ConfigFragment extends ConfigFragment {
     public static final String AWS_S3_RETRY_BACKOFF_MAX_RETRIES_CONFIG = "aws.s3.backoff.max.retries";
 
     public static final String FETCH_PAGE_SIZE = "aws.s3.fetch.page.size";
+    public static final String FETCH_PREFETCH_PAGES = "aws.s3.fetch.prefetch.pages";
+    public static final String LIST_PREFIXES = "aws.s3.list.prefixes";
+    public static final String LIST_DELIMITER = "aws.s3.list.delimiter";
+    public static final String LIST_DEPTH = "aws.s3.list.depth";
+    public static final String LIST_CONCURRENCY = "aws.s3.list.concurrency";
+    public static final String LIST_REFRESH_MS = "aws.s3.list.refresh.ms";
+    public static final String LIST_ASSIGN = "aws.s3.list.assign";
+    public static final String LIST_ASSIGN_REFRESH_MS = "aws.s3.list.assign.refresh.ms";
+    public static final String LIST_ASSIGNMENT = "aws.s3.list.assignment";
+    public static final String SQS_QUEUE_URL = "aws.s3.sqs.queue.url";
+    public static final String SQS_ENDPOINT = "aws.s3.sqs.endpoint";
+    public static final String SQS_WAIT_TIME_SECONDS = "aws.s3.sqs.wait.time.seconds";
+    public static final String SQS_RECONCILE_INTERVAL_MS = "aws.s3.sqs.reconcile.interval.ms";
+    public static final String SQS_VISIBILITY_TIMEOUT_SECONDS = "aws.s3.sqs.visibility.timeout.seconds";
+    public static final String INVENTORY_MANIFEST = "aws.s3.inventory.manifest";
+    public static final String INVENTORY_CHECKPOINT_KEY = "aws.s3.inventory.checkpoint.key";
+    public static final String SEEN_FILTER_CHECKPOINT_KEY = "aws.s3.seen.filter.checkpoint.key";
+    public static final String LISTING_CHECKPOINT_KEY = "aws.s3.listing.checkpoint.key";
+    public static final String CLAIM_PREFIX = "aws.s3.claim.prefix";
     /** @deprecated use SourceConfigFragment.RING_BUFFER_SIZE */
     @Deprecated
     public static final String AWS_S3_FETCH_BUFFER_SIZE = "aws.s3.fetch.buffer.size";
 
     private static final String GROUP_AWS = "AWS";
     private static final String GROUP_AWS_STS = "AWS STS";
+    private static final String GROUP_AWS_SQS = "AWS SQS event notifications";
 
     private static final String GROUP_S3_RETRY_BACKOFF_POLICY = "S3 retry backoff policy";
 
@@ -172,6 +193,7 @@ public final class S3ConfigFragment extends ConfigFragment {
     public static ConfigDef update(final ConfigDef configDef) {
         addAwsConfigGroup(configDef);
         addAwsStsConfigGroup(configDef);
+        addSqsConfigGroup(configDef);
         addDeprecatedConfiguration(configDef);
         addS3RetryPolicies(configDef);
         return configDef;
@@ -249,6 +271,102 @@ public final class S3ConfigFragment extends ConfigFragment {
                 ConfigDef.Importance.MEDIUM, "AWS S3 Fetch page size", GROUP_AWS, ++awsGroupCounter,
                 ConfigDef.Width.NONE, FETCH_PAGE_SIZE);
 
+        configDef.define(FETCH_PREFETCH_PAGES, ConfigDef.Type.INT, 0, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "The number of pages of the S3 object listing to fetch on a background thread ahead of the objects "
+                        + "being processed. 0 fetches each page when the previous page has been processed.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, FETCH_PREFETCH_PAGES);
+
+        configDef.define(LIST_PREFIXES, ConfigDef.Type.LIST, "", ConfigDef.Importance.LOW,
+                "A list of sub-prefixes of " + AWS_S3_PREFIX_CONFIG + " that are listed concurrently. The listings "
+                        + "are merged in key order. The sub-prefixes must not overlap, e.g. topic-a/,topic-b/. "
+                        + "Objects outside of the sub-prefixes are not read.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LIST_PREFIXES);
+
+        configDef.define(LIST_DELIMITER, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "The delimiter used to discover the sub-prefixes to list concurrently when " + LIST_PREFIXES
+                        + " is not set, e.g. / for a topic/partition layout.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LIST_DELIMITER);
+
+        configDef.define(LIST_DEPTH, ConfigDef.Type.INT, 1, ConfigDef.Range.atLeast(1), ConfigDef.Importance.LOW,
+                "The number of " + LIST_DELIMITER + " separated levels below " + AWS_S3_PREFIX_CONFIG
+                        + " to discover sub-prefixes from, e.g. 2 for a topic/partition layout.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LIST_DEPTH);
+
+        configDef.define(LIST_CONCURRENCY, ConfigDef.Type.INT, 4, ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, "The maximum number of sub-prefix listing requests to run at the same time.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LIST_CONCURRENCY);
+
+        configDef.define(LIST_REFRESH_MS, ConfigDef.Type.LONG, 300_000L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "How often, in milliseconds, a task discovers the sub-prefixes with " + LIST_DELIMITER
+                        + ". The listings in between reuse the sub-prefixes found, so new sub-prefixes are listed "
+                        + "within this interval. 0 discovers the sub-prefixes on every listing.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LIST_REFRESH_MS);
+
+        configDef.define(LIST_ASSIGN, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW,
+                "If true the connector lists the sub-prefixes set by " + LIST_PREFIXES + " or discovered with "
+                        + LIST_DELIMITER + " and assigns them to the tasks, so that each task only lists its own "
+                        + "sub-prefixes instead of every task listing the whole bucket.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LIST_ASSIGN);
+
+        configDef.define(LIST_ASSIGN_REFRESH_MS, ConfigDef.Type.LONG, 300_000L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "How often, in milliseconds, the connector discovers the sub-prefixes when " + LIST_ASSIGN
+                        + " is enabled. The tasks are reconfigured when the sub-prefixes change. 0 disables "
+                        + "rediscovery.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LIST_ASSIGN_REFRESH_MS);
+
+        configDef.define(LIST_ASSIGNMENT, ConfigDef.Type.STRING, null, ConfigDef.Importance.LOW,
+                "The sub-prefixes that the task lists. Set by the connector in the task configuration when "
+                        + LIST_ASSIGN + " is enabled. Not intended to be set by users.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LIST_ASSIGNMENT);
+
+        configDef.define(INVENTORY_MANIFEST, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "The location of an S3 Inventory manifest of the bucket, e.g. "
+                        + "s3://inventory-bucket/path/manifest.json, or of the inventory configuration, e.g. "
+                        + "s3://inventory-bucket/source-bucket/config-id/, to use the latest manifest. The objects in "
+                        + "the inventory are read before the bucket is listed. The first listing then continues "
+                        + "after the last key in the inventory and the next listing lists the whole bucket to pick "
+                        + "up the objects written while the inventory was read. CSV and Parquet inventories are "
+                        + "supported and must include the Bucket, Key and Size fields.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, INVENTORY_MANIFEST);
+
+        configDef.define(INVENTORY_CHECKPOINT_KEY, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "The key of the object in the bucket that the task records that it has read the inventory in, "
+                        + "e.g. _connect/my-connector-{{task_id}}.inventory. A restarted task does not read the "
+                        + "inventory again. The key must not match the file name template. Requires "
+                        + INVENTORY_MANIFEST + " to be set and write access to the bucket.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, INVENTORY_CHECKPOINT_KEY);
+
+        configDef.define(SEEN_FILTER_CHECKPOINT_KEY, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "The key of the object in the bucket that the seen object filter is checkpointed to when the task "
+                        + "commits, e.g. _connect/my-connector-{{task_id}}.filter. The filter is restored from it when "
+                        + "the task starts. The key must not match the file name template. Requires "
+                        + "seen.filter.size to be set and write access to the bucket.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, SEEN_FILTER_CHECKPOINT_KEY);
+
+        configDef.define(LISTING_CHECKPOINT_KEY, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "The key of the object in the bucket that the task checkpoints its most recently completed object "
+                        + "keys to when it commits, e.g. _connect/my-connector-{{task_id}}.keys. A restarted task "
+                        + "restores them and resumes listing after the oldest of them instead of at the start of the "
+                        + "bucket. The number of keys is set by ring.buffer.size. The key must not match the file name "
+                        + "template. Requires write access to the bucket.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, LISTING_CHECKPOINT_KEY);
+
+        configDef.define(CLAIM_PREFIX, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "The prefix of the marker objects that tasks write to the bucket to claim objects when "
+                        + "distribution.work.stealing is true, e.g. _connect/my-connector/claims/. Each connector must "
+                        + "use its own prefix. Objects under the prefix are not processed. Requires permission to "
+                        + "read, write and delete the objects under the prefix.",
+                GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, CLAIM_PREFIX);
+
         configDef.define(AWS_S3_FETCH_BUFFER_SIZE, ConfigDef.Type.INT, 1000, new ConfigDef.Validator() {
             ConfigDef.Range range = ConfigDef.Range.atLeast(1);
 
@@ -269,6 +387,40 @@ public final class S3ConfigFragment extends ConfigFragment {
                 GROUP_AWS, ++awsGroupCounter, ConfigDef.Width.NONE, AWS_S3_FETCH_BUFFER_SIZE);
     }
 
+    static void addSqsConfigGroup(final ConfigDef configDef) {
+        int sqsGroupCounter = 0;
+        configDef.define(SQS_QUEUE_URL, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
+                ConfigDef.Importance.LOW,
+                "The URL of an SQS queue that receives the S3 ObjectCreated event notifications for the bucket. When "
+                        + "set new objects are discovered from the notifications and the bucket is only listed at "
+                        + "start up and every " + SQS_RECONCILE_INTERVAL_MS + " milliseconds. {{task_id}} in the URL "
+                        + "is replaced with the task id so that each task can have its own queue.",
+                GROUP_AWS_SQS, ++sqsGroupCounter, ConfigDef.Width.NONE, SQS_QUEUE_URL);
+
+        configDef.define(SQS_ENDPOINT, ConfigDef.Type.STRING, null, new UrlValidator(), ConfigDef.Importance.LOW,
+                "Explicit SQS endpoint URL, mainly for SQS compatible services. Defaults to the SQS endpoint of "
+                        + AWS_S3_REGION_CONFIG + ".",
+                GROUP_AWS_SQS, ++sqsGroupCounter, ConfigDef.Width.NONE, SQS_ENDPOINT);
+
+        configDef.define(SQS_WAIT_TIME_SECONDS, ConfigDef.Type.INT, 1, ConfigDef.Range.between(0, 20),
+                ConfigDef.Importance.LOW, "The time in seconds to wait for event notifications to arrive.",
+                GROUP_AWS_SQS, ++sqsGroupCounter, ConfigDef.Width.NONE, SQS_WAIT_TIME_SECONDS);
+
+        configDef.define(SQS_RECONCILE_INTERVAL_MS, ConfigDef.Type.LONG, 3_600_000L, ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW,
+                "How often, in milliseconds, the bucket is listed to pick up objects whose notifications were missed "
+                        + "when " + SQS_QUEUE_URL + " is set. 0 only lists the bucket at start up.",
+                GROUP_AWS_SQS, ++sqsGroupCounter, ConfigDef.Width.NONE, SQS_RECONCILE_INTERVAL_MS);
+
+        configDef.define(SQS_VISIBILITY_TIMEOUT_SECONDS, ConfigDef.Type.INT, 300, ConfigDef.Range.between(1, 43_200),
+                ConfigDef.Importance.LOW,
+                "The time in seconds that a received event notification is hidden from the queue. The task extends "
+                        + "the timeout of the notifications whose objects have not been committed each time it "
+                        + "receives notifications, so it must be longer than it takes to read the objects of one "
+                        + "batch of notifications.",
+                GROUP_AWS_SQS, ++sqsGroupCounter, ConfigDef.Width.NONE, SQS_VISIBILITY_TIMEOUT_SECONDS);
+    }
+
     static void addAwsStsConfigGroup(final ConfigDef configDef) {
         int awsStsGroupCounter = 0;
         configDef.define(AWS_STS_ROLE_ARN, ConfigDef.Type.STRING, null, new ConfigDef.NonEmptyString(),
@@ -641,6 +793,98 @@ public final class S3ConfigFragment extends ConfigFragment {
         return cfg.getInt(FETCH_PAGE_SIZE);
     }
 
+    public int getFetchPrefetchPages() {
+        return cfg.getInt(FETCH_PREFETCH_PAGES);
+    }
+
+    /**
+     * Gets the configured sub-prefixes to list concurrently.
+     *
+     * @return the sub-prefixes, empty if none are configured.
+     */
+    public List<String> getListPrefixes() {
+        final List<String> prefixes = cfg.getList(LIST_PREFIXES);
+        return prefixes == null ? List.of() : prefixes;
+    }
+
+    /**
+     * Gets the delimiter used to discover sub-prefixes.
+     *
+     * @return the delimiter, or {@code null} if sub-prefixes are not discovered.
+     */
+    public String getListDelimiter() {
+        return cfg.getString(LIST_DELIMITER);
+    }
+
+    public int getListDepth() {
+        return cfg.getInt(LIST_DEPTH);
+    }
+
+    public int getListConcurrency() {
+        return cfg.getInt(LIST_CONCURRENCY);
+    }
+
+    public long getListRefreshMs() {
+        return cfg.getLong(LIST_REFRESH_MS);
+    }
+
+    /**
+     * Gets the sub-prefixes assigned to the task by the connector.
+     *
+     * @return the encoded sub-prefixes, or {@code null} if the connector did not assign them.
+     */
+    public String getListAssignment() {
+        return cfg.getString(LIST_ASSIGNMENT);
+    }
+
+    public boolean isListAssign() {
+        return cfg.getBoolean(LIST_ASSIGN);
+    }
+
+    public long getListAssignRefreshMs() {
+        return cfg.getLong(LIST_ASSIGN_REFRESH_MS);
+    }
+
+    public String getInventoryManifest() {
+        return cfg.getString(INVENTORY_MANIFEST);
+    }
+
+    public String getInventoryCheckpointKey() {
+        return cfg.getString(INVENTORY_CHECKPOINT_KEY);
+    }
+
+    public String getListingCheckpointKey() {
+        return cfg.getString(LISTING_CHECKPOINT_KEY);
+    }
+
+    public String getSeenFilterCheckpointKey() {
+        return cfg.getString(SEEN_FILTER_CHECKPOINT_KEY);
+    }
+
+    public String getClaimPrefix() {
+        return cfg.getString(CLAIM_PREFIX);
+    }
+
+    public String getSqsQueueUrl() {
+        return cfg.getString(SQS_QUEUE_URL);
+    }
+
+    public String getSqsEndpoint() {
+        return cfg.getString(SQS_ENDPOINT);
+    }
+
+    public int getSqsWaitTimeSeconds() {
+        return cfg.getInt(SQS_WAIT_TIME_SECONDS);
+    }
+
+    public long getSqsReconcileIntervalMs() {
+        return cfg.getLong(SQS_RECONCILE_INTERVAL_MS);
+    }
+
+    public int getSqsVisibilityTimeoutSeconds() {
+        return cfg.getInt(SQS_VISIBILITY_TIMEOUT_SECONDS);
+    }
+
     /**
      * Handle moving deprecated values.
      *
@@ -702,6 +946,82 @@ public final class S3ConfigFragment extends ConfigFragment {
             return setValue(FETCH_PAGE_SIZE, fetchPageSize);
         }
 
+        public Setter fetchPrefetchPages(final int fetchPrefetchPages) {
+            return setValue(FETCH_PREFETCH_PAGES, fetchPrefetchPages);
+        }
+
+        public Setter listPrefixes(final String... prefixes) {
+            return setValue(LIST_PREFIXES, String.join(",", prefixes));
+        }
+
+        public Setter listDelimiter(final String delimiter) {
+            return setValue(LIST_DELIMITER, delimiter);
+        }
+
+        public Setter listDepth(final int depth) {
+            return setValue(LIST_DEPTH, depth);
+        }
+
+        public Setter listConcurrency(final int concurrency) {
+            return setValue(LIST_CONCURRENCY, concurrency);
+        }
+
+        public Setter listRefreshMs(final long refreshMs) {
+            return setValue(LIST_REFRESH_MS, refreshMs);
+        }
+
+        public Setter listAssignment(final String assignment) {
+            return setValue(LIST_ASSIGNMENT, assignment);
+        }
+
+        public Setter listAssign(final boolean listAssign) {
+            return setValue(LIST_ASSIGN, listAssign);
+        }
+
+        public Setter listAssignRefreshMs(final long refreshMs) {
+            return setValue(LIST_ASSIGN_REFRESH_MS, refreshMs);
+        }
+
+        public Setter inventoryManifest(final String manifest) {
+            return setValue(INVENTORY_MANIFEST, manifest);
+        }
+
+        public Setter inventoryCheckpointKey(final String checkpointKey) {
+            return setValue(INVENTORY_CHECKPOINT_KEY, checkpointKey);
+        }
+
+        public Setter listingCheckpointKey(final String checkpointKey) {
+            return setValue(LISTING_CHECKPOINT_KEY, checkpointKey);
+        }
+
+        public Setter seenFilterCheckpointKey(final String checkpointKey) {
+            return setValue(SEEN_FILTER_CHECKPOINT_KEY, checkpointKey);
+        }
+
+        public Setter claimPrefix(final String claimPrefix) {
+            return setValue(CLAIM_PREFIX, claimPrefix);
+        }
+
+        public Setter sqsQueueUrl(final String queueUrl) {
+            return setValue(SQS_QUEUE_URL, queueUrl);
+        }
+
+        public Setter sqsEndpoint(final String endpoint) {
+            return setValue(SQS_ENDPOINT, endpoint);
+        }
+
+        public Setter sqsWaitTimeSeconds(final int waitTimeSeconds) {
+            return setValue(SQS_WAIT_TIME_SECONDS, waitTimeSeconds);
+        }
+
+        public Setter sqsReconcileIntervalMs(final long reconcileIntervalMs) {
+            return setValue(SQS_RECONCILE_INTERVAL_MS, reconcileIntervalMs);
+        }
+
+        public Setter sqsVisibilityTimeoutSeconds(final int visibilityTimeoutSeconds) {
+            return setValue(SQS_VISIBILITY_TIMEOUT_SECONDS, visibilityTimeoutSeconds);
+        }
+
         public Setter partSize(final int partSize) {
             return setValue(AWS_S3_PART_SIZE, partSize);
         }
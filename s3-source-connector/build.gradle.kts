@@ -74,7 +74,14 @@ dependencies {
   implementation(project(":commons"))
   implementation(project(":s3-commons"))
   implementation(amazonawssdk.s3)
+  implementation(amazonawssdk.sqs)
   implementation(amazonawssdk.sts)
+  implementation(jackson.databind)
+  implementation(apache.parquet.avro) {
+    exclude(group = "org.xerial.snappy", module = "snappy-java")
+    exclude(group = "org.slf4j", module = "slf4j-api")
+    exclude(group = "org.apache.avro", module = "avro")
+  }
 
   implementation(tools.spotbugs.annotations)
   implementation(logginglibs.slf4j)
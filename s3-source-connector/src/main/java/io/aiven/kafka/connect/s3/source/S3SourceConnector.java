@@ -23,14 +23,23 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.connect.connector.Task;
 import org.apache.kafka.connect.source.SourceConnector;
 
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+import io.aiven.kafka.connect.s3.source.utils.AWSV2SourceClient;
+import io.aiven.kafka.connect.s3.source.utils.ListingShard;
 import io.aiven.kafka.connect.s3.source.utils.Version;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +53,18 @@ public class S3SourceConnector extends SourceConnector {
 
     private Map<String, String> configProperties;
 
+    /** The client that discovers the sub-prefixes, {@code null} unless the connector assigns them to the tasks */
+    private AWSV2SourceClient sourceClient;
+
+    /** The configured prefix that the sub-prefixes start with */
+    private String basePrefix;
+
+    /** The sub-prefixes assigned to the tasks, empty if each task lists the whole bucket */
+    private volatile List<ListingShard> shards = List.of();
+
+    /** Rediscovers the sub-prefixes, {@code null} unless the connector assigns them to the tasks */
+    private ScheduledExecutorService monitor;
+
     @Override
     public ConfigDef config() {
         return S3SourceConfig.configDef();
@@ -61,24 +82,93 @@ public class S3SourceConnector extends SourceConnector {
 
     @Override
     public List<Map<String, String>> taskConfigs(final int maxTasks) {
+        final List<ListingShard> assigned = shards;
         final var taskProps = new ArrayList<Map<String, String>>();
         for (int i = 0; i < maxTasks; i++) {
             final var props = new HashMap<>(configProperties); // NOPMD
             props.put(TASK_ID, String.valueOf(i));
+            if (!assigned.isEmpty()) {
+                assignShards(props, assigned, basePrefix, i, maxTasks);
+            }
             taskProps.add(props);
         }
         return taskProps;
     }
 
+    /**
+     * Assigns every {@code maxTasks}th sub-prefix, starting with the {@code taskId}th, to a task.
+     *
+     * @param props
+     *            the task properties to update.
+     * @param shards
+     *            the sub-prefixes in key order.
+     * @param basePrefix
+     *            the configured prefix that the sub-prefixes start with.
+     * @param taskId
+     *            the task id.
+     * @param maxTasks
+     *            the number of tasks.
+     */
+    static void assignShards(final Map<String, String> props, final List<ListingShard> shards,
+            final String basePrefix, final int taskId, final int maxTasks) {
+        final List<ListingShard> taskShards = new ArrayList<>();
+        for (int i = taskId; i < shards.size(); i += maxTasks) {
+            taskShards.add(shards.get(i));
+        }
+        S3ConfigFragment.setter(props).listAssignment(ListingShard.format(taskShards, basePrefix));
+        SourceConfigFragment.setter(props).listingAssigned(true);
+    }
+
     @Override
     public void start(final Map<String, String> properties) {
         Objects.requireNonNull(properties, "properties haven't been set");
         configProperties = Map.copyOf(properties);
+        final S3SourceConfig config = new S3SourceConfig(configProperties);
+        if (config.isListAssign()) {
+            basePrefix = StringUtils.defaultString(config.getAwsS3Prefix());
+            sourceClient = new AWSV2SourceClient(config);
+            monitor = Executors.newSingleThreadScheduledExecutor(
+                    new BasicThreadFactory.Builder().namingPattern("s3-source-prefix-monitor-%d").daemon(true).build());
+            // discovery can take a long time on large buckets so it does not block the start. Until it completes the
+            // tasks list the whole bucket, once the sub-prefixes are found the tasks are reconfigured.
+            final long refreshMs = config.getListAssignRefreshMs();
+            if (refreshMs > 0) {
+                monitor.scheduleWithFixedDelay(this::refreshShards, 0, refreshMs, TimeUnit.MILLISECONDS);
+            } else {
+                monitor.execute(this::refreshShards);
+            }
+        }
         LOGGER.info("Start S3 Source connector");
     }
 
+    /**
+     * Rediscovers the sub-prefixes and requests a task reconfiguration if they have changed.
+     */
+    private void refreshShards() {
+        try {
+            final List<ListingShard> discovered = sourceClient.getListingShards();
+            if (!discovered.equals(shards)) {
+                LOGGER.info("Sub-prefixes changed from {} to {}, assigning them to the tasks", shards.size(),
+                        discovered.size());
+                shards = discovered;
+                context.requestTaskReconfiguration();
+            }
+        } catch (RuntimeException e) { // NOPMD AvoidCatchingGenericException
+            // keep the current assignment and try again on the next refresh.
+            LOGGER.warn("Unable to discover the sub-prefixes", e);
+        }
+    }
+
     @Override
     public void stop() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+            monitor = null; // NOPMD NullAssignment
+        }
+        if (sourceClient != null) {
+            sourceClient.shutdown();
+            sourceClient = null; // NOPMD NullAssignment
+        }
         LOGGER.info("Stop S3 Source connector");
     }
 }
@@ -48,6 +48,8 @@ public class S3SourceTask extends AbstractSourceTask {
 
     /** An iterator or S3SourceRecords */
     private Iterator<S3SourceRecord> s3SourceRecordIterator;
+    /** The iterator created by {@link #configure(Map)}, used to write the checkpoints */
+    private S3SourceRecordIterator recordIterator;
     /**
      * The transformer that we are using TODO move this to AbstractSourceTask
      */
@@ -105,7 +107,13 @@ public class S3SourceTask extends AbstractSourceTask {
             @Override
             public SourceRecord next() {
                 final S3SourceRecord s3SourceRecord = s3SourceRecordIterator.next();
-                return s3SourceRecord.getSourceRecord(s3SourceConfig.getErrorsTolerance(), offsetManager);
+                final SourceRecord sourceRecord = s3SourceRecord.getSourceRecord(s3SourceConfig.getErrorsTolerance(),
+                        offsetManager);
+                if (sourceRecord != null && recordIterator != null) {
+                    recordIterator.getCommitTracker()
+                            .ifPresent(tracker -> tracker.produced(s3SourceRecord.getNativeKey(), sourceRecord));
+                }
+                return sourceRecord;
             }
         };
         return IteratorUtils.filteredIterator(inner, Objects::nonNull);
@@ -116,15 +124,23 @@ public class S3SourceTask extends AbstractSourceTask {
         LOGGER.info("S3 Source task started.");
         this.s3SourceConfig = new S3SourceConfig(props);
         this.transformer = s3SourceConfig.getTransformer();
-        offsetManager = new OffsetManager<>(context);
+        offsetManager = new OffsetManager<>(context, s3SourceConfig.isOffsetFormatFallback());
         awsv2SourceClient = new AWSV2SourceClient(s3SourceConfig);
-        setS3SourceRecordIterator(
-                new S3SourceRecordIterator(s3SourceConfig, offsetManager, this.transformer, awsv2SourceClient));
+        recordIterator = new S3SourceRecordIterator(s3SourceConfig, offsetManager, this.transformer,
+                awsv2SourceClient);
+        setS3SourceRecordIterator(recordIterator);
         return s3SourceConfig;
     }
 
     @Override
     public void commit() {
+        if (recordIterator != null) {
+            try {
+                recordIterator.checkpoint();
+            } catch (SdkException e) {
+                LOGGER.warn("Unable to write the checkpoints", e);
+            }
+        }
         LOGGER.info("Committed all records through last poll()");
     }
 
@@ -133,6 +149,9 @@ public class S3SourceTask extends AbstractSourceTask {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Kafka Acked record {}, see readme for details", (Map<String, Object>) record.sourceOffset());
         }
+        if (recordIterator != null) {
+            recordIterator.getCommitTracker().ifPresent(tracker -> tracker.committed(record));
+        }
     }
 
     /**
@@ -147,7 +166,13 @@ public class S3SourceTask extends AbstractSourceTask {
 
     @Override
     protected void closeResources() {
+        if (recordIterator != null) {
+            recordIterator.close();
+        }
         awsv2SourceClient.shutdown();
+        if (transformer != null) {
+            transformer.shutdown();
+        }
     }
 
     // below for visibility in tests
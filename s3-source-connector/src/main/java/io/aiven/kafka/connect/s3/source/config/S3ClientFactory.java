@@ -26,6 +26,8 @@ import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.retries.api.internal.backoff.ExponentialDelayWithJitter;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsClientBuilder;
 
 public class S3ClientFactory {
 
@@ -59,4 +61,21 @@ public class S3ClientFactory {
 
     }
 
+    /**
+     * Creates the client that receives the S3 event notifications.
+     *
+     * @param config
+     *            the source configuration.
+     * @return the SQS client.
+     */
+    public SqsClient createSqsClient(final S3SourceConfig config) {
+        final SqsClientBuilder builder = SqsClient.builder()
+                .overrideConfiguration(o -> o.retryStrategy(RetryMode.STANDARD))
+                .region(config.getAwsS3Region())
+                .credentialsProvider(config.getAwsV2Provider());
+        if (Objects.nonNull(config.getSqsEndpoint())) {
+            builder.endpointOverride(URI.create(config.getSqsEndpoint()));
+        }
+        return builder.build();
+    }
 }
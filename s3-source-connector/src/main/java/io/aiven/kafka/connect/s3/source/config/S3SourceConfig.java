@@ -18,9 +18,16 @@ package io.aiven.kafka.connect.s3.source.config;
 
 import static io.aiven.kafka.connect.config.s3.S3CommonConfig.handleDeprecatedYyyyUppercase;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
 
 import io.aiven.kafka.connect.common.config.FileNameFragment;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
@@ -38,6 +45,9 @@ import software.amazon.awssdk.regions.Region;
 
 final public class S3SourceConfig extends SourceCommonConfig {
 
+    /** The variable in the queue URL that is replaced with the task id */
+    private static final String TASK_ID_VARIABLE = "{{task_id}}";
+
     private final S3ConfigFragment s3ConfigFragment;
     private final SourceConfigFragment sourceConfigFragment;
     private final AwsCredentialProviderFactory awsCredentialsProviderFactory;
@@ -67,6 +77,10 @@ final public class S3SourceConfig extends SourceCommonConfig {
         // e.g. SourceConfigFragment, FileNameFragment, TransformerFragment and OutputFormatFragment are all
         // validated in SourceCommonConfig.
         s3ConfigFragment.validate();
+        if (isWorkStealing() && getClaimPrefix() == null) {
+            throw new ConfigException(String.format("%s must be set when %s is true", S3ConfigFragment.CLAIM_PREFIX,
+                    SourceConfigFragment.WORK_STEALING));
+        }
     }
 
     public AwsStsRole getStsRole() {
@@ -133,6 +147,132 @@ final public class S3SourceConfig extends SourceCommonConfig {
         return s3ConfigFragment.getFetchPageSize();
     }
 
+    public int getFetchPrefetchPages() {
+        return s3ConfigFragment.getFetchPrefetchPages();
+    }
+
+    public List<String> getListPrefixes() {
+        return s3ConfigFragment.getListPrefixes();
+    }
+
+    public String getListDelimiter() {
+        return s3ConfigFragment.getListDelimiter();
+    }
+
+    public int getListDepth() {
+        return s3ConfigFragment.getListDepth();
+    }
+
+    public int getListConcurrency() {
+        return s3ConfigFragment.getListConcurrency();
+    }
+
+    public long getListRefreshMs() {
+        return s3ConfigFragment.getListRefreshMs();
+    }
+
+    public String getListAssignment() {
+        return s3ConfigFragment.getListAssignment();
+    }
+
+    public boolean isListAssign() {
+        return s3ConfigFragment.isListAssign();
+    }
+
+    public long getListAssignRefreshMs() {
+        return s3ConfigFragment.getListAssignRefreshMs();
+    }
+
+    public String getInventoryManifest() {
+        return s3ConfigFragment.getInventoryManifest();
+    }
+
+    /**
+     * Gets the key of the object that this task records that it has read the inventory in.
+     *
+     * @return the checkpoint key, or {@code null} if reading the inventory is not checkpointed.
+     */
+    public String getInventoryCheckpointKey() {
+        return replaceTaskId(s3ConfigFragment.getInventoryCheckpointKey());
+    }
+
+    /**
+     * Gets the key of the object that this task checkpoints its recently completed object keys to.
+     *
+     * @return the checkpoint key, or {@code null} if the keys are not checkpointed.
+     */
+    public String getListingCheckpointKey() {
+        return replaceTaskId(s3ConfigFragment.getListingCheckpointKey());
+    }
+
+    /**
+     * Gets the key of the object that this task checkpoints the seen object filter to.
+     *
+     * @return the checkpoint key, or {@code null} if the filter is not checkpointed.
+     */
+    public String getSeenFilterCheckpointKey() {
+        return replaceTaskId(s3ConfigFragment.getSeenFilterCheckpointKey());
+    }
+
+    /**
+     * Gets the patterns of the keys that the tasks of the connector write their checkpoints to. The task id variable
+     * matches the id of any task, so the checkpoints of the other tasks are matched as well.
+     *
+     * @return the patterns of the checkpoint keys, empty if nothing is checkpointed.
+     */
+    public List<Pattern> getCheckpointKeyPatterns() {
+        return Stream
+                .of(s3ConfigFragment.getInventoryCheckpointKey(), s3ConfigFragment.getListingCheckpointKey(),
+                        s3ConfigFragment.getSeenFilterCheckpointKey())
+                .filter(Objects::nonNull)
+                .map(key -> Pattern.compile(Arrays.stream(key.split(Pattern.quote(TASK_ID_VARIABLE), -1))
+                        .map(Pattern::quote)
+                        .collect(Collectors.joining("\\d+"))))
+                .collect(Collectors.toList());
+    }
+
+    public String getClaimPrefix() {
+        return s3ConfigFragment.getClaimPrefix();
+    }
+
+    /**
+     * Replaces the task id variable in a configured value with the id of this task.
+     *
+     * @param value
+     *            the configured value. May be {@code null}.
+     * @return the value for this task.
+     */
+    private String replaceTaskId(final String value) {
+        return value != null && value.contains(TASK_ID_VARIABLE)
+                ? value.replace(TASK_ID_VARIABLE, String.valueOf(getTaskId()))
+                : value;
+    }
+
+    /**
+     * Gets the URL of the queue that receives the event notifications for this task.
+     *
+     * @return the queue URL, or {@code null} if objects are only discovered by listing the bucket.
+     */
+    public String getSqsQueueUrl() {
+        return replaceTaskId(s3ConfigFragment.getSqsQueueUrl());
+    }
+
+    public String getSqsEndpoint() {
+        return s3ConfigFragment.getSqsEndpoint();
+    }
+
+    public int getSqsWaitTimeSeconds() {
+        return s3ConfigFragment.getSqsWaitTimeSeconds();
+    }
+
+    public long getSqsReconcileIntervalMs() {
+        return s3ConfigFragment.getSqsReconcileIntervalMs();
+    }
+
+    public int getSqsVisibilityTimeoutSeconds() {
+        return s3ConfigFragment.getSqsVisibilityTimeoutSeconds();
+    }
+
     public AwsCredentialsProvider getAwsV2Provider() {
         return awsCredentialsProviderFactory.getAwsV2Provider(s3ConfigFragment);
     }
@@ -16,22 +16,53 @@
 
 package io.aiven.kafka.connect.s3.source.utils;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import io.aiven.commons.collections.PrefetchingIterator;
+import io.aiven.kafka.connect.common.source.CommitTracker;
 import io.aiven.kafka.connect.s3.source.config.S3ClientFactory;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
 
+import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.io.function.IOSupplier;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 /**
@@ -40,10 +71,45 @@ import software.amazon.awssdk.services.s3.model.S3Object;
  */
 public class AWSV2SourceClient {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AWSV2SourceClient.class);
+
+    /** The status of a conditional write to an object that does not exist */
+    private static final int NOT_FOUND = 404;
+    /** The status of a conditional write to an object that exists, or that has changed */
+    private static final int PRECONDITION_FAILED = 412;
+    /** The status of a conditional write that conflicts with a concurrent conditional write */
+    private static final int CONFLICT = 409;
+
     private final S3SourceConfig s3SourceConfig;
     private final S3Client s3Client;
     private final String bucketName;
 
+    /** The executor that fetches listing pages ahead of the consumer, created on first use */
+    private ExecutorService listingExecutor;
+    /** The executor that lists the sub-prefixes concurrently, created on first use */
+    private ExecutorService shardExecutor;
+    /** The sub-prefixes found by the last discovery, {@code null} until discovered */
+    private List<ListingShard> discoveredShards;
+    /** The time in milliseconds after which the sub-prefixes are discovered again */
+    private long discoveryExpiryMs;
+
+    /** The source of the event notifications, {@code null} if objects are only discovered by listing */
+    private final S3EventNotificationSource notificationSource;
+    /** The reader of the inventory to backfill from, {@code null} if there is no inventory */
+    private final S3InventoryReader inventoryReader;
+    /** {@code true} once the inventory has been read */
+    private boolean inventoryRead;
+    /** The last key in the inventory, the first listing after the inventory continues after this key */
+    private String inventoryLastKey;
+    /** {@code true} when the next listing lists from the configured start key to pick up objects below the inventory */
+    private boolean inventoryBackfillDue;
+    /** The key of the inventory checkpoint, {@code null} if reading the inventory is not checkpointed */
+    private final String inventoryCheckpointKey;
+    /** The inventory checkpoint to write on the next commit, {@code null} if there is none */
+    private byte[] inventoryCheckpoint;
+    /** Tracks the commits of the notified objects so that their notifications are acknowledged */
+    private final CommitTracker<String> commitTracker = new CommitTracker<>();
+
     private Predicate<S3Object> filterPredicate = s3Object -> s3Object.size() > 0;
 
     /**
@@ -51,7 +117,12 @@ public class AWSV2SourceClient {
      *            configuration for Source connector
      */
     public AWSV2SourceClient(final S3SourceConfig s3SourceConfig) {
-        this(new S3ClientFactory().createAmazonS3Client(s3SourceConfig), s3SourceConfig);
+        this(new S3ClientFactory().createAmazonS3Client(s3SourceConfig),
+                s3SourceConfig.getSqsQueueUrl() == null
+                        ? null
+                        : new S3EventNotificationSource(new S3ClientFactory().createSqsClient(s3SourceConfig),
+                                s3SourceConfig),
+                s3SourceConfig);
     }
 
     /**
@@ -63,19 +134,174 @@ public class AWSV2SourceClient {
      *            configuration for Source connector
      */
     AWSV2SourceClient(final S3Client s3Client, final S3SourceConfig s3SourceConfig) {
+        this(s3Client, null, s3SourceConfig);
+    }
+
+    /**
+     * Valid for testing
+     *
+     * @param s3Client
+     *            amazonS3Client
+     * @param notificationSource
+     *            the source of event notifications, may be {@code null}.
+     * @param s3SourceConfig
+     *            configuration for Source connector
+     */
+    AWSV2SourceClient(final S3Client s3Client, final S3EventNotificationSource notificationSource,
+            final S3SourceConfig s3SourceConfig) {
         this.s3SourceConfig = s3SourceConfig;
         this.s3Client = s3Client;
+        this.notificationSource = notificationSource;
         this.bucketName = s3SourceConfig.getAwsS3BucketName();
+        this.inventoryReader = s3SourceConfig.getInventoryManifest() == null
+                ? null
+                : new S3InventoryReader(s3Client, s3SourceConfig.getInventoryManifest());
+        this.inventoryCheckpointKey = inventoryReader == null ? null : s3SourceConfig.getInventoryCheckpointKey();
+        if (inventoryCheckpointKey != null) {
+            readObject(inventoryCheckpointKey).ifPresent(this::restoreInventoryCheckpoint);
+        }
     }
 
     /**
-     * Creates a stream from which we will create an iterator.
+     * Restores the inventory checkpoint. The checkpoint is the manifest location and the last key in the inventory on
+     * separate lines. It is ignored if the manifest location has changed.
+     *
+     * @param data
+     *            the checkpoint data.
+     */
+    private void restoreInventoryCheckpoint(final byte[] data) {
+        final String[] lines = new String(data, StandardCharsets.UTF_8).split("\n", 2);
+        if (lines.length == 2 && lines[0].equals(s3SourceConfig.getInventoryManifest())) {
+            LOGGER.info("The inventory {} has been read, listing from {}", lines[0], lines[1]);
+            inventoryRead = true;
+            inventoryLastKey = lines[1];
+        }
+    }
+
+    /**
+     * Writes the inventory checkpoint once the inventory has been read so that a restarted task does not read it
+     * again. The objects of the inventory that are not yet committed are picked up by the full listing that follows
+     * the inventory. Does nothing if reading the inventory is not checkpointed.
+     */
+    public void checkpointInventory() {
+        if (inventoryCheckpoint != null) {
+            writeObject(inventoryCheckpointKey, inventoryCheckpoint);
+            inventoryCheckpoint = null;
+            LOGGER.debug("Checkpointed inventory to {}", inventoryCheckpointKey);
+        }
+    }
+
+    /**
+     * Creates a stream from which we will create an iterator. When event notifications are configured the stream
+     * contains the objects from the notifications received since the last call, preceded by a listing of the bucket at
+     * start up and every reconcile interval. Objects that are both listed and notified are skipped by the ring buffer
+     * or the stored offsets. When an inventory is configured the first stream contains the objects in the inventory,
+     * the first listing after it starts after the last key in the inventory and the next listing starts at the
+     * configured start key to pick up the objects written below that key while the inventory was read.
      *
      * @param startToken
      *            the beginning key, or {@code null} to start at the beginning.
      * @return a Stream of S3Objects for the current state of the S3 storage.
      */
     public Stream<S3Object> getS3ObjectStream(final String startToken) {
+        if (inventoryReader != null && !inventoryRead) {
+            inventoryRead = true;
+            return inventoryReader.getObjectStream(bucketName, s3SourceConfig.getAwsS3Prefix())
+                    .peek(s3Object -> inventoryLastKey = ObjectUtils.max(inventoryLastKey, s3Object.key()))
+                    .filter(filterPredicate.and(getAssignmentFilter()));
+        }
+        if (notificationSource == null) {
+            return listObjects(startToken);
+        }
+        final Predicate<S3Object> accepted = filterPredicate.and(getAssignmentFilter());
+        final List<S3Object> notifiedObjects = new ArrayList<>();
+        for (final S3Object s3Object : notificationSource.receive()) {
+            if (accepted.test(s3Object)) {
+                // the notification is acknowledged once the records of the object have been committed.
+                commitTracker.track(s3Object.key(), () -> notificationSource.acknowledge(s3Object.key()));
+                notifiedObjects.add(s3Object);
+            } else {
+                notificationSource.acknowledge(s3Object.key());
+            }
+        }
+        final Stream<S3Object> notified = notifiedObjects.stream();
+        // notified objects are not processed in key order so the reconciliation lists from the configured start.
+        return notificationSource.isReconcileDue()
+                ? Stream.concat(listObjects(s3SourceConfig.getNativeStartKey()), notified)
+                : notified;
+    }
+
+    /**
+     * Gets the tracker that is notified as the objects are read. The objects are only tracked when there are actions to
+     * run once they are committed: acknowledging event notifications, releasing the claims of work stealing or adding
+     * them to the checkpointed seen object filter and ring buffer.
+     *
+     * @return the commit tracker or an empty Optional if there are no event notifications, work stealing is disabled
+     *         and neither the seen object filter nor the ring buffer is checkpointed.
+     */
+    public Optional<CommitTracker<String>> getCommitTracker() {
+        return notificationSource == null && !s3SourceConfig.isWorkStealing()
+                && s3SourceConfig.getSeenFilterCheckpointKey() == null
+                && s3SourceConfig.getListingCheckpointKey() == null ? Optional.empty() : Optional.of(commitTracker);
+    }
+
+    /**
+     * Gets the filter for objects that were not found by listing, such as those from the inventory or notifications.
+     *
+     * @return a filter that accepts the objects under the sub-prefixes assigned to this task.
+     */
+    private Predicate<S3Object> getAssignmentFilter() {
+        if (!s3SourceConfig.isListingAssigned()) {
+            return s3Object -> true;
+        }
+        final List<ListingShard> shards = getAssignedShards();
+        final String delimiter = s3SourceConfig.getListDelimiter();
+        return s3Object -> shards.stream().anyMatch(shard -> shard.contains(s3Object.key(), delimiter));
+    }
+
+    /**
+     * Gets the sub-prefixes that the connector assigned to this task.
+     *
+     * @return the assigned sub-prefixes.
+     */
+    private List<ListingShard> getAssignedShards() {
+        return ListingShard.parse(s3SourceConfig.getListAssignment(),
+                StringUtils.defaultString(s3SourceConfig.getAwsS3Prefix()));
+    }
+
+    /**
+     * Lists the objects in the bucket.
+     *
+     * @param startKey
+     *            the beginning key, or {@code null} to start at the beginning.
+     * @return a Stream of S3Objects for the current state of the S3 storage.
+     */
+    private Stream<S3Object> listObjects(final String startKey) {
+        final String startToken;
+        if (inventoryLastKey != null) {
+            // the objects up to the last key in the inventory have already been read.
+            startToken = ObjectUtils.max(startKey, inventoryLastKey);
+            if (inventoryCheckpointKey != null) {
+                inventoryCheckpoint = (s3SourceConfig.getInventoryManifest() + "\n" + inventoryLastKey)
+                        .getBytes(StandardCharsets.UTF_8);
+            }
+            inventoryLastKey = null;
+            inventoryBackfillDue = true;
+        } else if (inventoryBackfillDue) {
+            // objects written below the last key after the inventory was taken are only found by a full listing.
+            startToken = s3SourceConfig.getNativeStartKey();
+            inventoryBackfillDue = false;
+        } else {
+            startToken = startKey;
+        }
+        if (s3SourceConfig.isListingAssigned()) {
+            // the connector assigned the sub-prefixes that this task lists.
+            return getShardedObjectStream(getAssignedShards(), startToken);
+        }
+        final List<ListingShard> shards = getCachedListingShards();
+        if (!shards.isEmpty()) {
+            return getShardedObjectStream(shards, startToken);
+        }
         final ListObjectsV2Request request = ListObjectsV2Request.builder()
                 .bucket(bucketName)
                 .maxKeys(s3SourceConfig.getFetchPageSize())
@@ -83,19 +309,153 @@ public class AWSV2SourceClient {
                 .startAfter(StringUtils.defaultIfBlank(startToken, null))
                 .build();
 
-        return Stream.iterate(s3Client.listObjectsV2(request), Objects::nonNull, response -> {
-            // This is called every time next() is called on the iterator.
-            if (response.isTruncated()) {
-                return s3Client.listObjectsV2(ListObjectsV2Request.builder()
-                        .bucket(bucketName)
-                        .maxKeys(s3SourceConfig.getFetchPageSize())
-                        .continuationToken(response.nextContinuationToken())
-                        .build());
-            } else {
-                return null;
+        final Stream<ListObjectsV2Response> pages = Stream.iterate(s3Client.listObjectsV2(request), Objects::nonNull,
+                response -> {
+                    // This is called every time next() is called on the iterator.
+                    if (response.isTruncated()) {
+                        return s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                                .bucket(bucketName)
+                                .maxKeys(s3SourceConfig.getFetchPageSize())
+                                .continuationToken(response.nextContinuationToken())
+                                .build());
+                    } else {
+                        return null;
+                    }
+                });
+        final int prefetchPages = s3SourceConfig.getFetchPrefetchPages();
+        return (prefetchPages > 0
+                ? PrefetchingIterator.stream(pages.iterator(), prefetchPages, getListingExecutor())
+                : pages).flatMap(response -> response.contents().stream().filter(filterPredicate));
+    }
+
+    /**
+     * Gets the sub-prefixes to list concurrently for a listing. Discovered sub-prefixes are reused until the list
+     * refresh interval has passed so that the discovery listing is not repeated for every listing.
+     *
+     * @return the sub-prefixes to list in key order, empty if the listing is not sharded.
+     */
+    private List<ListingShard> getCachedListingShards() {
+        if (!s3SourceConfig.getListPrefixes().isEmpty() || s3SourceConfig.getListDelimiter() == null) {
+            return getListingShards();
+        }
+        final long now = System.currentTimeMillis();
+        if (discoveredShards == null || now >= discoveryExpiryMs) {
+            discoveredShards = getListingShards();
+            discoveryExpiryMs = now + s3SourceConfig.getListRefreshMs();
+        }
+        return discoveredShards;
+    }
+
+    /**
+     * Gets the sub-prefixes to list concurrently. These are either the configured sub-prefixes or those discovered by
+     * listing the levels below the prefix with the configured delimiter. Discovery is performed on each call so that
+     * new sub-prefixes, for example for a new topic, are picked up.
+     *
+     * @return the sub-prefixes to list in key order, empty if the listing is not sharded.
+     */
+    public List<ListingShard> getListingShards() {
+        final String prefix = StringUtils.defaultString(s3SourceConfig.getAwsS3Prefix());
+        final List<ListingShard> shards = new ArrayList<>();
+        final List<String> configured = s3SourceConfig.getListPrefixes();
+        if (!configured.isEmpty()) {
+            configured.stream().sorted().forEach(subPrefix -> shards.add(new ListingShard(prefix + subPrefix, false)));
+            return shards;
+        }
+        final String delimiter = s3SourceConfig.getListDelimiter();
+        if (delimiter == null) {
+            return shards;
+        }
+        List<String> level = List.of(prefix);
+        for (int depth = 0; depth < s3SourceConfig.getListDepth() && !level.isEmpty(); depth++) {
+            final List<String> nextLevel = new ArrayList<>();
+            for (final String levelPrefix : level) {
+                if (discoverPrefixes(levelPrefix, delimiter, nextLevel)) {
+                    // objects directly under this prefix are not under any of the discovered sub-prefixes.
+                    shards.add(new ListingShard(levelPrefix, true));
+                }
             }
+            level = nextLevel;
+        }
+        level.forEach(levelPrefix -> shards.add(new ListingShard(levelPrefix, false)));
+        shards.sort(Comparator.comparing(ListingShard::getPrefix));
+        return shards;
+    }
 
-        }).flatMap(response -> response.contents().stream().filter(filterPredicate));
+    /**
+     * Lists one level below the prefix.
+     *
+     * @param prefix
+     *            the prefix to list.
+     * @param delimiter
+     *            the delimiter that separates the levels.
+     * @param subPrefixes
+     *            the list to add the sub-prefixes found to.
+     * @return {@code true} if there are objects directly under the prefix.
+     */
+    private boolean discoverPrefixes(final String prefix, final String delimiter, final List<String> subPrefixes) {
+        boolean hasObjects = false;
+        String continuationToken = null;
+        do {
+            final ListObjectsV2Response response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .prefix(StringUtils.defaultIfEmpty(prefix, null))
+                    .delimiter(delimiter)
+                    .continuationToken(continuationToken)
+                    .build());
+            hasObjects |= !response.contents().isEmpty();
+            response.commonPrefixes().forEach(commonPrefix -> subPrefixes.add(commonPrefix.prefix()));
+            continuationToken = Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null;
+        } while (continuationToken != null);
+        return hasObjects;
+    }
+
+    /**
+     * Lists the sub-prefixes concurrently and merges the results in key order, so the stream is ordered in the same way
+     * as a single listing of the prefix.
+     *
+     * @param shards
+     *            the sub-prefixes to list.
+     * @param startToken
+     *            the beginning key, or {@code null} to start at the beginning.
+     * @return a Stream of S3Objects under the sub-prefixes.
+     */
+    private Stream<S3Object> getShardedObjectStream(final List<ListingShard> shards, final String startToken) {
+        final Executor executor = getShardExecutor();
+        final List<ShardIterator> iterators = new ArrayList<>();
+        shards.forEach(shard -> iterators.add(new ShardIterator(shard, startToken, executor)));
+        final Iterator<S3Object> merged = IteratorUtils.collatedIterator(Comparator.comparing(S3Object::key),
+                iterators);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> iterators.forEach(ShardIterator::close))
+                .filter(filterPredicate);
+    }
+
+    /**
+     * Gets the executor that lists the sub-prefixes. Each task fetches a single page so the pool size bounds the
+     * number of concurrent listing requests.
+     *
+     * @return the executor that lists the sub-prefixes.
+     */
+    private synchronized ExecutorService getShardExecutor() {
+        if (shardExecutor == null) {
+            shardExecutor = Executors.newFixedThreadPool(s3SourceConfig.getListConcurrency(),
+                    new BasicThreadFactory.Builder().namingPattern("s3-source-shard-listing-%d").daemon(true).build());
+        }
+        return shardExecutor;
+    }
+
+    /**
+     * Gets the executor that fetches listing pages ahead of the consumer.
+     *
+     * @return the executor that fetches listing pages.
+     */
+    private synchronized ExecutorService getListingExecutor() {
+        if (listingExecutor == null) {
+            listingExecutor = Executors.newCachedThreadPool(
+                    new BasicThreadFactory.Builder().namingPattern("s3-source-listing-%d").daemon(true).build());
+        }
+        return listingExecutor;
     }
 
     /**
@@ -115,7 +475,148 @@ public class AWSV2SourceClient {
         return s3ObjectResponse::asInputStream;
     }
 
+    /**
+     * Gets the object data starting at the specified byte offset using a ranged read. The data is streamed, also for
+     * an offset of 0, so that the object is never held in memory and a reader that stops part way through the object,
+     * for example at the end of a split, does not transfer the remainder of the object.
+     *
+     * @param objectKey
+     *            the key of the object to read.
+     * @param offset
+     *            the byte offset of the first byte to read.
+     * @return an IOSupplier for the object data from the offset to the end of the object.
+     */
+    public IOSupplier<InputStream> getObject(final String objectKey, final long offset) {
+        final GetObjectRequest.Builder builder = GetObjectRequest.builder().bucket(bucketName).key(objectKey);
+        if (offset > 0) {
+            builder.range("bytes=" + offset + "-");
+        }
+        final GetObjectRequest getObjectRequest = builder.build();
+        return () -> {
+            final ResponseInputStream<GetObjectResponse> response = s3Client.getObject(getObjectRequest);
+            return new FilterInputStream(response) {
+                @Override
+                public void close() throws IOException {
+                    // abort rather than drain any unread data.
+                    response.abort();
+                    super.close();
+                }
+            };
+        };
+    }
+
+    /**
+     * Reads a small object, such as a checkpoint, into memory.
+     *
+     * @param objectKey
+     *            the key of the object to read.
+     * @return the object data or an empty Optional if the object does not exist.
+     */
+    public Optional<byte[]> readObject(final String objectKey) {
+        return readObjectResponse(objectKey).map(ResponseBytes::asByteArray);
+    }
+
+    /**
+     * Reads a small object into memory together with its metadata, such as the ETag that a conditional write of the
+     * object can be made against.
+     *
+     * @param objectKey
+     *            the key of the object to read.
+     * @return the object data and response or an empty Optional if the object does not exist.
+     */
+    public Optional<ResponseBytes<GetObjectResponse>> readObjectResponse(final String objectKey) {
+        try {
+            final GetObjectRequest request = GetObjectRequest.builder().bucket(bucketName).key(objectKey).build();
+            return Optional.of(s3Client.getObjectAsBytes(request));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a small object, such as a checkpoint, replacing any existing object.
+     *
+     * @param objectKey
+     *            the key of the object to write.
+     * @param data
+     *            the object data.
+     */
+    public void writeObject(final String objectKey, final byte[] data) {
+        s3Client.putObject(PutObjectRequest.builder().bucket(bucketName).key(objectKey).build(),
+                RequestBody.fromBytes(data));
+    }
+
+    /**
+     * Writes a small object, such as a claim marker, if no object with the key exists. The check and the write are
+     * atomic so only one of any concurrent writers succeeds.
+     *
+     * @param objectKey
+     *            the key of the object to write.
+     * @param data
+     *            the object data.
+     * @return {@code true} if the object was written, {@code false} if it exists or is being written concurrently.
+     */
+    public boolean createObject(final String objectKey, final byte[] data) {
+        try {
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucketName).key(objectKey).ifNoneMatch("*").build(),
+                    RequestBody.fromBytes(data));
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == PRECONDITION_FAILED || e.statusCode() == CONFLICT) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces a small object, such as a claim marker, if it has not changed since it was read. The check and the write
+     * are atomic so only one of any concurrent writers succeeds.
+     *
+     * @param objectKey
+     *            the key of the object to write.
+     * @param data
+     *            the object data.
+     * @param eTag
+     *            the ETag of the object when it was read.
+     * @return {@code true} if the object was written, {@code false} if it has changed, has been deleted or is being
+     *         written concurrently.
+     */
+    public boolean replaceObject(final String objectKey, final byte[] data, final String eTag) {
+        try {
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucketName).key(objectKey).ifMatch(eTag).build(),
+                    RequestBody.fromBytes(data));
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == PRECONDITION_FAILED || e.statusCode() == CONFLICT || e.statusCode() == NOT_FOUND) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes an object, such as a claim marker.
+     *
+     * @param objectKey
+     *            the key of the object to delete.
+     */
+    public void deleteObject(final String objectKey) {
+        s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucketName).key(objectKey).build());
+    }
+
     public void shutdown() {
+        synchronized (this) {
+            if (listingExecutor != null) {
+                listingExecutor.shutdownNow();
+            }
+            if (shardExecutor != null) {
+                shardExecutor.shutdownNow();
+            }
+        }
+        if (notificationSource != null) {
+            notificationSource.shutdown();
+        }
         s3Client.close();
     }
 
@@ -123,4 +624,78 @@ public class AWSV2SourceClient {
         this.filterPredicate = this.filterPredicate.and(objectPredicate);
     }
 
+    /**
+     * Iterates over the objects of a single shard. The next page of the listing is fetched on the executor while the
+     * current page is being consumed.
+     */
+    private final class ShardIterator implements Iterator<S3Object> {
+        private final ListObjectsV2Request request;
+        private final Executor executor;
+        /** The page being fetched, {@code null} when the last page has been fetched */
+        private volatile CompletableFuture<ListObjectsV2Response> pending;
+        private Iterator<S3Object> current = Collections.emptyIterator();
+
+        ShardIterator(final ListingShard shard, final String startToken, final Executor executor) {
+            this.request = ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .maxKeys(s3SourceConfig.getFetchPageSize())
+                    .prefix(StringUtils.defaultIfEmpty(shard.getPrefix(), null))
+                    .delimiter(shard.isDirect() ? s3SourceConfig.getListDelimiter() : null)
+                    .startAfter(StringUtils.defaultIfBlank(startToken, null))
+                    .build();
+            this.executor = executor;
+            this.pending = CompletableFuture.supplyAsync(() -> s3Client.listObjectsV2(request), executor);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (pending == null) {
+                    return false;
+                }
+                final ListObjectsV2Response response = await(pending);
+                if (Boolean.TRUE.equals(response.isTruncated())) {
+                    final ListObjectsV2Request nextRequest = request.toBuilder()
+                            .startAfter(null)
+                            .continuationToken(response.nextContinuationToken())
+                            .build();
+                    pending = CompletableFuture.supplyAsync(() -> s3Client.listObjectsV2(nextRequest), executor);
+                } else {
+                    pending = null; // NOPMD NullAssignment
+                }
+                current = response.contents().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public S3Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        /**
+         * Cancels the page being fetched, if any.
+         */
+        void close() {
+            final CompletableFuture<ListObjectsV2Response> fetching = pending;
+            pending = null; // NOPMD NullAssignment
+            if (fetching != null) {
+                fetching.cancel(true);
+            }
+        }
+
+        private ListObjectsV2Response await(final CompletableFuture<ListObjectsV2Response> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
 }
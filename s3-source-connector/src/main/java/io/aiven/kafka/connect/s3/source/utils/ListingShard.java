@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A prefix of the bucket that is listed on its own. A direct shard lists only the objects directly under the prefix,
+ * as separated by the listing delimiter, while other shards list every object under the prefix.
+ */
+public final class ListingShard {
+    /** The marker for a shard that lists every object under the prefix */
+    private static final char RECURSIVE = 'r';
+    /** The marker for a shard that lists the objects directly under the prefix */
+    private static final char DIRECT = 'd';
+    /** The separator between shards in the formatted form. Object keys rarely contain new lines */
+    private static final String SEPARATOR = "\n";
+
+    private final String prefix;
+    private final boolean direct;
+
+    /**
+     * Constructor.
+     *
+     * @param prefix
+     *            the prefix to list.
+     * @param direct
+     *            {@code true} if only the objects directly under the prefix are listed.
+     */
+    public ListingShard(final String prefix, final boolean direct) {
+        this.prefix = Objects.requireNonNull(prefix, "prefix");
+        this.direct = direct;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Determines if the shard lists a key.
+     *
+     * @param key
+     *            the object key.
+     * @param delimiter
+     *            the listing delimiter used by direct shards.
+     * @return {@code true} if the key is listed by this shard.
+     */
+    public boolean contains(final String key, final String delimiter) {
+        if (!key.startsWith(prefix)) {
+            return false;
+        }
+        return !direct || delimiter == null || !key.substring(prefix.length()).contains(delimiter);
+    }
+
+    /**
+     * Formats shards so that they can be passed in a task configuration.
+     *
+     * @param shards
+     *            the shards to format.
+     * @param basePrefix
+     *            the prefix that all the shard prefixes start with, it is not included in the result.
+     * @return the formatted shards.
+     * @see #parse(String, String)
+     */
+    public static String format(final List<ListingShard> shards, final String basePrefix) {
+        final StringBuilder builder = new StringBuilder();
+        for (final ListingShard shard : shards) {
+            if (builder.length() > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(shard.direct ? DIRECT : RECURSIVE).append(shard.prefix.substring(basePrefix.length()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parses shards formatted by {@link #format(List, String)}.
+     *
+     * @param formatted
+     *            the formatted shards.
+     * @param basePrefix
+     *            the prefix to add to each of the shard prefixes.
+     * @return the shards.
+     */
+    public static List<ListingShard> parse(final String formatted, final String basePrefix) {
+        final List<ListingShard> shards = new ArrayList<>();
+        if (StringUtils.isNotEmpty(formatted)) {
+            for (final String entry : formatted.split(SEPARATOR)) {
+                if (entry.charAt(0) != DIRECT && entry.charAt(0) != RECURSIVE) {
+                    throw new IllegalArgumentException("Invalid listing shard: " + entry);
+                }
+                shards.add(new ListingShard(basePrefix + entry.substring(1), entry.charAt(0) == DIRECT));
+            }
+        }
+        return shards;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ListingShard)) {
+            return false;
+        }
+        final ListingShard shard = (ListingShard) other;
+        return direct == shard.direct && prefix.equals(shard.prefix);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(prefix, direct);
+    }
+
+    @Override
+    public String toString() {
+        return direct ? prefix + " (direct)" : prefix;
+    }
+}
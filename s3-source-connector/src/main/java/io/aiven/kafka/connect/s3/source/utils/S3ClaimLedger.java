@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+import io.aiven.kafka.connect.common.source.task.ClaimLedger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * A {@link ClaimLedger} that claims objects by writing marker objects to the bucket. A marker is written with a
+ * conditional write that fails if the marker exists, and is taken over with a conditional write that fails if the
+ * marker has changed since it was read, so only one task can claim an object. A marker contains the id of the task
+ * that wrote it, so that the task is granted the claim again after a restart, and the time its lease expires. Markers
+ * are deleted when they are released, so the prefix only holds the claims that are in progress.
+ */
+final class S3ClaimLedger implements ClaimLedger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3ClaimLedger.class);
+
+    /** The number of attempts to claim an object whose marker is being written concurrently */
+    private static final int ATTEMPTS = 3;
+
+    /** The separator of the task id and the lease expiry in a marker */
+    private static final char SEPARATOR = ':';
+
+    /** The client that writes and reads the markers */
+    private final AWSV2SourceClient sourceClient;
+    /** The prefix of the marker keys */
+    private final String prefix;
+    /** The id of this task as written in the markers */
+    private final String owner;
+    /** The duration of a lease in milliseconds */
+    private final long leaseMs;
+    /** The source of the current time in milliseconds */
+    private final LongSupplier clock;
+
+    /**
+     * Constructor.
+     *
+     * @param sourceClient
+     *            the client that writes and reads the markers.
+     * @param prefix
+     *            the prefix of the marker keys.
+     * @param taskId
+     *            the id of this task.
+     * @param leaseMs
+     *            the duration of a lease in milliseconds.
+     */
+    S3ClaimLedger(final AWSV2SourceClient sourceClient, final String prefix, final int taskId, final long leaseMs) {
+        this(sourceClient, prefix, taskId, leaseMs, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sourceClient
+     *            the client that writes and reads the markers.
+     * @param prefix
+     *            the prefix of the marker keys.
+     * @param taskId
+     *            the id of this task.
+     * @param leaseMs
+     *            the duration of a lease in milliseconds.
+     * @param clock
+     *            the source of the current time in milliseconds.
+     */
+    S3ClaimLedger(final AWSV2SourceClient sourceClient, final String prefix, final int taskId, final long leaseMs,
+            final LongSupplier clock) {
+        this.sourceClient = sourceClient;
+        this.prefix = prefix;
+        this.owner = String.valueOf(taskId);
+        this.leaseMs = leaseMs;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean claim(final String claimKey) {
+        final String markerKey = prefix + claimKey;
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            final long now = clock.getAsLong();
+            final byte[] marker = (owner + SEPARATOR + (now + leaseMs)).getBytes(StandardCharsets.UTF_8);
+            if (sourceClient.createObject(markerKey, marker)) {
+                LOGGER.debug("Claimed {}", claimKey);
+                return true;
+            }
+            final Optional<ResponseBytes<GetObjectResponse>> existing = sourceClient.readObjectResponse(markerKey);
+            if (existing.isPresent()) {
+                final String content = existing.get().asUtf8String();
+                final int separator = content.lastIndexOf(SEPARATOR);
+                // markers written by earlier versions have no lease and are treated as expired.
+                final long expiry = separator < 0 ? 0 : Long.parseLong(content.substring(separator + 1));
+                final String holder = separator < 0 ? content : content.substring(0, separator);
+                if (!owner.equals(holder) && expiry > now) {
+                    return false;
+                }
+                // the claim of this task from before a restart, or an expired claim, is renewed.
+                if (sourceClient.replaceObject(markerKey, marker, existing.get().response().eTag())) {
+                    LOGGER.debug("Took over the claim of {} from task {}", claimKey, holder);
+                    return true;
+                }
+            }
+        }
+        // the claim is attempted again when the object is next listed.
+        LOGGER.debug("Could not determine the claim of {}", claimKey);
+        return false;
+    }
+
+    @Override
+    public void release(final String claimKey) {
+        try {
+            sourceClient.deleteObject(prefix + claimKey);
+            LOGGER.debug("Released {}", claimKey);
+        } catch (SdkException e) {
+            // the claim expires instead.
+            LOGGER.warn("Unable to release the claim of {}", claimKey, e);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+/**
+ * Discovers new objects from the S3 ObjectCreated event notifications delivered to an SQS queue. The notifications
+ * may be sent to the queue directly or through SNS. Notifications can be missed, for example if they were sent before
+ * the queue was created, so the bucket is still listed at start up and then every reconcile interval.
+ * <p>
+ * A message is deleted once every object it notified has been {@link #acknowledge(String) acknowledged}, which happens
+ * when the records of the object have been committed. Until then its visibility timeout is extended each time
+ * notifications are received, so that it is not delivered again while its objects are being processed. Messages that
+ * are not deleted, for example because the task stopped before the records were committed, are delivered again once
+ * their visibility timeout expires.
+ * </p>
+ */
+public class S3EventNotificationSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3EventNotificationSource.class);
+    /** The prefix of the names of the events for created objects */
+    private static final String OBJECT_CREATED = "ObjectCreated:";
+    /** The maximum number of messages that SQS returns from one receive request */
+    private static final int MAX_MESSAGES = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SqsClient sqsClient;
+    private final String queueUrl;
+    private final String bucketName;
+    private final String prefix;
+    private final int waitTimeSeconds;
+    private final long reconcileIntervalMs;
+    /** The visibility timeout of the received messages */
+    private final int visibilityTimeoutSeconds;
+    /** The time at which the bucket is next listed */
+    private long nextReconcile;
+    /** The received messages that are not yet deleted, by message id */
+    private final Map<String, PendingMessage> received = new HashMap<>();
+    /** The received messages that are not yet deleted, by the keys of the objects they notified */
+    private final Map<String, List<PendingMessage>> pending = new HashMap<>();
+    /** The messages whose objects have all been acknowledged */
+    private final Set<PendingMessage> acknowledged = new LinkedHashSet<>();
+
+    /**
+     * A received message and the number of its objects that have not been acknowledged.
+     */
+    private static final class PendingMessage {
+        private final String messageId;
+        /** The receipt handle of the latest delivery of the message, only it can delete the message */
+        private String receiptHandle;
+        /** The time at which the visibility timeout of the message expires */
+        private long visibleAt;
+        private int remaining;
+
+        PendingMessage(final Message message, final long visibleAt) {
+            this.messageId = message.messageId();
+            this.receiptHandle = message.receiptHandle();
+            this.visibleAt = visibleAt;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sqsClient
+     *            the client to receive the notifications with.
+     * @param s3SourceConfig
+     *            the source configuration.
+     */
+    public S3EventNotificationSource(final SqsClient sqsClient, final S3SourceConfig s3SourceConfig) {
+        this.sqsClient = sqsClient;
+        this.queueUrl = s3SourceConfig.getSqsQueueUrl();
+        this.bucketName = s3SourceConfig.getAwsS3BucketName();
+        this.prefix = s3SourceConfig.getAwsS3Prefix();
+        this.waitTimeSeconds = s3SourceConfig.getSqsWaitTimeSeconds();
+        this.reconcileIntervalMs = s3SourceConfig.getSqsReconcileIntervalMs();
+        this.visibilityTimeoutSeconds = s3SourceConfig.getSqsVisibilityTimeoutSeconds();
+    }
+
+    /**
+     * Determines if the bucket should be listed to pick up objects whose notifications were missed. Returns
+     * {@code true} on the first call and then once every reconcile interval.
+     *
+     * @return {@code true} if the bucket should be listed.
+     */
+    public boolean isReconcileDue() {
+        final long now = System.currentTimeMillis();
+        if (now < nextReconcile) {
+            return false;
+        }
+        nextReconcile = reconcileIntervalMs > 0 ? now + reconcileIntervalMs : Long.MAX_VALUE;
+        return true;
+    }
+
+    /**
+     * Receives the next batch of notifications. The messages that notified no objects, and those whose objects have
+     * all been acknowledged since the last call, are deleted from the queue and the visibility timeout of the other
+     * messages is extended. A message that is delivered again is not returned again, only its receipt handle is
+     * updated.
+     *
+     * @return the objects created in the bucket under the prefix in key order.
+     */
+    public List<S3Object> receive() {
+        deleteAcknowledged();
+        extendVisibility();
+        final List<Message> messages = sqsClient.receiveMessage(ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(MAX_MESSAGES)
+                .waitTimeSeconds(waitTimeSeconds)
+                .visibilityTimeout(visibilityTimeoutSeconds)
+                .build()).messages();
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        final long visibleAt = System.currentTimeMillis() + visibilityTimeoutSeconds * 1000L;
+        final List<S3Object> objects = new ArrayList<>();
+        synchronized (this) {
+            for (final Message message : messages) {
+                final PendingMessage delivered = received.get(message.messageId());
+                if (delivered != null) {
+                    // the earlier receipt handle may no longer delete the message.
+                    delivered.receiptHandle = message.receiptHandle();
+                    delivered.visibleAt = visibleAt;
+                    if (delivered.remaining == 0) {
+                        acknowledged.add(delivered);
+                    }
+                    continue;
+                }
+                final int first = objects.size();
+                parse(message.body(), objects);
+                final PendingMessage pendingMessage = new PendingMessage(message, visibleAt);
+                received.put(pendingMessage.messageId, pendingMessage);
+                for (final S3Object s3Object : objects.subList(first, objects.size())) {
+                    pendingMessage.remaining++;
+                    pending.computeIfAbsent(s3Object.key(), key -> new ArrayList<>()).add(pendingMessage);
+                }
+                if (pendingMessage.remaining == 0) {
+                    acknowledged.add(pendingMessage);
+                }
+            }
+        }
+        deleteAcknowledged();
+        objects.sort(Comparator.comparing(S3Object::key));
+        LOGGER.debug("Received {} new objects from {} notifications", objects.size(), messages.size());
+        return objects;
+    }
+
+    /**
+     * Acknowledges that an object has been processed. The messages that notified the object are deleted from the queue
+     * on the next {@link #receive()} once all of their objects have been acknowledged.
+     *
+     * @param key
+     *            the key of the object.
+     */
+    public synchronized void acknowledge(final String key) {
+        final List<PendingMessage> messages = pending.remove(key);
+        if (messages != null) {
+            for (final PendingMessage message : messages) {
+                if (--message.remaining == 0) {
+                    acknowledged.add(message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the acknowledged messages from the queue. Messages that could not be deleted because of an SQS error are
+     * deleted on the next call. Messages whose receipt handle was rejected are deleted when they are delivered again.
+     */
+    private void deleteAcknowledged() {
+        final List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>();
+        synchronized (this) {
+            for (final PendingMessage message : acknowledged) {
+                entries.add(DeleteMessageBatchRequestEntry.builder()
+                        .id(message.messageId)
+                        .receiptHandle(message.receiptHandle)
+                        .build());
+            }
+            acknowledged.clear();
+        }
+        for (int start = 0; start < entries.size(); start += MAX_MESSAGES) {
+            final DeleteMessageBatchResponse response = sqsClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(entries.subList(start, Math.min(entries.size(), start + MAX_MESSAGES)))
+                    .build());
+            synchronized (this) {
+                response.successful().forEach(entry -> received.remove(entry.id()));
+                for (final BatchResultErrorEntry failed : response.failed()) {
+                    LOGGER.warn("Unable to delete notification {}: {} {}", failed.id(), failed.code(),
+                            failed.message());
+                    final PendingMessage message = received.get(failed.id());
+                    if (message != null && !Boolean.TRUE.equals(failed.senderFault())) {
+                        acknowledged.add(message);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Extends the visibility timeout of the messages that are not yet deleted once half of it has passed, so that they
+     * are not delivered again while their objects are being processed.
+     */
+    private void extendVisibility() {
+        final long now = System.currentTimeMillis();
+        final long timeoutMs = visibilityTimeoutSeconds * 1000L;
+        final List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>();
+        synchronized (this) {
+            for (final PendingMessage message : received.values()) {
+                if (message.visibleAt - now < timeoutMs / 2) {
+                    entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                            .id(message.messageId)
+                            .receiptHandle(message.receiptHandle)
+                            .visibilityTimeout(visibilityTimeoutSeconds)
+                            .build());
+                    message.visibleAt = now + timeoutMs;
+                }
+            }
+        }
+        for (int start = 0; start < entries.size(); start += MAX_MESSAGES) {
+            final ChangeMessageVisibilityBatchResponse response = sqsClient
+                    .changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries.subList(start, Math.min(entries.size(), start + MAX_MESSAGES)))
+                            .build());
+            // a message whose timeout could not be extended may be delivered again, which updates its receipt handle.
+            response.failed()
+                    .forEach(failed -> LOGGER.warn("Unable to extend the visibility of notification {}: {} {}",
+                            failed.id(), failed.code(), failed.message()));
+        }
+    }
+
+    /**
+     * Parses an S3 event notification.
+     *
+     * @param body
+     *            the body of the SQS message.
+     * @param objects
+     *            the list to add the created objects to.
+     */
+    void parse(final String body, final List<S3Object> objects) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            if (root.path("Message").isTextual()) {
+                // delivered through SNS.
+                root = objectMapper.readTree(root.get("Message").asText());
+            }
+            for (final JsonNode event : root.path("Records")) {
+                final JsonNode s3 = event.path("s3");
+                if (!event.path("eventName").asText("").startsWith(OBJECT_CREATED)
+                        || !bucketName.equals(s3.path("bucket").path("name").asText())) {
+                    continue;
+                }
+                // keys are URL encoded in the notification.
+                final String key = URLDecoder.decode(s3.path("object").path("key").asText(), StandardCharsets.UTF_8);
+                if (prefix == null || key.startsWith(prefix)) {
+                    objects.add(S3Object.builder()
+                            .key(key)
+                            .size(s3.path("object").path("size").asLong())
+                            .eTag(s3.path("object").path("eTag").asText(null))
+                            .build());
+                }
+            }
+        } catch (IOException e) {
+            // the reconciliation listing picks up any object that was in the message.
+            LOGGER.warn("Ignoring notification that could not be parsed: {}", body, e);
+        }
+    }
+
+    /**
+     * Deletes the acknowledged messages and closes the SQS client. Messages that are not deleted are delivered again.
+     */
+    public void shutdown() {
+        try {
+            deleteAcknowledged();
+        } catch (SdkException e) {
+            LOGGER.warn("Unable to delete the acknowledged notifications", e);
+        }
+        sqsClient.close();
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.kafka.common.config.ConfigException;
+
+import io.aiven.kafka.connect.common.source.input.RangedInputSupplier;
+import io.aiven.kafka.connect.common.source.input.parquet.RangedInputFile;
+import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Reads the objects of a bucket from an
+ * <a href="https://docs.aws.amazon.com/AmazonS3/latest/userguide/storage-inventory.html">S3 Inventory</a> report. The
+ * report is a manifest that lists gzipped CSV or Parquet data files, each containing a row per object. The data files
+ * are read one at a time as the stream is consumed.
+ */
+public class S3InventoryReader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3InventoryReader.class);
+    /** The name of the manifest file in an inventory report */
+    private static final String MANIFEST = "manifest.json";
+    /** The scheme of the manifest location */
+    private static final String S3_SCHEME = "s3://";
+    /** The prefix of the destination bucket ARN in the manifest */
+    private static final String ARN_PREFIX = "arn:aws:s3:::";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final S3Client s3Client;
+    private final String manifestBucket;
+    private final String manifestKey;
+
+    /**
+     * Constructor.
+     *
+     * @param s3Client
+     *            the client to read the inventory with.
+     * @param location
+     *            the location of the manifest, or of the inventory configuration to use the latest manifest, as an
+     *            s3:// URI.
+     */
+    public S3InventoryReader(final S3Client s3Client, final String location) {
+        if (!location.startsWith(S3_SCHEME) || location.indexOf('/', S3_SCHEME.length()) < 0) {
+            throw new ConfigException(S3ConfigFragment.INVENTORY_MANIFEST, location, "must be an s3://bucket/key URI");
+        }
+        this.s3Client = s3Client;
+        final int slash = location.indexOf('/', S3_SCHEME.length());
+        this.manifestBucket = location.substring(S3_SCHEME.length(), slash);
+        this.manifestKey = location.substring(slash + 1);
+    }
+
+    /**
+     * Creates a stream of the objects in the inventory. The objects are not in key order.
+     *
+     * @param bucket
+     *            the bucket to return the objects of.
+     * @param prefix
+     *            the prefix to return the objects under, may be {@code null}.
+     * @return the objects in the inventory.
+     */
+    public Stream<S3Object> getObjectStream(final String bucket, final String prefix) {
+        final JsonNode manifest = readManifest();
+        final String format = manifest.path("fileFormat").asText();
+        final String fileSchema = manifest.path("fileSchema").asText();
+        final String dataBucket = StringUtils.removeStart(manifest.path("destinationBucket").asText(), ARN_PREFIX);
+        final List<JsonNode> dataFiles = new ArrayList<>();
+        manifest.path("files").forEach(dataFiles::add);
+        LOGGER.info("Reading {} {} inventory files from {}", dataFiles.size(), format, dataBucket);
+        final Function<JsonNode, Stream<InventoryObject>> reader;
+        switch (format.toUpperCase(Locale.ROOT)) {
+            case "CSV" :
+                final List<String> columns = Arrays.stream(fileSchema.split(","))
+                        .map(String::trim)
+                        .collect(Collectors.toList());
+                checkSchema(columns.contains("Bucket") && columns.contains("Key") && columns.contains("Size"),
+                        fileSchema);
+                reader = file -> readCsv(dataBucket, file.path("key").asText(), columns);
+                break;
+            case "PARQUET" :
+                final MessageType schema = parseParquetSchema(fileSchema);
+                checkSchema(
+                        schema.containsField("bucket") && schema.containsField("key") && schema.containsField("size"),
+                        fileSchema);
+                reader = file -> readParquet(dataBucket, file.path("key").asText(), file.path("size").asLong(-1));
+                break;
+            default :
+                throw new ConfigException(S3ConfigFragment.INVENTORY_MANIFEST, manifestKey,
+                        "inventory format " + format + " is not supported");
+        }
+        final DataFileIterator rows = new DataFileIterator(dataFiles.iterator(), reader);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close)
+                .filter(inventoryObject -> inventoryObject.isCurrent(bucket, prefix))
+                .map(InventoryObject::toS3Object);
+    }
+
+    /**
+     * Checks that the inventory contains the fields needed to read the objects. The size is required as objects
+     * without data are not read, so an inventory without sizes would not return any object.
+     *
+     * @param valid
+     *            {@code true} if the schema contains the bucket, key and size fields.
+     * @param fileSchema
+     *            the schema from the manifest.
+     * @throws ConfigException
+     *             if the schema does not contain the fields.
+     */
+    private void checkSchema(final boolean valid, final String fileSchema) {
+        if (!valid) {
+            throw new ConfigException(S3ConfigFragment.INVENTORY_MANIFEST, manifestKey,
+                    "the inventory schema must contain the Bucket, Key and Size fields but is " + fileSchema);
+        }
+    }
+
+    private MessageType parseParquetSchema(final String fileSchema) {
+        try {
+            return MessageTypeParser.parseMessageType(fileSchema);
+        } catch (IllegalArgumentException e) {
+            throw new ConfigException(S3ConfigFragment.INVENTORY_MANIFEST, manifestKey,
+                    "the inventory schema " + fileSchema + " can not be parsed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the manifest. If the location is not a manifest the latest manifest under the location is read.
+     *
+     * @return the manifest.
+     */
+    private JsonNode readManifest() {
+        String key = manifestKey;
+        if (!key.endsWith(MANIFEST)) {
+            // the dated folders of the reports sort in time order.
+            key = null;
+            String continuationToken = null;
+            do {
+                final var response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                        .bucket(manifestBucket)
+                        .prefix(manifestKey)
+                        .continuationToken(continuationToken)
+                        .build());
+                for (final S3Object s3Object : response.contents()) {
+                    final String candidate = s3Object.key();
+                    if (candidate.endsWith("/" + MANIFEST) && (key == null || candidate.compareTo(key) > 0)) {
+                        key = candidate;
+                    }
+                }
+                continuationToken = Boolean.TRUE.equals(response.isTruncated())
+                        ? response.nextContinuationToken()
+                        : null;
+            } while (continuationToken != null);
+            if (key == null) {
+                throw new ConfigException(S3ConfigFragment.INVENTORY_MANIFEST, manifestKey,
+                        "no inventory manifest found");
+            }
+        }
+        LOGGER.info("Reading inventory manifest s3://{}/{}", manifestBucket, key);
+        try (InputStream input = getObject(manifestBucket, key)) {
+            return objectMapper.readTree(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read inventory manifest " + key, e);
+        }
+    }
+
+    private InputStream getObject(final String bucket, final String key) {
+        return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+    }
+
+    private InputStream getObject(final String bucket, final String key, final long offset) {
+        return s3Client.getObject(
+                GetObjectRequest.builder().bucket(bucket).key(key).range("bytes=" + offset + "-").build());
+    }
+
+    /**
+     * Reads a gzipped CSV data file.
+     *
+     * @param bucket
+     *            the bucket of the data file.
+     * @param key
+     *            the key of the data file.
+     * @param columns
+     *            the columns of the data file.
+     * @return the objects in the data file.
+     */
+    private Stream<InventoryObject> readCsv(final String bucket, final String key, final List<String> columns) {
+        final int bucketColumn = columns.indexOf("Bucket");
+        final int keyColumn = columns.indexOf("Key");
+        final int sizeColumn = columns.indexOf("Size");
+        final int eTagColumn = columns.indexOf("ETag");
+        final int latestColumn = columns.indexOf("IsLatest");
+        final int deleteMarkerColumn = columns.indexOf("IsDeleteMarker");
+        try {
+            final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new GZIPInputStream(getObject(bucket, key)), StandardCharsets.UTF_8));
+            return reader.lines().map(S3InventoryReader::parseCsvLine).map(fields -> {
+                // keys are URL encoded in CSV inventories.
+                final String objectKey = URLDecoder.decode(fields.get(keyColumn), StandardCharsets.UTF_8);
+                final long size = fields.get(sizeColumn).isEmpty() ? 0 : Long.parseLong(fields.get(sizeColumn));
+                final String eTag = eTagColumn < 0 ? null : StringUtils.stripToNull(fields.get(eTagColumn));
+                return new InventoryObject(fields.get(bucketColumn), objectKey, size, eTag,
+                        latestColumn < 0 || Boolean.parseBoolean(fields.get(latestColumn)),
+                        deleteMarkerColumn >= 0 && Boolean.parseBoolean(fields.get(deleteMarkerColumn)));
+            }).onClose(() -> closeQuietly(reader, key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read inventory file " + key, e);
+        }
+    }
+
+    /**
+     * Splits a line of a CSV data file into fields.
+     *
+     * @param line
+     *            the line to split.
+     * @return the fields of the line.
+     */
+    static List<String> parseCsvLine(final String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char character = line.charAt(i);
+            if (character == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (character == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(character);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Reads a Parquet data file. Parquet requires random access so the byte ranges of the file are read as needed.
+     *
+     * @param bucket
+     *            the bucket of the data file.
+     * @param key
+     *            the key of the data file.
+     * @param size
+     *            the size of the data file from the manifest, negative if it is not known.
+     * @return the objects in the data file.
+     */
+    private Stream<InventoryObject> readParquet(final String bucket, final String key, final long size) {
+        final long length = size < 0
+                ? s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build()).contentLength()
+                : size;
+        final RangedInputSupplier supplier = new RangedInputSupplier(offset -> getObject(bucket, key, offset),
+                length);
+        try {
+            final ParquetReader<GenericRecord> reader = AvroParquetReader
+                    .<GenericRecord>builder(new RangedInputFile(supplier))
+                    .build();
+            final Spliterator<InventoryObject> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(final Consumer<? super InventoryObject> action) {
+                    try {
+                        final GenericRecord row = reader.read();
+                        if (row == null) {
+                            return false;
+                        }
+                        action.accept(new InventoryObject(String.valueOf(row.get("bucket")),
+                                String.valueOf(row.get("key")), asLong(row.get("size")), asString(row, "e_tag"),
+                                asBoolean(row, "is_latest", true), asBoolean(row, "is_delete_marker", false)));
+                        return true;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Unable to read inventory file " + key, e);
+                    }
+                }
+            };
+            return StreamSupport.stream(spliterator, false).onClose(() -> closeQuietly(reader, key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read inventory file " + key, e);
+        }
+    }
+
+    private static long asLong(final Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private static String asString(final GenericRecord row, final String field) {
+        if (row.getSchema().getField(field) == null || row.get(field) == null) {
+            return null;
+        }
+        return StringUtils.stripToNull(row.get(field).toString());
+    }
+
+    private static boolean asBoolean(final GenericRecord row, final String field, final boolean defaultValue) {
+        if (row.getSchema().getField(field) == null || row.get(field) == null) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(row.get(field).toString());
+    }
+
+    private static void closeQuietly(final AutoCloseable closeable, final String key) {
+        try {
+            closeable.close();
+        } catch (Exception e) { // NOPMD AvoidCatchingGenericException
+            LOGGER.warn("Unable to close inventory file {}", key, e);
+        }
+    }
+
+    /**
+     * Iterates over the rows of the data files. Each data file is opened when its first row is needed and closed once
+     * its last row has been read, so only one data file is open at a time.
+     */
+    private static final class DataFileIterator implements Iterator<InventoryObject>, AutoCloseable {
+        private final Iterator<JsonNode> dataFiles;
+        private final Function<JsonNode, Stream<InventoryObject>> reader;
+        private Stream<InventoryObject> current = Stream.empty();
+        private Iterator<InventoryObject> rows = Collections.emptyIterator();
+
+        DataFileIterator(final Iterator<JsonNode> dataFiles, final Function<JsonNode, Stream<InventoryObject>> reader) {
+            this.dataFiles = dataFiles;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!rows.hasNext()) {
+                current.close();
+                if (!dataFiles.hasNext()) {
+                    return false;
+                }
+                current = reader.apply(dataFiles.next());
+                rows = current.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public InventoryObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return rows.next();
+        }
+
+        @Override
+        public void close() {
+            current.close();
+        }
+    }
+
+    /**
+     * A row of an inventory data file.
+     */
+    private static final class InventoryObject {
+        private final String bucket;
+        private final String key;
+        private final long size;
+        /** The ETag of the object, {@code null} if the inventory does not include it */
+        private final String eTag;
+        private final boolean latest;
+        private final boolean deleteMarker;
+
+        InventoryObject(final String bucket, final String key, final long size, final String eTag,
+                final boolean latest, final boolean deleteMarker) {
+            this.bucket = bucket;
+            this.key = key;
+            this.size = size;
+            this.eTag = eTag;
+            this.latest = latest;
+            this.deleteMarker = deleteMarker;
+        }
+
+        /**
+         * Determines if the row is for the current version of an object under the prefix.
+         *
+         * @param sourceBucket
+         *            the bucket being read.
+         * @param prefix
+         *            the prefix being read, may be {@code null}.
+         * @return {@code true} if the object should be read.
+         */
+        boolean isCurrent(final String sourceBucket, final String prefix) {
+            return latest && !deleteMarker && sourceBucket.equals(bucket) && (prefix == null || key.startsWith(prefix));
+        }
+
+        S3Object toS3Object() {
+            // listings return the ETag in quotes, so the objects from the inventory and the listing have the same ETag.
+            return S3Object.builder()
+                    .key(key)
+                    .size(size)
+                    .eTag(eTag == null || eTag.startsWith("\"") ? eTag : "\"" + eTag + "\"")
+                    .build();
+        }
+    }
+}
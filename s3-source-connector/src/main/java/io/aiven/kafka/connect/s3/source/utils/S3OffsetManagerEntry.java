@@ -16,11 +16,20 @@
 
 package io.aiven.kafka.connect.s3.source.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+import io.aiven.kafka.connect.common.config.enums.OffsetFormat;
 import io.aiven.kafka.connect.common.source.OffsetManager;
+import io.aiven.kafka.connect.common.source.input.ResumePosition;
 
 import com.google.common.base.Objects;
 
@@ -31,11 +40,30 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
     public static final String BUCKET = "bucket";
     public static final String OBJECT_KEY = "objectKey";
     public static final String RECORD_COUNT = "recordCount";
+    public static final String SPLIT = "split";
+
+    /** The partition map property names used by the compact offset formats */
+    static final String COMPACT_BUCKET = "b";
+    static final String COMPACT_OBJECT_KEY = "k";
+    static final String COMPACT_OBJECT_KEY_HASH = "h";
+    static final String COMPACT_SPLIT = "s";
+
+    /** The short names of the offset properties in the compact offset formats */
+    static final Map<String, String> COMPACT_NAMES = Map.of(RECORD_COUNT, "n", ResumePosition.POSITION, "p",
+            ResumePosition.INDEX, "i");
+    /** The offset property names for the short names */
+    private static final Map<String, String> EXPANDED_NAMES = COMPACT_NAMES.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+    /** The number of bytes of the object key hash to keep, enough to make collisions negligible */
+    private static final int HASH_BYTES = 16;
 
     /**
      * THe list of Keys that may not be set via {@link #setProperty(String, Object)}.
      */
     static final List<String> RESTRICTED_KEYS = List.of(RECORD_COUNT);
+    /** Orders the entry for the whole object before the entries for its splits */
+    private static final Comparator<String> SPLIT_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
     /** The data map that stores all the values */
     private final Map<String, Object> data;
     /** THe record count for the data map. Extracted here because it is used/updated frequently during processing */
@@ -43,6 +71,12 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
 
     private final String bucket;
     private final String objectKey;
+    /** The identifier of the split of the S3 object, {@code null} if the whole S3 object is processed */
+    private final String split;
+    /** The encoding of the partition map and offset */
+    private final OffsetFormat format;
+    /** The key of this entry, created on first use */
+    private OffsetManager.OffsetManagerKey managerKey;
 
     /**
      * Construct the S3OffsetManagerEntry.
@@ -53,21 +87,55 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
      *            the S3Object key.
      */
     public S3OffsetManagerEntry(final String bucket, final String s3ObjectKey) {
+        this(bucket, s3ObjectKey, null);
+    }
+
+    /**
+     * Construct the S3OffsetManagerEntry for a split of the S3 object.
+     *
+     * @param bucket
+     *            the bucket we are using.
+     * @param s3ObjectKey
+     *            the S3 object key.
+     * @param split
+     *            the identifier of the split, {@code null} if the whole S3 object is processed.
+     */
+    public S3OffsetManagerEntry(final String bucket, final String s3ObjectKey, final String split) {
+        this(bucket, s3ObjectKey, split, OffsetFormat.LEGACY);
+    }
+
+    /**
+     * Construct the S3OffsetManagerEntry for a split of the S3 object using an offset format.
+     *
+     * @param bucket
+     *            the bucket we are using.
+     * @param s3ObjectKey
+     *            the S3 object key.
+     * @param split
+     *            the identifier of the split, {@code null} if the whole S3 object is processed.
+     * @param format
+     *            the encoding of the partition map and offset, {@code null} for {@link OffsetFormat#LEGACY}.
+     */
+    public S3OffsetManagerEntry(final String bucket, final String s3ObjectKey, final String split,
+            final OffsetFormat format) {
         this.bucket = bucket;
         this.objectKey = s3ObjectKey;
         data = new HashMap<>();
+        this.split = split;
+        this.format = format == null ? OffsetFormat.LEGACY : format;
     }
 
     /**
      * Constructs an OffsetManagerEntry from an existing map. Used to reconstitute previously serialized
-     * S3OffsetManagerEntries. used by {@link #fromProperties(Map)}
+     * S3OffsetManagerEntries. used by {@link #fromProperties(Map)}. The map may be in any offset format.
      *
      * @param properties
      *            the property map.
      */
-    private S3OffsetManagerEntry(final String bucket, final String s3ObjectKey, final Map<String, Object> properties) {
-        this(bucket, s3ObjectKey);
-        data.putAll(properties);
+    private S3OffsetManagerEntry(final String bucket, final String s3ObjectKey, final String split,
+            final OffsetFormat format, final Map<String, Object> properties) {
+        this(bucket, s3ObjectKey, split, format);
+        properties.forEach((key, value) -> data.put(EXPANDED_NAMES.getOrDefault(key, key), value));
         final Object recordCountProperty = data.computeIfAbsent(RECORD_COUNT, s -> 0L);
         if (recordCountProperty instanceof Number) {
             recordCount = ((Number) recordCountProperty).longValue();
@@ -86,6 +154,62 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
         return () -> Map.of(BUCKET, bucket, OBJECT_KEY, s3ObjectKey);
     }
 
+    /**
+     * Creates the OffsetManagerKey for a split.
+     *
+     * @param bucket
+     *            the bucket we are using.
+     * @param s3ObjectKey
+     *            the S3 object key.
+     * @param split
+     *            the identifier of the split, {@code null} if the whole S3 object is processed.
+     * @return a new instance of OffsetManagerKey
+     */
+    public static OffsetManager.OffsetManagerKey asKey(final String bucket, final String s3ObjectKey,
+            final String split) {
+        if (split == null) {
+            return asKey(bucket, s3ObjectKey);
+        }
+        return () -> Map.of(BUCKET, bucket, OBJECT_KEY, s3ObjectKey, SPLIT, split);
+    }
+
+    /**
+     * Creates the OffsetManagerKey for an offset format. The key falls back to the partition maps of the other formats
+     * so that offsets stored before the format was changed are found.
+     *
+     * @param format
+     *            the offset format, {@code null} for {@link OffsetFormat#LEGACY}.
+     * @param bucket
+     *            the bucket we are using.
+     * @param s3ObjectKey
+     *            the S3 object key.
+     * @param split
+     *            the identifier of the split, {@code null} if the whole S3 object is processed.
+     * @return a new instance of OffsetManagerKey
+     */
+    public static OffsetManager.OffsetManagerKey asKey(final OffsetFormat format, final String bucket,
+            final String s3ObjectKey, final String split) {
+        return new S3OffsetManagerKey(format == null ? OffsetFormat.LEGACY : format, bucket, s3ObjectKey, split);
+    }
+
+    /**
+     * Hashes an S3 object key. The hash is the base 64 encoding of the first 128 bits of the SHA-256 digest of the key.
+     *
+     * @param s3ObjectKey
+     *            the S3 object key.
+     * @return the hash of the key.
+     */
+    static String hash(final String s3ObjectKey) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(s3ObjectKey.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, HASH_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Creates an S3OffsetManagerEntry. Will return {@code null} if properties is {@code null}.
      *
@@ -100,7 +224,7 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
         if (properties == null) {
             return null;
         }
-        return new S3OffsetManagerEntry(bucket, objectKey, properties);
+        return new S3OffsetManagerEntry(bucket, objectKey, split, format, properties);
     }
 
     @Override
@@ -144,6 +268,15 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
         return objectKey;
     }
 
+    /**
+     * Gets the identifier of the split of the current object.
+     *
+     * @return the identifier of the split, {@code null} if the whole object is processed.
+     */
+    public String getSplit() {
+        return split;
+    }
+
     /**
      * Gets the S3 bucket for the current object.
      *
@@ -153,14 +286,29 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
         return bucket;
     }
     /**
-     * Creates a new offset map. No defensive copy is necessary.
+     * Gets the offset format of this entry.
+     *
+     * @return the offset format.
+     */
+    public OffsetFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Creates a new offset map in the offset format of this entry. No defensive copy is necessary.
      *
      * @return a new map of properties and values.
      */
     @Override
     public Map<String, Object> getProperties() {
-        final Map<String, Object> result = new HashMap<>(data);
-        result.put(RECORD_COUNT, recordCount);
+        if (format == OffsetFormat.LEGACY) {
+            final Map<String, Object> result = new HashMap<>(data);
+            result.put(RECORD_COUNT, recordCount);
+            return result;
+        }
+        final Map<String, Object> result = new HashMap<>();
+        data.forEach((key, value) -> result.put(COMPACT_NAMES.getOrDefault(key, key), value));
+        result.put(COMPACT_NAMES.get(RECORD_COUNT), recordCount);
         return result;
     }
     /**
@@ -170,7 +318,10 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
      */
     @Override
     public OffsetManager.OffsetManagerKey getManagerKey() {
-        return () -> Map.of(BUCKET, bucket, OBJECT_KEY, objectKey);
+        if (managerKey == null) {
+            managerKey = asKey(format, bucket, objectKey, split);
+        }
+        return managerKey;
     }
 
     @Override
@@ -183,7 +334,7 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(getBucket(), getKey());
+        return Objects.hashCode(getBucket(), getKey(), getSplit());
     }
 
     @Override
@@ -194,10 +345,76 @@ public final class S3OffsetManagerEntry implements OffsetManager.OffsetManagerEn
         int result = getBucket().compareTo(other.getBucket());
         if (result == 0) {
             result = getKey().compareTo(other.getKey());
+            if (result == 0) {
+                result = SPLIT_ORDER.compare(getSplit(), other.getSplit());
+            }
             if (result == 0) {
                 result = Long.compare(getRecordCount(), other.getRecordCount());
             }
         }
         return result;
     }
+
+    /**
+     * The OffsetManagerKey for an offset format. The partition map and the hash of the object key are created once.
+     */
+    private static final class S3OffsetManagerKey implements OffsetManager.OffsetManagerKey {
+        private final OffsetFormat format;
+        private final String bucket;
+        private final String s3ObjectKey;
+        private final String split;
+        /** The partition map in the offset format, created on first use */
+        private Map<String, Object> partitionMap;
+        /** The hash of the object key, created on first use */
+        private String keyHash;
+
+        S3OffsetManagerKey(final OffsetFormat format, final String bucket, final String s3ObjectKey,
+                final String split) {
+            this.format = format;
+            this.bucket = bucket;
+            this.s3ObjectKey = s3ObjectKey;
+            this.split = split;
+        }
+
+        @Override
+        public Map<String, Object> getPartitionMap() {
+            if (partitionMap == null) {
+                partitionMap = partitionMap(format);
+            }
+            return partitionMap;
+        }
+
+        @Override
+        public List<Map<String, Object>> getFallbackPartitionMaps() {
+            return Arrays.stream(OffsetFormat.values())
+                    .filter(other -> other != format)
+                    .map(this::partitionMap)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Creates the partition map for an offset format.
+         *
+         * @param mapFormat
+         *            the offset format.
+         * @return the partition map.
+         */
+        private Map<String, Object> partitionMap(final OffsetFormat mapFormat) {
+            switch (mapFormat) {
+                case COMPACT :
+                    return split == null
+                            ? Map.of(COMPACT_BUCKET, bucket, COMPACT_OBJECT_KEY, s3ObjectKey)
+                            : Map.of(COMPACT_BUCKET, bucket, COMPACT_OBJECT_KEY, s3ObjectKey, COMPACT_SPLIT, split);
+                case HASHED :
+                    if (keyHash == null) {
+                        keyHash = hash(s3ObjectKey);
+                    }
+                    return split == null
+                            ? Map.of(COMPACT_BUCKET, bucket, COMPACT_OBJECT_KEY_HASH, keyHash)
+                            : Map.of(COMPACT_BUCKET, bucket, COMPACT_OBJECT_KEY_HASH, keyHash, COMPACT_SPLIT, split);
+                default :
+                    return asKey(bucket, s3ObjectKey, split).getPartitionMap();
+            }
+        }
+    }
 }
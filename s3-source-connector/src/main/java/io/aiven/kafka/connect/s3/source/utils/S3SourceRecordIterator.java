@@ -17,11 +17,19 @@
 package io.aiven.kafka.connect.s3.source.utils;
 
 import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import io.aiven.kafka.connect.common.config.enums.OffsetFormat;
 import io.aiven.kafka.connect.common.source.AbstractSourceRecordIterator;
+import io.aiven.kafka.connect.common.source.CommitTracker;
 import io.aiven.kafka.connect.common.source.OffsetManager;
+import io.aiven.kafka.connect.common.source.SeenObjectFilter;
 import io.aiven.kafka.connect.common.source.input.Transformer;
+import io.aiven.kafka.connect.common.source.task.ClaimLedger;
+import io.aiven.kafka.connect.common.source.task.ObjectSplit;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -47,6 +55,23 @@ public final class S3SourceRecordIterator
     /** The S3 bucket we are processing */
     private final String bucket;
 
+    /** The key of the seen object filter checkpoint, {@code null} if the filter is not checkpointed */
+    private final String seenFilterCheckpointKey;
+
+    /** The key of the ring buffer checkpoint, {@code null} if the ring buffer is not checkpointed */
+    private final String listingCheckpointKey;
+    /** The encoding of the partition maps and offsets */
+    private final OffsetFormat offsetFormat;
+
+    /** The prefix of the claim markers, {@code null} if work stealing is disabled */
+    private final String claimPrefix;
+
+    /** The patterns of the keys of the checkpoints written by the tasks of the connector */
+    private final List<Pattern> checkpointKeyPatterns;
+
+    /** The ledger that objects are claimed in, {@code null} if work stealing is disabled */
+    private final ClaimLedger claimLedger;
+
     /**
      * /** The inner iterator to provides a base S3SourceRecord for an S3Object that has passed the filters and
      * potentially had data extracted.
@@ -59,6 +84,42 @@ public final class S3SourceRecordIterator
         super(s3SourceConfig, offsetManager, transformer, s3SourceConfig.getRingBufferSize());
         this.bucket = s3SourceConfig.getAwsS3BucketName();
         this.sourceClient = sourceClient;
+        this.seenFilterCheckpointKey = s3SourceConfig.getSeenFilterCheckpointKey();
+        this.listingCheckpointKey = s3SourceConfig.getListingCheckpointKey();
+        this.offsetFormat = s3SourceConfig.getOffsetFormat();
+        this.claimPrefix = s3SourceConfig.isWorkStealing() ? s3SourceConfig.getClaimPrefix() : null;
+        this.checkpointKeyPatterns = s3SourceConfig.getCheckpointKeyPatterns();
+        this.claimLedger = claimPrefix == null
+                ? null
+                : new S3ClaimLedger(sourceClient, claimPrefix, s3SourceConfig.getTaskId(),
+                        s3SourceConfig.getWorkStealingLeaseMs());
+        if (seenFilterCheckpointKey != null) {
+            getSeenFilter().ifPresent(
+                    filter -> sourceClient.readObject(seenFilterCheckpointKey).ifPresent(filter::restore));
+        }
+        if (listingCheckpointKey != null) {
+            sourceClient.readObject(listingCheckpointKey).ifPresent(this::restoreRingBuffer);
+        }
+    }
+
+    /**
+     * Writes the seen object filter, ring buffer and inventory checkpoints to the bucket. Does nothing for those that
+     * are not checkpointed.
+     */
+    public void checkpoint() {
+        if (seenFilterCheckpointKey != null) {
+            getSeenFilter().flatMap(SeenObjectFilter::checkpoint).ifPresent(data -> {
+                sourceClient.writeObject(seenFilterCheckpointKey, data);
+                LOGGER.debug("Checkpointed seen object filter to {}", seenFilterCheckpointKey);
+            });
+        }
+        if (listingCheckpointKey != null) {
+            checkpointRingBuffer().ifPresent(data -> {
+                sourceClient.writeObject(listingCheckpointKey, data);
+                LOGGER.debug("Checkpointed ring buffer to {}", listingCheckpointKey);
+            });
+        }
+        sourceClient.checkpointInventory();
     }
 
     @Override
@@ -68,7 +129,30 @@ public final class S3SourceRecordIterator
 
     @Override
     protected Stream<S3Object> getNativeItemStream(final String offset) {
-        return sourceClient.getS3ObjectStream(offset);
+        // the checkpoints and claim markers are stored in the bucket but are not data.
+        return sourceClient.getS3ObjectStream(offset).filter(s3Object -> !isInternalObject(s3Object.key()));
+    }
+
+    /**
+     * Determines if an object is a checkpoint or claim marker written by the tasks of the connector.
+     *
+     * @param key
+     *            the key of the object.
+     * @return {@code true} if the object is written by the connector.
+     */
+    private boolean isInternalObject(final String key) {
+        return claimPrefix != null && key.startsWith(claimPrefix)
+                || checkpointKeyPatterns.stream().anyMatch(pattern -> pattern.matcher(key).matches());
+    }
+
+    @Override
+    protected Optional<ClaimLedger> getClaimLedger() {
+        return Optional.ofNullable(claimLedger);
+    }
+
+    @Override
+    public Optional<CommitTracker<String>> getCommitTracker() {
+        return sourceClient.getCommitTracker();
     }
 
     @Override
@@ -76,11 +160,22 @@ public final class S3SourceRecordIterator
         return sourceClient.getObject(sourceRecord.getNativeKey());
     }
 
+    @Override
+    protected IOSupplier<InputStream> getInputStream(final S3SourceRecord sourceRecord, final long offset) {
+        return sourceClient.getObject(sourceRecord.getNativeKey(), offset);
+    }
+
     @Override
     protected String getNativeKey(final S3Object nativeObject) {
         return nativeObject.key();
     }
 
+    @Override
+    protected String getSeenFilterKey(final S3Object nativeObject) {
+        // the ETag changes when the object is replaced.
+        return nativeObject.key() + "|" + nativeObject.eTag();
+    }
+
     @Override
     protected String parseNativeKey(final String nativeKeyText) {
         return nativeKeyText;
@@ -93,11 +188,17 @@ public final class S3SourceRecordIterator
 
     @Override
     protected S3OffsetManagerEntry createOffsetManagerEntry(final S3Object nativeObject) {
-        return new S3OffsetManagerEntry(bucket, nativeObject.key());
+        return new S3OffsetManagerEntry(bucket, nativeObject.key(), null, offsetFormat);
+    }
+
+    @Override
+    protected Optional<S3OffsetManagerEntry> createOffsetManagerEntry(final S3Object nativeObject,
+            final ObjectSplit split) {
+        return Optional.of(new S3OffsetManagerEntry(bucket, nativeObject.key(), split.getId(), offsetFormat));
     }
 
     @Override
     protected OffsetManager.OffsetManagerKey getOffsetManagerKey(final String nativeKey) {
-        return S3OffsetManagerEntry.asKey(bucket, StringUtils.defaultIfBlank(nativeKey, ""));
+        return S3OffsetManagerEntry.asKey(offsetFormat, bucket, StringUtils.defaultIfBlank(nativeKey, ""), null);
     }
 }
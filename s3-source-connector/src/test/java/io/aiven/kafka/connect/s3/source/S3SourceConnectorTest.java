@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
+import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
+import io.aiven.kafka.connect.s3.source.utils.ListingShard;
+
+import org.junit.jupiter.api.Test;
+
+class S3SourceConnectorTest {
+
+    @Test
+    void testAssignShardsCoversEveryShardOnce() {
+        final List<ListingShard> shards = List.of(new ListingShard("data/", true), new ListingShard("data/a/", false),
+                new ListingShard("data/b/", false), new ListingShard("data/c/", false));
+        final List<ListingShard> assigned = new ArrayList<>();
+        for (int taskId = 0; taskId < 3; taskId++) {
+            final Map<String, String> props = new HashMap<>();
+            S3SourceConnector.assignShards(props, shards, "data/", taskId, 3);
+            assertThat(props).containsEntry(SourceConfigFragment.LISTING_ASSIGNED, "true");
+            assigned.addAll(ListingShard.parse(props.get(S3ConfigFragment.LIST_ASSIGNMENT), "data/"));
+        }
+        assertThat(assigned).containsExactlyInAnyOrderElementsOf(shards);
+    }
+
+    @Test
+    void testAssignShardsWithMoreTasksThanShards() {
+        final List<ListingShard> shards = List.of(new ListingShard("a/", false));
+        final Map<String, String> props = new HashMap<>();
+        S3SourceConnector.assignShards(props, shards, "", 1, 2);
+        assertThat(props).containsEntry(S3ConfigFragment.LIST_ASSIGNMENT, "")
+                .containsEntry(SourceConfigFragment.LISTING_ASSIGNED, "true");
+    }
+}
@@ -296,6 +296,28 @@ final class S3SourceTaskTest {
         assertThat(counter[1]).isEqualTo(2);
     }
 
+    @Test
+    void testPollsReturnBatches() {
+        final Map<String, String> properties = createDefaultConfig();
+        SourceConfigFragment.setter(properties).maxPollRecords(20);
+
+        final S3SourceTask s3SourceTask = new TestingS3SourceTask(createS3SourceRecords(50).iterator());
+        s3SourceTask.initialize(createSourceTaskContext());
+        s3SourceTask.start(properties);
+        final List<SourceRecord> result = new ArrayList<>();
+        await().atMost(Duration.ofSeconds(5)).pollInterval(POLL_INTERVAL).untilAsserted(() -> {
+            final List<SourceRecord> pollResult = s3SourceTask.poll();
+            if (pollResult != null) {
+                assertThat(pollResult).hasSizeBetween(1, 20);
+                result.addAll(pollResult);
+            }
+            assertThat(result).hasSize(50);
+        });
+        assertThat(result).extracting(SourceRecord::value)
+                .startsWith("Hello World0".getBytes(StandardCharsets.UTF_8))
+                .endsWith("Hello World49".getBytes(StandardCharsets.UTF_8));
+    }
+
     @Test
     void testPollWhenConnectorStopped() {
         final List<S3SourceRecord> lst = createS3SourceRecords(3);
@@ -62,4 +62,24 @@ final class S3SourceConfigTest {
                 .isEqualTo(S3ConfigFragment.AWS_S3_RETRY_BACKOFF_MAX_DELAY_MS_DEFAULT);
         assertThat(conf.getS3RetryBackoffMaxRetries()).isEqualTo(S3ConfigFragment.S3_RETRY_BACKOFF_MAX_RETRIES_DEFAULT);
     }
+
+    @Test
+    void checkpointKeyPatternsMatchEveryTask() {
+        final var props = new HashMap<String, String>();
+        S3ConfigFragment.setter(props)
+                .accessKeyId("AWS_ACCESS_KEY_ID")
+                .accessKeySecret("AWS_SECRET_ACCESS_KEY")
+                .bucketName("the-bucket")
+                .region(Region.US_EAST_1)
+                .listingCheckpointKey("_connect/my.connector-{{task_id}}.keys")
+                .seenFilterCheckpointKey("_connect/my.connector.filter");
+        FileNameFragment.setter(props).template("any-old-file");
+
+        final var conf = new S3SourceConfig(props);
+        assertThat(conf.getCheckpointKeyPatterns()).hasSize(2)
+                .anyMatch(pattern -> pattern.matcher("_connect/my.connector-3.keys").matches())
+                .anyMatch(pattern -> pattern.matcher("_connect/my.connector.filter").matches())
+                .noneMatch(pattern -> pattern.matcher("_connect/myXconnector-3.keys").matches())
+                .noneMatch(pattern -> pattern.matcher("_connect/my.connector-3.keys.txt").matches());
+    }
 }
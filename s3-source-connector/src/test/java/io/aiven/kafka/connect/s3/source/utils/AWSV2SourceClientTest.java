@@ -17,13 +17,19 @@
 package io.aiven.kafka.connect.s3.source.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -31,15 +37,27 @@ import java.util.List;
 import java.util.Map;
 
 import io.aiven.kafka.connect.common.config.FileNameFragment;
+import io.aiven.kafka.connect.common.config.SourceConfigFragment;
 import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 class AWSV2SourceClientTest {
@@ -175,6 +193,307 @@ class AWSV2SourceClientTest {
 
     }
 
+    @Test
+    void testFetchObjectsWithPrefetch() {
+        final Map<String, String> configMap = getConfigMap();
+        S3ConfigFragment.setter(configMap).fetchPrefetchPages(2);
+        final S3SourceConfig s3SourceConfig = new S3SourceConfig(configMap);
+        s3Client = mock(S3Client.class);
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, s3SourceConfig);
+        final ListObjectsV2Response firstResult = createListObjectsV2Response(
+                List.of(createObjectSummary(1, "key1")), "nextToken");
+        final ListObjectsV2Response secondResult = createListObjectsV2Response(
+                List.of(createObjectSummary(1, "key2")), "lastToken");
+        final ListObjectsV2Response thirdResult = createListObjectsV2Response(
+                List.of(createObjectSummary(1, "key3")), null);
+
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(firstResult)
+                .thenReturn(secondResult)
+                .thenReturn(thirdResult);
+
+        try {
+            final Iterator<String> summaries = awsv2SourceClient.getListOfObjectKeys(null);
+            // the following pages are fetched before the first key is consumed.
+            verify(s3Client, timeout(5000).times(3)).listObjectsV2(any(ListObjectsV2Request.class));
+            assertThat(summaries).toIterable().containsExactly("key1", "key2", "key3");
+        } finally {
+            awsv2SourceClient.shutdown();
+        }
+    }
+
+    @Test
+    void testFetchObjectsWithListPrefixes() {
+        final Map<String, String> configMap = getConfigMap();
+        S3ConfigFragment.setter(configMap).prefix("data/").listPrefixes("b/", "a/");
+        final S3SourceConfig s3SourceConfig = new S3SourceConfig(configMap);
+        requestCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        s3Client = mock(S3Client.class);
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, s3SourceConfig);
+
+        final Map<String, ListObjectsV2Response> responses = new HashMap<>();
+        responses.put("data/a/", createListObjectsV2Response(
+                List.of(createObjectSummary(1, "data/a/1"), createObjectSummary(1, "data/a/3")), "aToken"));
+        responses.put("aToken", createListObjectsV2Response(List.of(createObjectSummary(1, "data/a/5")), null));
+        responses.put("data/b/", createListObjectsV2Response(
+                List.of(createObjectSummary(1, "data/b/2"), createObjectSummary(0, "data/b/4")), null));
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(invocation -> {
+            final ListObjectsV2Request request = invocation.getArgument(0);
+            return responses.get(request.continuationToken() == null ? request.prefix() : request.continuationToken());
+        });
+
+        try {
+            assertThat(awsv2SourceClient.getListOfObjectKeys("data/a/0")).toIterable()
+                    .containsExactly("data/a/1", "data/a/3", "data/a/5", "data/b/2");
+            verify(s3Client, times(3)).listObjectsV2(requestCaptor.capture());
+            assertThat(requestCaptor.getAllValues()).filteredOn(request -> request.continuationToken() == null)
+                    .allMatch(request -> "data/a/0".equals(request.startAfter()));
+        } finally {
+            awsv2SourceClient.shutdown();
+        }
+    }
+
+    @Test
+    void testFetchObjectsWithDiscoveredPrefixes() {
+        final Map<String, String> configMap = getConfigMap();
+        S3ConfigFragment.setter(configMap).listDelimiter("/").listDepth(1);
+        final S3SourceConfig s3SourceConfig = new S3SourceConfig(configMap);
+        s3Client = mock(S3Client.class);
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, s3SourceConfig);
+
+        final ListObjectsV2Response topLevel = ListObjectsV2Response.builder()
+                .contents(createObjectSummary(1, "top"))
+                .commonPrefixes(CommonPrefix.builder().prefix("a/").build(),
+                        CommonPrefix.builder().prefix("b/").build())
+                .isTruncated(false)
+                .build();
+        final Map<String, ListObjectsV2Response> responses = new HashMap<>();
+        responses.put("a/", createListObjectsV2Response(
+                List.of(createObjectSummary(1, "a/1"), createObjectSummary(1, "a/3")), null));
+        responses.put("b/", createListObjectsV2Response(List.of(createObjectSummary(1, "b/2")), null));
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenAnswer(invocation -> {
+                    final ListObjectsV2Request request = invocation.getArgument(0);
+                    return request.prefix() == null ? topLevel : responses.get(request.prefix());
+                });
+
+        try {
+            assertThat(awsv2SourceClient.getListOfObjectKeys(null)).toIterable()
+                    .containsExactly("a/1", "a/3", "b/2", "top");
+            // one discovery request, one request for the objects at the top level and one for each sub-prefix.
+            verify(s3Client, times(4)).listObjectsV2(any(ListObjectsV2Request.class));
+            // the next listing reuses the discovered sub-prefixes.
+            assertThat(awsv2SourceClient.getListOfObjectKeys(null)).toIterable()
+                    .containsExactly("a/1", "a/3", "b/2", "top");
+            verify(s3Client, times(7)).listObjectsV2(any(ListObjectsV2Request.class));
+        } finally {
+            awsv2SourceClient.shutdown();
+        }
+    }
+
+    @Test
+    void testFetchObjectsWithAssignedPrefixes() {
+        final Map<String, String> configMap = getConfigMap();
+        S3ConfigFragment.setter(configMap)
+                .listDelimiter("/")
+                .listAssignment(ListingShard.format(List.of(new ListingShard("", true), new ListingShard("b/", false)),
+                        ""));
+        SourceConfigFragment.setter(configMap).listingAssigned(true);
+        final S3SourceConfig s3SourceConfig = new S3SourceConfig(configMap);
+        requestCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        s3Client = mock(S3Client.class);
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, s3SourceConfig);
+
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(invocation -> {
+            final ListObjectsV2Request request = invocation.getArgument(0);
+            return request.prefix() == null
+                    ? createListObjectsV2Response(List.of(createObjectSummary(1, "top")), null)
+                    : createListObjectsV2Response(List.of(createObjectSummary(1, "b/2")), null);
+        });
+
+        try {
+            assertThat(awsv2SourceClient.getListOfObjectKeys(null)).toIterable().containsExactly("b/2", "top");
+            // no discovery, only the assigned sub-prefixes are listed.
+            verify(s3Client, times(2)).listObjectsV2(requestCaptor.capture());
+            assertThat(requestCaptor.getAllValues()).extracting(ListObjectsV2Request::delimiter)
+                    .containsExactlyInAnyOrder("/", null);
+        } finally {
+            awsv2SourceClient.shutdown();
+        }
+    }
+
+    @Test
+    void testFetchObjectsWithNoAssignedPrefixes() {
+        final Map<String, String> configMap = getConfigMap();
+        S3ConfigFragment.setter(configMap).listAssignment("");
+        SourceConfigFragment.setter(configMap).listingAssigned(true);
+        s3Client = mock(S3Client.class);
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, new S3SourceConfig(configMap));
+
+        assertThat(awsv2SourceClient.getListOfObjectKeys(null)).isExhausted();
+        verify(s3Client, times(0)).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+
+    @Test
+    void testFetchObjectsWithNotifications() {
+        final Map<String, String> configMap = getConfigMap();
+        S3ConfigFragment.setter(configMap).sqsQueueUrl("http://localhost:4566/000000000000/events");
+        final S3SourceConfig s3SourceConfig = new S3SourceConfig(configMap);
+        s3Client = mock(S3Client.class);
+        final S3EventNotificationSource notificationSource = mock(S3EventNotificationSource.class);
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, notificationSource, s3SourceConfig);
+
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(createListObjectsV2Response(List.of(createObjectSummary(1, "listed")), null));
+        when(notificationSource.isReconcileDue()).thenReturn(true).thenReturn(false);
+        when(notificationSource.receive()).thenReturn(List.of(S3Object.builder().key("notified1").size(1L).build()))
+                .thenReturn(List.of(S3Object.builder().key("empty").size(0L).build(),
+                        S3Object.builder().key("notified2").size(1L).build()));
+
+        assertThat(awsv2SourceClient.getListOfObjectKeys(null)).toIterable().containsExactly("listed", "notified1");
+        assertThat(awsv2SourceClient.getListOfObjectKeys("notified1")).toIterable().containsExactly("notified2");
+        // the bucket is only listed to reconcile.
+        verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
+        // objects that are filtered out are acknowledged at once, the others once they have been committed.
+        verify(notificationSource).acknowledge("empty");
+        verify(notificationSource, never()).acknowledge("notified2");
+        awsv2SourceClient.getCommitTracker().orElseThrow().listed();
+        verify(notificationSource).acknowledge("notified2");
+    }
+
+    @Test
+    void testFetchObjectsFromInventoryThenListing() {
+        final Map<String, String> configMap = getConfigMap();
+        S3ConfigFragment.setter(configMap)
+                .inventoryManifest("s3://inventory-bucket/" + S3InventoryReaderTest.MANIFEST_KEY);
+        final S3SourceConfig s3SourceConfig = new S3SourceConfig(configMap);
+        requestCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        s3Client = mock(S3Client.class);
+        S3InventoryReaderTest.mockObjects(s3Client, Map.of(S3InventoryReaderTest.MANIFEST_KEY,
+                S3InventoryReaderTest.csvManifest("data/1.csv.gz").getBytes(StandardCharsets.UTF_8), "data/1.csv.gz",
+                S3InventoryReaderTest.gzip("\"test-bucket\",\"key3\",\"1\",\"2025-01-01T00:00:00.000Z\"",
+                        "\"test-bucket\",\"key1\",\"1\",\"2025-01-01T00:00:00.000Z\"")));
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(createListObjectsV2Response(List.of(createObjectSummary(1, "key4")), null));
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, s3SourceConfig);
+
+        assertThat(awsv2SourceClient.getListOfObjectKeys(null)).toIterable().containsExactly("key3", "key1");
+        verify(s3Client, times(0)).listObjectsV2(any(ListObjectsV2Request.class));
+
+        // the ring buffer key may be earlier than the last key in the inventory.
+        assertThat(awsv2SourceClient.getListOfObjectKeys("key1")).toIterable().containsExactly("key4");
+        verify(s3Client, times(1)).listObjectsV2(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().startAfter()).isEqualTo("key3");
+
+        // the next listing picks up the objects written below the last key while the inventory was read.
+        assertThat(awsv2SourceClient.getListOfObjectKeys("key4")).toIterable().containsExactly("key4");
+        verify(s3Client, times(2)).listObjectsV2(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().startAfter()).isNull();
+
+        assertThat(awsv2SourceClient.getListOfObjectKeys("key1")).toIterable().containsExactly("key4");
+        verify(s3Client, times(3)).listObjectsV2(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().startAfter()).isEqualTo("key1");
+    }
+
+    @Test
+    void testInventoryCheckpointSkipsInventoryOnRestart() throws IOException {
+        final Map<String, String> configMap = getConfigMap();
+        final String location = "s3://inventory-bucket/" + S3InventoryReaderTest.MANIFEST_KEY;
+        S3ConfigFragment.setter(configMap).inventoryManifest(location).inventoryCheckpointKey("_connect/inventory");
+        final S3SourceConfig s3SourceConfig = new S3SourceConfig(configMap);
+        s3Client = mock(S3Client.class);
+        S3InventoryReaderTest.mockObjects(s3Client, Map.of(S3InventoryReaderTest.MANIFEST_KEY,
+                S3InventoryReaderTest.csvManifest("data/1.csv.gz").getBytes(StandardCharsets.UTF_8), "data/1.csv.gz",
+                S3InventoryReaderTest.gzip("\"test-bucket\",\"key3\",\"1\",\"2025-01-01T00:00:00.000Z\"")));
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(createListObjectsV2Response(List.of(createObjectSummary(1, "key4")), null));
+        awsv2SourceClient = new AWSV2SourceClient(s3Client, s3SourceConfig);
+
+        assertThat(awsv2SourceClient.getListOfObjectKeys(null)).toIterable().containsExactly("key3");
+        // nothing is written until the inventory has been read.
+        awsv2SourceClient.checkpointInventory();
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+
+        assertThat(awsv2SourceClient.getListOfObjectKeys(null)).toIterable().containsExactly("key4");
+        final ArgumentCaptor<RequestBody> bodyCaptor = ArgumentCaptor.forClass(RequestBody.class);
+        awsv2SourceClient.checkpointInventory();
+        awsv2SourceClient.checkpointInventory();
+        verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), bodyCaptor.capture());
+        final byte[] checkpoint = bodyCaptor.getValue().contentStreamProvider().newStream().readAllBytes();
+        assertThat(new String(checkpoint, StandardCharsets.UTF_8)).isEqualTo(location + "\nkey3");
+
+        // a restarted task lists after the last key in the inventory without reading it.
+        final S3Client restarted = mock(S3Client.class);
+        when(restarted.getObjectAsBytes(any(GetObjectRequest.class)))
+                .thenReturn(ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), checkpoint));
+        when(restarted.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(createListObjectsV2Response(List.of(createObjectSummary(1, "key4")), null));
+        awsv2SourceClient = new AWSV2SourceClient(restarted, s3SourceConfig);
+
+        requestCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        assertThat(awsv2SourceClient.getListOfObjectKeys(null)).toIterable().containsExactly("key4");
+        verify(restarted).listObjectsV2(requestCaptor.capture());
+        assertThat(requestCaptor.getValue().startAfter()).isEqualTo("key3");
+        verify(restarted, never()).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    void testCreateObjectOnlyWritesMissingObjects() {
+        initializeWithTaskConfigs();
+        final ArgumentCaptor<PutObjectRequest> putCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        when(s3Client.putObject(putCaptor.capture(), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build())
+                .thenThrow(S3Exception.builder().statusCode(412).build())
+                .thenThrow(S3Exception.builder().statusCode(409).build())
+                .thenThrow(S3Exception.builder().statusCode(403).build());
+
+        final byte[] data = "0".getBytes(StandardCharsets.UTF_8);
+        assertThat(awsv2SourceClient.createObject("claims/key", data)).isTrue();
+        assertThat(putCaptor.getValue().ifNoneMatch()).isEqualTo("*");
+        assertThat(awsv2SourceClient.createObject("claims/key", data)).isFalse();
+        assertThat(awsv2SourceClient.createObject("claims/key", data)).isFalse();
+        assertThatThrownBy(() -> awsv2SourceClient.createObject("claims/key", data))
+                .isInstanceOf(S3Exception.class);
+    }
+
+    @Test
+    void testReplaceObjectOnlyWritesUnchangedObjects() {
+        initializeWithTaskConfigs();
+        final ArgumentCaptor<PutObjectRequest> putCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        when(s3Client.putObject(putCaptor.capture(), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build())
+                .thenThrow(S3Exception.builder().statusCode(412).build())
+                .thenThrow(S3Exception.builder().statusCode(404).build())
+                .thenThrow(S3Exception.builder().statusCode(403).build());
+
+        final byte[] data = "0".getBytes(StandardCharsets.UTF_8);
+        assertThat(awsv2SourceClient.replaceObject("claims/key", data, "etag")).isTrue();
+        assertThat(putCaptor.getValue().ifMatch()).isEqualTo("etag");
+        assertThat(awsv2SourceClient.replaceObject("claims/key", data, "etag")).isFalse();
+        assertThat(awsv2SourceClient.replaceObject("claims/key", data, "etag")).isFalse();
+        assertThatThrownBy(() -> awsv2SourceClient.replaceObject("claims/key", data, "etag"))
+                .isInstanceOf(S3Exception.class);
+    }
+
+    @Test
+    void testGetObjectFromOffsetStreamsTheObject() throws IOException {
+        initializeWithTaskConfigs();
+        final ArgumentCaptor<GetObjectRequest> getCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        when(s3Client.getObject(getCaptor.capture()))
+                .thenAnswer(invocation -> new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                        AbortableInputStream.create(new ByteArrayInputStream(new byte[] { 1, 2, 3 }))));
+
+        try (InputStream input = awsv2SourceClient.getObject("key", 0).get()) {
+            assertThat(input.readAllBytes()).containsExactly(1, 2, 3);
+        }
+        assertThat(getCaptor.getValue().range()).isNull();
+        try (InputStream input = awsv2SourceClient.getObject("key", 5).get()) {
+            assertThat(input.read()).isEqualTo(1);
+        }
+        assertThat(getCaptor.getValue().range()).isEqualTo("bytes=5-");
+        verify(s3Client, never()).getObjectAsBytes(any(GetObjectRequest.class));
+    }
+
     private ListObjectsV2Response createListObjectsV2Response(final List<S3Object> summaries, final String nextToken) {
         final ListObjectsV2Response result = mock(ListObjectsV2Response.class);
         when(result.contents()).thenReturn(summaries);
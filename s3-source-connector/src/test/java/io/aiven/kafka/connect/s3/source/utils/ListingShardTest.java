@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ListingShardTest {
+
+    @Test
+    void testFormatAndParse() {
+        final List<ListingShard> shards = List.of(new ListingShard("data/", true),
+                new ListingShard("data/topic-a/", false), new ListingShard("data/topic-b/", true));
+        final String formatted = ListingShard.format(shards, "data/");
+        assertThat(ListingShard.parse(formatted, "data/")).containsExactlyElementsOf(shards);
+    }
+
+    @Test
+    void testEmpty() {
+        assertThat(ListingShard.format(List.of(), "data/")).isEmpty();
+        assertThat(ListingShard.parse("", "data/")).isEmpty();
+        assertThat(ListingShard.parse(null, "data/")).isEmpty();
+    }
+
+    @Test
+    void testInvalid() {
+        assertThatThrownBy(() -> ListingShard.parse("xtopic/", "")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+class S3ClaimLedgerTest {
+
+    private static final String PREFIX = "_connect/claims/";
+
+    private static final long NOW = 1_000_000L;
+
+    private static final long LEASE = 1000L;
+
+    private AWSV2SourceClient sourceClient;
+
+    private S3ClaimLedger underTest;
+
+    @BeforeEach
+    void setUp() {
+        sourceClient = mock(AWSV2SourceClient.class);
+        underTest = new S3ClaimLedger(sourceClient, PREFIX, 1, LEASE, () -> NOW);
+    }
+
+    /**
+     * Creates the response for reading a marker.
+     *
+     * @param content
+     *            the content of the marker.
+     * @return the response.
+     */
+    private static Optional<ResponseBytes<GetObjectResponse>> marker(final String content) {
+        return Optional.of(ResponseBytes.fromByteArray(GetObjectResponse.builder().eTag("etag-" + content).build(),
+                content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testClaimWritesMarkerWithLease() {
+        when(sourceClient.createObject(anyString(), any(byte[].class))).thenReturn(true);
+
+        assertThat(underTest.claim("topic/key")).isTrue();
+        verify(sourceClient).createObject(PREFIX + "topic/key",
+                ("1:" + (NOW + LEASE)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testClaimHeldByOtherTask() {
+        when(sourceClient.createObject(anyString(), any(byte[].class))).thenReturn(false);
+        when(sourceClient.readObjectResponse(PREFIX + "theirs")).thenReturn(marker("2:" + (NOW + 1)));
+
+        assertThat(underTest.claim("theirs")).isFalse();
+        verify(sourceClient, never()).replaceObject(anyString(), any(byte[].class), anyString());
+    }
+
+    @Test
+    void testClaimTakesOverExpiredAndOwnClaims() {
+        when(sourceClient.createObject(anyString(), any(byte[].class))).thenReturn(false);
+        when(sourceClient.readObjectResponse(PREFIX + "expired")).thenReturn(marker("2:" + NOW));
+        when(sourceClient.readObjectResponse(PREFIX + "legacy")).thenReturn(marker("2"));
+        when(sourceClient.readObjectResponse(PREFIX + "mine")).thenReturn(marker("1:" + (NOW + 1)));
+        when(sourceClient.replaceObject(anyString(), any(byte[].class), anyString())).thenReturn(true);
+
+        assertThat(underTest.claim("expired")).isTrue();
+        assertThat(underTest.claim("legacy")).isTrue();
+        // a restarted task is granted its own claims.
+        assertThat(underTest.claim("mine")).isTrue();
+        final byte[] renewed = ("1:" + (NOW + LEASE)).getBytes(StandardCharsets.UTF_8);
+        verify(sourceClient).replaceObject(PREFIX + "expired", renewed, "etag-2:" + NOW);
+        verify(sourceClient).replaceObject(PREFIX + "legacy", renewed, "etag-2");
+        verify(sourceClient).replaceObject(PREFIX + "mine", renewed, "etag-1:" + (NOW + 1));
+    }
+
+    @Test
+    void testClaimBeingWrittenIsAttemptedAgain() {
+        when(sourceClient.createObject(anyString(), any(byte[].class))).thenReturn(false);
+        when(sourceClient.readObjectResponse(anyString())).thenReturn(Optional.empty());
+
+        assertThat(underTest.claim("key")).isFalse();
+        verify(sourceClient, times(3)).createObject(eq(PREFIX + "key"), any(byte[].class));
+
+        when(sourceClient.createObject(anyString(), any(byte[].class))).thenReturn(true);
+        assertThat(underTest.claim("key")).isTrue();
+        verify(sourceClient, times(4)).createObject(eq(PREFIX + "key"), any(byte[].class));
+    }
+
+    @Test
+    void testReleaseDeletesTheMarker() {
+        underTest.release("topic/key");
+        verify(sourceClient).deleteObject(PREFIX + "topic/key");
+
+        // a claim that can not be released expires.
+        doThrow(SdkException.builder().message("Test failure").build()).when(sourceClient).deleteObject(anyString());
+        underTest.release("topic/key");
+    }
+}
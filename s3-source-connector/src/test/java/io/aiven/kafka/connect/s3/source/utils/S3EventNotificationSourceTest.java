@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.aiven.kafka.connect.common.config.FileNameFragment;
+import io.aiven.kafka.connect.config.s3.S3ConfigFragment;
+import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+class S3EventNotificationSourceTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/events";
+
+    private SqsClient sqsClient;
+
+    private S3EventNotificationSource underTest;
+
+    private static String event(final String eventName, final String bucket, final String key, final long size) {
+        return String.format(
+                "{\"eventName\":\"%s\",\"s3\":{\"bucket\":{\"name\":\"%s\"},\"object\":{\"key\":\"%s\",\"size\":%d,"
+                        + "\"eTag\":\"abc\"}}}",
+                eventName, bucket, key, size);
+    }
+
+    private static String notification(final String... events) {
+        return "{\"Records\":[" + String.join(",", events) + "]}";
+    }
+
+    private static Message message(final String messageId, final String receiptHandle, final String key) {
+        return Message.builder()
+                .messageId(messageId)
+                .receiptHandle(receiptHandle)
+                .body(notification(event("ObjectCreated:Put", "test-bucket", key, 1)))
+                .build();
+    }
+
+    private static ReceiveMessageResponse response(final Message... messages) {
+        return ReceiveMessageResponse.builder().messages(messages).build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        createSource(300);
+    }
+
+    private void createSource(final int visibilityTimeoutSeconds) {
+        final Map<String, String> configMap = new HashMap<>();
+        FileNameFragment.setter(configMap).template(".*");
+        S3ConfigFragment.setter(configMap)
+                .bucketName("test-bucket")
+                .prefix("data/")
+                .sqsQueueUrl(QUEUE_URL)
+                .sqsVisibilityTimeoutSeconds(visibilityTimeoutSeconds);
+        sqsClient = mock(SqsClient.class);
+        when(sqsClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class))).thenAnswer(invocation -> {
+            final DeleteMessageBatchRequest request = invocation.getArgument(0);
+            return DeleteMessageBatchResponse.builder()
+                    .successful(request.entries()
+                            .stream()
+                            .map(entry -> DeleteMessageBatchResultEntry.builder().id(entry.id()).build())
+                            .collect(Collectors.toList()))
+                    .build();
+        });
+        when(sqsClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(ChangeMessageVisibilityBatchResponse.builder().build());
+        underTest = new S3EventNotificationSource(sqsClient, new S3SourceConfig(configMap));
+    }
+
+    @Test
+    void testParseSelectsCreatedObjectsInBucketAndPrefix() {
+        final List<S3Object> objects = new ArrayList<>();
+        underTest.parse(notification(event("ObjectCreated:Put", "test-bucket", "data/a+b%3D1.json", 10),
+                event("ObjectRemoved:Delete", "test-bucket", "data/removed", 10),
+                event("ObjectCreated:Put", "other-bucket", "data/other", 10),
+                event("ObjectCreated:Copy", "test-bucket", "elsewhere/file", 10)), objects);
+        assertThat(objects).singleElement().satisfies(s3Object -> {
+            assertThat(s3Object.key()).isEqualTo("data/a b=1.json");
+            assertThat(s3Object.size()).isEqualTo(10L);
+            assertThat(s3Object.eTag()).isEqualTo("abc");
+        });
+    }
+
+    @Test
+    void testParseSnsNotification() {
+        final String message = notification(event("ObjectCreated:Put", "test-bucket", "data/file", 5));
+        final String body = "{\"Type\":\"Notification\",\"Message\":\"" + message.replace("\"", "\\\"") + "\"}";
+        final List<S3Object> objects = new ArrayList<>();
+        underTest.parse(body, objects);
+        assertThat(objects).extracting(S3Object::key).containsExactly("data/file");
+    }
+
+    @Test
+    void testParseIgnoresTestEventsAndInvalidMessages() {
+        final List<S3Object> objects = new ArrayList<>();
+        underTest.parse("{\"Service\":\"Amazon S3\",\"Event\":\"s3:TestEvent\"}", objects);
+        underTest.parse("not json", objects);
+        assertThat(objects).isEmpty();
+    }
+
+    @Test
+    void testReceiveDeletesMessagesOnceAcknowledged() {
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(ReceiveMessageResponse.builder()
+                .messages(Message.builder()
+                        .messageId("1")
+                        .receiptHandle("handle1")
+                        .body(notification(event("ObjectCreated:Put", "test-bucket", "data/b", 1)))
+                        .build(),
+                        Message.builder()
+                                .messageId("2")
+                                .receiptHandle("handle2")
+                                .body(notification(event("ObjectCreated:Put", "test-bucket", "data/a", 1)))
+                                .build(),
+                        Message.builder()
+                                .messageId("3")
+                                .receiptHandle("handle3")
+                                .body(notification(event("ObjectRemoved:Delete", "test-bucket", "data/c", 1)))
+                                .build())
+                .build()).thenReturn(ReceiveMessageResponse.builder().build());
+
+        assertThat(underTest.receive()).extracting(S3Object::key).containsExactly("data/a", "data/b");
+        final ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor
+                .forClass(DeleteMessageBatchRequest.class);
+        // only the message without created objects is deleted.
+        verify(sqsClient).deleteMessageBatch(captor.capture());
+        assertThat(captor.getValue().queueUrl()).isEqualTo(QUEUE_URL);
+        assertThat(captor.getValue().entries()).extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+                .containsExactly("handle3");
+
+        underTest.acknowledge("data/a");
+        assertThat(underTest.receive()).isEmpty();
+        verify(sqsClient, times(2)).deleteMessageBatch(captor.capture());
+        assertThat(captor.getValue().entries()).extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+                .containsExactly("handle2");
+    }
+
+    @Test
+    void testRedeliveredMessageIsDeletedWithLatestReceiptHandle() {
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(response(message("1", "handle1", "data/a")))
+                .thenReturn(response(message("1", "handle1-again", "data/a")))
+                .thenReturn(response());
+
+        assertThat(underTest.receive()).extracting(S3Object::key).containsExactly("data/a");
+        // the object of a message that is delivered again is already being processed.
+        assertThat(underTest.receive()).isEmpty();
+        underTest.acknowledge("data/a");
+        assertThat(underTest.receive()).isEmpty();
+
+        final ArgumentCaptor<DeleteMessageBatchRequest> captor = ArgumentCaptor
+                .forClass(DeleteMessageBatchRequest.class);
+        verify(sqsClient).deleteMessageBatch(captor.capture());
+        assertThat(captor.getValue().entries()).extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+                .containsExactly("handle1-again");
+    }
+
+    @Test
+    void testFailedDeleteIsRetried() {
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(response(message("1", "handle1", "data/a")))
+                .thenReturn(response());
+        when(sqsClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(DeleteMessageBatchResponse.builder()
+                        .failed(BatchResultErrorEntry.builder()
+                                .id("1")
+                                .code("InternalError")
+                                .senderFault(false)
+                                .build())
+                        .build())
+                .thenReturn(DeleteMessageBatchResponse.builder()
+                        .successful(DeleteMessageBatchResultEntry.builder().id("1").build())
+                        .build());
+
+        assertThat(underTest.receive()).extracting(S3Object::key).containsExactly("data/a");
+        underTest.acknowledge("data/a");
+        assertThat(underTest.receive()).isEmpty();
+        assertThat(underTest.receive()).isEmpty();
+        verify(sqsClient, times(2)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void testVisibilityOfPendingMessagesIsExtended() throws InterruptedException {
+        createSource(1);
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(response(message("1", "handle1", "data/a")))
+                .thenReturn(response());
+
+        assertThat(underTest.receive()).extracting(S3Object::key).containsExactly("data/a");
+        final ArgumentCaptor<ReceiveMessageRequest> receive = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsClient).receiveMessage(receive.capture());
+        assertThat(receive.getValue().visibilityTimeout()).isEqualTo(1);
+        verify(sqsClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+
+        Thread.sleep(600); // NOPMD wait for half of the visibility timeout to pass
+        assertThat(underTest.receive()).isEmpty();
+        final ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor = ArgumentCaptor
+                .forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(sqsClient).changeMessageVisibilityBatch(captor.capture());
+        assertThat(captor.getValue().entries()).singleElement().satisfies(entry -> {
+            assertThat(entry.receiptHandle()).isEqualTo("handle1");
+            assertThat(entry.visibilityTimeout()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void testReceiveWithNoMessages() {
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().build());
+        assertThat(underTest.receive()).isEmpty();
+        verify(sqsClient, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void testReconcileIsDueOnFirstCall() {
+        assertThat(underTest.isReconcileDue()).isTrue();
+        assertThat(underTest.isReconcileDue()).isFalse();
+    }
+}
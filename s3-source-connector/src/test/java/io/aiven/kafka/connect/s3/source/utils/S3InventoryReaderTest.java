@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Aiven Oy
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.aiven.kafka.connect.s3.source.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.kafka.common.config.ConfigException;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+class S3InventoryReaderTest {
+
+    static final String MANIFEST_KEY = "inventory/test-bucket/config/2025-01-02T01-00Z/manifest.json";
+
+    /**
+     * Creates a CSV inventory manifest.
+     *
+     * @param dataKeys
+     *            the keys of the data files.
+     * @return the manifest.
+     */
+    static String csvManifest(final String... dataKeys) {
+        return csvManifest("Bucket, Key, Size, LastModifiedDate", dataKeys);
+    }
+
+    /**
+     * Creates a CSV inventory manifest.
+     *
+     * @param fileSchema
+     *            the columns of the data files.
+     * @param dataKeys
+     *            the keys of the data files.
+     * @return the manifest.
+     */
+    static String csvManifest(final String fileSchema, final String... dataKeys) {
+        return "{\"sourceBucket\":\"test-bucket\",\"destinationBucket\":\"arn:aws:s3:::inventory-bucket\","
+                + "\"fileFormat\":\"CSV\",\"fileSchema\":\"" + fileSchema + "\",\"files\":["
+                + Stream.of(dataKeys).map(key -> "{\"key\":\"" + key + "\"}").collect(Collectors.joining(","))
+                + "]}";
+    }
+
+    /**
+     * Creates a gzipped CSV data file.
+     *
+     * @param lines
+     *            the lines of the file.
+     * @return the gzipped data.
+     */
+    static byte[] gzip(final String... lines) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(bytes)) {
+            output.write(String.join("\n", lines).getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Mocks the reading of objects from the client.
+     *
+     * @param s3Client
+     *            the mock client.
+     * @param objects
+     *            the data for each object key.
+     */
+    static void mockObjects(final S3Client s3Client, final Map<String, byte[]> objects) {
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            final GetObjectRequest request = invocation.getArgument(0);
+            return new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(objects.get(request.key()))));
+        });
+    }
+
+    @Test
+    void testReadCsvInventory() {
+        final S3Client s3Client = mock(S3Client.class);
+        mockObjects(s3Client, Map.of(MANIFEST_KEY, csvManifest("data/1.csv.gz", "data/2.csv.gz").getBytes(UTF_8),
+                "data/1.csv.gz",
+                gzip("\"test-bucket\",\"topic/a+b%3D1.txt\",\"10\",\"2025-01-01T00:00:00.000Z\"",
+                        "\"other-bucket\",\"topic/other.txt\",\"10\",\"2025-01-01T00:00:00.000Z\""),
+                "data/2.csv.gz",
+                gzip("\"test-bucket\",\"topic/b.txt\",\"20\",\"2025-01-01T00:00:00.000Z\"",
+                        "\"test-bucket\",\"elsewhere/c.txt\",\"20\",\"2025-01-01T00:00:00.000Z\"")));
+
+        final S3InventoryReader underTest = new S3InventoryReader(s3Client, "s3://inventory-bucket/" + MANIFEST_KEY);
+        try (Stream<S3Object> objects = underTest.getObjectStream("test-bucket", "topic/")) {
+            assertThat(objects).extracting(S3Object::key, S3Object::size)
+                    .containsExactly(tuple("topic/a b=1.txt", 10L),
+                            tuple("topic/b.txt", 20L));
+        }
+    }
+
+    @Test
+    void testReadsETagColumn() {
+        final S3Client s3Client = mock(S3Client.class);
+        mockObjects(s3Client, Map.of(MANIFEST_KEY,
+                csvManifest("Bucket, Key, Size, ETag", "data/1.csv.gz").getBytes(UTF_8), "data/1.csv.gz",
+                gzip("\"test-bucket\",\"a\",\"1\",\"d41d8cd98f00b204e9800998ecf8427e\"",
+                        "\"test-bucket\",\"b\",\"1\",\"\"")));
+
+        final S3InventoryReader underTest = new S3InventoryReader(s3Client, "s3://inventory-bucket/" + MANIFEST_KEY);
+        try (Stream<S3Object> objects = underTest.getObjectStream("test-bucket", null)) {
+            // the ETag is quoted as it is in a listing.
+            assertThat(objects).extracting(S3Object::key, S3Object::eTag)
+                    .containsExactly(tuple("a", "\"d41d8cd98f00b204e9800998ecf8427e\""), tuple("b", null));
+        }
+    }
+
+    @Test
+    void testReadsDataFilesAsConsumed() {
+        final S3Client s3Client = mock(S3Client.class);
+        mockObjects(s3Client, Map.of(MANIFEST_KEY, csvManifest("data/1.csv.gz", "data/2.csv.gz").getBytes(UTF_8),
+                "data/1.csv.gz", gzip("\"test-bucket\",\"a\",\"1\",\"2025-01-01T00:00:00.000Z\""), "data/2.csv.gz",
+                gzip("\"test-bucket\",\"b\",\"1\",\"2025-01-01T00:00:00.000Z\"")));
+
+        final S3InventoryReader underTest = new S3InventoryReader(s3Client, "s3://inventory-bucket/" + MANIFEST_KEY);
+        try (Stream<S3Object> objects = underTest.getObjectStream("test-bucket", null)) {
+            final Iterator<S3Object> iterator = objects.iterator();
+            assertThat(iterator.next().key()).isEqualTo("a");
+            // the second data file is not opened until its rows are needed.
+            verify(s3Client, never())
+                    .getObject(argThat((GetObjectRequest request) -> "data/2.csv.gz".equals(request.key())));
+            assertThat(iterator.next().key()).isEqualTo("b");
+            assertThat(iterator.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    void testMissingKeyColumn() {
+        final S3Client s3Client = mock(S3Client.class);
+        mockObjects(s3Client, Map.of(MANIFEST_KEY, csvManifest("Bucket, Size", "data/1.csv.gz").getBytes(UTF_8)));
+
+        final S3InventoryReader underTest = new S3InventoryReader(s3Client, "s3://inventory-bucket/" + MANIFEST_KEY);
+        assertThatThrownBy(() -> underTest.getObjectStream("test-bucket", null)).isInstanceOf(ConfigException.class)
+                .hasMessageContaining("Bucket, Key and Size");
+    }
+
+    @Test
+    void testMissingSizeColumn() {
+        final S3Client s3Client = mock(S3Client.class);
+        mockObjects(s3Client, Map.of(MANIFEST_KEY, csvManifest("Bucket, Key", "data/1.csv.gz").getBytes(UTF_8)));
+
+        final S3InventoryReader underTest = new S3InventoryReader(s3Client, "s3://inventory-bucket/" + MANIFEST_KEY);
+        assertThatThrownBy(() -> underTest.getObjectStream("test-bucket", null)).isInstanceOf(ConfigException.class)
+                .hasMessageContaining("Bucket, Key and Size");
+    }
+
+    @Test
+    void testReadsLatestManifest() {
+        final S3Client s3Client = mock(S3Client.class);
+        final String prefix = "inventory/test-bucket/config/";
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key(prefix + "2025-01-01T01-00Z/manifest.json").build(),
+                        S3Object.builder().key(MANIFEST_KEY).build(),
+                        S3Object.builder().key(prefix + "2025-01-02T01-00Z/manifest.checksum").build())
+                .isTruncated(false)
+                .build());
+        mockObjects(s3Client, Map.of(MANIFEST_KEY, csvManifest("data/1.csv.gz").getBytes(UTF_8), "data/1.csv.gz",
+                gzip("\"test-bucket\",\"key\",\"1\",\"2025-01-01T00:00:00.000Z\"")));
+
+        final S3InventoryReader underTest = new S3InventoryReader(s3Client, "s3://inventory-bucket/" + prefix);
+        try (Stream<S3Object> objects = underTest.getObjectStream("test-bucket", null)) {
+            assertThat(objects).extracting(S3Object::key).containsExactly("key");
+        }
+    }
+
+    @Test
+    void testInvalidLocation() {
+        assertThatThrownBy(() -> new S3InventoryReader(mock(S3Client.class), "inventory-bucket/manifest.json"))
+                .isInstanceOf(ConfigException.class);
+    }
+
+    @Test
+    void testParseCsvLine() {
+        assertThat(S3InventoryReader.parseCsvLine("\"a\",\"b,c\",\"d\"\"e\",,f")).containsExactly("a", "b,c", "d\"e",
+                "", "f");
+    }
+}
@@ -18,19 +18,23 @@ package io.aiven.kafka.connect.s3.source.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.apache.kafka.connect.source.SourceTaskContext;
 import org.apache.kafka.connect.storage.OffsetStorageReader;
 
+import io.aiven.kafka.connect.common.config.enums.OffsetFormat;
 import io.aiven.kafka.connect.common.source.OffsetManager;
+import io.aiven.kafka.connect.common.source.input.ResumePosition;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -112,4 +116,134 @@ final class S3OffsetManagerEntryTest {
         assertThat(other.getProperty("random_entry")).isEqualTo(5L);
 
     }
+
+    @Test
+    void testSplitEntryHasOwnPartition() {
+        final S3OffsetManagerEntry entry = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY, "0-100");
+        final Map<String, Object> partitionMap = createPartitionMap();
+        assertThat(newEntry().getManagerKey().getPartitionMap()).isEqualTo(partitionMap);
+
+        partitionMap.put(S3OffsetManagerEntry.SPLIT, "0-100");
+        assertThat(entry.getManagerKey().getPartitionMap()).isEqualTo(partitionMap);
+        assertThat(entry).isNotEqualTo(newEntry());
+
+        entry.incrementRecordCount();
+        final S3OffsetManagerEntry other = entry.fromProperties(entry.getProperties());
+        assertThat(other.getSplit()).isEqualTo("0-100");
+        assertThat(other).isEqualTo(entry);
+    }
+
+    @Test
+    void testCompactFormat() {
+        final S3OffsetManagerEntry entry = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY, "0-100",
+                OffsetFormat.COMPACT);
+        assertThat(entry.getManagerKey().getPartitionMap()).isEqualTo(Map.of(S3OffsetManagerEntry.COMPACT_BUCKET,
+                TEST_BUCKET, S3OffsetManagerEntry.COMPACT_OBJECT_KEY, OBJECT_KEY, S3OffsetManagerEntry.COMPACT_SPLIT,
+                "0-100"));
+
+        entry.incrementRecordCount();
+        new ResumePosition().writeTo(entry);
+        entry.setProperty("random_entry", 5L);
+        assertThat(entry.getProperties()).isEqualTo(Map.of("n", 1L, "p", 0L, "i", 0L, "random_entry", 5L));
+
+        final S3OffsetManagerEntry other = entry.fromProperties(entry.getProperties());
+        assertThat(other.getRecordCount()).isEqualTo(1L);
+        assertThat(other.getProperty(ResumePosition.POSITION)).isEqualTo(0L);
+        assertThat(other.getProperty("random_entry")).isEqualTo(5L);
+        assertThat(other.getFormat()).isEqualTo(OffsetFormat.COMPACT);
+    }
+
+    @Test
+    void testHashedFormat() {
+        final S3OffsetManagerEntry entry = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY, null,
+                OffsetFormat.HASHED);
+        final Map<String, Object> partitionMap = entry.getManagerKey().getPartitionMap();
+        assertThat(partitionMap).isEqualTo(Map.of(S3OffsetManagerEntry.COMPACT_BUCKET, TEST_BUCKET,
+                S3OffsetManagerEntry.COMPACT_OBJECT_KEY_HASH, S3OffsetManagerEntry.hash(OBJECT_KEY)));
+        assertThat(S3OffsetManagerEntry.hash(OBJECT_KEY)).hasSize(22)
+                .isNotEqualTo(S3OffsetManagerEntry.hash(OBJECT_KEY + "1"));
+        assertThat(entry.getManagerKey().getFallbackPartitionMaps()).contains(createPartitionMap());
+    }
+
+    @Test
+    void testCompactFormatReadsLegacyOffset() {
+        final S3OffsetManagerEntry legacy = newEntry();
+        legacy.incrementRecordCount();
+        legacy.incrementRecordCount();
+        when(offsetStorageReader.offset(createPartitionMap())).thenReturn(legacy.getProperties());
+
+        final S3OffsetManagerEntry keyEntry = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY, null,
+                OffsetFormat.COMPACT);
+        final Optional<S3OffsetManagerEntry> entry = offsetManager.getEntry(keyEntry.getManagerKey(),
+                keyEntry::fromProperties);
+        assertThat(entry).isPresent();
+        assertThat(entry.get().getRecordCount()).isEqualTo(2L);
+        assertThat(entry.get().getProperties()).containsEntry("n", 2L)
+                .doesNotContainKey(S3OffsetManagerEntry.RECORD_COUNT);
+    }
+
+    @Test
+    void testPopulateReadsLegacyOffset() {
+        final S3OffsetManagerEntry legacy = newEntry();
+        legacy.incrementRecordCount();
+        when(offsetStorageReader.offsets(anyCollection()))
+                .thenReturn(Map.of(createPartitionMap(), legacy.getProperties()));
+
+        final S3OffsetManagerEntry keyEntry = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY, null,
+                OffsetFormat.HASHED);
+        offsetManager.populateOffsetManager(List.of(keyEntry.getManagerKey()));
+        final Optional<S3OffsetManagerEntry> entry = offsetManager.getEntry(keyEntry.getManagerKey(),
+                keyEntry::fromProperties);
+        assertThat(entry).isPresent();
+        assertThat(entry.get().getRecordCount()).isEqualTo(1L);
+        verify(offsetStorageReader, times(0)).offset(any());
+    }
+
+    @Test
+    void testLegacyFormatReadsCompactOffset() {
+        final S3OffsetManagerEntry compact = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY, null,
+                OffsetFormat.COMPACT);
+        compact.incrementRecordCount();
+        when(offsetStorageReader.offset(compact.getManagerKey().getPartitionMap()))
+                .thenReturn(compact.getProperties());
+
+        final S3OffsetManagerEntry keyEntry = newEntry();
+        final Optional<S3OffsetManagerEntry> entry = offsetManager.getEntry(
+                S3OffsetManagerEntry.asKey(OffsetFormat.LEGACY, TEST_BUCKET, OBJECT_KEY, null),
+                keyEntry::fromProperties);
+        assertThat(entry).isPresent();
+        assertThat(entry.get().getRecordCount()).isEqualTo(1L);
+        assertThat(entry.get().getProperties()).containsEntry(S3OffsetManagerEntry.RECORD_COUNT, 1L);
+    }
+
+    @Test
+    void testPopulateOnlyReadsFallbacksForMissingOffsets() {
+        final S3OffsetManagerEntry stored = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY, null,
+                OffsetFormat.HASHED);
+        final S3OffsetManagerEntry other = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY + "1", null,
+                OffsetFormat.HASHED);
+        when(offsetStorageReader.offsets(anyCollection()))
+                .thenReturn(Map.of(stored.getManagerKey().getPartitionMap(), stored.getProperties()));
+
+        offsetManager.populateOffsetManager(List.of(stored.getManagerKey()));
+        verify(offsetStorageReader, times(1)).offsets(List.of(stored.getManagerKey().getPartitionMap()));
+
+        offsetManager.populateOffsetManager(List.of(other.getManagerKey()));
+        verify(offsetStorageReader, times(1)).offsets(List.of(other.getManagerKey().getPartitionMap()));
+        verify(offsetStorageReader, times(1)).offsets(other.getManagerKey().getFallbackPartitionMaps());
+    }
+
+    @Test
+    void testPopulateWithoutFallbacks() {
+        offsetManager = new OffsetManager<>(sourceTaskContext, false);
+        final S3OffsetManagerEntry keyEntry = new S3OffsetManagerEntry(TEST_BUCKET, OBJECT_KEY, null,
+                OffsetFormat.HASHED);
+        when(offsetStorageReader.offsets(anyCollection()))
+                .thenReturn(Map.of(createPartitionMap(), newEntry().getProperties()));
+
+        offsetManager.populateOffsetManager(List.of(keyEntry.getManagerKey()));
+        verify(offsetStorageReader, times(1)).offsets(anyCollection());
+        assertThat(offsetManager.getEntry(keyEntry.getManagerKey(), keyEntry::fromProperties)).isEmpty();
+        verify(offsetStorageReader, times(0)).offset(any());
+    }
 }
@@ -16,31 +16,72 @@
 
 package io.aiven.kafka.connect.s3.source.utils;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.SourceTaskContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+
+import io.aiven.kafka.connect.common.config.CompressionType;
 import io.aiven.kafka.connect.common.config.SourceCommonConfig;
 import io.aiven.kafka.connect.common.source.AbstractSourceRecordIterator;
 import io.aiven.kafka.connect.common.source.AbstractSourceRecordIteratorTest;
+import io.aiven.kafka.connect.common.source.CommitTracker;
 import io.aiven.kafka.connect.common.source.OffsetManager;
+import io.aiven.kafka.connect.common.source.SeenObjectFilter;
+import io.aiven.kafka.connect.common.source.input.InputFormat;
 import io.aiven.kafka.connect.common.source.input.Transformer;
+import io.aiven.kafka.connect.common.source.input.TransformerFactory;
+import io.aiven.kafka.connect.common.source.task.Context;
+import io.aiven.kafka.connect.common.source.task.DistributionStrategy;
+import io.aiven.kafka.connect.common.source.task.DistributionType;
 import io.aiven.kafka.connect.s3.source.config.S3SourceConfig;
 
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 /**
  * An implementation of the SourceRecordIteratorTest.
  */
-@SuppressWarnings("PMD.TestClassWithoutTestCases")
 final class S3SourceRecordIteratorTest
         extends
             AbstractSourceRecordIteratorTest<String, S3Object, S3OffsetManagerEntry, S3SourceRecord> {
@@ -79,6 +120,238 @@ final class S3SourceRecordIteratorTest
         return s3SourceConfig;
     }
 
+    @Test
+    void testWorkStealingProcessesClaimedObjectsOfOtherTasks() {
+        final SourceCommonConfig config = mockWorkStealingConfig(0);
+        final DistributionStrategy strategy = DistributionType.OBJECT_HASH.getDistributionStrategy(2);
+        final S3ClientBuilder builder = createClientMutator().reset();
+        final List<String> own = new ArrayList<>();
+        final List<String> others = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final String key = "topic-0000" + i + "-1741965423180.txt";
+            builder.addObject(key, ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8)));
+            (strategy.getTaskFor(new Context<>(key)) == 0 ? own : others).add(key);
+        }
+        builder.endOfBlock().build();
+        // task 1 holds the claims of one of its objects and of one of the objects of this task, and the claim of
+        // another object of this task has expired.
+        final String claimedByOther = others.remove(0);
+        final String stolen = own.remove(1);
+        final String expiredClaim = own.get(0);
+        final Map<String, String> markers = new HashMap<>();
+        markers.put("claims/" + claimedByOther, "1:" + Long.MAX_VALUE);
+        markers.put("claims/" + stolen, "1:" + Long.MAX_VALUE);
+        markers.put("claims/" + expiredClaim, "1:0");
+        storeMarkers(s3Client, markers);
+
+        final Iterator<S3SourceRecord> iterator = createSourceRecordIterator(config, createOffsetManager(),
+                TransformerFactory.getTransformer(InputFormat.BYTES));
+        final List<String> processed = new ArrayList<>();
+        iterator.forEachRemaining(sourceRecord -> processed.add(sourceRecord.getNativeKey()));
+
+        // the objects of this task are processed before the objects of the other task.
+        final List<String> expected = new ArrayList<>(own);
+        expected.addAll(others);
+        assertThat(processed).containsExactlyElementsOf(expected);
+
+        // every processed object was claimed, the expired claim was taken over, and the claims were released.
+        final ArgumentCaptor<PutObjectRequest> puts = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client, atLeastOnce()).putObject(puts.capture(), any(RequestBody.class));
+        assertThat(puts.getAllValues()).filteredOn(request -> request.ifMatch() != null)
+                .extracting(PutObjectRequest::key)
+                .containsExactly("claims/" + expiredClaim);
+        assertThat(markers).containsOnlyKeys("claims/" + claimedByOther, "claims/" + stolen);
+    }
+
+    @Test
+    void testWorkStealingOwnerSkipsObjectStolenAfterListing() {
+        final String first = "topic-00000-1741965423180.txt";
+        final String second = "topic-00002-1741965423180.txt";
+        final DistributionStrategy strategy = DistributionType.OBJECT_HASH.getDistributionStrategy(2);
+        assertThat(strategy.getTaskFor(new Context<>(first))).isZero();
+        assertThat(strategy.getTaskFor(new Context<>(second))).isZero();
+        final Map<String, String> markers = new HashMap<>();
+
+        // both objects are assigned to task 0 which lists them and starts the first one.
+        createClientMutator().reset()
+                .addObject(first, ByteBuffer.wrap(first.getBytes(StandardCharsets.UTF_8)))
+                .addObject(second, ByteBuffer.wrap(second.getBytes(StandardCharsets.UTF_8)))
+                .endOfBlock()
+                .build();
+        storeMarkers(s3Client, markers);
+        final Iterator<S3SourceRecord> owner = createSourceRecordIterator(mockWorkStealingConfig(0),
+                createOffsetManager(), TransformerFactory.getTransformer(InputFormat.BYTES));
+        assertThat(owner.hasNext()).isTrue();
+        assertThat(owner.next().getNativeKey()).isEqualTo(first);
+
+        // the idle task 1 steals the second object, which task 0 has listed but not yet processed.
+        createClientMutator().reset()
+                .addObject(first, ByteBuffer.wrap(first.getBytes(StandardCharsets.UTF_8)))
+                .addObject(second, ByteBuffer.wrap(second.getBytes(StandardCharsets.UTF_8)))
+                .endOfBlock()
+                .build();
+        storeMarkers(s3Client, markers);
+        final Iterator<S3SourceRecord> thief = createSourceRecordIterator(mockWorkStealingConfig(1),
+                createOffsetManager(), TransformerFactory.getTransformer(InputFormat.BYTES));
+        assertThat(thief.hasNext()).isTrue();
+        assertThat(thief.next().getNativeKey()).isEqualTo(second);
+
+        // task 0 can not claim the second object so it does not process it again.
+        final List<String> processed = new ArrayList<>();
+        owner.forEachRemaining(sourceRecord -> processed.add(sourceRecord.getNativeKey()));
+        assertThat(processed).isEmpty();
+        assertThat(markers).containsOnlyKeys("claims/" + second);
+    }
+
+    /**
+     * Creates a mocked configuration with work stealing enabled for one of two tasks.
+     *
+     * @param taskId
+     *            the id of the task.
+     * @return the mocked configuration.
+     */
+    private SourceCommonConfig mockWorkStealingConfig(final int taskId) {
+        final SourceCommonConfig config = mockSourceConfig(FILE_PATTERN, taskId, 2, null);
+        when(config.getInputFormat()).thenReturn(InputFormat.BYTES);
+        when(config.getCompressionType()).thenReturn(CompressionType.NONE);
+        when(config.isWorkStealing()).thenReturn(true);
+        when(config.getWorkStealingLeaseMs()).thenReturn(60_000L);
+        when(((S3SourceConfig) config).getClaimPrefix()).thenReturn("claims/");
+        return config;
+    }
+
+    /**
+     * Stores the claim markers written through an S3 client in a map, honouring the conditional writes as the bucket
+     * would. The ETag of a marker is its content.
+     *
+     * @param client
+     *            the mocked S3 client.
+     * @param markers
+     *            the content of the markers by key, shared by the clients of all the tasks.
+     */
+    private static void storeMarkers(final S3Client client, final Map<String, String> markers) {
+        when(client.putObject(any(PutObjectRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            final PutObjectRequest request = invocation.getArgument(0, PutObjectRequest.class);
+            final String content;
+            try (InputStream body = invocation.getArgument(1, RequestBody.class)
+                    .contentStreamProvider()
+                    .newStream()) {
+                content = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            final String existing = markers.get(request.key());
+            if (request.ifNoneMatch() != null && existing != null
+                    || request.ifMatch() != null && !request.ifMatch().equals(existing)) {
+                throw S3Exception.builder().statusCode(412).build();
+            }
+            markers.put(request.key(), content);
+            return PutObjectResponse.builder().build();
+        });
+        doAnswer(invocation -> {
+            final String content = markers.get(invocation.getArgument(0, GetObjectRequest.class).key());
+            if (content == null) {
+                throw NoSuchKeyException.builder().build();
+            }
+            return ResponseBytes.fromByteArray(GetObjectResponse.builder().eTag(content).build(),
+                    content.getBytes(StandardCharsets.UTF_8));
+        }).when(client).getObjectAsBytes(argThat((GetObjectRequest request) -> request.key().startsWith("claims/")));
+        doAnswer(invocation -> {
+            markers.remove(invocation.getArgument(0, DeleteObjectRequest.class).key());
+            return DeleteObjectResponse.builder().build();
+        }).when(client).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    void testCloseStopsTheListing() {
+        final SourceCommonConfig config = mockSourceConfig(FILE_PATTERN, 0, 1, null);
+        final AtomicBoolean listingClosed = new AtomicBoolean();
+        final AWSV2SourceClient sourceClient = mock(AWSV2SourceClient.class);
+        when(sourceClient.getS3ObjectStream(any()))
+                .thenAnswer(invocation -> Stream.<S3Object>empty().onClose(() -> listingClosed.set(true)));
+
+        final S3SourceRecordIterator iterator = new S3SourceRecordIterator((S3SourceConfig) config,
+                createOffsetManager(), TransformerFactory.getTransformer(InputFormat.BYTES), sourceClient);
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(listingClosed).isFalse();
+        iterator.close();
+        assertThat(listingClosed).isTrue();
+    }
+
+    @Test
+    void testCheckpointsRecordObjectOnceCommitted() {
+        final SourceCommonConfig config = mockSourceConfig(FILE_PATTERN, 0, 1, null);
+        when(config.getInputFormat()).thenReturn(InputFormat.BYTES);
+        when(config.getCompressionType()).thenReturn(CompressionType.NONE);
+        when(config.getSeenFilterSize()).thenReturn(1000L);
+        when(config.getSeenFilterFalsePositiveProbability()).thenReturn(0.01);
+        final String objectKey = "topic-00001-1741965423180.txt";
+        final byte[] testData = "Hello World".getBytes(StandardCharsets.UTF_8);
+        final S3Object s3Object = S3Object.builder().key(objectKey).eTag("etag").size((long) testData.length).build();
+        final CommitTracker<String> tracker = new CommitTracker<>();
+        final AWSV2SourceClient sourceClient = mock(AWSV2SourceClient.class);
+        when(sourceClient.getS3ObjectStream(any())).thenAnswer(invocation -> Stream.of(s3Object));
+        when(sourceClient.getObject(objectKey)).thenReturn(() -> new ByteArrayInputStream(testData));
+        when(sourceClient.getCommitTracker()).thenReturn(Optional.of(tracker));
+
+        final S3SourceRecordIterator iterator = new S3SourceRecordIterator((S3SourceConfig) config,
+                createOffsetManager(), TransformerFactory.getTransformer(InputFormat.BYTES), sourceClient);
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(iterator.next().getNativeKey()).isEqualTo(objectKey);
+        final SourceRecord sourceRecord = mock(SourceRecord.class);
+        tracker.produced(objectKey, sourceRecord);
+        assertThat(iterator.hasNext()).isFalse();
+
+        // the object has been read but its record is not committed so a restart must process it again.
+        final SeenObjectFilter seenFilter = iterator.getSeenFilter().orElseThrow();
+        assertThat(seenFilter.mightContain(objectKey + "|etag")).isFalse();
+        iterator.checkpointRingBuffer();
+        assertThat(iterator.checkpointRingBuffer().orElseThrow()).isEqualTo(new byte[Integer.BYTES]);
+
+        tracker.committed(sourceRecord);
+        assertThat(seenFilter.mightContain(objectKey + "|etag")).isTrue();
+        iterator.checkpointRingBuffer();
+        assertThat(new String(iterator.checkpointRingBuffer().orElseThrow(), StandardCharsets.UTF_8))
+                .contains(objectKey);
+    }
+
+    @Test
+    void testListingSkipsCheckpoints() {
+        final SourceCommonConfig config = mockSourceConfig(FILE_PATTERN, 0, 1, null);
+        when(config.getInputFormat()).thenReturn(InputFormat.BYTES);
+        when(config.getCompressionType()).thenReturn(CompressionType.NONE);
+        // the checkpoint keys match the file name template.
+        when(((S3SourceConfig) config).getCheckpointKeyPatterns())
+                .thenReturn(List.of(Pattern.compile("checkpoint-00000-\\d+\\.keys")));
+        final String objectKey = "topic-00001-1741965423180.txt";
+        final List<S3Object> objects = new ArrayList<>();
+        for (final String key : List.of("checkpoint-00000-0.keys", objectKey, "checkpoint-00000-1.keys")) {
+            objects.add(S3Object.builder().key(key).size((long) key.length()).build());
+        }
+        final AWSV2SourceClient sourceClient = mock(AWSV2SourceClient.class);
+        when(sourceClient.getS3ObjectStream(any())).thenAnswer(invocation -> objects.stream());
+        when(sourceClient.getObject(any()))
+                .thenReturn(() -> new ByteArrayInputStream(objectKey.getBytes(StandardCharsets.UTF_8)));
+
+        final S3SourceRecordIterator iterator = new S3SourceRecordIterator((S3SourceConfig) config,
+                createOffsetManager(), TransformerFactory.getTransformer(InputFormat.BYTES), sourceClient);
+        final List<String> processed = new ArrayList<>();
+        iterator.forEachRemaining(sourceRecord -> processed.add(sourceRecord.getNativeKey()));
+        assertThat(processed).containsExactly(objectKey);
+    }
+
+    /**
+     * Creates an offset manager with no stored offsets.
+     *
+     * @return the offset manager.
+     */
+    private OffsetManager<S3OffsetManagerEntry> createOffsetManager() {
+        final SourceTaskContext sourceTaskContext = mock(SourceTaskContext.class);
+        final OffsetStorageReader offsetStorageReader = mock(OffsetStorageReader.class);
+        when(offsetStorageReader.offset(anyMap())).thenReturn(Collections.emptyMap());
+        when(offsetStorageReader.offsets(anyCollection())).thenReturn(Collections.emptyMap());
+        when(sourceTaskContext.offsetStorageReader()).thenReturn(offsetStorageReader);
+        return new OffsetManager<>(sourceTaskContext);
+    }
+
     /**
      * The mutator implementation.
      */
@@ -62,6 +62,7 @@ dependencyResolutionManagement {
     create("amazonawssdk") {
       library("authentication", "software.amazon.awssdk:auth:$amazonAwsSdkV2Version")
       library("s3", "software.amazon.awssdk:s3:$amazonAwsSdkV2Version")
+      library("sqs", "software.amazon.awssdk:sqs:$amazonAwsSdkV2Version")
       library("sts", "software.amazon.awssdk:sts:$amazonAwsSdkV2Version")
     }
 